@@ -68,8 +68,7 @@ public class RandomExample extends ExperimentSetCreator {
     r = new Random();
     this.m_v.set(r.nextLong());
 
-    try (final ExperimentSetContext esb = new ExperimentSetContext(
-        this.getLogger())) {
+    try (final ExperimentSetContext esb = this._createContext()) {
 
       this._createDimensionSet(esb, r);
 
@@ -84,6 +83,15 @@ public class RandomExample extends ExperimentSetCreator {
     return es;
   }
 
+  /**
+   * create the experiment set context
+   *
+   * @return the experiment set context
+   */
+  ExperimentSetContext _createContext() {
+    return new ExperimentSetContext(this.getLogger());
+  }
+
   /**
    * create the dimension set
    *
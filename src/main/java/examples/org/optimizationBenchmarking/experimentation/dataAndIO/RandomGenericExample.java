@@ -0,0 +1,40 @@
+package examples.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.utils.config.Configuration;
+
+/**
+ * A class for creating random experiment sets which use the generic data
+ * implementation instead of generated classes.
+ */
+public class RandomGenericExample extends RandomExample {
+
+  /**
+   * create
+   *
+   * @param logger
+   *          the logger, or {@code null} to use the global logger
+   */
+  public RandomGenericExample(final Logger logger) {
+    super(logger);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final ExperimentSetContext _createContext() {
+    return new ExperimentSetContext(this.getLogger(), null, false);
+  }
+
+  /**
+   * The main routine
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public static void main(final String[] args) {
+    Configuration.setup(args);
+    new RandomGenericExample(null).run();
+  }
+}
@@ -0,0 +1,42 @@
+package examples.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.io.paths.PathUtils;
+
+/**
+ * A class for creating random experiment sets whose run data is stored in
+ * memory-mapped files instead of the heap.
+ */
+public class RandomMappedExample extends RandomExample {
+
+  /**
+   * create
+   *
+   * @param logger
+   *          the logger, or {@code null} to use the global logger
+   */
+  public RandomMappedExample(final Logger logger) {
+    super(logger);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final ExperimentSetContext _createContext() {
+    return new ExperimentSetContext(this.getLogger(),
+        PathUtils.getTempDir());
+  }
+
+  /**
+   * The main routine
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public static void main(final String[] args) {
+    Configuration.setup(args);
+    new RandomMappedExample(null).run();
+  }
+}
@@ -0,0 +1,287 @@
+package org.optimizationBenchmarking.experimentation.attributes;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimensionSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IFeatureValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.experimentation.data.spec.IPersistentAttribute;
+import org.optimizationBenchmarking.experimentation.data.spec.IPropertyValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.hash.Hash128;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * <p>
+ * This attribute computes a 128 bit fingerprint of the content of an
+ * experiment set, an experiment, a set of instance runs, or a single run,
+ * represented as string of 32 hexadecimal digits. The fingerprint covers
+ * the dimensions of the experiment set, the names of the experiments and
+ * instances, the parameter settings of the experiments, the feature
+ * settings and bounds of the instances, and all data points of all runs.
+ * Elements with the same content have the same fingerprint, also in
+ * different runs of the program, so fingerprints can be used as keys for
+ * {@link IPersistentAttribute#getPersistentKey(IDataElement) persistently
+ * stored attribute values}.
+ * </p>
+ * <p>
+ * The fingerprints form a Merkle tree: Only the fingerprint of a run is
+ * computed from its data points. The fingerprint of a set of instance
+ * runs is computed from the fingerprints of its runs, the fingerprint of
+ * an experiment from those of its instance runs, and the fingerprint of an
+ * experiment set from those of its experiments. Since the fingerprint is
+ * stored permanently, the fingerprint of a parent element is cheap once
+ * the fingerprints of its children are known, e.g., the fingerprint of an
+ * experiment set after those of its experiments have been computed, or
+ * the fingerprint of a selection of instance runs of an experiment. If
+ * the fingerprint is computed inside a
+ * {@link java.util.concurrent.ForkJoinPool}, the fingerprints of the
+ * children of an element are computed in parallel.
+ * </p>
+ */
+public final class ContentFingerprint extends
+    Attribute<IElementSet, String> {
+
+  /**
+   * The globally shared instance of the {@link ContentFingerprint}
+   * attribute
+   */
+  public static final ContentFingerprint INSTANCE = new ContentFingerprint();
+
+  /** create the instance of this attribute */
+  private ContentFingerprint() {
+    super(EAttributeType.PERMANENTLY_STORED);
+  }
+
+  /**
+   * Append the dimensions to a hash
+   *
+   * @param dims
+   *          the dimensions
+   * @param hash
+   *          the hash
+   */
+  private static final void __appendDimensions(final IDimensionSet dims,
+      final Hash128 hash) {
+    hash.append(dims.getData().size());
+    for (final IDimension dim : dims.getData()) {
+      hash.append(dim.getName());
+      hash.append(dim.getDataType().name());
+      hash.append(dim.getDimensionType().name());
+      hash.append(dim.getDirection().name());
+    }
+  }
+
+  /**
+   * Append the data points of a run to a hash
+   *
+   * @param run
+   *          the run
+   * @param hash
+   *          the hash
+   */
+  private static final void __appendRun(final IRun run, final Hash128 hash) {
+    final ArrayListView<? extends IDimension> dims;
+    final int m, n;
+    long[] longs;
+    double[] doubles;
+    int column, row;
+
+    dims = run.getOwner().getOwner().getOwner().getDimensions().getData();
+    m = run.m();
+    n = run.n();
+    hash.append(m);
+    hash.append(n);
+
+    longs = null;
+    doubles = null;
+    for (column = 0; column < n; column++) {
+      if (dims.get(column).getDataType().isInteger()) {
+        if (longs == null) {
+          longs = new long[m];
+        }
+        run.copyColumn(column, longs, 0, m);
+        for (row = 0; row < m; row++) {
+          hash.append(longs[row]);
+        }
+      } else {
+        if (doubles == null) {
+          doubles = new double[m];
+        }
+        run.copyColumn(column, doubles, 0, m);
+        for (row = 0; row < m; row++) {
+          hash.append(doubles[row]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Append the fingerprints of the children of an element to a hash. If
+   * we are inside a {@link java.util.concurrent.ForkJoinPool}, the
+   * fingerprints of the children are computed in parallel. They are always
+   * appended in the order of the children.
+   *
+   * @param children
+   *          the children
+   * @param hash
+   *          the hash
+   */
+  private static final void __appendChildren(
+      final ArrayListView<? extends IElementSet> children,
+      final Hash128 hash) {
+    final __Child[] tasks;
+    final int size;
+    int i;
+
+    size = children.size();
+    hash.append(size);
+
+    if ((size > 1) && (ForkJoinTask.inForkJoinPool())) {
+      tasks = new __Child[size];
+      for (i = 0; i < size; i++) {
+        tasks[i] = new __Child(children.get(i));
+      }
+      ForkJoinTask.invokeAll(tasks);
+      for (final __Child task : tasks) {
+        hash.append(task.join());
+      }
+    } else {
+      for (final IElementSet child : children) {
+        hash.append(ContentFingerprint.INSTANCE.get(child));
+      }
+    }
+  }
+
+  /**
+   * Append the name and parameter settings of an experiment to a hash
+   *
+   * @param experiment
+   *          the experiment
+   * @param hash
+   *          the hash
+   */
+  private static final void __appendExperiment(
+      final IExperiment experiment, final Hash128 hash) {
+    hash.append(experiment.getName());
+    for (final IPropertyValue value : experiment.getParameterSetting()) {
+      hash.append(value.getOwner().getName());
+      hash.append(String.valueOf(value.getValue()));
+    }
+  }
+
+  /**
+   * Append the name, feature settings, and bounds of an instance to a hash
+   *
+   * @param instance
+   *          the instance
+   * @param dims
+   *          the dimensions
+   * @param hash
+   *          the hash
+   */
+  private static final void __appendInstance(final IInstance instance,
+      final IDimensionSet dims, final Hash128 hash) {
+    hash.append(instance.getName());
+    for (final IFeatureValue value : instance.getFeatureSetting()) {
+      hash.append(value.getOwner().getName());
+      hash.append(value.getName());
+    }
+    for (final IDimension dim : dims.getData()) {
+      if (dim.getDataType().isInteger()) {
+        hash.append(instance.getLowerBound(dim).longValue());
+        hash.append(instance.getUpperBound(dim).longValue());
+      } else {
+        hash.append(instance.getLowerBound(dim).doubleValue());
+        hash.append(instance.getUpperBound(dim).doubleValue());
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final String compute(final IElementSet data) {
+    final Hash128 hash;
+    final IDimensionSet dims;
+
+    hash = new Hash128();
+    if (data instanceof IRun) {
+      hash.append('R');
+      ContentFingerprint.__appendRun(((IRun) data), hash);
+    } else {
+      if (data instanceof IInstanceRuns) {
+        dims = ((IInstanceRuns) data).getOwner().getOwner()
+            .getDimensions();
+        ContentFingerprint.__appendDimensions(dims, hash);
+        hash.append('I');
+        ContentFingerprint.__appendInstance(
+            ((IInstanceRuns) data).getInstance(), dims, hash);
+        ContentFingerprint.__appendChildren(
+            ((IInstanceRuns) data).getData(), hash);
+      } else {
+        if (data instanceof IExperiment) {
+          ContentFingerprint.__appendDimensions(((IExperiment) data)
+              .getOwner().getDimensions(), hash);
+          hash.append('E');
+          ContentFingerprint.__appendExperiment(((IExperiment) data),
+              hash);
+          ContentFingerprint.__appendChildren(
+              ((IExperiment) data).getData(), hash);
+        } else {
+          if (data instanceof IExperimentSet) {
+            ContentFingerprint.__appendDimensions(
+                ((IExperimentSet) data).getDimensions(), hash);
+            hash.append('S');
+            ContentFingerprint.__appendChildren(
+                ((IExperimentSet) data).getData(), hash);
+          } else {
+            throw new IllegalArgumentException(//
+                "Fingerprints can only be computed for an IExperimentSet, IExperiment, IInstanceRuns, or IRun, but you provided " //$NON-NLS-1$
+                    + ((data != null)//
+                    ? (TextUtils.className(data.getClass()) + '.')//
+                        : "null."));//$NON-NLS-1$
+          }
+        }
+      }
+    }
+
+    return hash.toString();
+  }
+
+  /** the task computing the fingerprint of a child element */
+  private static final class __Child extends RecursiveTask<String> {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the child element */
+    private final IElementSet m_child;
+
+    /**
+     * create the task
+     *
+     * @param child
+     *          the child element
+     */
+    __Child(final IElementSet child) {
+      super();
+      this.m_child = child;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final String compute() {
+      return ContentFingerprint.INSTANCE.get(this.m_child);
+    }
+  }
+}
@@ -0,0 +1,373 @@
+package org.optimizationBenchmarking.experimentation.attributes;
+
+/**
+ * The first-hitting-time index of a run with respect to a time and a goal
+ * dimension. It stores the monotone envelope of the run, i.e., the data
+ * points at which the best goal value reached so far improves, as two
+ * compact primitive arrays of times and goal values, together with the
+ * end time of the run. The first time at which the run reaches a given
+ * goal value can thus be found with a binary search in {@code O(log n)}
+ * and a whole ladder of goal values with a single merge pass.
+ */
+public final class HittingTimeIndex {
+
+  /**
+   * the times of the improvements, or {@code null} if the times are
+   * {@code double}s
+   */
+  private final long[] m_longTimes;
+
+  /**
+   * the times of the improvements, or {@code null} if the times are
+   * {@code long}s
+   */
+  private final double[] m_doubleTimes;
+
+  /**
+   * the improved goal values, or {@code null} if the goal values are
+   * {@code double}s
+   */
+  private final long[] m_longGoals;
+
+  /**
+   * the improved goal values, or {@code null} if the goal values are
+   * {@code long}s
+   */
+  private final double[] m_doubleGoals;
+
+  /** the end time of the run if the times are {@code long}s */
+  private final long m_longEnd;
+
+  /** the end time of the run if the times are {@code double}s */
+  private final double m_doubleEnd;
+
+  /** are larger goal values better? */
+  private final boolean m_increasing;
+
+  /** the number of improvements */
+  private final int m_size;
+
+  /**
+   * create the index
+   *
+   * @param longTimes
+   *          the {@code long} times, or {@code null}
+   * @param doubleTimes
+   *          the {@code double} times, or {@code null}
+   * @param longGoals
+   *          the {@code long} goal values, or {@code null}
+   * @param doubleGoals
+   *          the {@code double} goal values, or {@code null}
+   * @param longEnd
+   *          the {@code long} end time
+   * @param doubleEnd
+   *          the {@code double} end time
+   * @param increasing
+   *          are larger goal values better?
+   * @param size
+   *          the number of improvements
+   */
+  HittingTimeIndex(final long[] longTimes, final double[] doubleTimes,
+      final long[] longGoals, final double[] doubleGoals,
+      final long longEnd, final double doubleEnd,
+      final boolean increasing, final int size) {
+    super();
+    this.m_longTimes = longTimes;
+    this.m_doubleTimes = doubleTimes;
+    this.m_longGoals = longGoals;
+    this.m_doubleGoals = doubleGoals;
+    this.m_longEnd = longEnd;
+    this.m_doubleEnd = doubleEnd;
+    this.m_increasing = increasing;
+    this.m_size = size;
+  }
+
+  /**
+   * Get the number of improvements, i.e., the number of points in the
+   * envelope
+   *
+   * @return the number of improvements
+   */
+  public final int size() {
+    return this.m_size;
+  }
+
+  /**
+   * Are the times {@code long}s?
+   *
+   * @return {@code true} if the times are {@code long}s, {@code false} if
+   *         they are {@code double}s
+   */
+  public final boolean isTimeLong() {
+    return (this.m_longTimes != null);
+  }
+
+  /**
+   * Are the goal values {@code long}s?
+   *
+   * @return {@code true} if the goal values are {@code long}s,
+   *         {@code false} if they are {@code double}s
+   */
+  public final boolean isGoalLong() {
+    return (this.m_longGoals != null);
+  }
+
+  /**
+   * Are larger goal values better?
+   *
+   * @return {@code true} if larger goal values are better, {@code false}
+   *         if smaller goal values are better
+   */
+  public final boolean isGoalIncreasing() {
+    return this.m_increasing;
+  }
+
+  /**
+   * Get the time of the improvement at the given index as {@code long}
+   *
+   * @param index
+   *          the index
+   * @return the time
+   */
+  public final long getTimeLong(final int index) {
+    if (this.m_longTimes != null) {
+      return this.m_longTimes[index];
+    }
+    return ((long) (this.m_doubleTimes[index]));
+  }
+
+  /**
+   * Get the time of the improvement at the given index as {@code double}
+   *
+   * @param index
+   *          the index
+   * @return the time
+   */
+  public final double getTimeDouble(final int index) {
+    if (this.m_longTimes != null) {
+      return this.m_longTimes[index];
+    }
+    return this.m_doubleTimes[index];
+  }
+
+  /**
+   * Get the goal value reached by the improvement at the given index as
+   * {@code long}
+   *
+   * @param index
+   *          the index
+   * @return the goal value
+   */
+  public final long getGoalLong(final int index) {
+    if (this.m_longGoals != null) {
+      return this.m_longGoals[index];
+    }
+    return ((long) (this.m_doubleGoals[index]));
+  }
+
+  /**
+   * Get the goal value reached by the improvement at the given index as
+   * {@code double}
+   *
+   * @param index
+   *          the index
+   * @return the goal value
+   */
+  public final double getGoalDouble(final int index) {
+    if (this.m_longGoals != null) {
+      return this.m_longGoals[index];
+    }
+    return this.m_doubleGoals[index];
+  }
+
+  /**
+   * Get the end time of the run, i.e., the time of its last data point, as
+   * {@code long}
+   *
+   * @return the end time of the run
+   */
+  public final long getEndTimeLong() {
+    if (this.m_longTimes != null) {
+      return this.m_longEnd;
+    }
+    return ((long) (this.m_doubleEnd));
+  }
+
+  /**
+   * Get the end time of the run, i.e., the time of its last data point, as
+   * {@code double}
+   *
+   * @return the end time of the run
+   */
+  public final double getEndTimeDouble() {
+    if (this.m_longTimes != null) {
+      return this.m_longEnd;
+    }
+    return this.m_doubleEnd;
+  }
+
+  /**
+   * Is the goal value at the given index at least as good as the given
+   * goal?
+   *
+   * @param index
+   *          the index
+   * @param goal
+   *          the goal
+   * @return {@code true} if the goal is reached at {@code index}
+   */
+  private final boolean __reaches(final int index, final double goal) {
+    final double value;
+
+    value = ((this.m_longGoals != null) ? this.m_longGoals[index]
+        : this.m_doubleGoals[index]);
+    return (this.m_increasing ? (value >= goal) : (value <= goal));
+  }
+
+  /**
+   * Is the goal value at the given index at least as good as the given
+   * goal?
+   *
+   * @param index
+   *          the index
+   * @param goal
+   *          the goal
+   * @return {@code true} if the goal is reached at {@code index}
+   */
+  private final boolean __reaches(final int index, final long goal) {
+    final long value;
+
+    if (this.m_longGoals == null) {
+      return this.__reaches(index, ((double) goal));
+    }
+    value = this.m_longGoals[index];
+    return (this.m_increasing ? (value >= goal) : (value <= goal));
+  }
+
+  /**
+   * Find the index of the first improvement which reaches a goal value at
+   * least as good as {@code goal} with a binary search in
+   * {@code O(log n)}. The first hitting time of the goal is then
+   * {@link #getTimeLong(int) getTimeLong(index)} or
+   * {@link #getTimeDouble(int) getTimeDouble(index)}. Different from
+   * {@link org.optimizationBenchmarking.experimentation.data.spec.IRun#find(int, double)},
+   * the goal value is not cast to the data type of the goal dimension
+   * before the comparison.
+   *
+   * @param goal
+   *          the goal value
+   * @return the index of the first improvement reaching the goal, or
+   *         {@code -1} if the run never reaches the goal
+   */
+  public final int find(final double goal) {
+    int low, high, middle;
+
+    low = 0;
+    high = this.m_size;
+    while (low < high) {
+      middle = ((low + high) >>> 1);
+      if (this.__reaches(middle, goal)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return ((low < this.m_size) ? low : (-1));
+  }
+
+  /**
+   * Find the index of the first improvement which reaches a goal value at
+   * least as good as {@code goal} with a binary search in
+   * {@code O(log n)}.
+   *
+   * @param goal
+   *          the goal value
+   * @return the index of the first improvement reaching the goal, or
+   *         {@code -1} if the run never reaches the goal
+   * @see #find(double)
+   */
+  public final int find(final long goal) {
+    int low, high, middle;
+
+    low = 0;
+    high = this.m_size;
+    while (low < high) {
+      middle = ((low + high) >>> 1);
+      if (this.__reaches(middle, goal)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return ((low < this.m_size) ? low : (-1));
+  }
+
+  /**
+   * Find the indexes of the first improvements reaching several goal
+   * values at once. After this method returns, {@code dest[i]} holds
+   * exactly the index that {@link #find(double) find(goals[i])} would
+   * return. If the goal values are sorted in the order in which a run
+   * reaches them, i.e., from the worst to the best, all of them are found
+   * in a single merge pass over the index. Unsorted goal values are
+   * allowed, but less efficient.
+   *
+   * @param goals
+   *          the goal values
+   * @param dest
+   *          the destination array, which must be at least as long as
+   *          {@code goals}
+   */
+  public final void find(final double[] goals, final int[] dest) {
+    int index, position;
+
+    position = 0;
+    for (index = 0; index < goals.length; index++) {
+      if ((position > 0) && this.__reaches((position - 1), goals[index])) {
+        // the goal is worse than the previous one: start again
+        dest[index] = position = this.find(goals[index]);
+        if (position < 0) {
+          position = this.m_size;
+        }
+        continue;
+      }
+      while ((position < this.m_size)
+          && (!(this.__reaches(position, goals[index])))) {
+        position++;
+      }
+      dest[index] = ((position < this.m_size) ? position : (-1));
+    }
+  }
+
+  /**
+   * Find the indexes of the first improvements reaching several goal
+   * values at once. After this method returns, {@code dest[i]} holds
+   * exactly the index that {@link #find(long) find(goals[i])} would
+   * return.
+   *
+   * @param goals
+   *          the goal values
+   * @param dest
+   *          the destination array, which must be at least as long as
+   *          {@code goals}
+   * @see #find(double[], int[])
+   */
+  public final void find(final long[] goals, final int[] dest) {
+    int index, position;
+
+    position = 0;
+    for (index = 0; index < goals.length; index++) {
+      if ((position > 0) && this.__reaches((position - 1), goals[index])) {
+        dest[index] = position = this.find(goals[index]);
+        if (position < 0) {
+          position = this.m_size;
+        }
+        continue;
+      }
+      while ((position < this.m_size)
+          && (!(this.__reaches(position, goals[index])))) {
+        position++;
+      }
+      dest[index] = ((position < this.m_size) ? position : (-1));
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package org.optimizationBenchmarking.experimentation.attributes;
+
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.hash.HashUtils;
+
+/**
+ * This attribute computes the {@link HittingTimeIndex first-hitting-time
+ * index} of a run for a given time and goal dimension, i.e., the times at
+ * which the best goal value reached so far by the run improves. The index
+ * is built in a single pass over the run and is stored permanently with
+ * the run, so performance measures which depend on the first time at
+ * which runs reach certain goal values, such as the expected running time
+ * or success rates, can be computed for many goal values and many runs
+ * without scanning the runs again. The index holds at most two values per
+ * data point of the run and usually far fewer, since a run improves only
+ * at a small fraction of its data points. The index is not stored on
+ * disk: It is cheap to build compared to fingerprinting the data of the
+ * run, which would be necessary to find it again.
+ */
+public final class HittingTimes extends Attribute<IRun, HittingTimeIndex> {
+
+  /** the time dimension */
+  private final IDimension m_timeDim;
+
+  /** the goal dimension */
+  private final IDimension m_goalDim;
+
+  /**
+   * Create the first-hitting-time attribute
+   *
+   * @param timeDim
+   *          the time dimension
+   * @param goalDim
+   *          the goal dimension
+   */
+  public HittingTimes(final IDimension timeDim, final IDimension goalDim) {
+    super(EAttributeType.PERMANENTLY_STORED);
+
+    if ((timeDim == null) || (goalDim == null)) {
+      throw new IllegalArgumentException(//
+          "Cannot compute hitting times for time dimension "//$NON-NLS-1$
+              + timeDim + " and goal dimension " + goalDim);//$NON-NLS-1$
+    }
+
+    this.m_timeDim = timeDim;
+    this.m_goalDim = goalDim;
+  }
+
+  /**
+   * Get the time dimension
+   *
+   * @return the time dimension
+   */
+  public final IDimension getTimeDimension() {
+    return this.m_timeDim;
+  }
+
+  /**
+   * Get the goal dimension
+   *
+   * @return the goal dimension
+   */
+  public final IDimension getGoalDimension() {
+    return this.m_goalDim;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final int calcHashCode() {
+    return HashUtils.combineHashes(//
+        HashUtils.hashCode(this.m_timeDim.getIndex()),//
+        HashUtils.hashCode(this.m_goalDim.getIndex()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    final HittingTimes other;
+
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof HittingTimes) {
+      other = ((HittingTimes) o);
+      return ((this.m_timeDim.getIndex() == other.m_timeDim.getIndex()) && //
+      (this.m_goalDim.getIndex() == other.m_goalDim.getIndex()));
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final HittingTimeIndex compute(final IRun data) {
+    final boolean longTimes, longGoals, increasing;
+    final int timeIndex, goalIndex, m;
+    long[] lt, lg;
+    double[] dt, dg;
+    long longGoal, bestLong, longEnd;
+    double doubleGoal, bestDouble, doubleEnd;
+    int row, size;
+
+    timeIndex = this.m_timeDim.getIndex();
+    goalIndex = this.m_goalDim.getIndex();
+    longTimes = this.m_timeDim.getDataType().isInteger();
+    longGoals = this.m_goalDim.getDataType().isInteger();
+    increasing = this.m_goalDim.getDirection().isIncreasing();
+    m = data.m();
+
+    // read both columns in bulk and keep only the improvements, which are
+    // compacted towards the beginning of the arrays
+    lt = (longTimes ? new long[m] : null);
+    dt = (longTimes ? null : new double[m]);
+    lg = (longGoals ? new long[m] : null);
+    dg = (longGoals ? null : new double[m]);
+    if (longTimes) {
+      data.copyColumn(timeIndex, lt, 0, m);
+    } else {
+      data.copyColumn(timeIndex, dt, 0, m);
+    }
+    if (longGoals) {
+      data.copyColumn(goalIndex, lg, 0, m);
+    } else {
+      data.copyColumn(goalIndex, dg, 0, m);
+    }
+
+    if (m <= 0) {
+      longEnd = 0L;
+      doubleEnd = 0d;
+    } else {
+      if (longTimes) {
+        doubleEnd = longEnd = lt[m - 1];
+      } else {
+        doubleEnd = dt[m - 1];
+        longEnd = ((long) doubleEnd);
+      }
+    }
+
+    size = 0;
+    bestLong = 0L;
+    bestDouble = 0d;
+    for (row = 0; row < m; row++) {
+      if (longGoals) {
+        longGoal = lg[row];
+        if ((size > 0) && (increasing ? (longGoal <= bestLong)//
+            : (longGoal >= bestLong))) {
+          continue;
+        }
+        lg[size] = bestLong = longGoal;
+      } else {
+        doubleGoal = dg[row];
+        if ((doubleGoal != doubleGoal) || ((size > 0) && //
+            (increasing ? (doubleGoal <= bestDouble)//
+                : (doubleGoal >= bestDouble)))) {
+          continue;
+        }
+        dg[size] = bestDouble = doubleGoal;
+      }
+      if (longTimes) {
+        lt[size] = lt[row];
+      } else {
+        dt[size] = dt[row];
+      }
+      size++;
+    }
+
+    if (size < m) {
+      if (longTimes) {
+        lt = Arrays.copyOf(lt, size);
+      } else {
+        dt = Arrays.copyOf(dt, size);
+      }
+      if (longGoals) {
+        lg = Arrays.copyOf(lg, size);
+      } else {
+        dg = Arrays.copyOf(dg, size);
+      }
+    }
+
+    return new HittingTimeIndex(lt, dt, lg, dg, longEnd, doubleEnd,
+        increasing, size);
+  }
+}
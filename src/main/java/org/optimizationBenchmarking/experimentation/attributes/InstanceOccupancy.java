@@ -0,0 +1,71 @@
+package org.optimizationBenchmarking.experimentation.attributes;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * This attribute computes the {@link InstanceOccupancyMatrix occupancy
+ * matrix} of an experiment set, i.e., records which experiment has runs
+ * for which instance. The matrix is built with a single pass over the
+ * instance runs of all experiments and is stored permanently, so that
+ * questions such as which instances are shared by all experiments or
+ * covered by at least {@code k} experiments can be answered with bitwise
+ * operations.
+ */
+public final class InstanceOccupancy extends
+    Attribute<IExperimentSet, InstanceOccupancyMatrix> {
+
+  /**
+   * The globally shared instance of the {@link InstanceOccupancy}
+   * attribute
+   */
+  public static final InstanceOccupancy INSTANCE = new InstanceOccupancy();
+
+  /** create the instance of this attribute */
+  private InstanceOccupancy() {
+    super(EAttributeType.PERMANENTLY_STORED);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final InstanceOccupancyMatrix compute(final IExperimentSet data) {
+    final ArrayListView<? extends IExperiment> experiments;
+    final ArrayListView<? extends IInstance> instances;
+    final HashMap<String, Integer> ids;
+    final BitSet[] rows;
+    BitSet row;
+    IInstance instance;
+    Integer id;
+    int index;
+
+    experiments = data.getData();
+    instances = data.getInstances().getData();
+
+    ids = new HashMap<>(instances.size() << 1);
+    for (index = instances.size(); (--index) >= 0;) {
+      ids.put(instances.get(index).getName(), Integer.valueOf(index));
+    }
+
+    rows = new BitSet[experiments.size()];
+    for (index = rows.length; (--index) >= 0;) {
+      rows[index] = row = new BitSet(instances.size());
+      for (final IInstanceRuns runs : experiments.get(index).getData()) {
+        instance = runs.getInstance();
+        id = ids.get(instance.getName());
+        if (id != null) {
+          row.set(id.intValue());
+        }
+      }
+    }
+
+    return new InstanceOccupancyMatrix(experiments, instances, rows);
+  }
+}
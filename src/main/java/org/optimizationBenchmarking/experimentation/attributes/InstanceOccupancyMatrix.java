@@ -0,0 +1,189 @@
+package org.optimizationBenchmarking.experimentation.attributes;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * A bit matrix recording which experiment of an experiment set has runs
+ * for which instance. Experiments and instances are identified by their
+ * indices in the lists {@link #getExperiments()} and
+ * {@link #getInstances()}, respectively. Each experiment corresponds to
+ * one row of the matrix, stored as {@link java.util.BitSet bit set} over
+ * the instance indices, so that queries such as
+ * {@link #getSharedInstances() the instances shared by all experiments}
+ * become bitwise operations. Instances of this class are computed by the
+ * {@link InstanceOccupancy} attribute and are immutable: all bit sets
+ * returned by its methods are copies.
+ */
+public final class InstanceOccupancyMatrix {
+
+  /** the experiments */
+  private final ArrayListView<? extends IExperiment> m_experiments;
+
+  /** the instances */
+  private final ArrayListView<? extends IInstance> m_instances;
+
+  /** the rows of the matrix, one per experiment */
+  private final BitSet[] m_rows;
+
+  /** the number of experiments with runs for each instance */
+  private final int[] m_coverage;
+
+  /**
+   * Create the occupancy matrix
+   *
+   * @param experiments
+   *          the experiments
+   * @param instances
+   *          the instances
+   * @param rows
+   *          the rows of the matrix, one per experiment
+   */
+  InstanceOccupancyMatrix(
+      final ArrayListView<? extends IExperiment> experiments,
+      final ArrayListView<? extends IInstance> instances,
+      final BitSet[] rows) {
+    super();
+
+    final int[] coverage;
+    int instance;
+
+    this.m_experiments = experiments;
+    this.m_instances = instances;
+    this.m_rows = rows;
+
+    coverage = new int[instances.size()];
+    for (final BitSet row : rows) {
+      for (instance = row.nextSetBit(0); instance >= 0; //
+      instance = row.nextSetBit(instance + 1)) {
+        coverage[instance]++;
+      }
+    }
+    this.m_coverage = coverage;
+  }
+
+  /**
+   * Get the experiments, i.e., the rows of this matrix
+   *
+   * @return the experiments
+   */
+  public final ArrayListView<? extends IExperiment> getExperiments() {
+    return this.m_experiments;
+  }
+
+  /**
+   * Get the instances, i.e., the columns of this matrix
+   *
+   * @return the instances
+   */
+  public final ArrayListView<? extends IInstance> getInstances() {
+    return this.m_instances;
+  }
+
+  /**
+   * Check whether an experiment has runs for a given instance
+   *
+   * @param experiment
+   *          the index of the experiment
+   * @param instance
+   *          the index of the instance
+   * @return {@code true} if the experiment has runs for the instance,
+   *         {@code false} otherwise
+   */
+  public final boolean hasRuns(final int experiment, final int instance) {
+    return this.m_rows[experiment].get(instance);
+  }
+
+  /**
+   * Get the number of experiments which have runs for a given instance
+   *
+   * @param instance
+   *          the index of the instance
+   * @return the number of experiments with runs for the instance
+   */
+  public final int getCoverage(final int instance) {
+    return this.m_coverage[instance];
+  }
+
+  /**
+   * Get the indices of the instances for which a given experiment has
+   * runs
+   *
+   * @param experiment
+   *          the index of the experiment
+   * @return the bit set of the instance indices
+   */
+  public final BitSet getInstancesOf(final int experiment) {
+    return ((BitSet) (this.m_rows[experiment].clone()));
+  }
+
+  /**
+   * Get the indices of the instances for which all experiments have runs.
+   * If there are no experiments, this are all instances.
+   *
+   * @return the bit set of the shared instance indices
+   */
+  public final BitSet getSharedInstances() {
+    final BitSet shared;
+    int experiment;
+
+    if (this.m_rows.length <= 0) {
+      shared = new BitSet(this.m_instances.size());
+      shared.set(0, this.m_instances.size());
+      return shared;
+    }
+
+    shared = this.getInstancesOf(0);
+    for (experiment = 1; experiment < this.m_rows.length; experiment++) {
+      shared.and(this.m_rows[experiment]);
+    }
+    return shared;
+  }
+
+  /**
+   * Get the indices of the instances for which at least a given number of
+   * experiments have runs
+   *
+   * @param minExperiments
+   *          the minimum number of experiments
+   * @return the bit set of the instance indices
+   */
+  public final BitSet getInstancesCoveredBy(final int minExperiments) {
+    final int[] coverage;
+    final BitSet covered;
+    int instance;
+
+    coverage = this.m_coverage;
+    covered = new BitSet(coverage.length);
+    for (instance = coverage.length; (--instance) >= 0;) {
+      if (coverage[instance] >= minExperiments) {
+        covered.set(instance);
+      }
+    }
+    return covered;
+  }
+
+  /**
+   * Get the instances whose indices are set in a given bit set, in the
+   * order of their indices
+   *
+   * @param indices
+   *          the bit set of instance indices
+   * @return the list of instances
+   */
+  public final ArrayList<IInstance> getInstances(final BitSet indices) {
+    final ArrayList<IInstance> list;
+    int instance;
+
+    list = new ArrayList<>(indices.cardinality());
+    for (instance = indices.nextSetBit(0); instance >= 0; //
+    instance = indices.nextSetBit(instance + 1)) {
+      list.add(this.m_instances.get(instance));
+    }
+    return list;
+  }
+}
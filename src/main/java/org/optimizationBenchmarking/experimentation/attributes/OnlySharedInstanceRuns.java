@@ -1,17 +1,12 @@
 package org.optimizationBenchmarking.experimentation.attributes;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 
 import org.optimizationBenchmarking.experimentation.data.impl.shadow.DataSelection;
 import org.optimizationBenchmarking.experimentation.data.impl.shadow.ShadowExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
 import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
-import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
-import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
-import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
-import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
-import org.optimizationBenchmarking.utils.comparison.EComparison;
 
 /**
  * This checks all experiments in an experiment set and chooses only
@@ -25,6 +20,8 @@ import org.optimizationBenchmarking.utils.comparison.EComparison;
  * created with shadow copies of the experiments only containing the runs
  * for instances {@code A} and {@code C}. If all experiments have data for
  * the same instances, this attribute returns the original experiment set.
+ * The shared instances are taken from the {@link InstanceOccupancy
+ * occupancy matrix} of the experiment set.
  */
 public final class OnlySharedInstanceRuns extends
     Attribute<IExperimentSet, IExperimentSet> {
@@ -43,46 +40,18 @@ public final class OnlySharedInstanceRuns extends
   /** {@inheritDoc} */
   @Override
   protected final IExperimentSet compute(final IExperimentSet data) {
-    final ArrayListView<? extends IInstance> origInstances;
-    final ArrayList<IInstance> instances;
-    final int origSize;
+    final InstanceOccupancyMatrix occupancy;
+    final BitSet shared;
     final DataSelection selection;
-    String wantName;
-    IInstance want, have;
-    int i;
 
-    origInstances = data.getInstances().getData();
-    origSize = origInstances.size();
-
-    if (origSize <= 0) {
-      return data;
-    }
-
-    instances = new ArrayList<>(origInstances);
-
-    for (final IExperiment experiment : data.getData()) {
-      outer: for (i = instances.size(); (--i) >= 0;) {
-        want = instances.get(i);
-        wantName = want.getName();
-        for (final IInstanceRuns instanceRuns : experiment.getData()) {
-          have = instanceRuns.getInstance();
-          if (want == have) {
-            continue outer;
-          }
-          if (EComparison.equals(have.getName(), wantName)) {
-            continue outer;
-          }
-        }
-        instances.remove(i);
-      }
-    }
-
-    if (instances.size() >= origSize) {
+    occupancy = InstanceOccupancy.INSTANCE.get(data);
+    shared = occupancy.getSharedInstances();
+    if (shared.cardinality() >= occupancy.getInstances().size()) {
       return data;
     }
 
     selection = new DataSelection(data);
-    selection.addInstances(instances);
+    selection.addInstances(occupancy.getInstances(shared));
 
     return new ShadowExperimentSet<>(data, selection);
   }
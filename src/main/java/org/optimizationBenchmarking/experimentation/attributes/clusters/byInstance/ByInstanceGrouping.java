@@ -1,17 +1,16 @@
 package org.optimizationBenchmarking.experimentation.attributes.clusters.byInstance;
 
 import java.util.Arrays;
-import java.util.HashSet;
 
+import org.optimizationBenchmarking.experimentation.attributes.InstanceOccupancy;
+import org.optimizationBenchmarking.experimentation.attributes.InstanceOccupancyMatrix;
 import org.optimizationBenchmarking.experimentation.attributes.clusters.ICluster;
 import org.optimizationBenchmarking.experimentation.attributes.clusters.IClustering;
 import org.optimizationBenchmarking.experimentation.data.impl.shadow.DataSelection;
 import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
 import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
-import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
-import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
 
 /**
  * An attribute for splitting and grouping experiments by single instances.
@@ -33,35 +32,22 @@ public final class ByInstanceGrouping extends
   /** {@inheritDoc} */
   @Override
   protected final IClustering compute(final IExperimentSet data) {
-    final int origSize;
+    final InstanceOccupancyMatrix occupancy;
     final ICluster[] clusters;
     final _InstanceGroups groups;
-    HashSet<IInstance> instances;
-    IInstance[] instanceArray;
+    final IInstance[] instanceArray;
     DataSelection selection;
     int i;
 
-    origSize = data.getInstances().getData().size();
-    instances = new HashSet<>(origSize);
-
-    findInstances: for (final IExperiment experiment : data.getData()) {
-      for (final IInstanceRuns instanceSet : experiment.getData()) {
-        if (instances.add(instanceSet.getInstance())) {
-          if (instances.size() >= origSize) {
-            break findInstances;
-          }
-        }
-      }
-    }
-
-    i = instances.size();
-    instanceArray = instances.toArray(new IInstance[i]);
+    occupancy = InstanceOccupancy.INSTANCE.get(data);
+    instanceArray = occupancy.getInstances(
+        occupancy.getInstancesCoveredBy(1)).toArray(new IInstance[0]);
+    i = instanceArray.length;
     try {
       Arrays.sort(instanceArray);
     } catch (final Throwable ignore) {
       //
     }
-    instances = null;
 
     clusters = new ICluster[i];
 
@@ -4,6 +4,7 @@ import org.optimizationBenchmarking.experimentation.attributes.functions.Functio
 import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
 import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.comparison.EComparison;
 import org.optimizationBenchmarking.utils.document.impl.FunctionToMathBridge;
 import org.optimizationBenchmarking.utils.document.spec.IMath;
@@ -56,6 +57,93 @@ public final class ECDF extends FunctionAttribute<IElementSet> {
     this.m_timeTransform = timeTransform;
   }
 
+  /**
+   * Create an ECDF attribute for a given raw ECDF
+   *
+   * @param raw
+   *          the raw ECDF
+   * @param timeTransform
+   *          the time transformation
+   */
+  private ECDF(final _RawECDF raw, final UnaryFunction timeTransform) {
+    super(EAttributeType.TEMPORARILY_STORED);
+
+    this.m_raw = raw;
+    this.m_timeTransform = timeTransform;
+  }
+
+  /**
+   * Create a ladder of ECDF attributes for the same time and goal
+   * dimension, but several goal values. Each returned ECDF is equal to the
+   * ECDF {@link #ECDF(IDimension, UnaryFunction, IDimension, Number)
+   * created} for its goal value and has the same values. However, for a
+   * set of instance runs, the ECDFs for all goal values are computed
+   * together, in a single pass over each run. This makes dense ladders of
+   * goal values, such as all powers of ten of a relative error, about as
+   * cheap as a single goal value.
+   *
+   * @param timeDim
+   *          the time dimension
+   * @param timeTransform
+   *          the time transformation
+   * @param goalDim
+   *          the goal dimension
+   * @param goalValues
+   *          the goal values, in any order
+   * @return the ECDF attributes, in the order of the goal values
+   */
+  public static final ArrayListView<ECDF> createLadder(
+      final IDimension timeDim, final UnaryFunction timeTransform,
+      final IDimension goalDim, final Number[] goalValues) {
+    final _RawECDF[] raw;
+    final _RawECDFLadder ladder;
+    final ECDF[] ecdfs;
+    int i;
+
+    if ((goalValues == null) || (goalValues.length <= 0)) {
+      throw new IllegalArgumentException(//
+          "There must be at least one goal value in an ECDF ladder."); //$NON-NLS-1$
+    }
+
+    raw = new _RawECDF[goalValues.length];
+    for (i = raw.length; (--i) >= 0;) {
+      raw[i] = new _RawECDF(timeDim, goalDim, goalValues[i]);
+    }
+    ladder = new _RawECDFLadder(raw);
+
+    ecdfs = new ECDF[raw.length];
+    for (i = raw.length; (--i) >= 0;) {
+      ecdfs[i] = new ECDF(new _RawECDF(raw[i], ladder, i), timeTransform);
+    }
+    return new ArrayListView<>(ecdfs);
+  }
+
+  /**
+   * Get a version of this ECDF which is evaluated on a grid of time values
+   * instead of at every time value where it changes. The grid spans the
+   * range of time values of the data it is computed for and has at most
+   * {@code points} points, which are spaced either linearly or
+   * logarithmically. At each grid point, the gridded ECDF has exactly the
+   * same value as this ECDF. The grid points are computed directly while
+   * merging the ECDFs of the instance runs or experiments, so the result
+   * has at most {@code points} rows, regardless of how many runs there
+   * are.
+   *
+   * @param points
+   *          the number of grid points, at least {@code 2}
+   * @param logarithmic
+   *          should the grid points be spaced logarithmically? If the
+   *          time range includes values which are not positive, the grid
+   *          starts at the minimum time value and then continues
+   *          logarithmically from the smallest positive time value.
+   * @return the gridded version of this ECDF
+   */
+  public final ECDF withGrid(final int points, final boolean logarithmic) {
+    return new ECDF(new _RawECDF(
+        ((this.m_raw.m_full != null) ? this.m_raw.m_full : this.m_raw),
+        points, logarithmic), this.m_timeTransform);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final int calcHashCode() {
@@ -143,13 +231,32 @@ public final class ECDF extends FunctionAttribute<IElementSet> {
   protected final IMatrix compute(final IElementSet data) {
     final IMatrix computed;
 
-    computed = this.m_raw.compute(data);
+    computed = this.m_raw.get(data);
     if (this.m_timeTransform == null) {
       return computed;
     }
 
+    // the transformed matrix is stored and read many times, e.g., when
+    // painting charts, so we apply the time transformation only once
     return new ColumnTransformedMatrix(computed, this.m_timeTransform,
-        Identity.INSTANCE);
+        Identity.INSTANCE).materialize();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Without time transformation, the ECDF is the raw ECDF matrix itself,
+   * so only the memory for the reference is counted: The raw matrix is
+   * counted by the attribute it belongs to. With time transformation, the
+   * ECDF is a materialized copy of the transformed raw matrix.
+   * </p>
+   */
+  @Override
+  protected final long estimateSize(final IMatrix value) {
+    if (this.m_timeTransform == null) {
+      return 64L;
+    }
+    return (64L + ((((long) (value.m())) * value.n()) << 3));
   }
 
   /** {@inheritDoc} */
@@ -173,6 +280,10 @@ public final class ECDF extends FunctionAttribute<IElementSet> {
       mto.append('_');
     }
     mto.append(this.m_raw.m_timeDim.getPathComponentSuggestion());
+    if (this.m_raw.m_grid != null) {
+      mto.append('_');
+      mto.append(this.m_raw.m_grid.toString());
+    }
 
     return mto.toString();
   }
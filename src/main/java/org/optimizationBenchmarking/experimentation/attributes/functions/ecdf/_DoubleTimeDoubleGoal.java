@@ -1,6 +1,5 @@
 package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
 
-import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
 import org.optimizationBenchmarking.experimentation.data.spec.IRun;
 
@@ -29,14 +28,8 @@ final class _DoubleTimeDoubleGoal extends _Doubles {
   /** {@inheritDoc} */
   @Override
   final void _addRun(final IRun run) {
-    final IDataPoint dp;
-
     if (run != null) {
-      this.m_total++;
-      dp = run.find(this.m_goalIndex, this.m_goal);
-      if (dp != null) {
-        this._add(dp.getDouble(this.m_timeIndex));
-      }
+      this._addPoint(run.find(this.m_goalIndex, this.m_goal));
     }
   }
 }
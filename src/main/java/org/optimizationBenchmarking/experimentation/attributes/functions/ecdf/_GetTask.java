@@ -0,0 +1,142 @@
+package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * A task obtaining the raw ECDF matrices of a range of elements. A range
+ * is only split into two halves, which are then processed in parallel,
+ * if it has more than one element and its elements contain at least
+ * {@link #MIN_WORK} data points in total. Otherwise, forking would cost
+ * more than it saves and the matrices are obtained sequentially.
+ */
+final class _GetTask extends RecursiveAction {
+
+  /** the minimum number of data points in a range which is split */
+  static final long MIN_WORK = (1L << 15);
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the raw ECDF attribute */
+  private final _RawECDF m_attribute;
+
+  /** the elements */
+  private final ArrayListView<? extends IElementSet> m_elements;
+
+  /**
+   * the number of data points in the elements before each index, i.e.,
+   * the prefix sums of the work
+   */
+  private final long[] m_work;
+
+  /** the destination for the matrices */
+  private final IMatrix[] m_dest;
+
+  /** the inclusive start index */
+  private final int m_start;
+
+  /** the exclusive end index */
+  private final int m_end;
+
+  /**
+   * create the task
+   *
+   * @param attribute
+   *          the raw ECDF attribute
+   * @param elements
+   *          the elements
+   * @param work
+   *          the prefix sums of the numbers of data points in the
+   *          elements, as computed by {@link #_work(ArrayListView)}
+   * @param dest
+   *          the destination for the matrices
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   */
+  _GetTask(final _RawECDF attribute,
+      final ArrayListView<? extends IElementSet> elements,
+      final long[] work, final IMatrix[] dest, final int start,
+      final int end) {
+    super();
+    this.m_attribute = attribute;
+    this.m_elements = elements;
+    this.m_work = work;
+    this.m_dest = dest;
+    this.m_start = start;
+    this.m_end = end;
+  }
+
+  /**
+   * Count the data points in an element
+   *
+   * @param element
+   *          the element
+   * @return the number of data points
+   */
+  private static final long __work(final Object element) {
+    long work;
+
+    if (element instanceof IRun) {
+      return ((IRun) element).m();
+    }
+    work = 0L;
+    if (element instanceof IElementSet) {
+      for (final Object child : ((IElementSet) element).getData()) {
+        work += _GetTask.__work(child);
+      }
+    }
+    return work;
+  }
+
+  /**
+   * Compute the prefix sums of the numbers of data points in a list of
+   * elements
+   *
+   * @param elements
+   *          the elements
+   * @return an array whose element at index {@code i} is the number of
+   *         data points in the elements before index {@code i}
+   */
+  static final long[] _work(
+      final ArrayListView<? extends IElementSet> elements) {
+    final long[] work;
+    int i;
+
+    work = new long[elements.size() + 1];
+    for (i = 0; i < elements.size(); i++) {
+      work[i + 1] = (work[i] + _GetTask.__work(elements.get(i)));
+    }
+    return work;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void compute() {
+    final long work;
+    final int middle;
+    int i;
+
+    work = (this.m_work[this.m_end] - this.m_work[this.m_start]);
+    if (((this.m_end - this.m_start) > 1) && (work >= _GetTask.MIN_WORK)) {
+      middle = ((this.m_start + this.m_end) >>> 1);
+      ForkJoinTask.invokeAll(//
+          new _GetTask(this.m_attribute, this.m_elements, this.m_work,
+              this.m_dest, this.m_start, middle),//
+          new _GetTask(this.m_attribute, this.m_elements, this.m_work,
+              this.m_dest, middle, this.m_end));
+      return;
+    }
+
+    for (i = this.m_start; i < this.m_end; i++) {
+      this.m_dest[i] = this.m_attribute.get(this.m_elements.get(i));
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
+
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.utils.hash.HashUtils;
+import org.optimizationBenchmarking.utils.math.functions.arithmetic.Div;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.MatrixBuilder;
+import org.optimizationBenchmarking.utils.math.matrix.processing.iterator2D.MatrixIterator2D;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.StableSum;
+
+/**
+ * A grid of time values at which ECDFs are evaluated. The grid spans the
+ * range of time values of the joined matrices and has at most a fixed
+ * number of points, which are either spaced linearly or logarithmically.
+ * Joining matrices on a grid yields the exact value of the ECDF at each
+ * grid point, but only one row per grid point, regardless of how many
+ * distinct time values the data has.
+ */
+final class _Grid {
+
+  /** the number of grid points */
+  final int m_points;
+
+  /** are the grid points spaced logarithmically? */
+  final boolean m_logarithmic;
+
+  /** is the time dimension an integer dimension? */
+  private final boolean m_integer;
+
+  /**
+   * create the grid
+   *
+   * @param points
+   *          the number of grid points
+   * @param logarithmic
+   *          are the grid points spaced logarithmically?
+   * @param integer
+   *          is the time dimension an integer dimension?
+   */
+  _Grid(final int points, final boolean logarithmic, final boolean integer) {
+    super();
+    if (points < 2) {
+      throw new IllegalArgumentException(//
+          "An ECDF grid must have at least two points, but " //$NON-NLS-1$
+              + points + " were specified.");//$NON-NLS-1$
+    }
+    this.m_points = points;
+    this.m_logarithmic = logarithmic;
+    this.m_integer = integer;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return HashUtils.combineHashes(HashUtils.hashCode(this.m_points),
+        HashUtils.hashCode(this.m_logarithmic));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    final _Grid other;
+
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof _Grid) {
+      other = ((_Grid) o);
+      return ((this.m_points == other.m_points)
+          && (this.m_logarithmic == other.m_logarithmic) && //
+      (this.m_integer == other.m_integer));
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((this.m_logarithmic ? "loggrid" : "grid") + this.m_points); //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /**
+   * Compute the grid points for a set of matrices
+   *
+   * @param matrices
+   *          the matrices
+   * @return the grid points, in ascending order
+   */
+  private final double[] __points(final IMatrix[] matrices) {
+    final double[] points;
+    double min, max, positive, low, value;
+    int i, m, count, remaining;
+    boolean logarithmic;
+
+    min = Double.POSITIVE_INFINITY;
+    max = Double.NEGATIVE_INFINITY;
+    positive = Double.POSITIVE_INFINITY;
+    for (final IMatrix matrix : matrices) {
+      m = matrix.m();
+      if (m <= 0) {
+        continue;
+      }
+      min = Math.min(min, matrix.getDouble(0, 0));
+      max = Math.max(max, matrix.getDouble((m - 1), 0));
+      if (this.m_logarithmic) {
+        for (i = 0; i < m; i++) {
+          value = matrix.getDouble(i, 0);
+          if (value > 0d) {
+            positive = Math.min(positive, value);
+            break;
+          }
+        }
+      }
+    }
+
+    if (!(min <= max)) {
+      return new double[0];
+    }
+
+    points = new double[this.m_points];
+    count = 0;
+    low = min;
+    logarithmic = this.m_logarithmic;
+    if (logarithmic && (min <= 0d)) {
+      // a logarithmic grid needs positive values: we start it at the
+      // smallest positive value, but still include the minimum
+      if (positive <= max) {
+        points[count++] = min;
+        low = positive;
+      } else {
+        logarithmic = false;
+      }
+    }
+
+    remaining = (this.m_points - count);
+    for (i = 0; i < remaining; i++) {
+      if (i >= (remaining - 1)) {
+        value = max;
+      } else {
+        if (i <= 0) {
+          value = low;
+        } else {
+          if (logarithmic) {
+            value = (low * Math.pow((max / low), (i / (remaining - 1d))));
+          } else {
+            value = (low + (((max - low) * i) / (remaining - 1d)));
+          }
+          if (this.m_integer) {
+            value = Math.rint(value);
+          }
+          value = Math.max(low, Math.min(max, value));
+        }
+      }
+      if ((count <= 0) || (value > points[count - 1])) {
+        points[count++] = value;
+      }
+    }
+
+    return ((count < points.length) ? Arrays.copyOf(points, count)
+        : points);
+  }
+
+  /**
+   * Append a grid point to the matrix builder
+   *
+   * @param builder
+   *          the builder
+   * @param x
+   *          the grid point
+   * @param y
+   *          the value
+   */
+  private final void __append(final MatrixBuilder builder, final double x,
+      final double y) {
+    if (this.m_integer) {
+      builder.append((long) x);
+    } else {
+      builder.append(x);
+    }
+    builder.append(y);
+  }
+
+  /**
+   * Join a set of matrices on the grid: For each grid point, compute the
+   * sum of the values of the matrices at the grid point, divided by a
+   * given divisor. The values are computed while merging the matrices, so
+   * only one row per grid point is created.
+   *
+   * @param matrices
+   *          the set of matrices
+   * @param divisor
+   *          the divisor
+   * @return the joined matrix
+   */
+  final IMatrix _join(final IMatrix[] matrices, final int divisor) {
+    final double[] points;
+    final MatrixBuilder builder;
+    final MatrixIterator2D iterator;
+    final StableSum sum;
+    double x, value;
+    int index;
+    boolean hasValue;
+
+    points = this.__points(matrices);
+    builder = new MatrixBuilder(points.length << 1);
+    builder.setN(2);
+
+    iterator = MatrixIterator2D.iterate(0, 1, matrices);
+    sum = new StableSum();
+    index = 0;
+    value = 0d;
+    hasValue = false;
+    while (iterator.hasNext()) {
+      x = iterator.next().doubleValue();
+
+      // all grid points before the new time value get the previous value
+      for (; (index < points.length) && (points[index] < x); index++) {
+        if (hasValue) {
+          this.__append(builder, points[index], value);
+        }
+      }
+
+      sum.reset();
+      iterator.aggregateRow(0, sum);
+      if (divisor > 1) {
+        value = Div.INSTANCE.computeAsDouble(sum.doubleValue(), divisor);
+      } else {
+        value = sum.doubleValue();
+      }
+      hasValue = true;
+    }
+
+    if (hasValue) {
+      for (; index < points.length; index++) {
+        this.__append(builder, points[index], value);
+      }
+    }
+
+    return builder.make();
+  }
+}
@@ -0,0 +1,110 @@
+package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * A task joining a range of raw ECDF matrices. Ranges of up to
+ * {@link #GROUP_SIZE} matrices are joined directly. Larger ranges are
+ * split into two halves, whose partial sums are computed first, in
+ * parallel if we are inside a {@link java.util.concurrent.ForkJoinPool},
+ * and then joined. The shape of the tree only depends on the number of
+ * matrices, so the result is the same with or without parallelism. Since
+ * every partial sum is rounded to a {@code double}, the result may differ
+ * from a flat join of all matrices by about one ulp of the sum per level
+ * of the tree, i.e., it is not bit-identical to the result of joining
+ * more than {@link #GROUP_SIZE} matrices directly. If a
+ * {@link _Grid grid} is given, the final join evaluates the result on the
+ * grid, while the partial sums keep the full resolution.
+ */
+final class _JoinTask extends RecursiveTask<IMatrix> {
+
+  /** the maximum number of matrices to join directly */
+  static final int GROUP_SIZE = 32;
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the matrices */
+  private final IMatrix[] m_matrices;
+
+  /** the inclusive start index */
+  private final int m_start;
+
+  /** the exclusive end index */
+  private final int m_end;
+
+  /** the divisor for the sums */
+  private final int m_divisor;
+
+  /** the grid for the final join, or {@code null} for full resolution */
+  private final _Grid m_grid;
+
+  /**
+   * create the task
+   *
+   * @param matrices
+   *          the matrices
+   * @param start
+   *          the inclusive start index
+   * @param end
+   *          the exclusive end index
+   * @param divisor
+   *          the divisor for the sums: {@code 1} for partial sums, the
+   *          total number of matrices for the final average
+   * @param grid
+   *          the grid for the final join, or {@code null} for full
+   *          resolution
+   */
+  _JoinTask(final IMatrix[] matrices, final int start, final int end,
+      final int divisor, final _Grid grid) {
+    super();
+    this.m_matrices = matrices;
+    this.m_start = start;
+    this.m_end = end;
+    this.m_divisor = divisor;
+    this.m_grid = grid;
+  }
+
+  /**
+   * Join a set of matrices, either on the grid or at full resolution
+   *
+   * @param matrices
+   *          the matrices
+   * @return the joined matrix
+   */
+  private final IMatrix __join(final IMatrix[] matrices) {
+    if (this.m_grid != null) {
+      return this.m_grid._join(matrices, this.m_divisor);
+    }
+    return _RawECDF._join(matrices, this.m_divisor);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final IMatrix compute() {
+    final _JoinTask low, high;
+    final int middle;
+
+    if ((this.m_end - this.m_start) <= _JoinTask.GROUP_SIZE) {
+      return this.__join(Arrays.copyOfRange(this.m_matrices,
+          this.m_start, this.m_end));
+    }
+
+    middle = ((this.m_start + this.m_end) >>> 1);
+    low = new _JoinTask(this.m_matrices, this.m_start, middle, 1, null);
+    high = new _JoinTask(this.m_matrices, middle, this.m_end, 1,
+        null);
+    if (ForkJoinTask.inForkJoinPool()) {
+      ForkJoinTask.invokeAll(low, high);
+    } else {
+      low.invoke();
+      high.invoke();
+    }
+
+    return this.__join(new IMatrix[] { low.join(), high.join() });
+  }
+}
@@ -1,5 +1,6 @@
 package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
 
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
 import org.optimizationBenchmarking.experimentation.data.spec.IRun;
 import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
@@ -49,6 +50,15 @@ abstract class _List {
    */
   abstract void _addRun(final IRun run);
 
+  /**
+   * add the data point at which a run has reached the goal
+   *
+   * @param point
+   *          the data point, or {@code null} if the run did not reach the
+   *          goal
+   */
+  abstract void _addPoint(final IDataPoint point);
+
   /**
    * Convert the data to a matrix
    *
@@ -2,6 +2,7 @@ package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
 
 import java.util.Arrays;
 
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
 import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
 
@@ -46,6 +47,15 @@ abstract class _Longs extends _List {
     this.m_size = (size + 1);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final void _addPoint(final IDataPoint point) {
+    this.m_total++;
+    if (point != null) {
+      this._add(point.getLong(this.m_timeIndex));
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   final DoubleMatrix1D _toMatrix() {
@@ -1,5 +1,11 @@
 package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinTask;
+
+import org.optimizationBenchmarking.experimentation.attributes.ContentFingerprint;
 import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
 import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
@@ -7,6 +13,7 @@ import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.experimentation.data.spec.IPersistentAttribute;
 import org.optimizationBenchmarking.experimentation.data.spec.IRun;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.comparison.EComparison;
@@ -16,6 +23,7 @@ import org.optimizationBenchmarking.utils.math.NumericalTypes;
 import org.optimizationBenchmarking.utils.math.functions.arithmetic.Div;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.impl.MatrixBuilder;
+import org.optimizationBenchmarking.utils.math.matrix.impl.MatrixIO;
 import org.optimizationBenchmarking.utils.math.matrix.processing.iterator2D.MatrixIterator2D;
 import org.optimizationBenchmarking.utils.math.statistics.aggregate.StableSum;
 import org.optimizationBenchmarking.utils.text.TextUtils;
@@ -23,9 +31,14 @@ import org.optimizationBenchmarking.utils.text.TextUtils;
 /**
  * The raw data of the Estimated Cumulative Distribution Function returns,
  * for an experiment or instance runs set, the fraction of runs which have
- * reached a specified goal.
+ * reached a specified goal. The matrix either has one row for each time
+ * value at which the fraction changes or, if a {@link _Grid grid} is
+ * specified, one row for each grid point. A gridded ECDF is computed by
+ * evaluating the full-resolution ECDFs of the child elements directly on
+ * the grid while merging them.
  */
-final class _RawECDF extends Attribute<IElementSet, IMatrix> {
+final class _RawECDF extends Attribute<IElementSet, IMatrix> implements
+    IPersistentAttribute<IElementSet, IMatrix> {
 
   /** the time dimension */
   final IDimension m_timeDim;
@@ -50,6 +63,24 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
   /** the goal index */
   final int m_goalIndex;
 
+  /**
+   * the ladder this ECDF belongs to, or {@code null} if it does not belong
+   * to a ladder
+   */
+  final _RawECDFLadder m_ladder;
+
+  /** the index of this ECDF in its ladder, or {@code -1} if none */
+  final int m_ladderIndex;
+
+  /** the grid, or {@code null} if the ECDF has full resolution */
+  final _Grid m_grid;
+
+  /**
+   * the full-resolution version of this ECDF, or {@code null} if this ECDF
+   * has full resolution
+   */
+  final _RawECDF m_full;
+
   /**
    * Create the ECDF attribute
    *
@@ -75,6 +106,10 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
 
     this.m_timeDim = timeDim;
     this.m_timeIndex = timeDim.getIndex();
+    this.m_grid = null;
+    this.m_full = null;
+    this.m_ladder = null;
+    this.m_ladderIndex = (-1);
 
     this.m_goalDim = goalDim;
     this.m_goalIndex = goalDim.getIndex();
@@ -105,16 +140,86 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
     }
   }
 
+  /**
+   * Create a gridded version of a full-resolution ECDF attribute
+   *
+   * @param full
+   *          the full-resolution ECDF attribute
+   * @param points
+   *          the number of grid points
+   * @param logarithmic
+   *          should the grid points be spaced logarithmically?
+   */
+  _RawECDF(final _RawECDF full, final int points,
+      final boolean logarithmic) {
+    super(EAttributeType.TEMPORARILY_STORED);
+
+    if (full.m_full != null) {
+      throw new IllegalArgumentException(//
+          "Cannot create a gridded ECDF from a gridded ECDF.");//$NON-NLS-1$
+    }
+
+    this.m_timeDim = full.m_timeDim;
+    this.m_timeIndex = full.m_timeIndex;
+    this.m_goalDim = full.m_goalDim;
+    this.m_goalIndex = full.m_goalIndex;
+    this.m_useLongGoal = full.m_useLongGoal;
+    this.m_goalValueLong = full.m_goalValueLong;
+    this.m_goalValueDouble = full.m_goalValueDouble;
+    this.m_grid = new _Grid(points, logarithmic, full.m_timeDim
+        .getDataType().isInteger());
+    this.m_full = full;
+    this.m_ladder = null;
+    this.m_ladderIndex = (-1);
+  }
+
+  /**
+   * Create a member of a ladder of ECDFs. The member is equal to the
+   * ECDF it is created from, but its matrices for instance runs are
+   * computed by the ladder.
+   *
+   * @param member
+   *          the full-resolution ECDF attribute which does not belong to a
+   *          ladder
+   * @param ladder
+   *          the ladder
+   * @param ladderIndex
+   *          the index of the member in the ladder
+   */
+  _RawECDF(final _RawECDF member, final _RawECDFLadder ladder,
+      final int ladderIndex) {
+    super(EAttributeType.TEMPORARILY_STORED);
+
+    if ((member.m_full != null) || (member.m_ladder != null)) {
+      throw new IllegalArgumentException(//
+          "Ladder members must be created from full-resolution ECDFs which do not belong to a ladder.");//$NON-NLS-1$
+    }
+
+    this.m_timeDim = member.m_timeDim;
+    this.m_timeIndex = member.m_timeIndex;
+    this.m_goalDim = member.m_goalDim;
+    this.m_goalIndex = member.m_goalIndex;
+    this.m_useLongGoal = member.m_useLongGoal;
+    this.m_goalValueLong = member.m_goalValueLong;
+    this.m_goalValueDouble = member.m_goalValueDouble;
+    this.m_grid = null;
+    this.m_full = null;
+    this.m_ladder = ladder;
+    this.m_ladderIndex = ladderIndex;
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final int calcHashCode() {
     return HashUtils.combineHashes(//
         HashUtils.combineHashes(//
-            HashUtils.hashCode(this.m_timeIndex),//
-            HashUtils.hashCode(this.m_goalIndex)),//
-        (this.m_useLongGoal//
-        ? HashUtils.hashCode(this.m_goalValueLong)//
-            : HashUtils.hashCode(this.m_goalValueDouble)));//
+            HashUtils.combineHashes(//
+                HashUtils.hashCode(this.m_timeIndex),//
+                HashUtils.hashCode(this.m_goalIndex)),//
+            (this.m_useLongGoal//
+            ? HashUtils.hashCode(this.m_goalValueLong)//
+                : HashUtils.hashCode(this.m_goalValueDouble))),//
+        HashUtils.hashCode(this.m_grid));
   }
 
   /** {@inheritDoc} */
@@ -129,7 +234,8 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
     if (o instanceof _RawECDF) {
       other = ((_RawECDF) o);
       if ((this.m_timeIndex == other.m_timeIndex) && //
-          (this.m_goalIndex == other.m_goalIndex)) {
+          (this.m_goalIndex == other.m_goalIndex) && //
+          EComparison.equals(this.m_grid, other.m_grid)) {
         if (this.m_useLongGoal) {
           if (other.m_useLongGoal) {
             return (this.m_goalValueLong == other.m_goalValueLong);
@@ -178,7 +284,31 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
   }
 
   /**
-   * Compute the raw matrix for an instance run set
+   * Create the list collecting the times at which the runs reach the goal
+   *
+   * @return the list
+   */
+  final _List _createList() {
+    if (this.m_goalDim.getDataType().isFloat()) {
+      if (this.m_timeDim.getDataType().isInteger()) {
+        return new _LongTimeDoubleGoal(this.m_timeDim, this.m_goalIndex,
+            this.m_goalValueDouble);
+      }
+      return new _DoubleTimeDoubleGoal(this.m_timeDim, this.m_goalIndex,
+          this.m_goalValueDouble);
+    }
+    if (this.m_timeDim.getDataType().isInteger()) {
+      return new _LongTimeLongGoal(this.m_timeDim, this.m_goalIndex,
+          this.m_goalValueLong);
+    }
+    return new _DoubleTimeLongGoal(this.m_timeDim, this.m_goalIndex,
+        this.m_goalValueLong);
+  }
+
+  /**
+   * Compute the raw matrix for an instance run set. If this ECDF belongs
+   * to a {@link _RawECDFLadder ladder}, the matrices for all goals of the
+   * ladder are computed together.
    *
    * @param data
    *          the data the instance runs
@@ -187,24 +317,15 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
   private final IMatrix __compute(final IInstanceRuns data) {
     final _List list;
 
-    if (this.m_goalDim.getDataType().isFloat()) {
-      if (this.m_timeDim.getDataType().isInteger()) {
-        list = new _LongTimeDoubleGoal(this.m_timeDim, this.m_goalIndex,
-            this.m_goalValueDouble);
-      } else {
-        list = new _DoubleTimeDoubleGoal(this.m_timeDim, this.m_goalIndex,
-            this.m_goalValueDouble);
-      }
-    } else {
-      if (this.m_timeDim.getDataType().isInteger()) {
-        list = new _LongTimeLongGoal(this.m_timeDim, this.m_goalIndex,
-            this.m_goalValueLong);
-      } else {
-        list = new _DoubleTimeLongGoal(this.m_timeDim, this.m_goalIndex,
-            this.m_goalValueLong);
-      }
+    if (this.m_full != null) {
+      return this.m_grid._join(new IMatrix[] { this.m_full.get(data) }, 1);
+    }
+
+    if (this.m_ladder != null) {
+      return this.m_ladder.get(data)[this.m_ladderIndex];
     }
 
+    list = this._createList();
     for (final IRun run : data.getData()) {
       list._addRun(run);
     }
@@ -212,13 +333,16 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
   }
 
   /**
-   * Join a set of matrices
+   * Join a set of matrices: For each relevant time value, compute the sum
+   * of the values of the matrices, divided by a given divisor.
    *
    * @param matrices
    *          the set of matrices
+   * @param divisor
+   *          the divisor
    * @return the joined matrix
    */
-  private static final IMatrix __join(final IMatrix[] matrices) {
+  static final IMatrix _join(final IMatrix[] matrices, final int divisor) {
     final MatrixBuilder builder;
     final MatrixIterator2D iterator;
     final StableSum sum;
@@ -244,34 +368,95 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
       }
       sum.reset();
       iterator.aggregateRow(0, sum);
-      builder.append(Div.INSTANCE.computeAsDouble(sum.doubleValue(),
-          matrices.length));
+      if (divisor > 1) {
+        builder.append(Div.INSTANCE.computeAsDouble(sum.doubleValue(),
+            divisor));
+      } else {
+        builder.append(sum.doubleValue());
+      }
     }
 
     return builder.make();
   }
 
   /**
-   * Compute the raw matrix for a given experiment
+   * Join a set of matrices, i.e., compute their average for each relevant
+   * time value. Up to {@link _JoinTask#GROUP_SIZE} matrices are joined
+   * directly, larger sets are joined as a tree of partial sums, which is
+   * computed in parallel if we are inside a
+   * {@link java.util.concurrent.ForkJoinPool}. The tree always has the
+   * same shape, so the result does not depend on the parallelism. However,
+   * each partial sum is rounded to a {@code double}, so for more than
+   * {@link _JoinTask#GROUP_SIZE} matrices the result may differ from the
+   * one of a flat join of all matrices by about one ulp per level of the
+   * tree. If this ECDF has a grid, the result is evaluated on the grid.
    *
-   * @param data
-   *          the experiment data
-   * @return the raw matrix
+   * @param matrices
+   *          the set of matrices
+   * @return the joined matrix
    */
-  private final IMatrix __compute(final IExperiment data) {
+  private final IMatrix __join(final IMatrix[] matrices) {
+    if (matrices.length <= _JoinTask.GROUP_SIZE) {
+      if (this.m_grid != null) {
+        return this.m_grid._join(matrices, matrices.length);
+      }
+      return _RawECDF._join(matrices, matrices.length);
+    }
+    return new _JoinTask(matrices, 0, matrices.length, matrices.length,
+        this.m_grid).invoke();
+  }
+
+  /**
+   * Get the raw matrices of a set of elements. If we are inside a
+   * {@link java.util.concurrent.ForkJoinPool} and the elements contain
+   * enough data points to make it worthwhile, they are computed in
+   * parallel, see {@link _GetTask}.
+   *
+   * @param elements
+   *          the elements
+   * @return the raw matrices, in the order of the elements
+   */
+  private final IMatrix[] __getAll(
+      final ArrayListView<? extends IElementSet> elements) {
     final IMatrix[] raw;
-    final ArrayListView<? extends IInstanceRuns> instanceRuns;
     final int size;
     int i;
 
-    instanceRuns = data.getData();
-    size = instanceRuns.size();
+    size = elements.size();
     raw = new IMatrix[size];
-    for (i = size; (--i) >= 0;) {
-      raw[i] = this.get(instanceRuns.get(i));
+    if ((size > 1) && (ForkJoinTask.inForkJoinPool())) {
+      new _GetTask(this, elements, _GetTask._work(elements), raw, 0, size)
+          .invoke();
+    } else {
+      for (i = size; (--i) >= 0;) {
+        raw[i] = this.get(elements.get(i));
+      }
     }
+    return raw;
+  }
 
-    return _RawECDF.__join(raw);
+  /**
+   * Get the full-resolution raw matrices of a set of elements
+   *
+   * @param elements
+   *          the elements
+   * @return the full-resolution raw matrices, in the order of the
+   *         elements
+   */
+  private final IMatrix[] __getAllFull(
+      final ArrayListView<? extends IElementSet> elements) {
+    return ((this.m_full != null) ? this.m_full : this).__getAll(elements);
+  }
+
+  /**
+   * Compute the raw matrix for a given experiment
+   *
+   * @param data
+   *          the experiment data
+   * @return the raw matrix
+   */
+  private final IMatrix __compute(final IExperiment data) {
+    return this.__join(this.__getAllFull(data.getData()));
   }
 
   /**
@@ -282,19 +467,7 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
    * @return the raw matrix
    */
   private final IMatrix __compute(final IExperimentSet data) {
-    final IMatrix[] raw;
-    final ArrayListView<? extends IExperiment> experiments;
-    final int size;
-    int i;
-
-    experiments = data.getData();
-    size = experiments.size();
-    raw = new IMatrix[size];
-    for (i = size; (--i) >= 0;) {
-      raw[i] = this.get(experiments.get(i));
-    }
-
-    return _RawECDF.__join(raw);
+    return this.__join(this.__getAllFull(data.getData()));
   }
 
   /** {@inheritDoc} */
@@ -317,4 +490,37 @@ final class _RawECDF extends Attribute<IElementSet, IMatrix> {
                 : "null."));//$NON-NLS-1$
 
   }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long estimateSize(final IMatrix value) {
+    return (64L + ((((long) (value.m())) * value.n()) << 3));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getPersistentKey(final IElementSet data) {
+    final String goal;
+
+    goal = (this.m_useLongGoal ? ("L" + this.m_goalValueLong) : //$NON-NLS-1$
+        ("D" + Double.doubleToLongBits(this.m_goalValueDouble))); //$NON-NLS-1$
+    return ((((((("ecdf;" + this.m_timeDim.getName()) + ';') + //$NON-NLS-1$
+        this.m_goalDim.getName()) + ';') + goal) + ';') + //
+        ((this.m_grid != null) ? (this.m_grid.toString() + ';') : "") + //$NON-NLS-1$
+    ContentFingerprint.INSTANCE.get(data));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void storeValue(final IMatrix value, final DataOutput out)
+      throws IOException {
+    MatrixIO.write(value, out);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix loadValue(final IElementSet data,
+      final DataInput in) throws IOException {
+    return MatrixIO.read(in);
+  }
 }
@@ -0,0 +1,177 @@
+package org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
+
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * A ladder of raw ECDFs with the same time and goal dimension, but
+ * different goal values. For a set of instance runs, the raw ECDF matrices
+ * of all goal values are computed together: The goal values are sorted in
+ * the order in which a run reaches them, so the data points at which a run
+ * reaches each of them are found in a single pass over the run via
+ * {@link IRun#find(int, double[], IDataPoint[])} or
+ * {@link IRun#find(int, long[], IDataPoint[])}. For {@code G} goal values,
+ * each run is thus scanned once instead of {@code G} times. The results
+ * are exactly the same as those of the individual raw ECDFs.
+ */
+final class _RawECDFLadder extends Attribute<IInstanceRuns, IMatrix[]> {
+
+  /** the raw ECDFs in the ladder */
+  private final _RawECDF[] m_members;
+
+  /** the goal index */
+  private final int m_goalIndex;
+
+  /** are the goal values {@code double}s? */
+  private final boolean m_isFloat;
+
+  /** the sorted {@code long} goal values */
+  private final long[] m_longGoals;
+
+  /** the sorted {@code double} goal values */
+  private final double[] m_doubleGoals;
+
+  /** the member index for each sorted goal value */
+  private final int[] m_order;
+
+  /**
+   * Create the ladder. All members must have the same time and goal
+   * dimension. The members must not belong to a ladder themselves: They
+   * only describe the goal values and create the lists into which the
+   * found data points are collected.
+   *
+   * @param members
+   *          the raw ECDFs in the ladder
+   */
+  _RawECDFLadder(final _RawECDF[] members) {
+    super(EAttributeType.TEMPORARILY_STORED);
+
+    final boolean increasing;
+    int i, j, member;
+
+    this.m_members = members;
+    this.m_goalIndex = members[0].m_goalIndex;
+    this.m_isFloat = members[0].m_goalDim.getDataType().isFloat();
+    increasing = members[0].m_goalDim.getDirection().isIncreasing();
+
+    // sort the members by their goal values in the order in which a run
+    // reaches them
+    this.m_order = new int[members.length];
+    for (i = 0; i < members.length; i++) {
+      if ((members[i].m_timeIndex != members[0].m_timeIndex)
+          || (members[i].m_goalIndex != this.m_goalIndex)) {
+        throw new IllegalArgumentException(//
+            "All ECDFs in a ladder must have the same time and goal dimension."); //$NON-NLS-1$
+      }
+      for (j = i; (j > 0)
+          && this.__before(members[i], members[this.m_order[j - 1]],
+              increasing); j--) {
+        this.m_order[j] = this.m_order[j - 1];
+      }
+      this.m_order[j] = i;
+    }
+
+    if (this.m_isFloat) {
+      this.m_doubleGoals = new double[members.length];
+      this.m_longGoals = null;
+    } else {
+      this.m_longGoals = new long[members.length];
+      this.m_doubleGoals = null;
+    }
+    for (i = 0; i < members.length; i++) {
+      member = this.m_order[i];
+      if (this.m_isFloat) {
+        this.m_doubleGoals[i] = members[member].m_goalValueDouble;
+      } else {
+        this.m_longGoals[i] = members[member].m_goalValueLong;
+      }
+    }
+  }
+
+  /**
+   * Is the goal value of one ECDF reached before the one of another ECDF?
+   *
+   * @param a
+   *          the first ECDF
+   * @param b
+   *          the second ECDF
+   * @param increasing
+   *          is the goal dimension increasing?
+   * @return {@code true} if the goal of {@code a} is reached before the
+   *         one of {@code b}
+   */
+  private final boolean __before(final _RawECDF a, final _RawECDF b,
+      final boolean increasing) {
+    if (this.m_isFloat) {
+      return (increasing ? (a.m_goalValueDouble < b.m_goalValueDouble)
+          : (a.m_goalValueDouble > b.m_goalValueDouble));
+    }
+    return (increasing ? (a.m_goalValueLong < b.m_goalValueLong)
+        : (a.m_goalValueLong > b.m_goalValueLong));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final int calcHashCode() {
+    return Arrays.hashCode(this.m_members);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    return ((o == this) || ((o instanceof _RawECDFLadder) && //
+    Arrays.equals(this.m_members, ((_RawECDFLadder) o).m_members)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final IMatrix[] compute(final IInstanceRuns data) {
+    final _List[] lists;
+    final IDataPoint[] points;
+    final IMatrix[] matrices;
+    int i;
+
+    lists = new _List[this.m_members.length];
+    for (i = lists.length; (--i) >= 0;) {
+      lists[i] = this.m_members[i]._createList();
+    }
+
+    points = new IDataPoint[lists.length];
+    for (final IRun run : data.getData()) {
+      if (run != null) {
+        if (this.m_isFloat) {
+          run.find(this.m_goalIndex, this.m_doubleGoals, points);
+        } else {
+          run.find(this.m_goalIndex, this.m_longGoals, points);
+        }
+        for (i = points.length; (--i) >= 0;) {
+          lists[this.m_order[i]]._addPoint(points[i]);
+        }
+      }
+    }
+
+    matrices = new IMatrix[lists.length];
+    for (i = lists.length; (--i) >= 0;) {
+      matrices[i] = lists[i]._toMatrix();
+    }
+    return matrices;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long estimateSize(final IMatrix[] value) {
+    long size;
+
+    size = 64L;
+    for (final IMatrix matrix : value) {
+      size += (64L + ((((long) (matrix.m())) * matrix.n()) << 3));
+    }
+    return size;
+  }
+}
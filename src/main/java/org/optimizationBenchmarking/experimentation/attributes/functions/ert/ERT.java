@@ -0,0 +1,353 @@
+package org.optimizationBenchmarking.experimentation.attributes.functions.ert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.optimizationBenchmarking.experimentation.attributes.HittingTimeIndex;
+import org.optimizationBenchmarking.experimentation.attributes.HittingTimes;
+import org.optimizationBenchmarking.experimentation.attributes.functions.FunctionAttribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.document.spec.IMath;
+import org.optimizationBenchmarking.utils.hash.HashUtils;
+import org.optimizationBenchmarking.utils.math.functions.arithmetic.Div;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.MatrixBuilder;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.StableSum;
+import org.optimizationBenchmarking.utils.text.ETextCase;
+import org.optimizationBenchmarking.utils.text.TextUtils;
+import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
+import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
+
+/**
+ * The Expected Running Time (ERT) returns, for a run, a set of instance
+ * runs, an experiment, or an experiment set, the expected time needed to
+ * reach each goal value reached by any of its runs. For a goal value, the
+ * ERT is the sum of the times all runs need to reach it, where runs which
+ * never reach it contribute their total time, divided by the number of
+ * runs which reach it. The function has one row for each goal value at
+ * which the ERT is finite, with the goal value in the first and the ERT
+ * in the second column, sorted by the goal value.
+ * <p>
+ * The ERT is computed from the {@link HittingTimes first-hitting-time
+ * indexes} of the runs: Each improvement of a run changes the time it
+ * contributes for all better goal values, so the ERT for all goal values
+ * is obtained by a single prefix sum over the sorted goal values after
+ * locating each improvement with a binary search.
+ * </p>
+ */
+public final class ERT extends FunctionAttribute<IElementSet> {
+
+  /**
+   * the string to be used in text documents to identify the ERT: {@value}
+   */
+  public static final String ERT_SHORT_NAME = "ert"; //$NON-NLS-1$
+
+  /** the hitting times attribute */
+  private final HittingTimes m_hittingTimes;
+
+  /**
+   * Create the ERT attribute
+   *
+   * @param timeDim
+   *          the time dimension
+   * @param goalDim
+   *          the goal dimension
+   */
+  public ERT(final IDimension timeDim, final IDimension goalDim) {
+    super(EAttributeType.TEMPORARILY_STORED);
+    this.m_hittingTimes = new HittingTimes(timeDim, goalDim);
+  }
+
+  /**
+   * Get the time dimension
+   *
+   * @return the time dimension
+   */
+  public final IDimension getTimeDimension() {
+    return this.m_hittingTimes.getTimeDimension();
+  }
+
+  /**
+   * Get the goal dimension
+   *
+   * @return the goal dimension
+   */
+  public final IDimension getGoalDimension() {
+    return this.m_hittingTimes.getGoalDimension();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final int calcHashCode() {
+    return HashUtils.hashCode(this.m_hittingTimes);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    return ((o == this) || ((o instanceof ERT) && //
+    this.m_hittingTimes.equals(((ERT) o).m_hittingTimes)));
+  }
+
+  /**
+   * Collect the hitting time indexes of all runs in an element set
+   *
+   * @param data
+   *          the element set
+   * @param dest
+   *          the destination list
+   */
+  private final void __collect(final IElementSet data,
+      final ArrayList<HittingTimeIndex> dest) {
+    if (data instanceof IRun) {
+      dest.add(this.m_hittingTimes.get((IRun) data));
+      return;
+    }
+    if (data instanceof IInstanceRuns) {
+      for (final IRun run : ((IInstanceRuns) data).getData()) {
+        dest.add(this.m_hittingTimes.get(run));
+      }
+      return;
+    }
+    if (data instanceof IExperiment) {
+      for (final IInstanceRuns runs : ((IExperiment) data).getData()) {
+        this.__collect(runs, dest);
+      }
+      return;
+    }
+    if (data instanceof IExperimentSet) {
+      for (final IExperiment experiment : ((IExperimentSet) data)
+          .getData()) {
+        this.__collect(experiment, dest);
+      }
+      return;
+    }
+
+    throw new IllegalArgumentException(//
+        "ERT can only be computed over an IExperimentSet, IExperiment, IInstanceRuns, or IRun, but you provided " //$NON-NLS-1$
+            + ((data != null)//
+            ? (TextUtils.className(data.getClass()) + '.')//
+                : "null."));//$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final IMatrix compute(final IElementSet data) {
+    final ArrayList<HittingTimeIndex> list;
+    final HittingTimeIndex[] indexes;
+    final boolean longGoals, increasing;
+    final long[] longTargets;
+    final double[] doubleTargets, terms, ert;
+    final int[] ranks, starts, next, failures;
+    final StableSum sum;
+    final MatrixBuilder builder;
+    int count, size, index, position, previous, rank, finite, failed;
+
+    list = new ArrayList<>();
+    this.__collect(data, list);
+    indexes = list.toArray(new HittingTimeIndex[list.size()]);
+
+    longGoals = this.m_hittingTimes.getGoalDimension().getDataType()
+        .isInteger();
+    increasing = this.m_hittingTimes.getGoalDimension().getDirection()
+        .isIncreasing();
+
+    // collect the distinct goal values reached by any run
+    count = 0;
+    for (final HittingTimeIndex htIndex : indexes) {
+      count += htIndex.size();
+    }
+    longTargets = (longGoals ? new long[count] : null);
+    doubleTargets = (longGoals ? null : new double[count]);
+    count = 0;
+    for (final HittingTimeIndex htIndex : indexes) {
+      for (index = 0; index < htIndex.size(); index++) {
+        if (longGoals) {
+          longTargets[count++] = htIndex.getGoalLong(index);
+        } else {
+          doubleTargets[count++] = htIndex.getGoalDouble(index);
+        }
+      }
+    }
+    if (longGoals) {
+      Arrays.sort(longTargets);
+    } else {
+      Arrays.sort(doubleTargets);
+    }
+    size = 0;
+    for (index = 0; index < count; index++) {
+      if (longGoals) {
+        if ((size <= 0) || (longTargets[index] != longTargets[size - 1])) {
+          longTargets[size++] = longTargets[index];
+        }
+      } else {
+        if ((size <= 0) || (Double.compare(doubleTargets[index],
+            doubleTargets[size - 1]) != 0)) {
+          doubleTargets[size++] = doubleTargets[index];
+        }
+      }
+    }
+
+    // Each improvement of a run changes the time the run contributes for
+    // all goal values after the one reached by its previous improvement,
+    // where goal values are ranked in the order in which runs reach them.
+    // The changes are recorded as terms which are bucketed by rank with a
+    // counting sort, so that they can be added up in order with a stable
+    // sum. Runs fail beyond the best goal value they reach and contribute
+    // their end time.
+    ranks = new int[count];
+    starts = new int[size + 2];
+    failures = new int[size + 1];
+    count = 0;
+    for (final HittingTimeIndex htIndex : indexes) {
+      previous = (-1);
+      for (index = 0; index < htIndex.size(); index++) {
+        if (longGoals) {
+          position = Arrays.binarySearch(longTargets, 0, size,
+              htIndex.getGoalLong(index));
+        } else {
+          position = Arrays.binarySearch(doubleTargets, 0, size,
+              htIndex.getGoalDouble(index));
+        }
+        rank = (increasing ? position : ((size - 1) - position));
+        ranks[count++] = rank;
+        starts[previous + 2] += ((index > 0) ? 2 : 1);
+        previous = rank;
+      }
+      starts[previous + 2] += ((htIndex.size() > 0) ? 2 : 1);
+      failures[previous + 1]++;
+    }
+    for (index = 1; index < starts.length; index++) {
+      starts[index] += starts[index - 1];
+    }
+
+    next = Arrays.copyOf(starts, (size + 1));
+    terms = new double[starts[size + 1]];
+    count = 0;
+    for (final HittingTimeIndex htIndex : indexes) {
+      previous = (-1);
+      for (index = 0; index < htIndex.size(); index++) {
+        terms[next[previous + 1]++] = htIndex.getTimeDouble(index);
+        if (index > 0) {
+          terms[next[previous + 1]++] = (-(htIndex
+              .getTimeDouble(index - 1)));
+        }
+        previous = ranks[count++];
+      }
+      terms[next[previous + 1]++] = htIndex.getEndTimeDouble();
+      if (htIndex.size() > 0) {
+        terms[next[previous + 1]++] = (-(htIndex.getTimeDouble(htIndex
+            .size() - 1)));
+      }
+    }
+
+    // compute the ERT for all goal values with a single prefix sum
+    ert = new double[size];
+    sum = new StableSum();
+    failed = 0;
+    for (finite = 0; finite < size; finite++) {
+      failed += failures[finite];
+      if (failed >= indexes.length) {
+        break;
+      }
+      for (index = starts[finite]; index < starts[finite + 1]; index++) {
+        sum.append(terms[index]);
+      }
+      ert[finite] = Div.INSTANCE.computeAsDouble(sum.doubleValue(),
+          (indexes.length - failed));
+    }
+
+    builder = new MatrixBuilder(finite << 1);
+    builder.setN(2);
+    for (index = 0; index < size; index++) {
+      rank = (increasing ? index : ((size - 1) - index));
+      if (rank < finite) {
+        if (longGoals) {
+          builder.append(longTargets[index]);
+        } else {
+          builder.append(doubleTargets[index]);
+        }
+        builder.append(ert[rank]);
+      }
+    }
+    return builder.make();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long estimateSize(final IMatrix value) {
+    return (64L + ((((long) (value.m())) * value.n()) << 3));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getPathComponentSuggestion() {
+    final MemoryTextOutput mto;
+
+    mto = new MemoryTextOutput();
+    mto.append("ert_of_"); //$NON-NLS-1$
+    mto.append(this.getTimeDimension().getPathComponentSuggestion());
+    mto.append("_over_"); //$NON-NLS-1$
+    mto.append(this.getGoalDimension().getPathComponentSuggestion());
+    return mto.toString();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final ETextCase appendXAxisTitlePlain(
+      final ITextOutput textOut, final ETextCase textCase) {
+    return this.getGoalDimension().appendName(textOut,
+        ETextCase.ensure(textCase));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final ETextCase appendYAxisTitlePlain(
+      final ITextOutput textOut, final ETextCase textCase) {
+    ETextCase next;
+
+    next = ETextCase.ensure(textCase);
+    textOut.append(ERT.ERT_SHORT_NAME);
+    textOut.append('(');
+    next = this.getTimeDimension().appendName(textOut, next);
+    textOut.append(')');
+    return next;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void appendXAxisTitle(final IMath math) {
+    this.getGoalDimension().appendName(math);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void appendYAxisTitle(final IMath math) {
+    try (final IMath ert = math.nAryFunction(ERT.ERT_SHORT_NAME, 1, 1)) {
+      this.getTimeDimension().appendName(ert);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ETextCase appendLongName(final ITextOutput textOut,
+      final ETextCase textCase) {
+    ETextCase next;
+
+    next = ETextCase.ensure(textCase);
+    next = next.appendWords("expected running time in", textOut);//$NON-NLS-1$
+    textOut.append(' ');
+    next = this.getTimeDimension().appendName(textOut, next);
+    next = ETextCase.ensure(next);
+    textOut.append(' ');
+    next = next.appendWords("to reach", textOut);//$NON-NLS-1$
+    textOut.append(' ');
+    return this.appendXAxisTitle(textOut, next);
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Attributes which return expected running time (ERT) functions.
+ */
+package org.optimizationBenchmarking.experimentation.attributes.functions.ert;
\ No newline at end of file
@@ -44,4 +44,16 @@ public abstract class DataFactory extends Parser<DataPoint> {
    */
   public abstract Run createRun(final Instance instance,
       final Collection<DataPoint> points);
+
+  /**
+   * Create a run from a set of columns which have already been filled and
+   * validated, e.g., by a {@link RunContext}. There is exactly one array
+   * of the primitive type of each dimension and all arrays have the same
+   * length.
+   *
+   * @param columns
+   *          the columns
+   * @return the run
+   */
+  protected abstract Run createRun(final Object[] columns);
 }
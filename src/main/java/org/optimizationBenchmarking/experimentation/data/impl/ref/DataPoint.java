@@ -6,6 +6,7 @@ import java.util.Iterator;
 import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.utils.collections.iterators.InstanceIterator;
 import org.optimizationBenchmarking.utils.collections.lists.NumberList;
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumnIterator;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
@@ -211,6 +212,38 @@ public abstract class DataPoint extends NumberList implements IDataPoint {
     return false;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    if (from < to) {
+      dest[0] = this.getLong(column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    if (from < to) {
+      dest[0] = this.getDouble(column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long[] getLongColumnArray(final int column) {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double[] getDoubleColumnArray(final int column) {
+    return null;
+  }
+
   /** {@inheritDoc} */
   @Override
   public IMatrix selectColumns(final int... cols) {
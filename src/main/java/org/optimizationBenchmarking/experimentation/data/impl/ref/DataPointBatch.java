@@ -0,0 +1,231 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.util.Arrays;
+
+/**
+ * A batch of data points to be appended to a {@link RunContext run}. A
+ * batch is a thread-confined builder: It must only be used by the thread
+ * which {@link RunContext#createBatch() created} it, and it does not
+ * synchronize on anything while data points are added. The values of the
+ * added data points are written into a block of primitive columns, i.e.,
+ * no data point objects are created for strings or numbers. The block is
+ * handed over to the run context
+ * {@link RunContext#addDataPoints(int, long[][], double[][]) column-wise}
+ * in a single operation when it is full or when the batch is
+ * {@link #flush() flushed} or {@link #close() closed}, so the run context
+ * is only locked once per block instead of once per data point. The
+ * ordering of the data points is validated once for the whole run when
+ * the run context is closed.
+ */
+public final class DataPointBatch implements AutoCloseable {
+
+  /** the number of rows of the first block */
+  private static final int INITIAL_BLOCK_SIZE = 32;
+
+  /** the maximum number of rows of a block */
+  private static final int MAX_BLOCK_SIZE = 4096;
+
+  /** the owning run context */
+  private final RunContext m_owner;
+
+  /** the data factory */
+  private final DataFactory m_factory;
+
+  /** the value layout of the dimension set */
+  private final _GenericFactory m_layout;
+
+  /** the internal representations of the values of the current row */
+  private final long[] m_values;
+
+  /** the integer columns of the block */
+  private long[][] m_longs;
+
+  /** the floating point columns of the block */
+  private double[][] m_doubles;
+
+  /** the number of rows in the block */
+  private int m_size;
+
+  /** the capacity of the block */
+  private int m_capacity;
+
+  /** has the batch been closed? */
+  private boolean m_closed;
+
+  /**
+   * create the batch
+   *
+   * @param owner
+   *          the owning run context
+   * @param factory
+   *          the data factory
+   * @param layout
+   *          the value layout of the dimension set
+   */
+  DataPointBatch(final RunContext owner, final DataFactory factory,
+      final _GenericFactory layout) {
+    super();
+
+    final int n;
+
+    this.m_owner = owner;
+    this.m_factory = factory;
+    this.m_layout = layout;
+    n = layout.m_isFloat.length;
+    this.m_values = new long[n];
+    this.m_longs = new long[n][];
+    this.m_doubles = new double[n][];
+  }
+
+  /**
+   * Get the index of the next row of the block, grow or flush the block
+   * if it is full
+   *
+   * @return the index of the next row
+   */
+  private final int __nextRow() {
+    final boolean[] isFloat;
+    int capacity, j;
+
+    if (this.m_closed) {
+      throw new IllegalStateException(//
+          "Data point batch has already been closed."); //$NON-NLS-1$
+    }
+
+    if (this.m_size >= this.m_capacity) {
+      if (this.m_capacity >= DataPointBatch.MAX_BLOCK_SIZE) {
+        this.flush();
+      } else {
+        capacity = Math.min(DataPointBatch.MAX_BLOCK_SIZE,
+            Math.max(DataPointBatch.INITIAL_BLOCK_SIZE,
+                (this.m_capacity << 1)));
+        isFloat = this.m_layout.m_isFloat;
+        for (j = isFloat.length; (--j) >= 0;) {
+          if (isFloat[j]) {
+            this.m_doubles[j] = ((this.m_doubles[j] == null)//
+            ? new double[capacity]//
+                : Arrays.copyOf(this.m_doubles[j], capacity));
+          } else {
+            this.m_longs[j] = ((this.m_longs[j] == null)//
+            ? new long[capacity]//
+                : Arrays.copyOf(this.m_longs[j], capacity));
+          }
+        }
+        this.m_capacity = capacity;
+      }
+    }
+    return this.m_size;
+  }
+
+  /**
+   * Add a data point to this batch
+   *
+   * @param point
+   *          the data point to be added
+   */
+  public final void add(final DataPoint point) {
+    if (point == null) {
+      throw new IllegalArgumentException(//
+          "Data point must not be null."); //$NON-NLS-1$
+    }
+    this.m_layout._storeInto(point, this.__nextRow(), this.m_longs,
+        this.m_doubles);
+    this.m_size++;
+  }
+
+  /**
+   * Decode a string to a data point and add it to the batch
+   *
+   * @param string
+   *          the string
+   */
+  public final void add(final String string) {
+    this.m_layout._parseInto(string, this.m_values, this.__nextRow(),
+        this.m_longs, this.m_doubles);
+    this.m_size++;
+  }
+
+  /**
+   * Decode a list of numbers to a data point and add it to the batch
+   *
+   * @param numbers
+   *          the numbers to add
+   */
+  public final void add(final Number... numbers) {
+    this.m_layout._convertInto(numbers, this.m_values, this.__nextRow(),
+        this.m_longs, this.m_doubles);
+    this.m_size++;
+  }
+
+  /**
+   * Decode a raw object to a data point and add it to the batch
+   *
+   * @param rawObject
+   *          the raw object to add
+   */
+  public final void add(final Object rawObject) {
+    if (rawObject instanceof String) {
+      this.add((String) rawObject);
+    } else {
+      if (rawObject instanceof Number[]) {
+        this.add((Number[]) rawObject);
+      } else {
+        this.add(this.m_factory.parseObject(rawObject));
+      }
+    }
+  }
+
+  /**
+   * Add a block of data points given column-wise. For each dimension
+   * {@code j}, the values are taken from {@code longs[j]} if the dimension
+   * is integer-valued and from {@code doubles[j]} otherwise, the
+   * respective other array may be {@code null}. The data points collected
+   * so far are handed over to the run context first, then the columns are
+   * passed on {@link RunContext#addDataPoints(int, long[][], double[][])
+   * directly}.
+   *
+   * @param count
+   *          the number of data points to add, i.e., the number of values
+   *          to take from each column
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  public final void addColumns(final int count, final long[][] longs,
+      final double[][] doubles) {
+    this.flush();
+    this.m_owner.addDataPoints(count, longs, doubles);
+  }
+
+  /**
+   * Hand over all data points collected so far to the run context. The
+   * batch can be used further afterwards.
+   */
+  public final void flush() {
+    if (this.m_closed) {
+      throw new IllegalStateException(//
+          "Data point batch has already been closed."); //$NON-NLS-1$
+    }
+    if (this.m_size > 0) {
+      // the run context copies the values, so the block can be re-used
+      this.m_owner.addDataPoints(this.m_size, this.m_longs,
+          this.m_doubles);
+      this.m_size = 0;
+    }
+  }
+
+  /**
+   * Hand over all remaining data points to the run context and close the
+   * batch. Closing a batch twice has no effect.
+   */
+  @Override
+  public final void close() {
+    if (!(this.m_closed)) {
+      this.flush();
+      this.m_closed = true;
+      this.m_longs = null;
+      this.m_doubles = null;
+    }
+  }
+}
@@ -18,6 +18,9 @@ public final class DimensionSet extends _IDObjectSet<Dimension> implements
   /** the parsers */
   private final DataFactory m_parser;
 
+  /** the generic factory describing the value layout */
+  private transient volatile _GenericFactory m_layout;
+
   /**
    * The dimensions
    *
@@ -25,10 +28,23 @@ public final class DimensionSet extends _IDObjectSet<Dimension> implements
    *          the data of the set
    * @param logger
    *          the logger
+   * @param generateClasses
+   *          should specialized classes be generated, or should the
+   *          generic data implementation be used?
+   * @param factory
+   *          the data factory of an equivalent dimension set to re-use,
+   *          or {@code null} if a new data factory should be created
    */
-  DimensionSet(final Dimension[] data, final Logger logger) {
+  DimensionSet(final Dimension[] data, final Logger logger,
+      final boolean generateClasses, final DataFactory factory) {
     super(data, false, false, true);
-    this.m_parser = new _ClassBuilder(this, logger).call();
+    if (factory != null) {
+      this.m_parser = factory;
+    } else {
+      this.m_parser = (generateClasses ? new _ClassBuilder(this, logger)
+          .call() : new _ClassBuilder(this, logger)
+          ._createGenericFactory());
+    }
     this.m_id = DimensionSet.ID_COUNTER.getAndIncrement();
   }
 
@@ -41,6 +57,34 @@ public final class DimensionSet extends _IDObjectSet<Dimension> implements
     return this.m_parser;
   }
 
+  /**
+   * Get the generic factory of this dimension set. If the
+   * {@link #getDataFactory() data factory} is generic, it is returned,
+   * otherwise a generic factory is created. Generic factories describe a
+   * value layout which is independent of generated code, so they can be
+   * used to create runs on top of arbitrary storage.
+   *
+   * @return the generic factory
+   */
+  final _GenericFactory _getGenericFactory() {
+    _GenericFactory layout;
+
+    if (this.m_parser instanceof _GenericFactory) {
+      return ((_GenericFactory) (this.m_parser));
+    }
+    layout = this.m_layout;
+    if (layout == null) {
+      synchronized (this) {
+        layout = this.m_layout;
+        if (layout == null) {
+          this.m_layout = layout = new _ClassBuilder(this, null)
+              ._createGenericFactory();
+        }
+      }
+    }
+    return layout;
+  }
+
   /**
    * Find the given dimension.
    *
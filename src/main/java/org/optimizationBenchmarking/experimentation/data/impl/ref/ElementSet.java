@@ -35,6 +35,16 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
     this(data, true, false, false);
   }
 
+  /**
+   * Create an element set whose elements are not stored in an array but
+   * provided by {@link #getData()} on demand. Sub-classes using this
+   * constructor must override {@link #getData()}.
+   */
+  ElementSet() {
+    super();
+    this.m_data = null;
+  }
+
   /**
    * instantiate
    *
@@ -90,7 +100,7 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
    *
    * @return the data array
    */
-  public final ArraySetView<DT> getData() {
+  public ArraySetView<DT> getData() {
     return this.m_data;
   }
 
@@ -217,8 +227,8 @@ public class ElementSet<DT extends Comparable<?>> extends _IDObject {
     int i, r;
 
     if (o instanceof ElementSet) {
-      a = this.m_data;
-      b = ((ElementSet) o).m_data;
+      a = this.getData();
+      b = ((ElementSet) o).getData();
 
       if (a == b) {
         return 0;
@@ -12,8 +12,11 @@ public final class Experiment extends _IDObjectSet<InstanceRuns> implements
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
-  /** the parameter value map */
-  final ParameterSetting m_parameters;
+  /**
+   * the parameter value map, which is only replaced when the experiment
+   * is taken over by a new experiment set
+   */
+  ParameterSetting m_parameters;
 
   /** this object's name */
   final String m_name;
@@ -24,6 +24,12 @@ public final class ExperimentContext extends
   /** the parameter settings builder */
   private volatile _PropertyFSMSettingBuilder<ParameterSetting> m_props;
 
+  /**
+   * the experiment of an existing experiment set which is taken over, or
+   * {@code null} if a new experiment is built
+   */
+  private volatile Experiment m_base;
+
   /**
    * create the experiment set context
    *
@@ -45,6 +51,12 @@ public final class ExperimentContext extends
     return InstanceRunsContext.class;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final boolean _mayBeEmpty() {
+    return (this.m_base != null);
+  }
+
   /** {@inheritDoc} */
   @Override
   protected void fsmFlagsAppendName(final int flagValue,
@@ -155,11 +167,71 @@ public final class ExperimentContext extends
     return this.m_description;
   }
 
+  /**
+   * Specify that this context should take over an experiment of an
+   * existing experiment set instead of having instance runs added to it.
+   * The experiment object and its instance runs will be re-used.
+   *
+   * @param base
+   *          the experiment to take over
+   */
+  synchronized final void _setBase(final Experiment base) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    if (base == null) {
+      throw new IllegalArgumentException(//
+          "Experiment to take over must not be null."); //$NON-NLS-1$
+    }
+    if (this.m_base != null) {
+      throw new IllegalStateException(//
+          "Experiment to take over has already been specified."); //$NON-NLS-1$
+    }
+    this.m_base = base;
+    // the instance runs which are taken over count as one child context
+    // for the parameter values, which are set directly in this context
+    this.m_props._begin();
+    this.m_props._end();
+  }
+
+  /**
+   * Take over an experiment of an existing experiment set: The experiment
+   * and its instance runs are released from their owners and now refer to
+   * the parameter setting and instances of this context. Nothing else is
+   * changed, so this takes time proportional to the number of instance
+   * runs only.
+   *
+   * @param base
+   *          the experiment
+   * @param parameters
+   *          the new parameter setting
+   * @return the experiment
+   */
+  private final Experiment __takeOver(final Experiment base,
+      final ParameterSetting parameters) {
+    final InstanceSet instances;
+    Instance instance;
+
+    instances = this._getInstanceSet();
+    for (final InstanceRuns runs : base.m_data) {
+      instance = instances.find(runs.m_inst.m_name);
+      if (instance == null) {
+        throw new IllegalStateException((//
+            "Instance '" + runs.m_inst.m_name) + //$NON-NLS-1$
+            "' of experiment to take over does not exist."); //$NON-NLS-1$
+      }
+      runs.m_inst = instance;
+    }
+
+    base._disown();
+    base.m_parameters = parameters;
+    return base;
+  }
+
   /** {@inheritDoc} */
   @Override
   final Experiment _doCompile(final ArrayList<InstanceRuns> data) {
     final String a, b, c, d;
     final _PropertyFSMSettingBuilder<ParameterSetting> f;
+    final Experiment base;
 
     a = this.m_name;
     this.m_name = null;
@@ -167,6 +239,8 @@ public final class ExperimentContext extends
     this.m_description = null;
     f = this.m_props;
     this.m_props = null;
+    base = this.m_base;
+    this.m_base = null;
 
     this.fsmFlagsAssertTrue(ExperimentContext.FLAG_HAS_NAME);
 
@@ -191,6 +265,14 @@ public final class ExperimentContext extends
       d = null;
     }
 
+    if (base != null) {
+      if (!(data.isEmpty())) {
+        throw new IllegalStateException(//
+            "Cannot add instance runs to an experiment which is taken over."); //$NON-NLS-1$
+      }
+      return this.__takeOver(base, f._finalize());
+    }
+
     return new Experiment(b,//
         d,//
         f._finalize(),//
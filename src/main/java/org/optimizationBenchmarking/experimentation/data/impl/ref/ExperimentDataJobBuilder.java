@@ -1,20 +1,56 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
+import java.nio.file.Path;
+
 import org.optimizationBenchmarking.utils.tools.impl.abstr.ToolJobBuilder;
 
 /** The tool job builder for experiment sets */
 public final class ExperimentDataJobBuilder extends
     ToolJobBuilder<ExperimentSetContext, ExperimentDataJobBuilder> {
 
+  /**
+   * the directory for the run store, or {@code null} if runs are kept on
+   * the heap
+   */
+  private Path m_runStoreDir;
+
   /** create */
   ExperimentDataJobBuilder() {
     super();
+    this.m_runStoreDir = ExperimentSetContext.getDefaultRunStoreDirectory();
+  }
+
+  /**
+   * Set the directory in which the data of the runs is stored in
+   * memory-mapped files. If such a directory is set, run data is moved out
+   * of the heap during ingestion and the operating system's page cache
+   * decides which parts of it are held in memory.
+   *
+   * @param dir
+   *          the run store directory, or {@code null} to keep all run
+   *          data on the heap
+   * @return this builder
+   */
+  public final ExperimentDataJobBuilder setRunStoreDirectory(final Path dir) {
+    this.m_runStoreDir = dir;
+    return this;
+  }
+
+  /**
+   * Get the directory in which the data of the runs is stored in
+   * memory-mapped files
+   *
+   * @return the run store directory, or {@code null} if all run data is
+   *         kept on the heap
+   */
+  public final Path getRunStoreDirectory() {
+    return this.m_runStoreDir;
   }
 
   /** {@inheritDoc} */
   @Override
   public final ExperimentSetContext create() throws Exception {
-    return new ExperimentSetContext(this.getLogger());
+    return new ExperimentSetContext(this.getLogger(), this.m_runStoreDir);
   }
 
 }
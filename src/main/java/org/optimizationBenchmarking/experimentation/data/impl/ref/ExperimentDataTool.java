@@ -1,6 +1,5 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
-import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
 import org.optimizationBenchmarking.utils.tools.impl.abstr.Tool;
 
 /** The entry point for the tooling API to experiment data generation */
@@ -18,16 +17,18 @@ public final class ExperimentDataTool extends Tool {
     return new ExperimentDataJobBuilder();
   }
 
-  /** {@inheritDoc} */
-  @Override
-  public void checkCanUse() {
-    JavaCompilerTool.getInstance().checkCanUse();
-  }
-
-  /** {@inheritDoc} */
+  /**
+   * The experiment data tool can always be used: If no Java compiler is
+   * available, data classes are loaded from the class cache (if one has
+   * been configured) or, if they have not been cached yet, a generic
+   * implementation is used, whose runs are emitted directly as byte code
+   * where possible.
+   *
+   * @return {@code true}
+   */
   @Override
   public final boolean canUse() {
-    return JavaCompilerTool.getInstance().canUse();
+    return true;
   }
 
   /**
@@ -1,18 +1,41 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.experimentation.data.spec.IFeatureValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IParameterValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IPropertyValue;
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 import org.optimizationBenchmarking.utils.comparison.EComparison;
+import org.optimizationBenchmarking.utils.config.Configuration;
 import org.optimizationBenchmarking.utils.hash.HashUtils;
 import org.optimizationBenchmarking.utils.hierarchy.HierarchicalFSM;
 import org.optimizationBenchmarking.utils.text.TextUtils;
 import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 import org.optimizationBenchmarking.utils.tools.spec.IToolJob;
 
-/** A builder for experiments. */
+/**
+ * A builder for experiments. An existing experiment set can be
+ * {@link #ExperimentSetContext(Logger, ExperimentSet) opened for
+ * appending}: Then, its dimensions and instances are re-created in this
+ * context and new instances, experiments, and runs can be added. The
+ * experiments, instance runs, and runs of the existing set are taken over
+ * by the new set and are not copied.
+ */
 public final class ExperimentSetContext extends _FSM implements IToolJob {
 
+  /**
+   * the parameter for the directory in which run data is stored in
+   * memory-mapped files: if it is set, the data of all runs is moved out
+   * of the heap, which allows for processing experiment sets larger than
+   * the available memory
+   */
+  public static final String PARAM_RUN_STORE_DIR = "runStoreDir"; //$NON-NLS-1$
+
   /** a dimension set context was created */
   private static final int STATE_DIMENSION_SET_CONTEXT_CREATED = (_FSM.STATE_OPEN + 1);
   /** a dimension set context entered the before-open state */
@@ -50,6 +73,17 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
   /** a experiment set context has been taken */
   private static final int STATE_EXPERIMENT_SET_TAKEN = (ExperimentSetContext.STATE_EXPERIMENT_SET_OBTAINED + 1);
 
+  /**
+   * the number of stripes of the normalization counters, must be a power
+   * of two
+   */
+  private static final int COUNTER_STRIPES = 16;
+  /**
+   * the distance between two counter stripes: 16 longs are 128 bytes, so
+   * two stripes never share a cache line
+   */
+  private static final int COUNTER_STRIDE = 16;
+
   /** the state names */
   private static final String[] STATE_NAMES;
 
@@ -90,7 +124,13 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
   private volatile ExperimentSet m_result;
 
   /** the set of objects */
-  private volatile HashMap<Object, Object> m_normal;
+  private volatile ConcurrentHashMap<Object, Object> m_normal;
+
+  /**
+   * the striped counters of normalization lookups (at even indexes) and
+   * hits (at odd indexes)
+   */
+  private final AtomicLongArray m_normalCounters;
 
   /** the dimension set context */
   private volatile _DimensionSetContext m_dsc;
@@ -104,6 +144,34 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
   /** the logger */
   private final Logger m_logger;
 
+  /**
+   * the directory for the run store, or {@code null} if runs are kept on
+   * the heap
+   */
+  private final Path m_runStoreDir;
+
+  /**
+   * should classes be generated for the data of the dimension set, or
+   * should the generic data implementation be used?
+   */
+  private final boolean m_generateClasses;
+
+  /** the run store */
+  private volatile _MappedRunStore m_runStore;
+
+  /**
+   * the experiment set which has been opened for appending, or
+   * {@code null} if a new experiment set is built from scratch
+   */
+  private volatile ExperimentSet m_base;
+
+  /**
+   * the data factory of the experiment set which has been opened for
+   * appending, or {@code null} if a new experiment set is built from
+   * scratch
+   */
+  private volatile DataFactory m_baseFactory;
+
   /** create */
   public ExperimentSetContext() {
     this(null);
@@ -116,12 +184,52 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
    *          the logger to use, or {@code null} if none is required
    */
   public ExperimentSetContext(final Logger logger) {
+    this(logger, ExperimentSetContext.getDefaultRunStoreDirectory());
+  }
+
+  /**
+   * create
+   *
+   * @param logger
+   *          the logger to use, or {@code null} if none is required
+   * @param runStoreDir
+   *          the directory in which the data of the runs is stored in
+   *          memory-mapped files, or {@code null} if the data should be
+   *          kept on the heap
+   */
+  public ExperimentSetContext(final Logger logger, final Path runStoreDir) {
+    this(logger, runStoreDir, true);
+  }
+
+  /**
+   * create
+   *
+   * @param logger
+   *          the logger to use, or {@code null} if none is required
+   * @param runStoreDir
+   *          the directory in which the data of the runs is stored in
+   *          memory-mapped files, or {@code null} if the data should be
+   *          kept on the heap
+   * @param generateClasses
+   *          {@code true} if specialized classes should be generated and
+   *          compiled for the data points and runs (the default), or
+   *          {@code false} if the generic, interpreted data
+   *          implementation should be used, which is otherwise only taken
+   *          when neither a compiler nor cached classes are available
+   */
+  public ExperimentSetContext(final Logger logger, final Path runStoreDir,
+      final boolean generateClasses) {
     super(null);
 
     ExperimentDataTool.getInstance().checkCanUse();
 
     this.m_logger = logger;
-    this.m_normal = new HashMap<>();
+    this.m_runStoreDir = runStoreDir;
+    this.m_generateClasses = generateClasses;
+    this.m_normal = new ConcurrentHashMap<>();
+    this.m_normalCounters = new AtomicLongArray(
+        ExperimentSetContext.COUNTER_STRIPES
+            * ExperimentSetContext.COUNTER_STRIDE);
 
     this.m_normal.put(Parameter.PARAMETER_ALGORITHM,
         Parameter.PARAMETER_ALGORITHM);
@@ -147,6 +255,155 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
     this.open();
   }
 
+  /**
+   * Open an existing experiment set for appending. The dimensions,
+   * features, instances, and parameters of {@code base} are re-created in
+   * this context. The dimension set is then fixed, but new instances can
+   * be {@link #createInstance() created}, and new experiments can be
+   * {@link #createExperiment() added}. If a new experiment has the same
+   * name as an existing one, its instance runs are appended to those of
+   * the existing experiment.
+   * <p>
+   * The {@link #create() created} experiment set takes over the
+   * experiments, instance runs, and runs of {@code base}: Experiments and
+   * instance runs which did not change are re-used as they are, only
+   * instance runs to which new runs are added are re-built around the
+   * existing runs. Building the new set hence takes time proportional to
+   * the number of experiments, instance runs, and instances plus the new
+   * data, but not to the number of existing runs. Since the objects of
+   * {@code base} become owned by the new set, {@code base} must no longer
+   * be used afterwards.
+   * </p>
+   *
+   * @param logger
+   *          the logger to use, or {@code null} if none is required
+   * @param base
+   *          the experiment set to append to
+   */
+  public ExperimentSetContext(final Logger logger, final ExperimentSet base) {
+    this(logger);
+
+    if (base == null) {
+      throw new IllegalArgumentException(//
+          "Experiment set to append to must not be null."); //$NON-NLS-1$
+    }
+    // new runs must have the same classes as the runs which are taken over
+    this.m_baseFactory = base.getDimensions().getDataFactory();
+    this.__appendSkeleton(base);
+    this.m_base = base;
+  }
+
+  /**
+   * Get the raw value of a property value, if it is specified
+   *
+   * @param value
+   *          the property value
+   * @return the raw value, or {@code null} if the value is generalized or
+   *         unspecified
+   */
+  private static final Object __getSpecifiedValue(
+      final IPropertyValue value) {
+    final Object raw;
+
+    raw = value.getValue();
+    if ((raw instanceof _PropertyValueGeneralized)
+        || (raw instanceof _PropertyValueUnspecified)) {
+      return null;
+    }
+    return raw;
+  }
+
+  /**
+   * Re-create the dimensions, features, and instances of an experiment
+   * set which is opened for appending
+   *
+   * @param base
+   *          the experiment set
+   */
+  private final void __appendSkeleton(final ExperimentSet base) {
+    final ArraySetView<Dimension> oldDims, newDims;
+    Object raw;
+    Number bound;
+    int index;
+
+    oldDims = base.getDimensions().getData();
+    for (final Dimension dim : oldDims) {
+      try (final DimensionContext context = this.createDimension()) {
+        context.setName(dim.getName());
+        context.setDescription(dim.getDescription());
+        context.setParser(dim.getParser());
+        context.setType(dim.getDimensionType());
+        context.setDirection(dim.getDirection());
+      }
+    }
+    newDims = this.getDimensionSet().getData();
+
+    for (final Feature feature : base.getFeatures().getData()) {
+      this.declareFeature(feature.getName(), feature.getDescription());
+    }
+
+    for (final Instance instance : base.getInstances().getData()) {
+      try (final InstanceContext context = this.createInstance()) {
+        context.setName(instance.getName());
+        context.setDescription(instance.getDescription());
+        for (final IFeatureValue value : instance.getFeatureSetting()) {
+          raw = ExperimentSetContext.__getSpecifiedValue(value);
+          if (raw != null) {
+            context.setFeatureValue(value.getOwner().getName(), raw,
+                value.getDescription());
+          }
+        }
+        for (index = 0; index < newDims.size(); index++) {
+          bound = instance.getLowerBound(oldDims.get(index));
+          if (bound != null) {
+            context.setLowerBound(newDims.get(index), bound);
+          }
+          bound = instance.getUpperBound(oldDims.get(index));
+          if (bound != null) {
+            context.setUpperBound(newDims.get(index), bound);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Re-create the parameters of an experiment set which is opened for
+   * appending and let its experiments be taken over by new experiment
+   * contexts.
+   *
+   * @param base
+   *          the experiment set
+   * @param esc
+   *          the experiment set context
+   */
+  private static final void __appendExperiments(final ExperimentSet base,
+      final _ExperimentSetContext esc) {
+    Object raw;
+
+    for (final Parameter parameter : base.getParameters().getData()) {
+      esc._declareParameter(parameter.getName(),
+          parameter.getDescription());
+    }
+
+    for (final Experiment experiment : base.getData()) {
+      try (final ExperimentContext context = esc._createExperiment()) {
+        context.setName(experiment.getName());
+        context.setDescription(experiment.getDescription());
+        for (final IParameterValue value : experiment
+            .getParameterSetting()) {
+          raw = ExperimentSetContext.__getSpecifiedValue(value);
+          if (raw != null) {
+            context.setParameterValue(value.getOwner().getName(), raw,
+                value.getDescription());
+          }
+        }
+
+        context._setBase(experiment);
+      }
+    }
+  }
+
   /**
    * Get the logger
    *
@@ -156,6 +413,62 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
     return this.m_logger;
   }
 
+  /**
+   * Get the directory in which run data is stored in memory-mapped files
+   * by default, as specified by parameter
+   * {@link #PARAM_RUN_STORE_DIR}.
+   *
+   * @return the default run store directory, or {@code null} if runs are
+   *         kept on the heap by default
+   */
+  public static final Path getDefaultRunStoreDirectory() {
+    return __RunStoreDirLoader.DIR;
+  }
+
+  /**
+   * Should specialized classes be generated for the data of the dimension
+   * set?
+   *
+   * @return {@code true} if classes should be generated, {@code false} if
+   *         the generic data implementation should be used
+   */
+  final boolean _generatesClasses() {
+    return this.m_generateClasses;
+  }
+
+  /**
+   * Get the data factory of the experiment set which has been opened for
+   * appending
+   *
+   * @return the data factory to re-use, or {@code null} if a new one
+   *         should be created
+   */
+  final DataFactory _getBaseDataFactory() {
+    return this.m_baseFactory;
+  }
+
+  /**
+   * Get the run store, create it if necessary
+   *
+   * @return the run store, or {@code null} if runs are kept on the heap
+   */
+  synchronized final _MappedRunStore _getRunStore() {
+    if (this.m_runStoreDir == null) {
+      return null;
+    }
+    if (this.m_runStore == null) {
+      try {
+        this.m_runStore = new _MappedRunStore(this.m_runStoreDir,
+            this.getDimensionSet()._getGenericFactory(), this.m_logger);
+      } catch (final Throwable error) {
+        throw new IllegalStateException(//
+            "Could not create run store in directory '" + //$NON-NLS-1$
+                this.m_runStoreDir + '\'' + '.', error);
+      }
+    }
+    return this.m_runStore;
+  }
+
   /** {@inheritDoc} */
   @Override
   protected void fsmStateAppendName(final int state,
@@ -256,6 +569,8 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
    * @return the experiment set context
    */
   private synchronized final _ExperimentSetContext __getExperimentSetContext() {
+    final ExperimentSet base;
+
     if (this.m_esc != null) {
       return this.m_esc;
     }
@@ -263,7 +578,13 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
     this.fsmStateAssertAndSet(
         ExperimentSetContext.STATE_INSTANCE_SET_OBTAINED,
         ExperimentSetContext.STATE_EXPERIMENT_SET_CONTEXT_CREATED);
-    return (this.m_esc = new _ExperimentSetContext(this));
+    base = this.m_base;
+    this.m_esc = new _ExperimentSetContext(this, (base != null));
+    if (base != null) {
+      this.m_base = null;
+      ExperimentSetContext.__appendExperiments(base, this.m_esc);
+    }
+    return this.m_esc;
   }
 
   /**
@@ -405,6 +726,11 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
   public synchronized final ExperimentSet create() {
     final ExperimentSet es;
 
+    if (this.m_base != null) {
+      // the experiments of the base set must be added even if no new
+      // experiment has been created
+      this.__getExperimentSetContext();
+    }
     this.__closeExperimentSetContext();
 
     this.fsmStateAssertAndSet(EComparison.GREATER_OR_EQUAL,
@@ -472,6 +798,7 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
           this.m_features = null;
           this.m_instances = null;
           this.m_normal = null;
+          this.__logNormalizationStatistics();
 
           this.fsmStateAssertAndSet(
               ExperimentSetContext.STATE_EXPERIMENT_SET_CONTEXT_CLOSED,
@@ -483,14 +810,26 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
     }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The normalization table is a concurrent map, so that several threads
+   * can create experiments, instances, and runs in parallel without
+   * blocking each other. As before, the first object stored under a given
+   * {@link HashUtils#hashKey(Object) key} wins and is returned for all
+   * later, equal objects.
+   * </p>
+   */
   @Override
   @SuppressWarnings("unchecked")
-  protected synchronized final <T> T doNormalizePersistently(final T in) {
-    final HashMap<Object, Object> normal;
-    final Object b, key;
+  protected final <T> T doNormalizePersistently(final T in) {
+    final ConcurrentHashMap<Object, Object> normal;
+    final Object b;
+    final int stripe;
 
-    key = HashUtils.hashKey(in);
+    if (in == null) {
+      return null;
+    }
 
     this.fsmStateAssert(EComparison.LESS_OR_EQUAL,
         ExperimentSetContext.STATE_EXPERIMENT_SET_CONTEXT_CLOSED);
@@ -501,17 +840,84 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
           "Cannot normalize object '" + in) + '\'') + '.'); //$NON-NLS-1$
     }
 
-    b = normal.get(key);
+    stripe = ((((int) (Thread.currentThread().getId())) & //
+    (ExperimentSetContext.COUNTER_STRIPES - 1)) * //
+    ExperimentSetContext.COUNTER_STRIDE);
+    this.m_normalCounters.incrementAndGet(stripe);
+
+    b = normal.putIfAbsent(HashUtils.hashKey(in), in);
     if (b != null) {
+      this.m_normalCounters.incrementAndGet(stripe + 1);
       return ((T) (b));
     }
-    normal.put(key, in);
-
     return in;
   }
 
+  /**
+   * Sum up one kind of normalization counter over all stripes
+   *
+   * @param offset
+   *          {@code 0} for lookups, {@code 1} for hits
+   * @return the sum
+   */
+  private final long __sumNormalizationCounter(final int offset) {
+    long sum;
+    int i;
+
+    sum = 0L;
+    for (i = offset; i < this.m_normalCounters.length(); //
+    i += ExperimentSetContext.COUNTER_STRIDE) {
+      sum += this.m_normalCounters.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Get the number of times an object was looked up in the normalization
+   * table, i.e., the number of objects which were normalized persistently
+   *
+   * @return the number of normalization lookups
+   */
+  public final long getNormalizationLookups() {
+    return this.__sumNormalizationCounter(0);
+  }
+
+  /**
+   * Get the number of normalization lookups which found an equal object
+   * that was already in the table, i.e., the number of times an object
+   * could be replaced by a shared instance
+   *
+   * @return the number of normalization hits
+   */
+  public final long getNormalizationHits() {
+    return this.__sumNormalizationCounter(1);
+  }
+
+  /** log the normalization statistics */
+  private final void __logNormalizationStatistics() {
+    final long lookups, hits;
+
+    if ((this.m_logger != null) && (this.m_logger.isLoggable(Level.FINE))) {
+      lookups = this.getNormalizationLookups();
+      hits = this.getNormalizationHits();
+      synchronized (this.m_logger) {
+        this.m_logger.fine(((((("Normalization table: " + lookups) + //$NON-NLS-1$
+            " lookups, ") + hits) + //$NON-NLS-1$
+            " hits, ") + (lookups - hits)) + //$NON-NLS-1$
+            " distinct objects."); //$NON-NLS-1$
+      }
+    }
+  }
+
   /** free all allocated data structures */
   private final void __free() {
+    final _MappedRunStore store;
+
+    store = this.m_runStore;
+    if (store != null) {
+      this.m_runStore = null;
+      store._close();
+    }
     this.m_dsc = null;
     this.m_isc = null;
     this.m_esc = null;
@@ -520,6 +926,8 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
     this.m_features = null;
     this.m_instances = null;
     this.m_result = null;
+    this.m_base = null;
+    this.m_baseFactory = null;
   }
 
   /** {@inheritDoc} */
@@ -566,4 +974,23 @@ public final class ExperimentSetContext extends _FSM implements IToolJob {
       throw error;
     }
   }
+
+  /** the loader for the default run store directory */
+  private static final class __RunStoreDirLoader {
+
+    /** the default run store directory */
+    static final Path DIR;
+
+    static {
+      Path dir;
+
+      try {
+        dir = Configuration.getRoot().getPath(
+            ExperimentSetContext.PARAM_RUN_STORE_DIR, null);
+      } catch (final Throwable t) {
+        dir = null;
+      }
+      DIR = dir;
+    }
+  }
 }
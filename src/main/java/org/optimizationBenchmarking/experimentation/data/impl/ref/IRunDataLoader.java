@@ -0,0 +1,37 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.io.IOException;
+
+/**
+ * A loader for the data points of a run whose data is not held in memory.
+ * Input drivers which can locate the data of a run in their source, e.g.,
+ * via an offset into a file, may build the skeleton of an experiment set
+ * first and provide such a loader for each run via
+ * {@link RunContext#setDataLoader(int, IRunDataLoader)}. The data is then
+ * only loaded when it is actually accessed, and it may be discarded and
+ * loaded again when memory becomes scarce.
+ * <p>
+ * A loader may be called several times, from different threads, and must
+ * always provide the same data.
+ * </p>
+ */
+public interface IRunDataLoader {
+
+  /**
+   * Load the data points of the run column-wise. For each dimension
+   * {@code j}, the loader must store a column with at least as many values
+   * as the run has data points into {@code longs[j]} if the dimension is
+   * integer-valued and into {@code doubles[j]} otherwise. This is the same
+   * layout accepted by
+   * {@link RunContext#addDataPoints(int, long[][], double[][])}.
+   *
+   * @param longs
+   *          the array to receive the integer columns
+   * @param doubles
+   *          the array to receive the floating point columns
+   * @throws IOException
+   *           if the data cannot be loaded
+   */
+  public abstract void load(final long[][] longs, final double[][] doubles)
+      throws IOException;
+}
@@ -13,8 +13,11 @@ public final class InstanceRuns extends _IDObjectSet<Run> implements
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
-  /** the instance */
-  final Instance m_inst;
+  /**
+   * the instance, which is only replaced when the instance runs are
+   * taken over by a new experiment set
+   */
+  Instance m_inst;
 
   /**
    * instantiate
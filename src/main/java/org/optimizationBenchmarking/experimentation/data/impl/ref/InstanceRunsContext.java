@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
 import java.util.ArrayList;
+import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.utils.hierarchy.FSM;
 import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
@@ -116,6 +117,24 @@ public final class InstanceRunsContext extends
     return this.getOwner()._getDimensionSet();
   }
 
+  /**
+   * get the run store
+   *
+   * @return the run store, or {@code null} if runs are kept on the heap
+   */
+  final _MappedRunStore _getRunStore() {
+    return this.getOwner().getBuilder()._getRunStore();
+  }
+
+  /**
+   * get the logger
+   *
+   * @return the logger, or {@code null} if none is used
+   */
+  final Logger _getLogger() {
+    return this.getOwner().getBuilder().getLogger();
+  }
+
   /**
    * get the instance set
    *
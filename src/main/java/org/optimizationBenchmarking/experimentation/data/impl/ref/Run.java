@@ -1,51 +1,138 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
+import java.lang.ref.SoftReference;
 import java.util.Iterator;
 
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.experimentation.data.spec.IRun;
 import org.optimizationBenchmarking.utils.collections.iterators.InstanceIterator;
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumnIterator;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
+import org.optimizationBenchmarking.utils.math.matrix.MatrixRowIterator;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixRows;
 
-/** a run. */
+/**
+ * A run. The data of a run is stored column-wise, i.e., as one primitive
+ * array per dimension, by the compact implementations of this class
+ * generated on the fly based on the
+ * {@link org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionSet
+ * dimension set}.
+ * {@link org.optimizationBenchmarking.experimentation.data.impl.ref.DataPoint
+ * Data point} objects are only created on demand. Searches for many
+ * values at once are performed in a single, galloping pass over the run,
+ * for which a sparse index of each column may be built on demand.
+ */
 public abstract class Run extends ElementSet<DataPoint> implements IRun {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /** the number of data points in this run */
+  private final int m_m;
+
+  /** the data points, if they have been created */
+  private transient volatile SoftReference<ArraySetView<DataPoint>> m_points;
+
+  /** the sparse indexes of the columns, if any have been created */
+  private transient SoftReference<Object[]> m_indexes;
+
   /**
    * instantiate
    *
-   * @param data
-   *          the data points
+   * @param m
+   *          the number of data points
    */
-  protected Run(final DataPoint[] data) {
-    super(data, false, false, false);
+  protected Run(final int m) {
+    super();
+    if (m <= 0) {
+      throw new IllegalArgumentException(//
+          "A run must contain at least one data point."); //$NON-NLS-1$
+    }
+    this.m_m = m;
   }
 
   /** {@inheritDoc} */
   @Override
-  public int m() {
-    return this.m_data.size();
+  public final int m() {
+    return this.m_m;
   }
 
   /** {@inheritDoc} */
   @Override
-  public int n() {
-    return this.m_data.get(0).size();
-  }
+  public abstract int n();
 
   /** {@inheritDoc} */
   @Override
-  public double getDouble(final int row, final int column) {
-    return this.m_data.get(row).getDouble(column);
-  }
+  public abstract double getDouble(final int row, final int column);
 
   /** {@inheritDoc} */
   @Override
-  public long getLong(final int row, final int column) {
-    return this.m_data.get(row).getLong(column);
+  public abstract long getLong(final int row, final int column);
+
+  /**
+   * Create the data point representing a given row of this run.
+   *
+   * @param row
+   *          the row index
+   * @return the data point
+   */
+  protected abstract DataPoint createDataPoint(final int row);
+
+  /**
+   * Get the data point representing a given row of this run. If the data
+   * points have already been created via {@link #getData()} and are still
+   * cached, the corresponding element of that list is returned. Otherwise,
+   * a new data point is created.
+   *
+   * @param row
+   *          the row index
+   * @return the data point
+   */
+  protected final DataPoint getDataPoint(final int row) {
+    final SoftReference<ArraySetView<DataPoint>> ref;
+    final ArraySetView<DataPoint> data;
+
+    ref = this.m_points;
+    if (ref != null) {
+      data = ref.get();
+      if (data != null) {
+        return data.get(row);
+      }
+    }
+    return this.createDataPoint(row);
+  }
+
+  /**
+   * Get the data points of this run. The data points are created when
+   * this method is called and are cached only as long as there is enough
+   * memory.
+   *
+   * @return the data points
+   */
+  @Override
+  public final ArraySetView<DataPoint> getData() {
+    final SoftReference<ArraySetView<DataPoint>> ref;
+    final DataPoint[] points;
+    ArraySetView<DataPoint> data;
+    int i;
+
+    ref = this.m_points;
+    if (ref != null) {
+      data = ref.get();
+      if (data != null) {
+        return data;
+      }
+    }
+
+    points = new DataPoint[i = this.m_m];
+    for (; (--i) >= 0;) {
+      points[i] = this.createDataPoint(i);
+    }
+    data = new ArraySetView<>(points);
+    this.m_points = new SoftReference<>(data);
+    return data;
   }
 
   /** {@inheritDoc} */
@@ -56,12 +143,140 @@ public abstract class Run extends ElementSet<DataPoint> implements IRun {
   @Override
   public abstract DataPoint find(final int column, final long value);
 
+  /**
+   * Get the sparse index for a given column, create it if necessary. The
+   * indexes are cached only as long as there is enough memory.
+   *
+   * @param column
+   *          the column
+   * @param isFloat
+   *          is the column a floating point column?
+   * @return the index
+   */
+  private synchronized final Object __getIndex(final int column,
+      final boolean isFloat) {
+    final SoftReference<Object[]> ref;
+    Object[] indexes;
+    Object index;
+
+    ref = this.m_indexes;
+    indexes = ((ref != null) ? ref.get() : null);
+    if (indexes == null) {
+      indexes = new Object[this.n()];
+      this.m_indexes = new SoftReference<>(indexes);
+    }
+    index = indexes[column];
+    if (index == null) {
+      indexes[column] = index = _RunSearch._buildIndex(this, column,
+          isFloat);
+    }
+    return index;
+  }
+
+  /**
+   * Create the search for values in a column. For large runs, the search
+   * uses the (cached) sparse index of the column.
+   *
+   * @param column
+   *          the column
+   * @param dimension
+   *          the dimension corresponding to the column
+   * @return the search
+   */
+  final _RunSearch _createSearch(final int column,
+      final Dimension dimension) {
+    return new _RunSearch(this, column, dimension,//
+        ((this.m_m >= _RunSearch.INDEX_MIN_SIZE) ? //
+        this.__getIndex(column, dimension.getDataType().isFloat())
+            : null));
+  }
+
+  /**
+   * Create the search for a batch of values in a column
+   *
+   * @param column
+   *          the column
+   * @param count
+   *          the number of values
+   * @param dest
+   *          the destination array
+   * @return the search
+   */
+  private final _RunSearch __createSearch(final int column,
+      final int count, final IDataPoint[] dest) {
+    final ArraySetView<Dimension> dims;
+
+    dims = this.getOwner().getOwner().getOwner().getDimensions().getData();
+    if ((column < 0) || (column >= dims.size())) {
+      throw new IndexOutOfBoundsException("Column " + column + //$NON-NLS-1$
+          " is invalid, valid indexes are in 0.." + //$NON-NLS-1$
+          (dims.size() - 1) + '.');
+    }
+    if (dest.length < count) {
+      throw new IllegalArgumentException("Destination array of length " + //$NON-NLS-1$
+          dest.length + " cannot hold the results for " + //$NON-NLS-1$
+          count + " values."); //$NON-NLS-1$
+    }
+
+    return this._createSearch(column, dims.get(column));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void find(final int column, final double[] values,
+      final IDataPoint[] dest) {
+    this.__createSearch(column, values.length, dest)._find(values, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void find(final int column, final long[] values,
+      final IDataPoint[] dest) {
+    this.__createSearch(column, values.length, dest)._find(values, dest);
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean isIntegerMatrix() {
     return false;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    for (i = from, j = 0; i < to; i++, j++) {
+      dest[j] = this.getLong(i, column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    for (i = from, j = 0; i < to; i++, j++) {
+      dest[j] = this.getDouble(i, column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long[] getLongColumnArray(final int column) {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double[] getDoubleColumnArray(final int column) {
+    return null;
+  }
+
   /** {@inheritDoc} */
   @Override
   public IMatrix selectColumns(final int... cols) {
@@ -123,9 +338,12 @@ public abstract class Run extends ElementSet<DataPoint> implements IRun {
 
   /** {@inheritDoc} */
   @Override
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public final Iterator<IMatrix> iterateRows() {
-    return ((Iterator) (this.m_data.iterator()));
+    if (this.m_m <= 1) {
+      return new InstanceIterator<IMatrix>(this);
+    }
+
+    return new MatrixRowIterator<>(this);
   }
 
   /** {@inheritDoc} */
@@ -134,14 +352,6 @@ public abstract class Run extends ElementSet<DataPoint> implements IRun {
     return this;
   }
 
-  /** {@inheritDoc} */
-  @Override
-  final void _validateElementPair(final DataPoint before,
-      final DataPoint after) {
-    super._validateElementPair(before, after);
-    after.validateAfter(before);
-  }
-
   /** {@inheritDoc} */
   @Override
   public final InstanceRuns getOwner() {
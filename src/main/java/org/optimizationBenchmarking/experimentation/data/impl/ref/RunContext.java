@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 import org.optimizationBenchmarking.utils.hierarchy.HierarchicalFSM;
 
@@ -11,6 +12,17 @@ public final class RunContext extends _Context<Run> {
   private volatile _PropertyFSMSettingBuilder<ParameterSetting> m_props;
   /** the list of data points */
   private volatile ArrayList<DataPoint> m_list;
+  /**
+   * the builder collecting the data points if they are moved to a run
+   * store, {@code null} if they are collected in {@link #m_list}
+   */
+  private volatile _RunBuilder m_builder;
+  /** has it been decided whether a builder or the list is used? */
+  private volatile boolean m_collectorChosen;
+  /** the loader for the data points, if they should be loaded lazily */
+  private volatile IRunDataLoader m_loader;
+  /** the number of data points provided by the loader */
+  private volatile int m_loaderSize;
 
   /**
    * create the run context
@@ -45,6 +57,27 @@ public final class RunContext extends _Context<Run> {
     return this.getOwner()._getDimensionSet();
   }
 
+  /**
+   * Get the builder collecting the data points of this run, which is used
+   * if the runs are moved to a run store
+   *
+   * @return the builder, or {@code null} if the data points are collected
+   *         in a list
+   */
+  private final _RunBuilder __getBuilder() {
+    final _MappedRunStore store;
+
+    if (!(this.m_collectorChosen)) {
+      store = this.getOwner()._getRunStore();
+      if (store != null) {
+        this.m_builder = new _RunBuilder(
+            this._getDimensionSet()._getGenericFactory(), store);
+      }
+      this.m_collectorChosen = true;
+    }
+    return this.m_builder;
+  }
+
   /**
    * Add a data point to this run
    *
@@ -52,12 +85,164 @@ public final class RunContext extends _Context<Run> {
    *          the data point to be added
    */
   public synchronized final void addDataPoint(final DataPoint point) {
+    final _RunBuilder builder;
+
     this.fsmStateAssert(_FSM.STATE_OPEN);
+    this.__assertNoLoader();
     if (point == null) {
       throw new IllegalArgumentException(//
           "Data point must not be null."); //$NON-NLS-1$
     }
-    this.m_list.add(point);
+    builder = this.__getBuilder();
+    if (builder != null) {
+      builder._append(point);
+    } else {
+      this.m_list.add(point);
+    }
+  }
+
+  /**
+   * Add a batch of data points to this run. The run is locked only once
+   * for the whole batch.
+   *
+   * @param points
+   *          the data points to be added
+   */
+  public synchronized final void addDataPoints(
+      final Collection<? extends DataPoint> points) {
+    final _RunBuilder builder;
+
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    if (points == null) {
+      throw new IllegalArgumentException(//
+          "Collection of data points must not be null."); //$NON-NLS-1$
+    }
+    this.__assertNoLoader();
+    for (final DataPoint point : points) {
+      if (point == null) {
+        throw new IllegalArgumentException(//
+            "Data point must not be null."); //$NON-NLS-1$
+      }
+    }
+    builder = this.__getBuilder();
+    if (builder != null) {
+      for (final DataPoint point : points) {
+        builder._append(point);
+      }
+    } else {
+      this.m_list.addAll(points);
+    }
+  }
+
+  /**
+   * Add a block of data points given column-wise. For each dimension
+   * {@code j}, the values are taken from {@code longs[j]} if the dimension
+   * is integer-valued and from {@code doubles[j]} otherwise, the
+   * respective other array may be {@code null}. The values are validated
+   * exactly like the numbers given to {@link DataFactory#parseNumbers}, but
+   * they are directly written into the columns of the run without creating
+   * any data point objects.
+   * <p>
+   * Like all other methods adding data, this method is synchronized: The
+   * columns are appended to the same builder as the data points added by
+   * other threads, and the state checks must happen atomically with the
+   * append. A {@link DataPointBatch batch} calls this method only once per
+   * block of data points, so the lock is rarely taken.
+   * </p>
+   *
+   * @param count
+   *          the number of data points to add, i.e., the number of values
+   *          to take from each column
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  public synchronized final void addDataPoints(final int count,
+      final long[][] longs, final double[][] doubles) {
+    _RunBuilder builder;
+
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    this.__assertNoLoader();
+    if (count < 0) {
+      throw new IllegalArgumentException(//
+          "Number of data points must not be negative, but is " + count); //$NON-NLS-1$
+    }
+    builder = this.__getBuilder();
+    if (builder == null) {
+      // the columns are collected in a builder on the heap from now on
+      this.m_builder = builder = new _RunBuilder(
+          this._getDimensionSet()._getGenericFactory(), null);
+      for (final DataPoint point : this.m_list) {
+        builder._append(point);
+      }
+      this.m_list.clear();
+    }
+    builder._appendColumns(count, longs, doubles);
+  }
+
+  /** make sure that no data loader has been set */
+  private final void __assertNoLoader() {
+    if (this.m_loader != null) {
+      throw new IllegalStateException(//
+          "Cannot add data points to a run whose data is loaded lazily."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Specify that the data points of this run should not be added to it,
+   * but instead be loaded lazily by a {@link IRunDataLoader loader} when
+   * they are first accessed. This allows to build the skeleton of an
+   * experiment set without reading all data points. The loaded data may
+   * be evicted when memory becomes scarce and is then loaded again on the
+   * next access. The data points are validated when they are loaded.
+   *
+   * @param m
+   *          the number of data points the loader will provide
+   * @param loader
+   *          the loader
+   */
+  public synchronized final void setDataLoader(final int m,
+      final IRunDataLoader loader) {
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    if (loader == null) {
+      throw new IllegalArgumentException(//
+          "Run data loader must not be null."); //$NON-NLS-1$
+    }
+    if (m <= 0) {
+      throw new IllegalArgumentException(//
+          "A run must contain at least one data point, but " + m + //$NON-NLS-1$
+              " were specified."); //$NON-NLS-1$
+    }
+    this.__assertNoData();
+    this.m_loader = loader;
+    this.m_loaderSize = m;
+  }
+
+  /** make sure that the data of the run has not yet been specified */
+  private final void __assertNoData() {
+    if ((this.m_loader != null) || (!(this.m_list.isEmpty()))
+        || ((this.m_builder != null) && (this.m_builder._size() > 0))) {
+      throw new IllegalStateException(//
+          "Data of run has already been specified."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Create a {@link DataPointBatch batch} for appending many data points
+   * to this run without locking the run for each of them. The batch must
+   * only be used by the calling thread and must be
+   * {@link DataPointBatch#close() closed} before this run is closed.
+   *
+   * @return the batch
+   */
+  public final DataPointBatch createBatch() {
+    final DimensionSet dimensions;
+
+    this.fsmStateAssert(_FSM.STATE_OPEN);
+    dimensions = this._getDimensionSet();
+    return new DataPointBatch(this, dimensions.getDataFactory(),
+        dimensions._getGenericFactory());
   }
 
   /**
@@ -97,8 +282,25 @@ public final class RunContext extends _Context<Run> {
   @Override
   final Run _doCompile() {
     final ArrayList<DataPoint> l;
+    final _RunBuilder builder;
+    final Run run;
+
     l = this.m_list;
     this.m_list = null;
+    builder = this.m_builder;
+    this.m_builder = null;
+    if (this.m_loader != null) {
+      // the data stays where it is and is not moved to the run store
+      run = new _LazyRun(this._getDimensionSet()._getGenericFactory(),
+          this.m_loaderSize, this.m_loader, this.getOwner()._getLogger());
+      this.m_loader = null;
+      return run;
+    }
+    if (builder != null) {
+      // the data has been collected column-wise, maybe in the run store
+      return builder._createRun(this.getOwner().getInstance(),
+          this._getDimensionSet().getDataFactory());
+    }
     return this._getDimensionSet().getDataFactory()
         .createRun(this.getOwner().getInstance(), l);
   }
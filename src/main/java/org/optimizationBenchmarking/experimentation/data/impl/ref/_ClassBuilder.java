@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.concurrent.Callable;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
@@ -20,9 +21,11 @@ import org.optimizationBenchmarking.utils.collections.lists.BasicList;
 import org.optimizationBenchmarking.utils.collections.lists.NumberList;
 import org.optimizationBenchmarking.utils.collections.visitors.IVisitor;
 import org.optimizationBenchmarking.utils.comparison.EComparison;
+import org.optimizationBenchmarking.utils.compiler.JavaCompilerJob;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerJobBuilder;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
 import org.optimizationBenchmarking.utils.hash.HashUtils;
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
 import org.optimizationBenchmarking.utils.math.matrix.MatrixRowIterator;
@@ -35,14 +38,16 @@ import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 
 /**
  * An internal class for constructing the perfect classes for experimental
- * data elements on-the-fly.
+ * data elements on-the-fly. The class names are derived from the
+ * signature of the dimension set, i.e., the names, types, directions, and
+ * bounds of the dimensions. Together with the on-disk class cache of the
+ * {@link org.optimizationBenchmarking.utils.compiler.JavaCompilerTool},
+ * this allows us to re-use the classes compiled in an earlier run for the
+ * same dimension set instead of invoking the compiler again.
  */
 final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     Comparator<Dimension> {
 
-  /** the counter */
-  private static volatile long s_counter = 0L;
-
   /** the primitive types */
   private final EPrimitiveType[] m_primitiveTypes;
 
@@ -96,32 +101,29 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     final String hc;
     final int l;
     final ArraySetView<Dimension> dims;
+    final MemoryTextOutput signature;
     int i;
-    long id;
 
     this.m_logger = logger;
 
-    if (!(JavaCompilerTool.getInstance().canUse())) {
-      throw new IllegalStateException("No Java compiler found."); //$NON-NLS-1$
-    }
-
     this.m_dims = (dims = dimensions.getData());
     l = dims.size();
     this.m_primitiveTypes = new EPrimitiveType[l];
     this.m_primitiveClasses = new Class<?>[l];
     this.m_parsers = new Parser<?>[l];
+    signature = new MemoryTextOutput();
     i = 0;
     for (final Dimension d : dims) {
       this.m_primitiveClasses[i] = (this.m_primitiveTypes[i] = d
           .getDataType()).getPrimitiveType();
       this.m_parsers[i] = d.getParser();
+      d.toText(signature);
+      signature.append(this.m_parsers[i].getClass().getName());
+      signature.append(';');
       i++;
     }
 
-    synchronized (_ClassBuilder.class) {
-      id = (_ClassBuilder.s_counter++);
-    }
-    hc = Long.toHexString(id);
+    hc = Integer.toHexString(signature.toString().hashCode());
 
     this.m_package = ("_DynaDataPointPackage" + hc); //$NON-NLS-1$
     this.m_dataPointClass = ("_DynaDataPoint" + hc); //$NON-NLS-1$
@@ -1379,6 +1381,8 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
    *          the string parser builder
    */
   private final void __factoryCreateRun(final MemoryTextOutput sb) {
+    int i;
+
     sb.append(//
     "@Override public final "); //$NON-NLS-1$
     sb.append(Run.class.getCanonicalName());
@@ -1392,12 +1396,65 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append(this.m_dataPointClass);
     sb.append("[] data = points.toArray(new "); //$NON-NLS-1$
     sb.append(this.m_dataPointClass);
-    sb.append("[points.size()]); for("); //$NON-NLS-1$
+    sb.append("[points.size()]); final int m = data.length; "); //$NON-NLS-1$
+
+    i = 0;
+    for (final EPrimitiveType type : this.m_primitiveTypes) {
+      sb.append("final "); //$NON-NLS-1$
+      sb.append(type.getPrimitiveTypeName());
+      sb.append("[] c"); //$NON-NLS-1$
+      sb.append(i++);
+      sb.append(" = new "); //$NON-NLS-1$
+      sb.append(type.getPrimitiveTypeName());
+      sb.append("[m];"); //$NON-NLS-1$
+    }
+
+    // the data points are validated and copied into the columns: Since the
+    // dimension directions are transitive, it is sufficient to check each
+    // point against its direct predecessor.
+    sb.append(this.m_dataPointClass);
+    sb.append(" prev = null; for(int i = 0; i < m; i++) { final "); //$NON-NLS-1$
     sb.append(this.m_dataPointClass);
     sb.append(//
-    " next : data) { instance.validateDataPoint(next); } return new "); //$NON-NLS-1$
+    " next = data[i]; instance.validateDataPoint(next); if(prev != null) { next.validateAfter(prev); } "); //$NON-NLS-1$
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      sb.append('c');
+      sb.append(i);
+      sb.append("[i] = next.m"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append(';');
+    }
+    sb.append("prev = next; } return new "); //$NON-NLS-1$
+    sb.append(this.m_runClass);
+    sb.append('(');
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('c');
+      sb.append(i);
+    }
+    sb.append("); }"); //$NON-NLS-1$
+
+    // the columns have already been filled and validated by a run builder
+    sb.append(//
+    "@Override protected final "); //$NON-NLS-1$
+    sb.append(Run.class.getCanonicalName());
+    sb.append(" createRun(final Object[] columns) { return new "); //$NON-NLS-1$
     sb.append(this.m_runClass);
-    sb.append("(data); }"); //$NON-NLS-1$
+    sb.append('(');
+    i = 0;
+    for (final EPrimitiveType type : this.m_primitiveTypes) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("(("); //$NON-NLS-1$
+      sb.append(type.getPrimitiveTypeName());
+      sb.append("[])(columns["); //$NON-NLS-1$
+      sb.append(i++);
+      sb.append("]))"); //$NON-NLS-1$
+    }
+    sb.append("); }"); //$NON-NLS-1$
   }
 
   /**
@@ -1420,13 +1477,52 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     this.__runIMatrixGet(sb);
     this.__runIMatrixSelect(sb);
     this.__runIMatrixAggregate(sb);
+    this.__runIMatrixCopy(sb);
     this.__runToText(sb);
+    this.__runCreateDataPoint(sb);
     this.__runFind(sb);
     sb.append('}');
 
     return sb;
   }
 
+  /**
+   * declare one {@code final} primitive array field for each column
+   *
+   * @param sb
+   *          the string builder
+   */
+  private final void __runColumnFields(final MemoryTextOutput sb) {
+    int i;
+
+    i = 0;
+    for (final EPrimitiveType type : this.m_primitiveTypes) {
+      sb.append("final "); //$NON-NLS-1$
+      sb.append(type.getPrimitiveTypeName());
+      sb.append("[] c"); //$NON-NLS-1$
+      sb.append(i++);
+      sb.append(';');
+    }
+  }
+
+  /**
+   * copy the column array fields from the object {@code owner}
+   *
+   * @param sb
+   *          the string builder
+   */
+  private final void __runColumnFieldsFromOwner(final MemoryTextOutput sb) {
+    int i;
+
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      sb.append("this.c"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append(" = owner.c"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append(';');
+    }
+  }
+
   /**
    * create the run head
    *
@@ -1445,9 +1541,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append(// serial version uid
     "private static final long serialVersionUID = 1L;"); //$NON-NLS-1$
 
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
+    this.__runColumnFields(sb);
   }
 
   /**
@@ -1457,10 +1551,30 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
    *          the string builder
    */
   private final void __runConstructor(final MemoryTextOutput sb) {
+    int i;
+
     sb.append(this.m_runClass);
-    sb.append("(final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] data) { super(data); this.points = data; }"); //$NON-NLS-1$
+    sb.append('(');
+    i = 0;
+    for (final EPrimitiveType type : this.m_primitiveTypes) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("final "); //$NON-NLS-1$
+      sb.append(type.getPrimitiveTypeName());
+      sb.append("[] p"); //$NON-NLS-1$
+      sb.append(i++);
+    }
+    sb.append(") { super(p0.length);"); //$NON-NLS-1$
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      sb.append("this.c"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append('=');
+      sb.append('p');
+      sb.append(i);
+      sb.append(';');
+    }
+    sb.append('}');
   }
 
   /**
@@ -1473,9 +1587,6 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     int i;
     String s;
 
-    sb.append(//
-    "@Override public final int m() { return this.points.length; }"); //$NON-NLS-1$
-
     for (final EPrimitiveType pt : new EPrimitiveType[] {
         EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
       sb.append(//
@@ -1498,9 +1609,9 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
           sb.append(')');
         }
 
-        sb.append(" this.points[row].m"); //$NON-NLS-1$
+        sb.append(" this.c"); //$NON-NLS-1$
         sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
+        sb.append("[row]);}"); //$NON-NLS-1$
       }
 
       sb.append(//
@@ -1511,7 +1622,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append(//
       "',') + column + \") is invalid, the valid index range is (0..\" + "); //$NON-NLS-1$
       sb.append(//
-      "(this.points.length-1) + \", 0.."); //$NON-NLS-1$
+      "(this.c0.length-1) + \", 0.."); //$NON-NLS-1$
       sb.append(this.m_primitiveTypes.length - 1);
       sb.append(").\"); }"); //$NON-NLS-1$
     }
@@ -1550,7 +1661,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     "@Override public final "); //$NON-NLS-1$
     sb.append(IMatrix.class.getCanonicalName());
     sb.append(//
-    " selectRows(final int... rows) { if(rows.length<=0) { return this.points[rows[0]]; } return super.selectRows(rows); }"); //$NON-NLS-1$
+    " selectRows(final int... rows) { if(rows.length<=0) { return this.getDataPoint(rows[0]); } return super.selectRows(rows); }"); //$NON-NLS-1$
   }
 
   /**
@@ -1570,11 +1681,11 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append("case "); //$NON-NLS-1$
       sb.append(i);
       sb.append(": { for(final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append(" p : this.points) {"); //$NON-NLS-1$
-      sb.append("aggregate.append(p.m"); //$NON-NLS-1$
+      sb.append(this.m_primitiveTypes[i].getPrimitiveTypeName());
+      sb.append(" v : this.c"); //$NON-NLS-1$
       sb.append(i);
-      sb.append("); } return; }"); //$NON-NLS-1$
+      sb.append(") {"); //$NON-NLS-1$
+      sb.append("aggregate.append(v); } return; }"); //$NON-NLS-1$
     }
     sb.append(//
     "} throw new IndexOutOfBoundsException((\"Matrix access aggregateColumn(\" + column) + \") is invalid, the valid index range is 0.."); //$NON-NLS-1$
@@ -1584,17 +1695,88 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append(//
     "@Override public final void aggregateRow(final int row, final ");//$NON-NLS-1$
     sb.append(IAggregate.class.getCanonicalName());
-    sb.append("  aggregate) {  final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append(" p = this.points[row]; "); //$NON-NLS-1$
+    sb.append("  aggregate) { "); //$NON-NLS-1$
     for (i = 0; i < this.m_primitiveTypes.length; i++) {
-      sb.append("aggregate.append(p.m"); //$NON-NLS-1$
+      sb.append("aggregate.append(this.c"); //$NON-NLS-1$
       sb.append(i);
-      sb.append(");"); //$NON-NLS-1$
+      sb.append("[row]);"); //$NON-NLS-1$
     }
     sb.append('}');
   }
 
+  /**
+   * create the bulk column copy and backing array methods for runs: a
+   * column of the same type as the destination array is copied with
+   * {@link System#arraycopy(Object, int, Object, int, int)}, the other
+   * columns are converted in a loop
+   *
+   * @param sb
+   *          the string builder
+   */
+  private final void __runIMatrixCopy(final MemoryTextOutput sb) {
+    int i;
+    String s;
+    boolean has;
+
+    for (final EPrimitiveType pt : new EPrimitiveType[] {
+        EPrimitiveType.DOUBLE, EPrimitiveType.LONG }) {
+      sb.append(//
+      "@Override public final void copyColumn(final int column, final "); //$NON-NLS-1$
+      sb.append(s = pt.getPrimitiveTypeName());
+      sb.append(//
+      "[] dest, final int from, final int to) {"); //$NON-NLS-1$
+      sb.append(AbstractMatrix.class.getCanonicalName());
+      sb.append(//
+      ".checkCopyColumn(this, column, dest.length, from, to); switch(column) {"); //$NON-NLS-1$
+
+      for (i = 0; i < this.m_primitiveTypes.length; i++) {
+        sb.append("case "); //$NON-NLS-1$
+        sb.append(i);
+        if (this.m_primitiveTypes[i] == pt) {
+          sb.append(": { System.arraycopy(this.c"); //$NON-NLS-1$
+          sb.append(i);
+          sb.append(", from, dest, 0, (to - from)); return; }"); //$NON-NLS-1$
+        } else {
+          sb.append(//
+          ": { for(int i = from, j = 0; i < to; i++, j++) { dest[j] = ("); //$NON-NLS-1$
+          if (pt.isInteger() && this.m_primitiveTypes[i].isFloat()) {
+            sb.append('(');
+            sb.append(s);
+            sb.append(')');
+          }
+          sb.append(" this.c"); //$NON-NLS-1$
+          sb.append(i);
+          sb.append("[i]); } return; }"); //$NON-NLS-1$
+        }
+      }
+      sb.append("} }"); //$NON-NLS-1$
+
+      has = false;
+      for (i = 0; i < this.m_primitiveTypes.length; i++) {
+        if (this.m_primitiveTypes[i] == pt) {
+          if (!has) {
+            sb.append("@Override public final "); //$NON-NLS-1$
+            sb.append(s);
+            sb.append("[] get"); //$NON-NLS-1$
+            sb.append(Character.toUpperCase(s.charAt(0)));
+            sb.append(s.substring(1));
+            sb.append(//
+            "ColumnArray(final int column) { switch(column) {"); //$NON-NLS-1$
+            has = true;
+          }
+          sb.append("case "); //$NON-NLS-1$
+          sb.append(i);
+          sb.append(": { return this.c"); //$NON-NLS-1$
+          sb.append(i);
+          sb.append(";}"); //$NON-NLS-1$
+        }
+      }
+      if (has) {
+        sb.append("} return null; }"); //$NON-NLS-1$
+      }
+    }
+  }
+
   /**
    * create the appendable method for runs
    *
@@ -1602,26 +1784,58 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
    *          the string builder
    */
   private final void __runToText(final MemoryTextOutput sb) {
+    int i;
+
     sb.append("@Override public final void toText(final "); //$NON-NLS-1$
     sb.append(ITextOutput.class.getCanonicalName());
-    sb.append(" textOut) { boolean b; textOut.append('[');"); //$NON-NLS-1$
+    sb.append(" textOut) { textOut.append('[');"); //$NON-NLS-1$
 
-    sb.append("b = false;"); //$NON-NLS-1$
-    sb.append("for("); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append(" e : this.points) {"); //$NON-NLS-1$
-    sb.append("if (b) {"); //$NON-NLS-1$
+    sb.append("for(int i = 0; i < this.c0.length; i++) {"); //$NON-NLS-1$
+    sb.append("if (i > 0) {"); //$NON-NLS-1$
     sb.append("textOut.append(',');"); //$NON-NLS-1$
     sb.append("textOut.append(' ');"); //$NON-NLS-1$
-    sb.append("} else {"); //$NON-NLS-1$
-    sb.append("b = true;"); //$NON-NLS-1$
     sb.append("}"); //$NON-NLS-1$
-    sb.append("e.toText(textOut);"); //$NON-NLS-1$
+    sb.append("textOut.append('[');"); //$NON-NLS-1$
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      if (i > 0) {
+        sb.append(" textOut.append(',');"); //$NON-NLS-1$
+        sb.append(" textOut.append(' ');"); //$NON-NLS-1$
+      }
+      sb.append(" textOut.append(this.c"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append("[i]); "); //$NON-NLS-1$
+    }
+    sb.append("textOut.append(']');"); //$NON-NLS-1$
     sb.append("}"); //$NON-NLS-1$
     sb.append("textOut.append(']');"); //$NON-NLS-1$
     sb.append('}');
   }
 
+  /**
+   * create the method creating the data point objects for a given row
+   *
+   * @param sb
+   *          the string builder
+   */
+  private final void __runCreateDataPoint(final MemoryTextOutput sb) {
+    int i;
+
+    sb.append("@Override protected final "); //$NON-NLS-1$
+    sb.append(this.m_dataPointClass);
+    sb.append(" createDataPoint(final int row) { return new "); //$NON-NLS-1$
+    sb.append(this.m_dataPointClass);
+    sb.append('(');
+    for (i = 0; i < this.m_primitiveTypes.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("this.c"); //$NON-NLS-1$
+      sb.append(i);
+      sb.append("[row]"); //$NON-NLS-1$
+    }
+    sb.append("); }"); //$NON-NLS-1$
+  }
+
   /**
    * create the matrix access methods for runs
    *
@@ -1630,26 +1844,24 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
    */
   private final void __runFind(final MemoryTextOutput sb) {
     EDimensionDirection dir;
+    String type;
     boolean q;
 
     for (final Dimension dim : this.m_dims) {
       dir = dim.getDirection();
+      type = dim.getDataType().getPrimitiveTypeName();
 
-      sb.append("private static final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
-      sb.append(" _find"); //$NON-NLS-1$
+      // _findX returns the index of the data point found, or -1
+      sb.append("private static final int _find"); //$NON-NLS-1$
       sb.append(dim.getIndex());
       sb.append("(final "); //$NON-NLS-1$
-      sb.append(dim.getDataType().getPrimitiveTypeName());
+      sb.append(type);
       sb.append(" value, final "); //$NON-NLS-1$
-      sb.append(this.m_dataPointClass);
+      sb.append(type);
       sb.append("[] data) {"); //$NON-NLS-1$
 
-      sb.append(this.m_dataPointClass);
+      sb.append(type);
       sb.append(" midVal"); //$NON-NLS-1$
-      if (!(dir.isStrict())) {
-        sb.append(", next"); //$NON-NLS-1$
-      }
       sb.append(";int low, sh, high, mid"); //$NON-NLS-1$
       if (!(dir.isStrict())) {
         sb.append(//
@@ -1662,8 +1874,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append("while (low <= high) {"); //$NON-NLS-1$
       sb.append("mid = ((low + high) >>> 1);"); //$NON-NLS-1$
       sb.append("midVal = data[mid];"); //$NON-NLS-1$
-      sb.append("if (midVal.m"); //$NON-NLS-1$
-      sb.append(dim.getIndex());
+      sb.append("if (midVal"); //$NON-NLS-1$
       if (dir.isIncreasing()) {
         sb.append('<');
       } else {
@@ -1671,8 +1882,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       }
       sb.append("value) { low = (mid + 1); } else {"); //$NON-NLS-1$
 
-      sb.append("if (midVal.m"); //$NON-NLS-1$
-      sb.append(dim.getIndex());
+      sb.append("if (midVal"); //$NON-NLS-1$
       if (dir.isIncreasing()) {
         sb.append('>');
       } else {
@@ -1681,37 +1891,34 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append("value) { high = (mid - 1); } else {"); //$NON-NLS-1$
       if (!(dir.isStrict())) {
         sb.append("for (i = mid; (--i)>=0;) {"); //$NON-NLS-1$
-        sb.append("next = data[i];"); //$NON-NLS-1$
-        sb.append("if(next.m"); //$NON-NLS-1$
-        sb.append(dim.getIndex());
-        sb.append("!= value) { return midVal; } "); //$NON-NLS-1$
-        sb.append("midVal = next; }"); //$NON-NLS-1$
+        sb.append("if(data[i] != value) { return mid; } "); //$NON-NLS-1$
+        sb.append("mid = i; }"); //$NON-NLS-1$
       }
-      sb.append("return midVal; "); //$NON-NLS-1$
+      sb.append("return mid; "); //$NON-NLS-1$
 
       sb.append("}}}"); //$NON-NLS-1$
 
       q = dim.getDimensionType().isSolutionQualityMeasure();
       sb.append("if(low <= 0) { return "); //$NON-NLS-1$
       if (q) {
-        sb.append("data[0]"); //$NON-NLS-1$
+        sb.append('0');
       } else {
-        sb.append("null"); //$NON-NLS-1$
+        sb.append("(-1)"); //$NON-NLS-1$
       }
 
       sb.append(";} if(low > sh) { return "); //$NON-NLS-1$
       if (q) {
-        sb.append("null"); //$NON-NLS-1$
+        sb.append("(-1)"); //$NON-NLS-1$
       } else {
-        sb.append("data[sh]"); //$NON-NLS-1$
+        sb.append("sh"); //$NON-NLS-1$
       }
 
-      sb.append(";} return data[low"); //$NON-NLS-1$
+      sb.append(";} return (low"); //$NON-NLS-1$
       if (!q) {
         sb.append("-1"); //$NON-NLS-1$
       }
 
-      sb.append("];}"); //$NON-NLS-1$
+      sb.append(");}"); //$NON-NLS-1$
     }
 
     for (final EPrimitiveType clazz : new EPrimitiveType[] {
@@ -1720,12 +1927,12 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append(this.m_dataPointClass);
       sb.append(" find(final int column, final "); //$NON-NLS-1$
       sb.append(clazz.getPrimitiveTypeName());
-      sb.append(" value) { switch(column) {"); //$NON-NLS-1$
+      sb.append(" value) { final int index; switch(column) {"); //$NON-NLS-1$
 
       for (final Dimension dim : this.m_dims) {
         sb.append("case "); //$NON-NLS-1$
         sb.append(dim.getIndex());
-        sb.append(": { return "); //$NON-NLS-1$
+        sb.append(": { index = "); //$NON-NLS-1$
         sb.append(this.m_runClass);
         sb.append("._find"); //$NON-NLS-1$
         sb.append(dim.getIndex());
@@ -1736,11 +1943,12 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
           sb.append(dim.getDataType().getPrimitiveTypeName());
           sb.append(')');
         }
-        sb.append("value), this.points); }"); //$NON-NLS-1$
+        sb.append("value), this.c"); //$NON-NLS-1$
+        sb.append(dim.getIndex());
+        sb.append("); break; }"); //$NON-NLS-1$
       }
 
-      sb.append("}"); //$NON-NLS-1$
-
+      sb.append("default: {"); //$NON-NLS-1$
       sb.append(//
       " throw new IndexOutOfBoundsException(\"Column \" + "); //$NON-NLS-1$
       sb.append(//
@@ -1748,7 +1956,11 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append(this.m_parsers.length - 1);
       sb.append(//
       ".\");"); //$NON-NLS-1$
-      sb.append("}"); //$NON-NLS-1$
+      sb.append("}}"); //$NON-NLS-1$
+      sb.append("return ((index >= 0) ? (("); //$NON-NLS-1$
+      sb.append(this.m_dataPointClass);
+      sb.append(//
+      ") (this.getDataPoint(index))) : null); }"); //$NON-NLS-1$
     }
 
   }
@@ -1808,9 +2020,9 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
           sb.append(')');
         }
 
-        sb.append(" this.points[row].m"); //$NON-NLS-1$
+        sb.append(" this.c"); //$NON-NLS-1$
         sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
+        sb.append("[row]);}"); //$NON-NLS-1$
       }
 
       sb.append(//
@@ -1822,7 +2034,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
       sb.append(//
       "',') + column + \") is invalid, the valid index range is (0..\" + "); //$NON-NLS-1$
       sb.append(//
-      "(this.points.length-1) + \", 0.."); //$NON-NLS-1$
+      "(this.c0.length-1) + \", 0.."); //$NON-NLS-1$
       sb.append(this.m_primitiveTypes.length - 1);
       sb.append(").\"); }"); //$NON-NLS-1$
     }
@@ -1846,7 +2058,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append('<');
     sb.append(IMatrix.class.getCanonicalName());
     sb.append(//
-    "> iterateRows() { if (this.points.length <= 1) { return new "); //$NON-NLS-1$"
+    "> iterateRows() { if (this.c0.length <= 1) { return new "); //$NON-NLS-1$"
     sb.append(InstanceIterator.class.getCanonicalName());
     sb.append('<');
     sb.append(IMatrix.class.getCanonicalName());
@@ -1878,9 +2090,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append('{');
 
     // declare fields: all private and final
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
+    this.__runColumnFields(sb);
 
     if (!(this.m_matrixChoice instanceof Boolean)) {
       sb.append("final boolean isInt;"); //$NON-NLS-1$
@@ -1900,7 +2110,8 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append("(final "); //$NON-NLS-1$
     sb.append(this.m_runClass);
     sb.append(//
-    " owner, final int[] cols) { super(owner, cols); this.points = owner.points; "); //$NON-NLS-1$
+    " owner, final int[] cols) { super(owner, cols); "); //$NON-NLS-1$
+    this.__runColumnFieldsFromOwner(sb);
 
     if (!(this.m_matrixChoice instanceof Boolean)) {
       sb.append("checkIsFloat:{checkIsInt: { for(int i: cols) {if "); //$NON-NLS-1$
@@ -1966,9 +2177,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     sb.append('{');
 
     // declare fields: all private and final
-    sb.append("final "); //$NON-NLS-1$
-    sb.append(this.m_dataPointClass);
-    sb.append("[] points;"); //$NON-NLS-1$
+    this.__runColumnFields(sb);
 
     sb.append("final int[] cols;"); //$NON-NLS-1$
 
@@ -1996,7 +2205,8 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     }
 
     sb.append(//
-    ") { super(owner); this.points = owner.points; "); //$NON-NLS-1$
+    ") { super(owner); "); //$NON-NLS-1$
+    this.__runColumnFieldsFromOwner(sb);
 
     if (!(this.m_matrixChoice instanceof Boolean)) {
       sb.append("this.isInt = isi;"); //$NON-NLS-1$
@@ -2050,9 +2260,9 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
           sb.append(')');
         }
 
-        sb.append(" this.points[this.m_rows[0]].m"); //$NON-NLS-1$
+        sb.append(" this.c"); //$NON-NLS-1$
         sb.append(i);
-        sb.append(");}"); //$NON-NLS-1$
+        sb.append("[this.m_rows[0]]);}"); //$NON-NLS-1$
       }
 
       sb.append(//
@@ -2074,6 +2284,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     final ClassLoader cl;
     final String qP;
     final Class<?>[] classes;
+    final JavaCompilerJob job;
     JavaCompilerJobBuilder builder;
     int i;
 
@@ -2081,7 +2292,7 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
 
     qP = (this.m_package + '.' + this.m_factoryClass);
 
-    builder = JavaCompilerTool.getInstance().use();
+    builder = JavaCompilerTool.getInstance().useCache();
     builder = builder.addClass(
         (this.m_package + '.' + this.m_dataPointClass),//
         this.__createDataPoint());
@@ -2097,7 +2308,22 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     if (this.m_logger != null) {
       builder = builder.setLogger(this.m_logger);
     }
-    cl = builder.create().call();
+    job = builder.create();
+
+    if ((!(JavaCompilerTool.getInstance().canUse())) && (!(job.isCached()))) {
+      if ((this.m_logger != null)
+          && (this.m_logger.isLoggable(Level.INFO))) {
+        synchronized (this.m_logger) {
+          this.m_logger.info(//
+              "No Java compiler available and no cached classes found for data package '" //$NON-NLS-1$
+                  + this.m_package + //
+                  "', using the generic (slower) data implementation."); //$NON-NLS-1$
+        }
+      }
+      return this._createGenericFactory();
+    }
+
+    cl = job.call();
 
     try {
       i = this.m_parsers.length;
@@ -2115,6 +2341,32 @@ final class _ClassBuilder implements Callable<Parser<DataPoint>>,
     }
   }
 
+  /**
+   * Create the generic factory, which does not need any code compiled by
+   * a Java compiler. If possible, the factory and its runs are
+   * {@link _ClassEmitter emitted} directly as byte code.
+   *
+   * @return the generic factory
+   */
+  final _GenericFactory _createGenericFactory() {
+    final Dimension[] dims;
+    final int[] order;
+    final _GenericFactory emitted;
+    int i;
+
+    dims = this.m_dims.toArray(new Dimension[this.m_dims.size()]);
+    Arrays.sort(dims, this);
+    order = new int[dims.length];
+    for (i = dims.length; (--i) >= 0;) {
+      order[i] = dims[i].getIndex();
+    }
+
+    emitted = _ClassEmitter._createFactory(this.m_dims, order,
+        this.m_logger);
+    return ((emitted != null) ? emitted : new _GenericFactory(this.m_dims,
+        order));
+  }
+
   /** {@inheritDoc} */
   @Override
   public final int compare(final Dimension o1, final Dimension o2) {
@@ -0,0 +1,389 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+
+/**
+ * An emitter which writes the classes of specialized runs and factories
+ * directly as byte code, without needing a Java compiler. The emitted
+ * classes only depend on the primitive types of the dimensions, so there
+ * is one pair of classes per sequence of types, which is shared by all
+ * dimension sets with the same types:
+ * <ul>
+ * <li>The run class extends {@link _GenericRun}. It holds one final field
+ * with the primitive array of each column, the same arrays which back the
+ * {@link java.nio.Buffer}s of the generic run, and overrides
+ * {@link Run#getLong(int, int)} and {@link Run#getDouble(int, int)} with
+ * a {@code tableswitch} over the column index which reads the array
+ * directly, exactly like the run classes generated as source code by the
+ * {@link _ClassBuilder}. Invalid column indexes are passed on to the
+ * generic run, which throws the usual exception. Since searching,
+ * ordering, and validation all rely on these two methods or on the
+ * generic factory, the emitted runs behave exactly like the generic
+ * ones.</li>
+ * <li>The factory class extends {@link _GenericFactory} and only
+ * overrides {@link _GenericFactory#_newRun(java.nio.Buffer[], Object[])}
+ * to create instances of the run class.</li>
+ * </ul>
+ * <p>
+ * The classes are written by a {@link _ClassFileWriter} and defined in
+ * this package via {@code MethodHandles.Lookup.defineClass}, so that they
+ * can extend the package-private generic classes. This method exists
+ * since Java 9 and is invoked via reflection. On older JVMs, or if
+ * anything goes wrong, no classes are emitted and the generic factory is
+ * used as is.
+ * </p>
+ */
+final class _ClassEmitter {
+
+  /** the internal name of this package */
+  private static final String PACKAGE = "org/optimizationBenchmarking/experimentation/data/impl/ref/"; //$NON-NLS-1$
+
+  /** the internal name of the generic run */
+  private static final String GENERIC_RUN = (_ClassEmitter.PACKAGE + "_GenericRun"); //$NON-NLS-1$
+
+  /** the internal name of the generic factory */
+  private static final String GENERIC_FACTORY = (_ClassEmitter.PACKAGE + "_GenericFactory"); //$NON-NLS-1$
+
+  /** the descriptor of the constructor of the emitted runs */
+  private static final String RUN_CONSTRUCTOR = "(L" + //$NON-NLS-1$
+      _ClassEmitter.GENERIC_FACTORY + ";[Ljava/nio/Buffer;[Ljava/lang/Object;)V"; //$NON-NLS-1$
+
+  /** the descriptor of the constructor of the generic runs */
+  private static final String GENERIC_RUN_CONSTRUCTOR = "(L" + //$NON-NLS-1$
+      _ClassEmitter.GENERIC_FACTORY + ";[Ljava/nio/Buffer;)V"; //$NON-NLS-1$
+
+  /** the descriptor of the constructor of the factories */
+  private static final String FACTORY_CONSTRUCTOR = "(Lorg/optimizationBenchmarking/utils/collections/lists/ArraySetView;[I)V"; //$NON-NLS-1$
+
+  /** the method for defining classes, or {@code null} if there is none */
+  private static final Method DEFINE_CLASS = _ClassEmitter
+      .__getDefineClass();
+
+  /** the constructors of the emitted factories, by type signature */
+  private static final HashMap<String, Constructor<?>> FACTORIES = new HashMap<>();
+
+  /** the forbidden constructor */
+  private _ClassEmitter() {
+    ErrorUtils.doNotCall();
+  }
+
+  /**
+   * Get the method {@code MethodHandles.Lookup.defineClass(byte[])}
+   *
+   * @return the method, or {@code null} if it does not exist
+   */
+  private static final Method __getDefineClass() {
+    try {
+      return MethodHandles.Lookup.class.getMethod("defineClass", //$NON-NLS-1$
+          byte[].class);
+    } catch (final Throwable error) {
+      return null;
+    }
+  }
+
+  /**
+   * Create a factory of the emitted classes for a set of dimensions.
+   *
+   * @param dims
+   *          the dimensions
+   * @param compareOrder
+   *          the order in which the dimensions are compared
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   * @return the factory, or {@code null} if no classes can be emitted
+   */
+  static final _GenericFactory _createFactory(
+      final ArraySetView<Dimension> dims, final int[] compareOrder,
+      final Logger logger) {
+    final char[] types;
+    int i;
+
+    if (_ClassEmitter.DEFINE_CLASS == null) {
+      return null;
+    }
+
+    types = new char[dims.size()];
+    i = 0;
+    for (final Dimension dim : dims) {
+      switch (dim.getDataType()) {
+        case BYTE: {
+          types[i++] = 'B';
+          break;
+        }
+        case SHORT: {
+          types[i++] = 'S';
+          break;
+        }
+        case INT: {
+          types[i++] = 'I';
+          break;
+        }
+        case LONG: {
+          types[i++] = 'J';
+          break;
+        }
+        case FLOAT: {
+          types[i++] = 'F';
+          break;
+        }
+        default: {
+          types[i++] = 'D';
+        }
+      }
+    }
+
+    try {
+      return ((_GenericFactory) (_ClassEmitter.__getFactory(
+          String.valueOf(types)).newInstance(dims, compareOrder)));
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        synchronized (logger) {
+          logger.log(Level.WARNING,
+              "Cannot emit the data classes for the dimension types '" //$NON-NLS-1$
+                  + String.valueOf(types) + '\'' + '.', error);
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Get the constructor of the factory for a given type signature, emit
+   * the classes if needed
+   *
+   * @param types
+   *          the type signature, i.e., the descriptors of the primitive
+   *          types of the dimensions
+   * @return the constructor
+   * @throws Throwable
+   *           if the classes cannot be emitted
+   */
+  private static synchronized final Constructor<?> __getFactory(
+      final String types) throws Throwable {
+    final String run, factory;
+    Constructor<?> constructor;
+
+    constructor = _ClassEmitter.FACTORIES.get(types);
+    if (constructor == null) {
+      run = (_ClassEmitter.PACKAGE + "_EmittedRun" + types); //$NON-NLS-1$
+      factory = (_ClassEmitter.PACKAGE + "_EmittedFactory" + types); //$NON-NLS-1$
+      _ClassEmitter.__define(run, _ClassEmitter.__emitRun(run, types));
+      constructor = _ClassEmitter.__define(factory,
+          _ClassEmitter.__emitFactory(factory, run))
+          .getDeclaredConstructor(ArraySetView.class, int[].class);
+      _ClassEmitter.FACTORIES.put(types, constructor);
+    }
+    return constructor;
+  }
+
+  /**
+   * Define a class in this package, unless it has already been defined
+   *
+   * @param name
+   *          the internal name of the class
+   * @param bytes
+   *          the class file
+   * @return the class
+   * @throws Throwable
+   *           if the class cannot be defined
+   */
+  private static final Class<?> __define(final String name,
+      final byte[] bytes) throws Throwable {
+    try {
+      return Class.forName(name.replace('/', '.'), false,
+          _ClassEmitter.class.getClassLoader());
+    } catch (final ClassNotFoundException notYetDefined) {
+      return ((Class<?>) (_ClassEmitter.DEFINE_CLASS.invoke(
+          MethodHandles.lookup(), bytes)));
+    }
+  }
+
+  /**
+   * Emit the run class
+   *
+   * @param name
+   *          the internal name of the class
+   * @param types
+   *          the type signature
+   * @return the class file
+   */
+  private static final byte[] __emitRun(final String name,
+      final String types) {
+    final _ClassFileWriter writer;
+    int i;
+
+    writer = new _ClassFileWriter(_ClassFileWriter.ACC_FINAL, name,
+        _ClassEmitter.GENERIC_RUN);
+
+    for (i = 0; i < types.length(); i++) {
+      writer._field(_ClassFileWriter.ACC_FINAL, ("c" + i), //$NON-NLS-1$
+          ("[" + types.charAt(i))); //$NON-NLS-1$
+    }
+
+    writer._beginMethod(0, "<init>", _ClassEmitter.RUN_CONSTRUCTOR); //$NON-NLS-1$
+    writer._insn(_ClassFileWriter.ALOAD_0);
+    writer._insn(_ClassFileWriter.ALOAD_1);
+    writer._insn(_ClassFileWriter.ALOAD_2);
+    writer._methodInsn(_ClassFileWriter.INVOKESPECIAL,
+        _ClassEmitter.GENERIC_RUN, "<init>", //$NON-NLS-1$
+        _ClassEmitter.GENERIC_RUN_CONSTRUCTOR);
+    for (i = 0; i < types.length(); i++) {
+      writer._insn(_ClassFileWriter.ALOAD_0);
+      writer._insn(_ClassFileWriter.ALOAD_3);
+      writer._push(i);
+      writer._insn(_ClassFileWriter.AALOAD);
+      writer._typeInsn(_ClassFileWriter.CHECKCAST,
+          ("[" + types.charAt(i))); //$NON-NLS-1$
+      writer._fieldInsn(_ClassFileWriter.PUTFIELD, name, ("c" + i), //$NON-NLS-1$
+          ("[" + types.charAt(i))); //$NON-NLS-1$
+    }
+    writer._insn(_ClassFileWriter.RETURN);
+    writer._endMethod(3, 4);
+
+    _ClassEmitter.__emitGetter(writer, name, types, true);
+    _ClassEmitter.__emitGetter(writer, name, types, false);
+    return writer._toByteArray();
+  }
+
+  /**
+   * Emit the method {@link Run#getLong(int, int)} or
+   * {@link Run#getDouble(int, int)} of the run class
+   *
+   * @param writer
+   *          the class file writer
+   * @param name
+   *          the internal name of the class
+   * @param types
+   *          the type signature
+   * @param isLong
+   *          {@code true} for {@code getLong}, {@code false} for
+   *          {@code getDouble}
+   */
+  private static final void __emitGetter(final _ClassFileWriter writer,
+      final String name, final String types, final boolean isLong) {
+    final String method, descriptor;
+    final int position;
+    char type;
+    int i;
+
+    method = (isLong ? "getLong" : "getDouble"); //$NON-NLS-1$//$NON-NLS-2$
+    descriptor = (isLong ? "(II)J" : "(II)D"); //$NON-NLS-1$//$NON-NLS-2$
+
+    writer._beginMethod(
+        (_ClassFileWriter.ACC_PUBLIC | _ClassFileWriter.ACC_FINAL),
+        method, descriptor);
+    writer._insn(_ClassFileWriter.ILOAD_2);
+    position = writer._tableSwitch(types.length());
+
+    for (i = 0; i < types.length(); i++) {
+      writer._switchTarget(position, i);
+      type = types.charAt(i);
+      writer._insn(_ClassFileWriter.ALOAD_0);
+      writer._fieldInsn(_ClassFileWriter.GETFIELD, name, ("c" + i), //$NON-NLS-1$
+          ("[" + type)); //$NON-NLS-1$
+      writer._insn(_ClassFileWriter.ILOAD_1);
+      switch (type) {
+        case 'B': {
+          writer._insn(_ClassFileWriter.BALOAD);
+          writer._insn(isLong ? _ClassFileWriter.I2L
+              : _ClassFileWriter.I2D);
+          break;
+        }
+        case 'S': {
+          writer._insn(_ClassFileWriter.SALOAD);
+          writer._insn(isLong ? _ClassFileWriter.I2L
+              : _ClassFileWriter.I2D);
+          break;
+        }
+        case 'I': {
+          writer._insn(_ClassFileWriter.IALOAD);
+          writer._insn(isLong ? _ClassFileWriter.I2L
+              : _ClassFileWriter.I2D);
+          break;
+        }
+        case 'J': {
+          writer._insn(_ClassFileWriter.LALOAD);
+          if (!isLong) {
+            writer._insn(_ClassFileWriter.L2D);
+          }
+          break;
+        }
+        case 'F': {
+          writer._insn(_ClassFileWriter.FALOAD);
+          writer._insn(isLong ? _ClassFileWriter.F2L
+              : _ClassFileWriter.F2D);
+          break;
+        }
+        default: {
+          writer._insn(_ClassFileWriter.DALOAD);
+          if (isLong) {
+            writer._insn(_ClassFileWriter.D2L);
+          }
+        }
+      }
+      writer._insn(isLong ? _ClassFileWriter.LRETURN
+          : _ClassFileWriter.DRETURN);
+    }
+
+    // invalid columns: let the generic run throw the exception
+    writer._switchTarget(position, (-1));
+    writer._insn(_ClassFileWriter.ALOAD_0);
+    writer._insn(_ClassFileWriter.ILOAD_1);
+    writer._insn(_ClassFileWriter.ILOAD_2);
+    writer._methodInsn(_ClassFileWriter.INVOKESPECIAL,
+        _ClassEmitter.GENERIC_RUN, method, descriptor);
+    writer._insn(isLong ? _ClassFileWriter.LRETURN
+        : _ClassFileWriter.DRETURN);
+    writer._endMethod(3, 3);
+  }
+
+  /**
+   * Emit the factory class
+   *
+   * @param name
+   *          the internal name of the class
+   * @param run
+   *          the internal name of the run class
+   * @return the class file
+   */
+  private static final byte[] __emitFactory(final String name,
+      final String run) {
+    final _ClassFileWriter writer;
+
+    writer = new _ClassFileWriter(_ClassFileWriter.ACC_FINAL, name,
+        _ClassEmitter.GENERIC_FACTORY);
+
+    writer._beginMethod(0, "<init>", _ClassEmitter.FACTORY_CONSTRUCTOR); //$NON-NLS-1$
+    writer._insn(_ClassFileWriter.ALOAD_0);
+    writer._insn(_ClassFileWriter.ALOAD_1);
+    writer._insn(_ClassFileWriter.ALOAD_2);
+    writer._methodInsn(_ClassFileWriter.INVOKESPECIAL,
+        _ClassEmitter.GENERIC_FACTORY, "<init>", //$NON-NLS-1$
+        _ClassEmitter.FACTORY_CONSTRUCTOR);
+    writer._insn(_ClassFileWriter.RETURN);
+    writer._endMethod(3, 3);
+
+    writer._beginMethod(_ClassFileWriter.ACC_FINAL, "_newRun", //$NON-NLS-1$
+        "([Ljava/nio/Buffer;[Ljava/lang/Object;)L" + //$NON-NLS-1$
+            _ClassEmitter.GENERIC_RUN + ';');
+    writer._typeInsn(_ClassFileWriter.NEW, run);
+    writer._insn(_ClassFileWriter.DUP);
+    writer._insn(_ClassFileWriter.ALOAD_0);
+    writer._insn(_ClassFileWriter.ALOAD_1);
+    writer._insn(_ClassFileWriter.ALOAD_2);
+    writer._methodInsn(_ClassFileWriter.INVOKESPECIAL, run, "<init>", //$NON-NLS-1$
+        _ClassEmitter.RUN_CONSTRUCTOR);
+    writer._insn(_ClassFileWriter.ARETURN);
+    writer._endMethod(5, 3);
+
+    return writer._toByteArray();
+  }
+}
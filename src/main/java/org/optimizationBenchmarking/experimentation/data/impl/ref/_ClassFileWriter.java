@@ -0,0 +1,583 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * A minimal writer for Java class files, just powerful enough for the
+ * classes {@link _ClassEmitter emitted} for the runs and factories of the
+ * generic data implementation. It supports a constant pool with classes,
+ * strings, field and method references, final fields, and methods whose
+ * code is written instruction by instruction. The class files have
+ * version 49 (Java 5), so that no stack map frames need to be computed:
+ * they are checked by the type-inferring verifier of the JVM instead.
+ * <p>
+ * Methods are written one at a time: A method is started with
+ * {@link #_beginMethod(int, String, String)}, its instructions are
+ * appended, and it is finished with {@link #_endMethod(int, int)}, which
+ * needs the maximum stack size and number of local variables as
+ * computed by the caller.
+ * </p>
+ */
+final class _ClassFileWriter {
+
+  /** the access flag for public elements */
+  static final int ACC_PUBLIC = 0x0001;
+  /** the access flag for final elements */
+  static final int ACC_FINAL = 0x0010;
+  /** the access flag for classes using the new invokespecial semantics */
+  static final int ACC_SUPER = 0x0020;
+
+  /** the opcode {@code aload_0} */
+  static final int ALOAD_0 = 0x2a;
+  /** the opcode {@code aload_1} */
+  static final int ALOAD_1 = 0x2b;
+  /** the opcode {@code aload_2} */
+  static final int ALOAD_2 = 0x2c;
+  /** the opcode {@code aload_3} */
+  static final int ALOAD_3 = 0x2d;
+  /** the opcode {@code iload_1} */
+  static final int ILOAD_1 = 0x1b;
+  /** the opcode {@code iload_2} */
+  static final int ILOAD_2 = 0x1c;
+  /** the opcode {@code iaload} */
+  static final int IALOAD = 0x2e;
+  /** the opcode {@code laload} */
+  static final int LALOAD = 0x2f;
+  /** the opcode {@code faload} */
+  static final int FALOAD = 0x30;
+  /** the opcode {@code daload} */
+  static final int DALOAD = 0x31;
+  /** the opcode {@code aaload} */
+  static final int AALOAD = 0x32;
+  /** the opcode {@code baload} */
+  static final int BALOAD = 0x33;
+  /** the opcode {@code saload} */
+  static final int SALOAD = 0x35;
+  /** the opcode {@code dup} */
+  static final int DUP = 0x59;
+  /** the opcode {@code i2l} */
+  static final int I2L = 0x85;
+  /** the opcode {@code i2d} */
+  static final int I2D = 0x87;
+  /** the opcode {@code l2d} */
+  static final int L2D = 0x8a;
+  /** the opcode {@code f2l} */
+  static final int F2L = 0x8c;
+  /** the opcode {@code f2d} */
+  static final int F2D = 0x8d;
+  /** the opcode {@code d2l} */
+  static final int D2L = 0x8f;
+  /** the opcode {@code tableswitch} */
+  private static final int TABLESWITCH = 0xaa;
+  /** the opcode {@code lreturn} */
+  static final int LRETURN = 0xad;
+  /** the opcode {@code dreturn} */
+  static final int DRETURN = 0xaf;
+  /** the opcode {@code areturn} */
+  static final int ARETURN = 0xb0;
+  /** the opcode {@code return} */
+  static final int RETURN = 0xb1;
+  /** the opcode {@code getfield} */
+  static final int GETFIELD = 0xb4;
+  /** the opcode {@code putfield} */
+  static final int PUTFIELD = 0xb5;
+  /** the opcode {@code invokespecial} */
+  static final int INVOKESPECIAL = 0xb7;
+  /** the opcode {@code new} */
+  static final int NEW = 0xbb;
+  /** the opcode {@code checkcast} */
+  static final int CHECKCAST = 0xc0;
+
+  /** the opcode {@code iconst_0} */
+  private static final int ICONST_0 = 0x03;
+  /** the opcode {@code bipush} */
+  private static final int BIPUSH = 0x10;
+  /** the opcode {@code sipush} */
+  private static final int SIPUSH = 0x11;
+
+  /** the constant pool tag for UTF-8 strings */
+  private static final int CONSTANT_UTF8 = 1;
+  /** the constant pool tag for classes */
+  private static final int CONSTANT_CLASS = 7;
+  /** the constant pool tag for field references */
+  private static final int CONSTANT_FIELDREF = 9;
+  /** the constant pool tag for method references */
+  private static final int CONSTANT_METHODREF = 10;
+  /** the constant pool tag for names and types */
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+  /** the constant pool */
+  private final __Bytes m_pool;
+
+  /** the indexes of the constant pool entries */
+  private final HashMap<String, Integer> m_poolIndexes;
+
+  /** the number of constant pool entries plus one */
+  private int m_poolSize;
+
+  /** the fields */
+  private final __Bytes m_fields;
+
+  /** the number of fields */
+  private int m_fieldCount;
+
+  /** the methods */
+  private final __Bytes m_methods;
+
+  /** the number of methods */
+  private int m_methodCount;
+
+  /** the code of the current method, or {@code null} if there is none */
+  private __Bytes m_code;
+
+  /** the index of the name of the current method */
+  private int m_methodName;
+
+  /** the index of the descriptor of the current method */
+  private int m_methodDescriptor;
+
+  /** the access flags of the current method */
+  private int m_methodAccess;
+
+  /** the index of the class */
+  private final int m_this;
+
+  /** the index of the super class */
+  private final int m_super;
+
+  /** the access flags of the class */
+  private final int m_access;
+
+  /**
+   * create the class file writer
+   *
+   * @param access
+   *          the access flags of the class
+   * @param name
+   *          the internal name of the class, e.g.,
+   *          {@code java/lang/Object}
+   * @param superName
+   *          the internal name of the super class
+   */
+  _ClassFileWriter(final int access, final String name,
+      final String superName) {
+    super();
+    this.m_pool = new __Bytes();
+    this.m_poolIndexes = new HashMap<>();
+    this.m_poolSize = 1;
+    this.m_fields = new __Bytes();
+    this.m_methods = new __Bytes();
+    this.m_access = (access | _ClassFileWriter.ACC_SUPER);
+    this.m_this = this.__class(name);
+    this.m_super = this.__class(superName);
+  }
+
+  /**
+   * Get the index of a constant pool entry, create it if necessary
+   *
+   * @param key
+   *          the unique key of the entry
+   * @param tag
+   *          the tag of the entry
+   * @param a
+   *          the first (or only) {@code u2} value of the entry, ignored
+   *          for UTF-8 strings
+   * @param b
+   *          the second {@code u2} value of the entry, or {@code -1} if
+   *          there is none
+   * @param utf8
+   *          the string of an UTF-8 entry, or {@code null}
+   * @return the index
+   */
+  private final int __pool(final String key, final int tag, final int a,
+      final int b, final String utf8) {
+    final Integer index;
+    final int result;
+
+    index = this.m_poolIndexes.get(key);
+    if (index != null) {
+      return index.intValue();
+    }
+
+    this.m_pool._u1(tag);
+    if (utf8 != null) {
+      this.m_pool._utf8(utf8);
+    } else {
+      this.m_pool._u2(a);
+      if (b >= 0) {
+        this.m_pool._u2(b);
+      }
+    }
+    result = (this.m_poolSize++);
+    this.m_poolIndexes.put(key, Integer.valueOf(result));
+    return result;
+  }
+
+  /**
+   * Get the constant pool index of an UTF-8 string
+   *
+   * @param s
+   *          the string
+   * @return the index
+   */
+  private final int __utf8(final String s) {
+    return this.__pool(("U" + s), _ClassFileWriter.CONSTANT_UTF8, 0, -1,//$NON-NLS-1$
+        s);
+  }
+
+  /**
+   * Get the constant pool index of a class
+   *
+   * @param name
+   *          the internal name of the class
+   * @return the index
+   */
+  private final int __class(final String name) {
+    return this.__pool(("C" + name), _ClassFileWriter.CONSTANT_CLASS,//$NON-NLS-1$
+        this.__utf8(name), -1, null);
+  }
+
+  /**
+   * Get the constant pool index of a field or method reference
+   *
+   * @param tag
+   *          the tag of the reference
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the name of the member
+   * @param descriptor
+   *          the descriptor of the member
+   * @return the index
+   */
+  private final int __member(final int tag, final String owner,
+      final String name, final String descriptor) {
+    final int nameAndType;
+
+    nameAndType = this.__pool((("N" + name) + ';' + descriptor),//$NON-NLS-1$
+        _ClassFileWriter.CONSTANT_NAME_AND_TYPE, this.__utf8(name),
+        this.__utf8(descriptor), null);
+    return this.__pool((((tag + owner) + ';' + name) + ';' + descriptor),
+        tag, this.__class(owner), nameAndType, null);
+  }
+
+  /**
+   * Add a field
+   *
+   * @param access
+   *          the access flags
+   * @param name
+   *          the name of the field
+   * @param descriptor
+   *          the descriptor of the field, e.g., {@code [I}
+   */
+  final void _field(final int access, final String name,
+      final String descriptor) {
+    this.m_fields._u2(access);
+    this.m_fields._u2(this.__utf8(name));
+    this.m_fields._u2(this.__utf8(descriptor));
+    this.m_fields._u2(0);
+    this.m_fieldCount++;
+  }
+
+  /**
+   * Begin a method
+   *
+   * @param access
+   *          the access flags
+   * @param name
+   *          the name of the method
+   * @param descriptor
+   *          the descriptor of the method, e.g., {@code (II)J}
+   */
+  final void _beginMethod(final int access, final String name,
+      final String descriptor) {
+    if (this.m_code != null) {
+      throw new IllegalStateException(//
+          "The previous method has not been ended."); //$NON-NLS-1$
+    }
+    this.m_methodAccess = access;
+    this.m_methodName = this.__utf8(name);
+    this.m_methodDescriptor = this.__utf8(descriptor);
+    this.m_code = new __Bytes();
+  }
+
+  /**
+   * End the current method
+   *
+   * @param maxStack
+   *          the maximum size of the operand stack
+   * @param maxLocals
+   *          the number of local variable slots, including {@code this}
+   *          and the parameters
+   */
+  final void _endMethod(final int maxStack, final int maxLocals) {
+    final __Bytes code, methods;
+
+    code = this.m_code;
+    methods = this.m_methods;
+    methods._u2(this.m_methodAccess);
+    methods._u2(this.m_methodName);
+    methods._u2(this.m_methodDescriptor);
+    methods._u2(1);
+    methods._u2(this.__utf8("Code")); //$NON-NLS-1$
+    methods._u4(12 + code.size());
+    methods._u2(maxStack);
+    methods._u2(maxLocals);
+    methods._u4(code.size());
+    methods._append(code);
+    methods._u2(0);
+    methods._u2(0);
+    this.m_methodCount++;
+    this.m_code = null;
+  }
+
+  /**
+   * Append an instruction without operands
+   *
+   * @param opcode
+   *          the opcode
+   */
+  final void _insn(final int opcode) {
+    this.m_code._u1(opcode);
+  }
+
+  /**
+   * Append an instruction pushing an {@code int} constant
+   *
+   * @param value
+   *          the value
+   */
+  final void _push(final int value) {
+    if ((value >= 0) && (value <= 5)) {
+      this.m_code._u1(_ClassFileWriter.ICONST_0 + value);
+    } else {
+      if ((value >= Byte.MIN_VALUE) && (value <= Byte.MAX_VALUE)) {
+        this.m_code._u1(_ClassFileWriter.BIPUSH);
+        this.m_code._u1(value);
+      } else {
+        if ((value < Short.MIN_VALUE) || (value > Short.MAX_VALUE)) {
+          throw new IllegalArgumentException(//
+              "Constant out of range: " + value); //$NON-NLS-1$
+        }
+        this.m_code._u1(_ClassFileWriter.SIPUSH);
+        this.m_code._u2(value);
+      }
+    }
+  }
+
+  /**
+   * Append an instruction referring to a class, i.e., {@link #NEW} or
+   * {@link #CHECKCAST}
+   *
+   * @param opcode
+   *          the opcode
+   * @param name
+   *          the internal name of the class, or the descriptor of an
+   *          array type
+   */
+  final void _typeInsn(final int opcode, final String name) {
+    this.m_code._u1(opcode);
+    this.m_code._u2(this.__class(name));
+  }
+
+  /**
+   * Append a field instruction
+   *
+   * @param opcode
+   *          the opcode
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the name of the field
+   * @param descriptor
+   *          the descriptor of the field
+   */
+  final void _fieldInsn(final int opcode, final String owner,
+      final String name, final String descriptor) {
+    this.m_code._u1(opcode);
+    this.m_code._u2(this.__member(_ClassFileWriter.CONSTANT_FIELDREF,
+        owner, name, descriptor));
+  }
+
+  /**
+   * Append a method invocation
+   *
+   * @param opcode
+   *          the opcode
+   * @param owner
+   *          the internal name of the owning class
+   * @param name
+   *          the name of the method
+   * @param descriptor
+   *          the descriptor of the method
+   */
+  final void _methodInsn(final int opcode, final String owner,
+      final String name, final String descriptor) {
+    this.m_code._u1(opcode);
+    this.m_code._u2(this.__member(_ClassFileWriter.CONSTANT_METHODREF,
+        owner, name, descriptor));
+  }
+
+  /**
+   * Append a {@code tableswitch} over the keys {@code 0..(count-1)}. The
+   * jump targets are set later via {@link #_switchTarget(int, int)}.
+   *
+   * @param count
+   *          the number of keys
+   * @return the position of the instruction
+   */
+  final int _tableSwitch(final int count) {
+    final __Bytes code;
+    final int position;
+    int i;
+
+    code = this.m_code;
+    position = code.size();
+    code._u1(_ClassFileWriter.TABLESWITCH);
+    while ((code.size() & 3) != 0) {
+      code._u1(0);
+    }
+    code._u4(0);
+    code._u4(0);
+    code._u4(count - 1);
+    for (i = count; (--i) >= 0;) {
+      code._u4(0);
+    }
+    return position;
+  }
+
+  /**
+   * Let a key of a {@code tableswitch} jump to the current position
+   *
+   * @param position
+   *          the position of the {@code tableswitch} instruction
+   * @param key
+   *          the key, or {@code -1} for the default target
+   */
+  final void _switchTarget(final int position, final int key) {
+    this.m_code._patch((((position + 4) & (~3)) + //
+        ((key < 0) ? 0 : (12 + (key << 2)))),//
+        (this.m_code.size() - position));
+  }
+
+  /**
+   * Create the class file
+   *
+   * @return the bytes of the class file
+   */
+  final byte[] _toByteArray() {
+    final __Bytes out;
+
+    if (this.m_code != null) {
+      throw new IllegalStateException(//
+          "The current method has not been ended."); //$NON-NLS-1$
+    }
+
+    out = new __Bytes();
+    out._u4(0xCAFEBABE);
+    out._u2(0);
+    out._u2(49);
+    out._u2(this.m_poolSize);
+    out._append(this.m_pool);
+    out._u2(this.m_access);
+    out._u2(this.m_this);
+    out._u2(this.m_super);
+    out._u2(0);
+    out._u2(this.m_fieldCount);
+    out._append(this.m_fields);
+    out._u2(this.m_methodCount);
+    out._append(this.m_methods);
+    out._u2(0);
+    return out.toByteArray();
+  }
+
+  /** a growing byte array for the parts of a class file */
+  private static final class __Bytes extends ByteArrayOutputStream {
+
+    /** create */
+    __Bytes() {
+      super(256);
+    }
+
+    /**
+     * Write an unsigned byte
+     *
+     * @param value
+     *          the value
+     */
+    final void _u1(final int value) {
+      this.write(value);
+    }
+
+    /**
+     * Write an unsigned short in big endian byte order
+     *
+     * @param value
+     *          the value
+     */
+    final void _u2(final int value) {
+      if ((value < 0) || (value > 0xffff)) {
+        throw new IllegalArgumentException(//
+            "Value does not fit into two bytes: " + value); //$NON-NLS-1$
+      }
+      this.write(value >>> 8);
+      this.write(value);
+    }
+
+    /**
+     * Write an integer in big endian byte order
+     *
+     * @param value
+     *          the value
+     */
+    final void _u4(final int value) {
+      this.write(value >>> 24);
+      this.write(value >>> 16);
+      this.write(value >>> 8);
+      this.write(value);
+    }
+
+    /**
+     * Write a string in the modified UTF-8 encoding of class files
+     *
+     * @param s
+     *          the string
+     */
+    final void _utf8(final String s) {
+      try (final DataOutputStream dos = new DataOutputStream(this)) {
+        dos.writeUTF(s);
+      } catch (final IOException ioe) {
+        throw new IllegalArgumentException(ioe);
+      }
+    }
+
+    /**
+     * Append the bytes of another array
+     *
+     * @param bytes
+     *          the other array
+     */
+    final void _append(final __Bytes bytes) {
+      this.write(bytes.buf, 0, bytes.count);
+    }
+
+    /**
+     * Overwrite an integer which has already been written
+     *
+     * @param index
+     *          the index of the first byte
+     * @param value
+     *          the value
+     */
+    final void _patch(final int index, final int value) {
+      this.buf[index] = ((byte) (value >>> 24));
+      this.buf[index + 1] = ((byte) (value >>> 16));
+      this.buf[index + 2] = ((byte) (value >>> 8));
+      this.buf[index + 3] = ((byte) value);
+    }
+  }
+}
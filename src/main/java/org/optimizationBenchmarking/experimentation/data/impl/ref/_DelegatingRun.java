@@ -0,0 +1,142 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
+
+/**
+ * A run which does not store its data points itself, but forwards all
+ * accesses to the data points to another run, its {@link #_getDelegate()
+ * delegate}. The delegate does not need to be owned by any instance run
+ * set, so batched searches are performed by this run itself, based on its
+ * own dimension set.
+ */
+abstract class _DelegatingRun extends Run {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the delegating run
+   *
+   * @param m
+   *          the number of data points
+   */
+  _DelegatingRun(final int m) {
+    super(m);
+  }
+
+  /**
+   * Get the run holding the data of this run
+   *
+   * @return the run holding the data of this run
+   */
+  abstract Run _getDelegate();
+
+  /** {@inheritDoc} */
+  @Override
+  public int n() {
+    return this._getDelegate().n();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isIntegerMatrix() {
+    return this._getDelegate().isIntegerMatrix();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    return this._getDelegate().getDouble(row, column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    return this._getDelegate().getLong(row, column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix selectColumns(final int... cols) {
+    int i;
+
+    checker: {
+      i = 0;
+      for (final int j : cols) {
+        if (j != (i++)) {
+          break checker;
+        }
+      }
+      if (i == this.n()) {
+        return this;
+      }
+    }
+
+    return this._getDelegate().selectColumns(cols);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    this._getDelegate().aggregateColumn(column, aggregate);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    this._getDelegate().copyColumn(column, dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    this._getDelegate().copyColumn(column, dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long[] getLongColumnArray(final int column) {
+    return this._getDelegate().getLongColumnArray(column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double[] getDoubleColumnArray(final int column) {
+    return this._getDelegate().getDoubleColumnArray(column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateRow(final int row, final IAggregate aggregate) {
+    this._getDelegate().aggregateRow(row, aggregate);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void toText(final ITextOutput textOut) {
+    this._getDelegate().toText(textOut);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final DataPoint createDataPoint(final int row) {
+    return this._getDelegate().getDataPoint(row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DataPoint find(final int column, final double value) {
+    return this._getDelegate().find(column, value);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final DataPoint find(final int column, final long value) {
+    return this._getDelegate().find(column, value);
+  }
+}
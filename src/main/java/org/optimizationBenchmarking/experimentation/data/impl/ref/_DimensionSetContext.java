@@ -36,8 +36,12 @@ final class _DimensionSetContext extends
   /** {@inheritDoc} */
   @Override
   final DimensionSet _doCompile(final ArrayList<Dimension> data) {
+    final ExperimentSetContext owner;
+
+    owner = this.getOwner();
     return new DimensionSet(data.toArray(new Dimension[data.size()]),//
-        this.getOwner().getLogger());
+        owner.getLogger(), owner._generatesClasses(),
+        owner._getBaseDataFactory());
   }
 
   /** {@inheritDoc} */
@@ -1,6 +1,8 @@
 package org.optimizationBenchmarking.experimentation.data.impl.ref;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.optimizationBenchmarking.utils.comparison.EComparison;
 
@@ -14,14 +16,22 @@ final class _ExperimentSetContext extends
   /** the parameter set */
   private volatile ParameterSet m_parameterSet;
 
+  /** should experiments with the same name be merged? */
+  private final boolean m_merge;
+
   /**
    * create the experiment set context
    *
    * @param builder
    *          the experiment builder
+   * @param merge
+   *          should experiments with the same name be merged? This is the
+   *          case if an existing experiment set is appended to
    */
-  _ExperimentSetContext(final ExperimentSetContext builder) {
+  _ExperimentSetContext(final ExperimentSetContext builder,
+      final boolean merge) {
     super(builder);
+    this.m_merge = merge;
     this.m_params = new _ParametersBuilder(this);
     this.open();
   }
@@ -84,13 +94,115 @@ final class _ExperimentSetContext extends
   @Override
   final ExperimentSet _doCompile(final ArrayList<Experiment> data) {
     final ParameterSet ps;
+    final ArrayList<Experiment> experiments;
 
     ps = this.m_parameterSet;
     this.m_parameterSet = null;
 
+    experiments = (this.m_merge ? _ExperimentSetContext.__merge(data)
+        : data);
+
     return new ExperimentSet(this._getDimensionSet(),
         this._getInstanceSet(), this._getFeatureSet(), ps,
-        data.toArray(new Experiment[data.size()]), false, true, true);
+        experiments.toArray(new Experiment[experiments.size()]), false,
+        true, true);
+  }
+
+  /**
+   * Merge all experiments with the same name. The instance runs of merged
+   * experiments are merged as well. Instance runs which exist in only one
+   * of the merged experiments are re-used as they are, the runs of merged
+   * instance runs are moved into a new instance runs object. No data is
+   * copied.
+   *
+   * @param data
+   *          the experiments
+   * @return the merged experiments
+   */
+  private static final ArrayList<Experiment> __merge(
+      final ArrayList<Experiment> data) {
+    final LinkedHashMap<String, ArrayList<Experiment>> byName;
+    final ArrayList<Experiment> result;
+    LinkedHashMap<Instance, ArrayList<InstanceRuns>> byInstance;
+    ArrayList<Experiment> list;
+    ArrayList<InstanceRuns> same;
+    ArrayList<Run> runs;
+    InstanceRuns[] merged;
+    Experiment first;
+    String description;
+    int index;
+
+    byName = new LinkedHashMap<>();
+    for (final Experiment experiment : data) {
+      list = byName.get(experiment.m_name);
+      if (list == null) {
+        byName.put(experiment.m_name, list = new ArrayList<>(1));
+      }
+      list.add(experiment);
+    }
+
+    if (byName.size() >= data.size()) {
+      return data;
+    }
+
+    result = new ArrayList<>(byName.size());
+    for (final ArrayList<Experiment> experiments : byName.values()) {
+      first = experiments.get(0);
+      if (experiments.size() <= 1) {
+        result.add(first);
+        continue;
+      }
+
+      description = null;
+      byInstance = new LinkedHashMap<>();
+      for (final Experiment experiment : experiments) {
+        if (!(first.m_parameters.equals(experiment.m_parameters))) {
+          throw new IllegalArgumentException((((((//
+              "Experiments with the same name '" + first.m_name) + //$NON-NLS-1$
+              "' must have the same parameter setting, but have settings ") + //$NON-NLS-1$
+              first.m_parameters) + " and ") + //$NON-NLS-1$
+              experiment.m_parameters) + '.');
+        }
+        if (description == null) {
+          description = experiment.m_description;
+        }
+        for (final InstanceRuns instanceRuns : experiment.getData()) {
+          same = byInstance.get(instanceRuns.m_inst);
+          if (same == null) {
+            byInstance.put(instanceRuns.m_inst, same = new ArrayList<>(1));
+          }
+          same.add(instanceRuns);
+        }
+      }
+
+      merged = new InstanceRuns[byInstance.size()];
+      index = 0;
+      for (final Map.Entry<Instance, ArrayList<InstanceRuns>> entry : byInstance
+          .entrySet()) {
+        same = entry.getValue();
+        if (same.size() <= 1) {
+          // the instance runs did not change and can be re-used
+          merged[index] = same.get(0);
+          merged[index++]._disown();
+          continue;
+        }
+
+        runs = new ArrayList<>();
+        for (final InstanceRuns instanceRuns : same) {
+          for (final Run run : instanceRuns.getData()) {
+            run._disown();
+            runs.add(run);
+          }
+        }
+        merged[index++] = new InstanceRuns(entry.getKey(),
+            runs.toArray(new Run[runs.size()]), false, false, true);
+      }
+
+      result.add(new Experiment(first.m_name, description,
+          first.m_parameters, merged, false, true, true));
+    }
+
+    return result;
   }
 
   /**
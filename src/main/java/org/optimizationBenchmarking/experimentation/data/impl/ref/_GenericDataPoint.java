@@ -0,0 +1,279 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
+import org.optimizationBenchmarking.utils.collections.lists.NumberList;
+import org.optimizationBenchmarking.utils.hash.HashUtils;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
+
+/**
+ * A data point of the {@link _GenericFactory generic factory}, which
+ * stores the internal representations of its values in a {@code long}
+ * array.
+ */
+final class _GenericDataPoint extends DataPoint {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the owning factory */
+  final _GenericFactory m_owner;
+
+  /** the internal representations of the values */
+  final long[] m_values;
+
+  /**
+   * create the data point
+   *
+   * @param owner
+   *          the owning factory
+   * @param values
+   *          the internal representations of the values
+   */
+  _GenericDataPoint(final _GenericFactory owner, final long[] values) {
+    super();
+    this.m_owner = owner;
+    this.m_values = values;
+  }
+
+  /**
+   * Check an index
+   *
+   * @param index
+   *          the index
+   */
+  private final void __checkIndex(final int index) {
+    if ((index < 0) || (index >= this.m_values.length)) {
+      throw new IndexOutOfBoundsException("Index " + index + //$NON-NLS-1$
+          " is out of the value range 0..." + //$NON-NLS-1$
+          (this.m_values.length - 1) + '.');
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final byte getByte(final int index) {
+    this.__checkIndex(index);
+    return ((byte) (this.m_owner._int(index, this.m_values[index])));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final short getShort(final int index) {
+    this.__checkIndex(index);
+    return ((short) (this.m_owner._int(index, this.m_values[index])));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int getInt(final int index) {
+    this.__checkIndex(index);
+    return this.m_owner._int(index, this.m_values[index]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int index) {
+    this.__checkIndex(index);
+    return this.m_owner._long(index, this.m_values[index]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final float getFloat(final int index) {
+    this.__checkIndex(index);
+    return this.m_owner._float(index, this.m_values[index]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int index) {
+    this.__checkIndex(index);
+    return this.m_owner._double(index, this.m_values[index]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Number get(final int index) {
+    this.__checkIndex(index);
+    return this.m_owner._number(index, this.m_values[index]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int size() {
+    return this.m_values.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return this.m_values.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return this.m_owner.m_isInteger;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    if ((row == 0) && (column >= 0) && (column < this.m_values.length)) {
+      return this.m_owner._double(column, this.m_values[column]);
+    }
+    throw new IndexOutOfBoundsException(((("Matrix access getDouble(" //$NON-NLS-1$
+        + row) + ',') + column + ") is invalid, the valid index range is (0, 0.." //$NON-NLS-1$
+        + (this.m_values.length - 1)) + ")."); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    if ((row == 0) && (column >= 0) && (column < this.m_values.length)) {
+      return this.m_owner._long(column, this.m_values[column]);
+    }
+    throw new IndexOutOfBoundsException(((("Matrix access getLong(" //$NON-NLS-1$
+        + row) + ',') + column + ") is invalid, the valid index range is (0, 0.." //$NON-NLS-1$
+        + (this.m_values.length - 1)) + ")."); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    if ((column >= 0) && (column < this.m_values.length)) {
+      this.m_owner._append(column, this.m_values[column], aggregate);
+      return;
+    }
+    throw new IndexOutOfBoundsException(("Matrix access aggregateColumn(" //$NON-NLS-1$
+        + column) + ") is invalid, the valid index range is 0.." + //$NON-NLS-1$
+        (this.m_values.length - 1) + '.');
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateRow(final int row, final IAggregate aggregate) {
+    int i;
+
+    if (row == 0) {
+      for (i = 0; i < this.m_values.length; i++) {
+        this.m_owner._append(i, this.m_values[i], aggregate);
+      }
+    } else {
+      throw new IndexOutOfBoundsException(("Matrix access aggregateRow(" //$NON-NLS-1$
+          + row) + ") is invalid, only 0 is a valid index."); //$NON-NLS-1$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void toText(final ITextOutput textOut) {
+    int i;
+
+    textOut.append('[');
+    for (i = 0; i < this.m_values.length; i++) {
+      if (i > 0) {
+        textOut.append(',');
+        textOut.append(' ');
+      }
+      this.m_owner._append(i, this.m_values[i], textOut);
+    }
+    textOut.append(']');
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    int i, hc;
+
+    hc = this.m_owner._hashCode(0, this.m_values[0]);
+    for (i = 1; i < this.m_values.length; i++) {
+      hc = HashUtils.combineHashes(
+          this.m_owner._hashCode(i, this.m_values[i]), hc);
+    }
+    return hc;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    final _GenericDataPoint d;
+    final NumberList f;
+    int i;
+
+    if (o == this) {
+      return true;
+    }
+
+    if ((o instanceof _GenericDataPoint)
+        && (((_GenericDataPoint) o).m_owner == this.m_owner)) {
+      d = ((_GenericDataPoint) o);
+      for (i = this.m_values.length; (--i) >= 0;) {
+        if (!(this.m_owner._equals(i, this.m_values[i], d.m_values[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    if (o instanceof NumberList) {
+      f = ((NumberList) o);
+      for (i = 0; i < this.m_values.length; i++) {
+        if (!(this.m_owner._equals(i, this.m_values[i], f))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    return super.equals(o);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int compareTo(final IDataPoint o) {
+    final _GenericDataPoint c;
+    int res;
+
+    if (o == this) {
+      return 0;
+    }
+
+    if ((o instanceof _GenericDataPoint)
+        && (((_GenericDataPoint) o).m_owner == this.m_owner)) {
+      c = ((_GenericDataPoint) o);
+      for (final int i : this.m_owner.m_compareOrder) {
+        res = this.m_owner._compare(i, this.m_values[i], c.m_values[i]);
+        if (res != 0) {
+          return res;
+        }
+      }
+      return 0;
+    }
+
+    for (final int i : this.m_owner.m_compareOrder) {
+      res = this.m_owner._compare(i, this.m_values[i], o);
+      if (res != 0) {
+        return res;
+      }
+    }
+    return 0;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void validateAfter(final DataPoint before) {
+    final _GenericDataPoint c;
+    final String reason;
+
+    c = ((_GenericDataPoint) before);
+    reason = this.m_owner._orderViolation(this.m_values, c.m_values);
+    if (reason != null) {
+      throw new IllegalStateException(" Data point " + this.toString() + //$NON-NLS-1$
+          " cannot follow the data point " + c.toString() + //$NON-NLS-1$
+          ": " + reason); //$NON-NLS-1$
+    }
+  }
+}
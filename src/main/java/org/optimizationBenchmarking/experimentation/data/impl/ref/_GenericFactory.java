@@ -0,0 +1,1229 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.Collection;
+
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
+import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.collections.lists.NumberList;
+import org.optimizationBenchmarking.utils.comparison.EComparison;
+import org.optimizationBenchmarking.utils.hash.HashUtils;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
+import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
+
+/**
+ * A generic data factory which works for any dimension set without
+ * generating code. It is used by the {@link _ClassBuilder} if neither a
+ * Java compiler nor cached classes for the dimension set are available.
+ * The runs it creates store each column in a {@link java.nio.Buffer} of
+ * the primitive type of its dimension, i.e., they need as much memory as
+ * the generated runs. The data points hold the values as {@code long}s:
+ * values of integer dimensions directly and values of floating point
+ * dimensions as their raw bit patterns. Their behavior is the same as the
+ * behavior of the generated classes, and the runs use the same
+ * {@link _RunSearch search} for {@code find}, but each access needs to
+ * dispatch on the dimension type. Where possible, the
+ * {@link _ClassEmitter} therefore emits a subclass of this factory whose
+ * runs access their columns without this dispatch.
+ */
+class _GenericFactory extends DataFactory {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the dimensions */
+  final Dimension[] m_dims;
+
+  /** the primitive types of the dimensions */
+  final EPrimitiveType[] m_types;
+
+  /** are the dimensions floating point dimensions? */
+  final boolean[] m_isFloat;
+
+  /** are the dimensions increasing? */
+  final boolean[] m_increasing;
+
+  /** are the dimensions strictly increasing or decreasing? */
+  final boolean[] m_strict;
+
+  /** are the dimensions solution quality measures? */
+  final boolean[] m_quality;
+
+  /** the order in which the dimensions are compared */
+  final int[] m_compareOrder;
+
+  /** the parsers */
+  private final NumberParser<?>[] m_parsers;
+
+  /** are all dimensions integer dimensions? */
+  final boolean m_isInteger;
+
+  /**
+   * create the generic factory
+   *
+   * @param dims
+   *          the dimensions
+   * @param compareOrder
+   *          the order in which the dimensions are compared
+   */
+  _GenericFactory(final ArraySetView<Dimension> dims,
+      final int[] compareOrder) {
+    super();
+
+    final int n;
+    EDimensionDirection dir;
+    boolean isInteger;
+    int i;
+
+    n = dims.size();
+    this.m_dims = dims.toArray(new Dimension[n]);
+    this.m_types = new EPrimitiveType[n];
+    this.m_isFloat = new boolean[n];
+    this.m_increasing = new boolean[n];
+    this.m_strict = new boolean[n];
+    this.m_quality = new boolean[n];
+    this.m_parsers = new NumberParser<?>[n];
+    this.m_compareOrder = compareOrder;
+
+    isInteger = true;
+    i = 0;
+    for (final Dimension d : dims) {
+      this.m_types[i] = d.getDataType();
+      isInteger &= (!(this.m_isFloat[i] = this.m_types[i].isFloat()));
+      dir = d.getDirection();
+      this.m_increasing[i] = dir.isIncreasing();
+      this.m_strict[i] = dir.isStrict();
+      this.m_quality[i] = d.getDimensionType().isSolutionQualityMeasure();
+      this.m_parsers[i] = d.getParser();
+      i++;
+    }
+    this.m_isInteger = isInteger;
+  }
+
+  /**
+   * Convert a number to the internal representation of a value of a
+   * given dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param number
+   *          the number
+   * @return the internal representation
+   */
+  private final long __raw(final int dim, final Number number) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return number.byteValue();
+      }
+      case SHORT: {
+        return number.shortValue();
+      }
+      case INT: {
+        return number.intValue();
+      }
+      case LONG: {
+        return number.longValue();
+      }
+      case FLOAT: {
+        return Double.doubleToRawLongBits(number.floatValue());
+      }
+      default: {
+        return Double.doubleToRawLongBits(number.doubleValue());
+      }
+    }
+  }
+
+  /**
+   * Convert a {@code double} to the internal representation of a value of
+   * a given dimension, following the Java casting rules
+   *
+   * @param dim
+   *          the dimension
+   * @param value
+   *          the value
+   * @return the internal representation
+   */
+  final long _rawOf(final int dim, final double value) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      case LONG: {
+        return ((long) value);
+      }
+      case FLOAT: {
+        return Double.doubleToRawLongBits((float) value);
+      }
+      default: {
+        return Double.doubleToRawLongBits(value);
+      }
+    }
+  }
+
+  /**
+   * Convert a {@code long} to the internal representation of a value of a
+   * given dimension, following the Java casting rules
+   *
+   * @param dim
+   *          the dimension
+   * @param value
+   *          the value
+   * @return the internal representation
+   */
+  final long _rawOf(final int dim, final long value) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      case LONG: {
+        return value;
+      }
+      case FLOAT: {
+        return Double.doubleToRawLongBits((float) value);
+      }
+      default: {
+        return Double.doubleToRawLongBits(value);
+      }
+    }
+  }
+
+  /**
+   * Validate the internal representation of a value with the parser of
+   * its dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   */
+  final void _validate(final int dim, final long raw) {
+    if (this.m_isFloat[dim]) {
+      this.m_parsers[dim].validateDouble(Double.longBitsToDouble(raw));
+    } else {
+      this.m_parsers[dim].validateLong(raw);
+    }
+  }
+
+  /**
+   * Get the number of bytes needed to store one value of a dimension
+   *
+   * @param dim
+   *          the dimension
+   * @return the number of bytes
+   */
+  final int _byteSize(final int dim) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return 1;
+      }
+      case SHORT: {
+        return 2;
+      }
+      case INT:
+      case FLOAT: {
+        return 4;
+      }
+      default: {
+        return 8;
+      }
+    }
+  }
+
+  /**
+   * Allocate a column for the values of a dimension on the heap
+   *
+   * @param dim
+   *          the dimension
+   * @param m
+   *          the number of values
+   * @return the column
+   */
+  final Buffer _allocate(final int dim, final int m) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ByteBuffer.wrap(new byte[m]);
+      }
+      case SHORT: {
+        return ShortBuffer.wrap(new short[m]);
+      }
+      case INT: {
+        return IntBuffer.wrap(new int[m]);
+      }
+      case LONG: {
+        return LongBuffer.wrap(new long[m]);
+      }
+      case FLOAT: {
+        return FloatBuffer.wrap(new float[m]);
+      }
+      default: {
+        return DoubleBuffer.wrap(new double[m]);
+      }
+    }
+  }
+
+  /**
+   * View a region of bytes as column for the values of a dimension. The
+   * byte order of the region is used.
+   *
+   * @param dim
+   *          the dimension
+   * @param region
+   *          the region
+   * @return the column
+   */
+  final Buffer _view(final int dim, final ByteBuffer region) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return region;
+      }
+      case SHORT: {
+        return region.asShortBuffer();
+      }
+      case INT: {
+        return region.asIntBuffer();
+      }
+      case LONG: {
+        return region.asLongBuffer();
+      }
+      case FLOAT: {
+        return region.asFloatBuffer();
+      }
+      default: {
+        return region.asDoubleBuffer();
+      }
+    }
+  }
+
+  /**
+   * Get the internal representation of a value stored in a column
+   *
+   * @param dim
+   *          the dimension
+   * @param column
+   *          the column
+   * @param row
+   *          the row
+   * @return the internal representation of the value
+   */
+  final long _get(final int dim, final Buffer column, final int row) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ((ByteBuffer) column).get(row);
+      }
+      case SHORT: {
+        return ((ShortBuffer) column).get(row);
+      }
+      case INT: {
+        return ((IntBuffer) column).get(row);
+      }
+      case LONG: {
+        return ((LongBuffer) column).get(row);
+      }
+      case FLOAT: {
+        return Double.doubleToRawLongBits(((FloatBuffer) column).get(row));
+      }
+      default: {
+        return Double.doubleToRawLongBits(((DoubleBuffer) column)
+            .get(row));
+      }
+    }
+  }
+
+  /**
+   * Store the internal representation of a value in a column
+   *
+   * @param dim
+   *          the dimension
+   * @param column
+   *          the column
+   * @param row
+   *          the row
+   * @param raw
+   *          the internal representation of the value
+   */
+  final void _put(final int dim, final Buffer column, final int row,
+      final long raw) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        ((ByteBuffer) column).put(row, ((byte) raw));
+        return;
+      }
+      case SHORT: {
+        ((ShortBuffer) column).put(row, ((short) raw));
+        return;
+      }
+      case INT: {
+        ((IntBuffer) column).put(row, ((int) raw));
+        return;
+      }
+      case LONG: {
+        ((LongBuffer) column).put(row, raw);
+        return;
+      }
+      case FLOAT: {
+        ((FloatBuffer) column).put(row,
+            ((float) (Double.longBitsToDouble(raw))));
+        return;
+      }
+      default: {
+        ((DoubleBuffer) column).put(row, Double.longBitsToDouble(raw));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get a value stored in a column as {@code long}
+   *
+   * @param dim
+   *          the dimension
+   * @param column
+   *          the column
+   * @param row
+   *          the row
+   * @return the {@code long}
+   */
+  final long _getLong(final int dim, final Buffer column, final int row) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ((ByteBuffer) column).get(row);
+      }
+      case SHORT: {
+        return ((ShortBuffer) column).get(row);
+      }
+      case INT: {
+        return ((IntBuffer) column).get(row);
+      }
+      case LONG: {
+        return ((LongBuffer) column).get(row);
+      }
+      case FLOAT: {
+        return ((long) (((FloatBuffer) column).get(row)));
+      }
+      default: {
+        return ((long) (((DoubleBuffer) column).get(row)));
+      }
+    }
+  }
+
+  /**
+   * Get a value stored in a column as {@code double}
+   *
+   * @param dim
+   *          the dimension
+   * @param column
+   *          the column
+   * @param row
+   *          the row
+   * @return the {@code double}
+   */
+  final double _getDouble(final int dim, final Buffer column,
+      final int row) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return ((ByteBuffer) column).get(row);
+      }
+      case SHORT: {
+        return ((ShortBuffer) column).get(row);
+      }
+      case INT: {
+        return ((IntBuffer) column).get(row);
+      }
+      case LONG: {
+        return ((LongBuffer) column).get(row);
+      }
+      case FLOAT: {
+        return ((FloatBuffer) column).get(row);
+      }
+      default: {
+        return ((DoubleBuffer) column).get(row);
+      }
+    }
+  }
+
+  /**
+   * Get a value as {@code double}
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the {@code double}
+   */
+  final double _double(final int dim, final long raw) {
+    return (this.m_isFloat[dim] ? Double.longBitsToDouble(raw)
+        : ((double) raw));
+  }
+
+  /**
+   * Get a value as {@code long}
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the {@code long}
+   */
+  final long _long(final int dim, final long raw) {
+    return (this.m_isFloat[dim] ? ((long) (Double.longBitsToDouble(raw)))
+        : raw);
+  }
+
+  /**
+   * Get a value as {@code int}
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the {@code int}
+   */
+  final int _int(final int dim, final long raw) {
+    return (this.m_isFloat[dim] ? ((int) (Double.longBitsToDouble(raw)))
+        : ((int) raw));
+  }
+
+  /**
+   * Get a value as {@code float}
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the {@code float}
+   */
+  final float _float(final int dim, final long raw) {
+    return (this.m_isFloat[dim] ? ((float) (Double.longBitsToDouble(raw)))
+        : ((float) raw));
+  }
+
+  /**
+   * Get a value as {@link java.lang.Number} of the type of its dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the number
+   */
+  final Number _number(final int dim, final long raw) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return Byte.valueOf((byte) raw);
+      }
+      case SHORT: {
+        return Short.valueOf((short) raw);
+      }
+      case INT: {
+        return Integer.valueOf((int) raw);
+      }
+      case LONG: {
+        return Long.valueOf(raw);
+      }
+      case FLOAT: {
+        return Float.valueOf((float) (Double.longBitsToDouble(raw)));
+      }
+      default: {
+        return Double.valueOf(Double.longBitsToDouble(raw));
+      }
+    }
+  }
+
+  /**
+   * Get the string representation of a value
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the string
+   */
+  final String _string(final int dim, final long raw) {
+    switch (this.m_types[dim]) {
+      case FLOAT: {
+        return String.valueOf((float) (Double.longBitsToDouble(raw)));
+      }
+      case DOUBLE: {
+        return String.valueOf(Double.longBitsToDouble(raw));
+      }
+      default: {
+        return String.valueOf(raw);
+      }
+    }
+  }
+
+  /**
+   * Append a value to a text output
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @param textOut
+   *          the text output
+   */
+  final void _append(final int dim, final long raw,
+      final ITextOutput textOut) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        textOut.append((byte) raw);
+        return;
+      }
+      case SHORT: {
+        textOut.append((short) raw);
+        return;
+      }
+      case INT: {
+        textOut.append((int) raw);
+        return;
+      }
+      case LONG: {
+        textOut.append(raw);
+        return;
+      }
+      case FLOAT: {
+        textOut.append((float) (Double.longBitsToDouble(raw)));
+        return;
+      }
+      default: {
+        textOut.append(Double.longBitsToDouble(raw));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Append a value to an aggregate
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @param aggregate
+   *          the aggregate
+   */
+  final void _append(final int dim, final long raw,
+      final IAggregate aggregate) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        aggregate.append((byte) raw);
+        return;
+      }
+      case SHORT: {
+        aggregate.append((short) raw);
+        return;
+      }
+      case INT: {
+        aggregate.append((int) raw);
+        return;
+      }
+      case LONG: {
+        aggregate.append(raw);
+        return;
+      }
+      case FLOAT: {
+        aggregate.append((float) (Double.longBitsToDouble(raw)));
+        return;
+      }
+      default: {
+        aggregate.append(Double.longBitsToDouble(raw));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Compute the hash code of a value
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @return the hash code
+   */
+  final int _hashCode(final int dim, final long raw) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return HashUtils.hashCode((byte) raw);
+      }
+      case SHORT: {
+        return HashUtils.hashCode((short) raw);
+      }
+      case INT: {
+        return HashUtils.hashCode((int) raw);
+      }
+      case LONG: {
+        return HashUtils.hashCode(raw);
+      }
+      case FLOAT: {
+        return HashUtils.hashCode((float) (Double.longBitsToDouble(raw)));
+      }
+      default: {
+        return HashUtils.hashCode(Double.longBitsToDouble(raw));
+      }
+    }
+  }
+
+  /**
+   * Check whether two values of the same dimension are equal
+   *
+   * @param dim
+   *          the dimension
+   * @param a
+   *          the internal representation of the first value
+   * @param b
+   *          the internal representation of the second value
+   * @return {@code true} if they are equal, {@code false} otherwise
+   */
+  final boolean _equals(final int dim, final long a, final long b) {
+    if (this.m_isFloat[dim]) {
+      return (EComparison.compareDoubles(Double.longBitsToDouble(a),
+          Double.longBitsToDouble(b)) == 0);
+    }
+    return (a == b);
+  }
+
+  /**
+   * Check whether a value is equal to the element at the same index of a
+   * number list
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @param list
+   *          the number list
+   * @return {@code true} if they are equal, {@code false} otherwise
+   */
+  final boolean _equals(final int dim, final long raw, final NumberList list) {
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        return (((byte) raw) == list.getByte(dim));
+      }
+      case SHORT: {
+        return (((short) raw) == list.getShort(dim));
+      }
+      case INT: {
+        return (((int) raw) == list.getInt(dim));
+      }
+      case LONG: {
+        return (raw == list.getLong(dim));
+      }
+      case FLOAT: {
+        return (EComparison.compareFloats(
+            ((float) (Double.longBitsToDouble(raw))), list.getFloat(dim)) == 0);
+      }
+      default: {
+        return (EComparison.compareDoubles(Double.longBitsToDouble(raw),
+            list.getDouble(dim)) == 0);
+      }
+    }
+  }
+
+  /**
+   * Compare a value to the element at the same index of a data point,
+   * taking the direction of the dimension into account
+   *
+   * @param dim
+   *          the dimension
+   * @param raw
+   *          the internal representation of the value
+   * @param point
+   *          the data point
+   * @return the comparison result
+   */
+  final int _compare(final int dim, final long raw, final IDataPoint point) {
+    final long other;
+
+    switch (this.m_types[dim]) {
+      case BYTE: {
+        other = point.getByte(dim);
+        break;
+      }
+      case SHORT: {
+        other = point.getShort(dim);
+        break;
+      }
+      case INT: {
+        other = point.getInt(dim);
+        break;
+      }
+      case LONG: {
+        other = point.getLong(dim);
+        break;
+      }
+      case FLOAT: {
+        other = Double.doubleToRawLongBits(point.getFloat(dim));
+        break;
+      }
+      default: {
+        other = Double.doubleToRawLongBits(point.getDouble(dim));
+        break;
+      }
+    }
+    return this._compare(dim, raw, other);
+  }
+
+  /**
+   * Compare two values of the same dimension, taking the direction of the
+   * dimension into account
+   *
+   * @param dim
+   *          the dimension
+   * @param a
+   *          the internal representation of the first value
+   * @param b
+   *          the internal representation of the second value
+   * @return the comparison result
+   */
+  final int _compare(final int dim, final long a, final long b) {
+    final double da, db;
+
+    if (this.m_isFloat[dim]) {
+      da = Double.longBitsToDouble(a);
+      db = Double.longBitsToDouble(b);
+      if (da < db) {
+        return (this.m_increasing[dim] ? (-1) : 1);
+      }
+      if (da > db) {
+        return (this.m_increasing[dim] ? 1 : (-1));
+      }
+      return 0;
+    }
+
+    if (a < b) {
+      return (this.m_increasing[dim] ? (-1) : 1);
+    }
+    if (a > b) {
+      return (this.m_increasing[dim] ? 1 : (-1));
+    }
+    return 0;
+  }
+
+  /**
+   * Check whether {@code a} is less than {@code b}
+   *
+   * @param dim
+   *          the dimension
+   * @param a
+   *          the internal representation of the first value
+   * @param b
+   *          the internal representation of the second value
+   * @return {@code true} if {@code a<b}, {@code false} otherwise
+   */
+  final boolean _less(final int dim, final long a, final long b) {
+    if (this.m_isFloat[dim]) {
+      return (Double.longBitsToDouble(a) < Double.longBitsToDouble(b));
+    }
+    return (a < b);
+  }
+
+  /**
+   * Check whether {@code a} is less than or equal to {@code b}
+   *
+   * @param dim
+   *          the dimension
+   * @param a
+   *          the internal representation of the first value
+   * @param b
+   *          the internal representation of the second value
+   * @return {@code true} if {@code a<=b}, {@code false} otherwise
+   */
+  final boolean _lessOrEqual(final int dim, final long a, final long b) {
+    if (this.m_isFloat[dim]) {
+      return (Double.longBitsToDouble(a) <= Double.longBitsToDouble(b));
+    }
+    return (a <= b);
+  }
+
+  /**
+   * Check whether a data point may follow another one. This is the check
+   * performed by {@link DataPoint#validateAfter(DataPoint)}, which is
+   * also used to validate rows of data which have not (yet) been turned
+   * into data points.
+   *
+   * @param after
+   *          the internal representations of the values of the data point
+   *          which should follow
+   * @param before
+   *          the internal representations of the values of the data point
+   *          which should come first
+   * @return {@code null} if {@code after} may follow {@code before},
+   *         otherwise the reason why it may not
+   */
+  final String _orderViolation(final long[] after, final long[] before) {
+    long a, b;
+    boolean later, increasing, strict, bad;
+    int i;
+
+    later = false;
+    for (i = 0; i < after.length; i++) {
+      a = after[i];
+      b = before[i];
+      increasing = this.m_increasing[i];
+      strict = this.m_strict[i];
+
+      if (increasing) {
+        bad = (strict ? this._lessOrEqual(i, a, b) : this._less(i, a, b));
+      } else {
+        bad = (strict ? this._lessOrEqual(i, b, a) : this._less(i, b, a));
+      }
+
+      if (bad) {
+        return (((((("Value at dimension " + i) + //$NON-NLS-1$
+            " of this data point must be ") + //$NON-NLS-1$
+            (increasing ? "greater" : "less")) + //$NON-NLS-1$//$NON-NLS-2$
+            (strict ? "" : " or equal")) + //$NON-NLS-1$//$NON-NLS-2$
+            " than the value of the same dimension in the previous data point, but " + //$NON-NLS-1$
+            this._string(i, a) + (increasing ? '<' : '>') + //
+            (strict ? "=" : "") + //$NON-NLS-1$//$NON-NLS-2$
+            this._string(i, b)) + '.');
+      }
+
+      later |= (increasing ? this._less(i, b, a) : this._less(i, a, b));
+    }
+
+    if (later) {
+      return null;
+    }
+    return "The data points must differ in at least one dimension."; //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Override
+  public final Class<DataPoint> getOutputClass() {
+    return ((Class) (_GenericDataPoint.class));
+  }
+
+  /**
+   * Parse the token of a given dimension
+   *
+   * @param dim
+   *          the dimension
+   * @param token
+   *          the token
+   * @return the internal representation of the value
+   */
+  private final long __parse(final int dim, final String token) {
+    try {
+      return this.__raw(dim, this.m_parsers[dim].parseString(token));
+    } catch (final RuntimeException re) {
+      throw re;
+    } catch (final Throwable t) {
+      throw new IllegalArgumentException(((//
+          "Cannot parse token '" + token) + //$NON-NLS-1$
+          "' for dimension " + dim), t); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Parse a string to the internal representations of the values of a
+   * data point
+   *
+   * @param s
+   *          the string
+   * @param values
+   *          the array to receive the internal representations
+   */
+  private final void __parseRow(final String s, final long[] values) {
+    final int length, last;
+    int i, j, dim;
+    char end;
+
+    last = (values.length - 1);
+    length = s.length();
+
+    i = 0;
+    while (s.charAt(i) <= ' ') {
+      i++;
+    }
+    if (s.charAt(i) == '[') {
+      i++;
+    }
+
+    for (dim = 0; dim <= last; dim++) {
+      if (dim > 0) {
+        while (s.charAt(i) <= ' ') {
+          i++;
+        }
+      }
+      inner: for (j = i; j < length; j++) {
+        if (s.charAt(j) <= ' ') {
+          break inner;
+        }
+      }
+      end = ((dim < last) ? ',' : ']');
+      values[dim] = this.__parse(dim,
+          s.substring(i, ((s.charAt(j - 1) == end) ? (j - 1) : j)));
+      i = j;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericDataPoint parseString(final String s) {
+    final long[] values;
+
+    values = new long[this.m_types.length];
+    this.__parseRow(s, values);
+    return new _GenericDataPoint(this, values);
+  }
+
+  /**
+   * Store the internal representations of the values of a data point in a
+   * row of a block of columns as accepted by
+   * {@link RunContext#addDataPoints(int, long[][], double[][])}
+   *
+   * @param values
+   *          the internal representations
+   * @param row
+   *          the row
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  private final void __store(final long[] values, final int row,
+      final long[][] longs, final double[][] doubles) {
+    int j;
+
+    for (j = values.length; (--j) >= 0;) {
+      if (this.m_isFloat[j]) {
+        doubles[j][row] = Double.longBitsToDouble(values[j]);
+      } else {
+        longs[j][row] = values[j];
+      }
+    }
+  }
+
+  /**
+   * Parse a string and store the values of the data point it represents
+   * in a row of a block of columns
+   *
+   * @param s
+   *          the string
+   * @param values
+   *          a temporary array for the internal representations
+   * @param row
+   *          the row
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  final void _parseInto(final String s, final long[] values,
+      final int row, final long[][] longs, final double[][] doubles) {
+    this.__parseRow(s, values);
+    this.__store(values, row, longs, doubles);
+  }
+
+  /**
+   * Convert numbers and store them in a row of a block of columns
+   *
+   * @param numbers
+   *          the numbers
+   * @param values
+   *          a temporary array for the internal representations
+   * @param row
+   *          the row
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  final void _convertInto(final Number[] numbers, final long[] values,
+      final int row, final long[][] longs, final double[][] doubles) {
+    int j;
+
+    for (j = values.length; (--j) >= 0;) {
+      values[j] = this.__raw(j, numbers[j]);
+    }
+    this.__store(values, row, longs, doubles);
+  }
+
+  /**
+   * Store the values of a data point in a row of a block of columns
+   *
+   * @param point
+   *          the data point
+   * @param row
+   *          the row
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  final void _storeInto(final IDataPoint point, final int row,
+      final long[][] longs, final double[][] doubles) {
+    int j;
+
+    for (j = this.m_isFloat.length; (--j) >= 0;) {
+      if (this.m_isFloat[j]) {
+        doubles[j][row] = point.getDouble(j);
+      } else {
+        longs[j][row] = point.getLong(j);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericDataPoint parseNumbers(final Number... numbers) {
+    final long[] values;
+    long raw;
+    int i;
+
+    values = new long[this.m_types.length];
+    for (i = 0; i < values.length; i++) {
+      values[i] = raw = this.__raw(i, numbers[i]);
+      this._validate(i, raw);
+    }
+
+    return new _GenericDataPoint(this, values);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericDataPoint parseObject(final Object o) {
+    if ((o instanceof _GenericDataPoint)
+        && (((_GenericDataPoint) o).m_owner == this)) {
+      return ((_GenericDataPoint) o);
+    }
+    if (o instanceof Number[]) {
+      return this.parseNumbers((Number[]) o);
+    }
+    return this.parseString(String.valueOf(o));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Run createRun(final Instance instance,
+      final Collection<DataPoint> points) {
+    final _GenericDataPoint[] data;
+    final Buffer[] columns;
+    final Object[] arrays;
+    _GenericDataPoint prev;
+    int i, j;
+
+    data = points.toArray(new _GenericDataPoint[points.size()]);
+    columns = new Buffer[this.m_types.length];
+    arrays = new Object[columns.length];
+    for (j = columns.length; (--j) >= 0;) {
+      columns[j] = this._allocate(j, data.length);
+      arrays[j] = columns[j].array();
+    }
+
+    prev = null;
+    for (i = 0; i < data.length; i++) {
+      final _GenericDataPoint next = data[i];
+      instance.validateDataPoint(next);
+      if (prev != null) {
+        next.validateAfter(prev);
+      }
+      for (j = columns.length; (--j) >= 0;) {
+        this._put(j, columns[j], i, next.m_values[j]);
+      }
+      prev = next;
+    }
+
+    return this._newRun(columns, arrays);
+  }
+
+  /**
+   * Create a run whose columns are kept in arrays on the heap. The
+   * {@link _ClassEmitter emitted} subclasses of this factory override
+   * this method to create runs which access the arrays directly.
+   *
+   * @param buffers
+   *          the buffers wrapping the arrays
+   * @param arrays
+   *          the arrays, one of the primitive type of each dimension
+   * @return the run
+   */
+  _GenericRun _newRun(final Buffer[] buffers, final Object[] arrays) {
+    return new _GenericRun(this, buffers);
+  }
+
+  /**
+   * Create a run directly from a set of columns, as provided by an
+   * {@link IRunDataLoader}. The values are validated exactly like the data
+   * points given to {@link #createRun(Instance, Collection)}.
+   *
+   * @param instance
+   *          the benchmark instance to which the run belongs
+   * @param m
+   *          the number of data points
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   * @return the run
+   */
+  final _GenericRun _createRun(final Instance instance, final int m,
+      final long[][] longs, final double[][] doubles) {
+    final _RunBuilder builder;
+
+    builder = new _RunBuilder(this, null);
+    builder._appendColumns(m, longs, doubles);
+    return ((_GenericRun) (builder._createRun(instance, this)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final _GenericRun createRun(final Object[] columns) {
+    final Buffer[] buffers;
+    int j;
+
+    buffers = new Buffer[columns.length];
+    for (j = buffers.length; (--j) >= 0;) {
+      switch (this.m_types[j]) {
+        case BYTE: {
+          buffers[j] = ByteBuffer.wrap((byte[]) (columns[j]));
+          break;
+        }
+        case SHORT: {
+          buffers[j] = ShortBuffer.wrap((short[]) (columns[j]));
+          break;
+        }
+        case INT: {
+          buffers[j] = IntBuffer.wrap((int[]) (columns[j]));
+          break;
+        }
+        case LONG: {
+          buffers[j] = LongBuffer.wrap((long[]) (columns[j]));
+          break;
+        }
+        case FLOAT: {
+          buffers[j] = FloatBuffer.wrap((float[]) (columns[j]));
+          break;
+        }
+        default: {
+          buffers[j] = DoubleBuffer.wrap((double[]) (columns[j]));
+        }
+      }
+    }
+    return this._newRun(buffers, columns);
+  }
+}
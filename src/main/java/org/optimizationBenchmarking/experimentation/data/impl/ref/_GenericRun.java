@@ -0,0 +1,295 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.IAggregate;
+import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
+
+/**
+ * A run of the {@link _GenericFactory generic factory}, which stores the
+ * values of its data points column-wise in {@link java.nio.Buffer}s of the
+ * primitive types of the dimensions, i.e., needs exactly as much memory as
+ * the generated runs. The buffers may either wrap arrays on the heap or
+ * memory-mapped regions of a file. Searching is done by the same
+ * {@link _RunSearch} the generated runs use for batches. The runs of the
+ * {@link _ClassEmitter emitted} factories are subclasses which access the
+ * arrays behind heap buffers directly.
+ */
+class _GenericRun extends Run {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the owning factory */
+  private final _GenericFactory m_owner;
+
+  /** the columns */
+  private final Buffer[] m_columns;
+
+  /**
+   * create the run
+   *
+   * @param owner
+   *          the owning factory
+   * @param columns
+   *          the columns
+   */
+  _GenericRun(final _GenericFactory owner, final Buffer[] columns) {
+    super(columns[0].limit());
+    this.m_owner = owner;
+    this.m_columns = columns;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return this.m_columns.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return this.m_owner.m_isInteger;
+  }
+
+  /**
+   * Check a column index
+   *
+   * @param method
+   *          the name of the accessing method
+   * @param row
+   *          the row index
+   * @param column
+   *          the column index
+   */
+  private final void __checkColumn(final String method, final int row,
+      final int column) {
+    if ((column < 0) || (column >= this.m_columns.length)) {
+      throw new IndexOutOfBoundsException((((("Matrix access " + method) + //$NON-NLS-1$
+          '(') + row) + ',') + column + //
+          ") is invalid, the valid index range is (0.." + //$NON-NLS-1$
+          (this.m_columns[0].limit() - 1) + ", 0.." + //$NON-NLS-1$
+          (this.m_columns.length - 1) + ")."); //$NON-NLS-1$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getDouble(final int row, final int column) {
+    this.__checkColumn("getDouble", row, column); //$NON-NLS-1$
+    return this.m_owner._getDouble(column, this.m_columns[column], row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getLong(final int row, final int column) {
+    this.__checkColumn("getLong", row, column); //$NON-NLS-1$
+    return this.m_owner._getLong(column, this.m_columns[column], row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix selectColumns(final int... cols) {
+    int i;
+
+    checker: {
+      i = 0;
+      for (final int j : cols) {
+        if (j != (i++)) {
+          break checker;
+        }
+      }
+      if (i == this.m_columns.length) {
+        return this;
+      }
+    }
+
+    return new _GenericRunColumns(this, cols, this.m_owner.m_isFloat);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateColumn(final int column,
+      final IAggregate aggregate) {
+    final _GenericFactory owner;
+    final Buffer data;
+    int i;
+
+    if ((column < 0) || (column >= this.m_columns.length)) {
+      throw new IndexOutOfBoundsException(("Matrix access aggregateColumn(" //$NON-NLS-1$
+          + column) + ") is invalid, the valid index range is 0.." + //$NON-NLS-1$
+          (this.m_columns.length - 1) + '.');
+    }
+
+    owner = this.m_owner;
+    data = this.m_columns[column];
+    for (i = 0; i < data.limit(); i++) {
+      owner._append(column, owner._get(column, data, i), aggregate);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    final Buffer data;
+    final LongBuffer view;
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    data = this.m_columns[column];
+    if (data instanceof LongBuffer) {
+      view = ((LongBuffer) data).duplicate();
+      view.position(from);
+      view.get(dest, 0, (to - from));
+    } else {
+      for (i = from, j = 0; i < to; i++, j++) {
+        dest[j] = this.m_owner._getLong(column, data, i);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    final Buffer data;
+    final DoubleBuffer view;
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    data = this.m_columns[column];
+    if (data instanceof DoubleBuffer) {
+      view = ((DoubleBuffer) data).duplicate();
+      view.position(from);
+      view.get(dest, 0, (to - from));
+    } else {
+      for (i = from, j = 0; i < to; i++, j++) {
+        dest[j] = this.m_owner._getDouble(column, data, i);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long[] getLongColumnArray(final int column) {
+    final Buffer data;
+
+    if ((column >= 0) && (column < this.m_columns.length)) {
+      data = this.m_columns[column];
+      if ((data instanceof LongBuffer) && data.hasArray()
+          && (data.arrayOffset() == 0)) {
+        return ((LongBuffer) data).array();
+      }
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double[] getDoubleColumnArray(final int column) {
+    final Buffer data;
+
+    if ((column >= 0) && (column < this.m_columns.length)) {
+      data = this.m_columns[column];
+      if ((data instanceof DoubleBuffer) && data.hasArray()
+          && (data.arrayOffset() == 0)) {
+        return ((DoubleBuffer) data).array();
+      }
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void aggregateRow(final int row, final IAggregate aggregate) {
+    final _GenericFactory owner;
+    int i;
+
+    owner = this.m_owner;
+    for (i = 0; i < this.m_columns.length; i++) {
+      owner._append(i, owner._get(i, this.m_columns[i], row), aggregate);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void toText(final ITextOutput textOut) {
+    final _GenericFactory owner;
+    int i, j;
+
+    owner = this.m_owner;
+    textOut.append('[');
+    for (i = 0; i < this.m_columns[0].limit(); i++) {
+      if (i > 0) {
+        textOut.append(',');
+        textOut.append(' ');
+      }
+      textOut.append('[');
+      for (j = 0; j < this.m_columns.length; j++) {
+        if (j > 0) {
+          textOut.append(',');
+          textOut.append(' ');
+        }
+        owner._append(j, owner._get(j, this.m_columns[j], i), textOut);
+      }
+      textOut.append(']');
+    }
+    textOut.append(']');
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final _GenericDataPoint createDataPoint(final int row) {
+    final long[] values;
+    int i;
+
+    values = new long[this.m_columns.length];
+    for (i = values.length; (--i) >= 0;) {
+      values[i] = this.m_owner._get(i, this.m_columns[i], row);
+    }
+    return new _GenericDataPoint(this.m_owner, values);
+  }
+
+  /**
+   * Check a column index for {@code find}
+   *
+   * @param column
+   *          the column index
+   */
+  private final void __checkFindColumn(final int column) {
+    if ((column < 0) || (column >= this.m_columns.length)) {
+      throw new IndexOutOfBoundsException("Column " + column + //$NON-NLS-1$
+          " is invalid, valid indexes are in 0.." + //$NON-NLS-1$
+          (this.m_columns.length - 1) + '.');
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericDataPoint find(final int column, final double value) {
+    final int index;
+
+    this.__checkFindColumn(column);
+    index = this._createSearch(column, this.m_owner.m_dims[column])
+        ._findIndex(value);
+    return ((index >= 0) ? ((_GenericDataPoint) (this.getDataPoint(index)))
+        : null);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericDataPoint find(final int column, final long value) {
+    final int index;
+
+    this.__checkFindColumn(column);
+    index = this._createSearch(column, this.m_owner.m_dims[column])
+        ._findIndex(value);
+    return ((index >= 0) ? ((_GenericDataPoint) (this.getDataPoint(index)))
+        : null);
+  }
+}
@@ -0,0 +1,52 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import org.optimizationBenchmarking.utils.math.matrix.MatrixColumns;
+
+/**
+ * A selection of columns of a {@link _GenericRun generic run}, which is
+ * an integer matrix exactly if all selected dimensions are integer
+ * dimensions.
+ */
+final class _GenericRunColumns extends MatrixColumns<_GenericRun> {
+
+  /** is this an integer matrix? */
+  private final boolean m_isInteger;
+
+  /**
+   * create the column selection
+   *
+   * @param owner
+   *          the owning run
+   * @param cols
+   *          the selected columns
+   * @param isFloat
+   *          the floating point flags of the dimensions of the owner
+   */
+  _GenericRunColumns(final _GenericRun owner, final int[] cols,
+      final boolean[] isFloat) {
+    super(owner, cols);
+
+    boolean isInteger;
+
+    isInteger = true;
+    for (final int col : cols) {
+      if (isFloat[col]) {
+        isInteger = false;
+        break;
+      }
+    }
+    this.m_isInteger = isInteger;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return this.m_isInteger;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final _GenericRunColumns copy() {
+    return this;
+  }
+}
@@ -38,6 +38,16 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
    */
   abstract Class<CET> _getChildType();
 
+  /**
+   * May this collection be compiled without any child?
+   *
+   * @return {@code true} if this collection may be compiled without any
+   *         child, {@code false} otherwise
+   */
+  boolean _mayBeEmpty() {
+    return false;
+  }
+
   /**
    * process the collection
    *
@@ -65,7 +75,7 @@ abstract class _HierarchicalCollection<CCT, CET extends _Context<CCT>, RT>
     clazz = this._getChildType();
     i = list.size();
 
-    if (i <= 0) {
+    if ((i <= 0) && (!(this._mayBeEmpty()))) {
       throw new IllegalStateException("Each " + //$NON-NLS-1$
           this.getClass().getSimpleName()
           + " must have at least one child of class " + //$NON-NLS-1$
@@ -32,6 +32,17 @@ abstract class _IDObject extends DataElement implements
     this.m_id = (-1);
   }
 
+  /**
+   * Release this object from its owner, so that it can become owned by
+   * another set. This only happens when an experiment set is
+   * {@link ExperimentSetContext#ExperimentSetContext(java.util.logging.Logger, ExperimentSet)
+   * taken over} by a new one.
+   */
+  final void _disown() {
+    this.m_owner = null;
+    this.m_id = (-1);
+  }
+
   /**
    * the internal comparison
    *
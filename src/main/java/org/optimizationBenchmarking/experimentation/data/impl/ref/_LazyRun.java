@@ -0,0 +1,134 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.lang.ref.SoftReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A run whose data points are only loaded when they are accessed. The
+ * run knows its number of data points and dimensions, so the skeleton of
+ * an experiment set can be built without touching the data. When the data
+ * is needed, it is obtained from an {@link IRunDataLoader}, validated,
+ * and stored in a {@link _GenericRun generic run} which is held via a
+ * {@link java.lang.ref.SoftReference}: If memory becomes scarce, the
+ * garbage collector may evict the loaded data, which is then loaded again
+ * upon the next access.
+ */
+final class _LazyRun extends _DelegatingRun {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the layout factory */
+  private final _GenericFactory m_layout;
+
+  /** the loader */
+  private final transient IRunDataLoader m_loader;
+
+  /** the logger, or {@code null} if none is used */
+  private final transient Logger m_logger;
+
+  /** the loaded data, if any */
+  private transient volatile SoftReference<_GenericRun> m_data;
+
+  /**
+   * create the lazy run
+   *
+   * @param layout
+   *          the factory providing the value layout of the dimension set
+   * @param m
+   *          the number of data points
+   * @param loader
+   *          the loader
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   */
+  _LazyRun(final _GenericFactory layout, final int m,
+      final IRunDataLoader loader, final Logger logger) {
+    super(m);
+    if (loader == null) {
+      throw new IllegalArgumentException(//
+          "Run data loader must not be null."); //$NON-NLS-1$
+    }
+    this.m_layout = layout;
+    this.m_loader = loader;
+    this.m_logger = logger;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The data of this run is loaded if necessary.
+   * </p>
+   */
+  @Override
+  final _GenericRun _getDelegate() {
+    final SoftReference<_GenericRun> ref;
+    final _GenericRun data;
+
+    ref = this.m_data;
+    if (ref != null) {
+      data = ref.get();
+      if (data != null) {
+        return data;
+      }
+    }
+    return this.__load();
+  }
+
+  /**
+   * Load the data of this run, unless another thread has just done so
+   *
+   * @return the data of this run
+   */
+  private synchronized final _GenericRun __load() {
+    final SoftReference<_GenericRun> ref;
+    final long[][] longs;
+    final double[][] doubles;
+    final int n;
+    _GenericRun data;
+
+    ref = this.m_data;
+    if (ref != null) {
+      data = ref.get();
+      if (data != null) {
+        return data;
+      }
+    }
+
+    n = this.m_layout.m_types.length;
+    longs = new long[n][];
+    doubles = new double[n][];
+    try {
+      this.m_loader.load(longs, doubles);
+      data = this.m_layout._createRun(this.getOwner().getInstance(),
+          this.m(), longs, doubles);
+    } catch (final Throwable error) {
+      throw new IllegalStateException(//
+          "Could not load the data of a run with " + this.m() + //$NON-NLS-1$
+              " data points from " + this.m_loader + '.', error);//$NON-NLS-1$
+    }
+
+    if ((this.m_logger != null) && (this.m_logger.isLoggable(Level.FINEST))) {
+      synchronized (this.m_logger) {
+        this.m_logger.finest(((("Loaded " + this.m()) + //$NON-NLS-1$
+            " data points from ") + this.m_loader) + '.'); //$NON-NLS-1$
+      }
+    }
+
+    this.m_data = new SoftReference<>(data);
+    return data;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return this.m_layout.m_types.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    return this.m_layout.m_isInteger;
+  }
+}
@@ -0,0 +1,196 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A store which moves the data of runs out of the Java heap into a
+ * memory-mapped temporary file. The columns of the runs are allocated in
+ * the file by {@link _RunBuilder run builders} while the data points are
+ * collected, so no run is ever held on the heap completely. Each column
+ * of a stored run becomes one region of the file, which is accessed via a {@link java.nio.Buffer} of
+ * the dimension's primitive type in a {@link _GenericRun}. The operating
+ * system's page cache then decides which parts of the data are actually
+ * held in memory, so experiment sets larger than the heap can be
+ * processed.
+ * <p>
+ * The file is mapped in large segments to keep the number of mappings
+ * low: columns of small runs are slices of the current segment, only
+ * columns larger than a segment get their own mapping. The file is
+ * deleted when the store is {@link #_close() closed}. This does not
+ * invalidate the mappings, which remain accessible until the runs are
+ * garbage collected. While a run is collected, its columns grow by
+ * doubling and the old regions are not reused, so the file may become up
+ * to four times as large as the data of the runs.
+ * </p>
+ */
+final class _MappedRunStore {
+
+  /** the size of a mapped segment */
+  private static final int SEGMENT_SIZE = (1 << 26);
+
+  /** the suffix of the store files */
+  private static final String SUFFIX = ".runs"; //$NON-NLS-1$
+
+  /** the layout factory */
+  private final _GenericFactory m_layout;
+
+  /** the file */
+  private final Path m_file;
+
+  /** the channel to the file */
+  private FileChannel m_channel;
+
+  /** the current segment */
+  private MappedByteBuffer m_segment;
+
+  /** the end of the file */
+  private long m_end;
+
+  /** the logger */
+  private final Logger m_logger;
+
+  /**
+   * create the run store
+   *
+   * @param dir
+   *          the directory in which the store file should be created
+   * @param layout
+   *          the factory providing the value layout of the dimension set
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   * @throws IOException
+   *           if the store file cannot be created
+   */
+  _MappedRunStore(final Path dir, final _GenericFactory layout,
+      final Logger logger) throws IOException {
+    super();
+
+    this.m_layout = layout;
+    this.m_logger = logger;
+
+    Files.createDirectories(dir);
+    this.m_file = Files.createTempFile(dir, null, _MappedRunStore.SUFFIX);
+    this.m_channel = FileChannel.open(this.m_file,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    if ((logger != null) && (logger.isLoggable(Level.INFO))) {
+      synchronized (logger) {
+        logger.info("Run data will be stored in memory-mapped file '" + //$NON-NLS-1$
+            this.m_file + '\'' + '.');
+      }
+    }
+  }
+
+  /**
+   * Allocate a region of the file
+   *
+   * @param size
+   *          the size of the region in bytes
+   * @return the region
+   * @throws IOException
+   *           if the region cannot be mapped
+   */
+  private final ByteBuffer __allocate(final long size) throws IOException {
+    final ByteBuffer region;
+    final MappedByteBuffer mapped;
+    MappedByteBuffer segment;
+
+    if (this.m_channel == null) {
+      throw new IllegalStateException(//
+          "Run store has already been closed."); //$NON-NLS-1$
+    }
+    if ((size < 0L) || (size > Integer.MAX_VALUE)) {
+      throw new IllegalArgumentException(//
+          "Cannot map a region of " + size + //$NON-NLS-1$
+              " bytes, the maximum is " + Integer.MAX_VALUE + //$NON-NLS-1$
+              " bytes."); //$NON-NLS-1$
+    }
+
+    if (size > (_MappedRunStore.SEGMENT_SIZE >>> 2)) {
+      // large columns get their own mapping
+      mapped = this.m_channel.map(FileChannel.MapMode.READ_WRITE,
+          this.m_end, size);
+      this.m_end += size;
+      return mapped;
+    }
+
+    segment = this.m_segment;
+    if ((segment == null) || (segment.remaining() < size)) {
+      this.m_segment = segment = this.m_channel.map(
+          FileChannel.MapMode.READ_WRITE, this.m_end,
+          _MappedRunStore.SEGMENT_SIZE);
+      this.m_end += _MappedRunStore.SEGMENT_SIZE;
+    }
+
+    region = segment.slice();
+    region.limit((int) size);
+    segment.position(segment.position() + ((int) size));
+    return region;
+  }
+
+  /**
+   * Allocate a column for the values of a dimension in the file
+   *
+   * @param dim
+   *          the dimension
+   * @param capacity
+   *          the number of values the column must be able to hold
+   * @return the column
+   */
+  synchronized final Buffer _allocate(final int dim, final int capacity) {
+    try {
+      return this.m_layout._view(dim, this.__allocate(//
+          ((long) capacity) * this.m_layout._byteSize(dim))//
+          .order(ByteOrder.nativeOrder()));
+    } catch (final IOException ioe) {
+      throw new IllegalStateException(//
+          "Could not allocate column in memory-mapped file '" + //$NON-NLS-1$
+              this.m_file + '\'' + '.', ioe);
+    }
+  }
+
+  /**
+   * Close the store: no more runs can be stored, but the runs stored so
+   * far remain accessible. The store file is deleted.
+   */
+  synchronized final void _close() {
+    final FileChannel channel;
+
+    channel = this.m_channel;
+    if (channel == null) {
+      return;
+    }
+    this.m_channel = null;
+    this.m_segment = null;
+
+    try {
+      channel.close();
+    } catch (final Throwable error) {
+      if ((this.m_logger != null)
+          && (this.m_logger.isLoggable(Level.WARNING))) {
+        synchronized (this.m_logger) {
+          this.m_logger.log(Level.WARNING,
+              "Error when closing run store file '" + //$NON-NLS-1$
+                  this.m_file + '\'' + '.', error);
+        }
+      }
+    }
+
+    try {
+      Files.delete(this.m_file);
+    } catch (final Throwable error) {
+      // some systems cannot delete files which are still mapped
+      this.m_file.toFile().deleteOnExit();
+    }
+  }
+}
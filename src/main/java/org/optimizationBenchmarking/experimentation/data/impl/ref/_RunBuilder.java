@@ -0,0 +1,403 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import java.nio.Buffer;
+
+/**
+ * A builder which collects the data points of a run column-wise, in the
+ * layout of a {@link _GenericFactory generic factory}. Data points can
+ * be appended as objects or directly from primitive columns, in which
+ * case no data point objects are created at all. If a
+ * {@link _MappedRunStore run store} is used, the columns are moved into
+ * the store as soon as they outgrow a small buffer on the heap, so the
+ * data of a run is never held on the heap completely, not even while it
+ * is being collected. Otherwise, the run is created from the primitive
+ * columns by the {@link DataFactory#createRun(Object[]) data factory}.
+ * <p>
+ * The data points are checked while they are appended, but errors are
+ * only reported when the run is
+ * {@link #_createRun(Instance, DataFactory) created}:
+ * Then, the same exception is thrown as by
+ * {@link DataFactory#createRun(Instance, java.util.Collection)} for the
+ * same data, i.e., the first data point (in the order of the run) which
+ * lies outside the bounds of the instance or violates the order of the
+ * dimensions is reported.
+ * </p>
+ */
+final class _RunBuilder {
+
+  /** the initial capacity of the columns */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * the number of bytes a column may occupy on the heap before it is
+   * moved to the run store
+   */
+  private static final int HEAP_LIMIT = (1 << 13);
+
+  /** the maximum capacity of a column */
+  private static final int MAX_CAPACITY = (Integer.MAX_VALUE >>> 3);
+
+  /** the layout factory */
+  private final _GenericFactory m_layout;
+
+  /** the run store, or {@code null} if the run is kept on the heap */
+  private final _MappedRunStore m_store;
+
+  /** the columns */
+  private final Buffer[] m_columns;
+
+  /** the capacity of the columns */
+  private int m_capacity;
+
+  /** are the columns in the run store? */
+  private boolean m_stored;
+
+  /** the number of data points */
+  private int m_size;
+
+  /** the internal representations of the values of the last data point */
+  private long[] m_last;
+
+  /** the internal representations of the values of the next data point */
+  private long[] m_next;
+
+  /**
+   * the index of the first data point which must not follow its
+   * predecessor, or {@code -1} if the order is correct
+   */
+  private int m_orderError;
+
+  /** the smallest values of the columns as {@code long} */
+  private final long[] m_minLong;
+
+  /** the largest values of the columns as {@code long} */
+  private final long[] m_maxLong;
+
+  /** the smallest values of the columns as {@code double} */
+  private final double[] m_minDouble;
+
+  /** the largest values of the columns as {@code double} */
+  private final double[] m_maxDouble;
+
+  /**
+   * create the run builder
+   *
+   * @param layout
+   *          the layout factory
+   * @param store
+   *          the run store, or {@code null} if the run is kept on the
+   *          heap
+   */
+  _RunBuilder(final _GenericFactory layout, final _MappedRunStore store) {
+    super();
+
+    final int n;
+    int j;
+
+    this.m_layout = layout;
+    this.m_store = store;
+    n = layout.m_types.length;
+    this.m_columns = new Buffer[n];
+    this.m_last = new long[n];
+    this.m_next = new long[n];
+    this.m_orderError = (-1);
+    this.m_minLong = new long[n];
+    this.m_maxLong = new long[n];
+    this.m_minDouble = new double[n];
+    this.m_maxDouble = new double[n];
+    for (j = n; (--j) >= 0;) {
+      this.m_minLong[j] = Long.MAX_VALUE;
+      this.m_maxLong[j] = Long.MIN_VALUE;
+      this.m_minDouble[j] = Double.POSITIVE_INFINITY;
+      this.m_maxDouble[j] = Double.NEGATIVE_INFINITY;
+    }
+  }
+
+  /**
+   * Get the number of data points collected so far
+   *
+   * @return the number of data points collected so far
+   */
+  final int _size() {
+    return this.m_size;
+  }
+
+  /**
+   * make room for more data points
+   *
+   * @param minCapacity
+   *          the minimum capacity needed
+   */
+  private final void __grow(final int minCapacity) {
+    final _GenericFactory layout;
+    final Buffer[] columns;
+    final int capacity, size;
+    final boolean store;
+    Buffer column;
+    int i, j;
+
+    if ((minCapacity < 0) || (minCapacity > _RunBuilder.MAX_CAPACITY)) {
+      throw new IllegalStateException(//
+          "A run cannot have more than " + _RunBuilder.MAX_CAPACITY + //$NON-NLS-1$
+              " data points."); //$NON-NLS-1$
+    }
+    capacity = ((int) (Math.max(minCapacity, Math.min(
+        _RunBuilder.MAX_CAPACITY, Math.max(_RunBuilder.INITIAL_CAPACITY,
+            (2L * this.m_capacity))))));
+    store = ((this.m_store != null) && (this.m_stored || //
+    ((capacity << 3) > _RunBuilder.HEAP_LIMIT)));
+
+    layout = this.m_layout;
+    columns = this.m_columns;
+    size = this.m_size;
+    for (j = columns.length; (--j) >= 0;) {
+      column = (store ? this.m_store._allocate(j, capacity)//
+          : layout._allocate(j, capacity));
+      for (i = 0; i < size; i++) {
+        layout._put(j, column, i, layout._get(j, columns[j], i));
+      }
+      columns[j] = column;
+    }
+    this.m_capacity = capacity;
+    this.m_stored = store;
+  }
+
+  /**
+   * Append the data point whose values are stored in {@link #m_next}
+   */
+  private final void __appendNext() {
+    final _GenericFactory layout;
+    final Buffer[] columns;
+    final long[] next;
+    final int size;
+    long raw, l;
+    double d;
+    int j;
+
+    if (this.m_size >= this.m_capacity) {
+      this.__grow(this.m_size + 1);
+    }
+
+    layout = this.m_layout;
+    columns = this.m_columns;
+    next = this.m_next;
+    size = this.m_size;
+    for (j = columns.length; (--j) >= 0;) {
+      raw = next[j];
+      layout._put(j, columns[j], size, raw);
+      l = layout._long(j, raw);
+      if (l < this.m_minLong[j]) {
+        this.m_minLong[j] = l;
+      }
+      if (l > this.m_maxLong[j]) {
+        this.m_maxLong[j] = l;
+      }
+      d = layout._double(j, raw);
+      if (d < this.m_minDouble[j]) {
+        this.m_minDouble[j] = d;
+      }
+      if (d > this.m_maxDouble[j]) {
+        this.m_maxDouble[j] = d;
+      }
+    }
+
+    if ((size > 0) && (this.m_orderError < 0)
+        && (layout._orderViolation(next, this.m_last) != null)) {
+      this.m_orderError = size;
+    }
+
+    this.m_next = this.m_last;
+    this.m_last = next;
+    this.m_size = (size + 1);
+  }
+
+  /**
+   * Append a data point
+   *
+   * @param point
+   *          the data point
+   */
+  final void _append(final DataPoint point) {
+    final _GenericFactory layout;
+    final long[] next;
+    int j;
+
+    layout = this.m_layout;
+    next = this.m_next;
+    if (point.size() != next.length) {
+      throw new IllegalArgumentException(
+          "Invalid dimension of data point " //$NON-NLS-1$
+              + point + ": must have " //$NON-NLS-1$
+              + next.length + " dimensions, but has " + point.size()); //$NON-NLS-1$
+    }
+    for (j = next.length; (--j) >= 0;) {
+      next[j] = (layout.m_isFloat[j] ? layout._rawOf(j, point.getDouble(j))
+          : layout._rawOf(j, point.getLong(j)));
+    }
+    this.__appendNext();
+  }
+
+  /**
+   * Append data points given column-wise. For each dimension {@code j},
+   * the values are taken from {@code longs[j]} if it is not {@code null}
+   * and from {@code doubles[j]} otherwise. Each value is converted and
+   * validated exactly as done by {@link DataFactory#parseNumbers(Number...)}
+   * for a {@link java.lang.Long} or {@link java.lang.Double}, respectively.
+   *
+   * @param count
+   *          the number of data points to append
+   * @param longs
+   *          the integer columns, or {@code null} if there are none
+   * @param doubles
+   *          the floating point columns, or {@code null} if there are
+   *          none
+   */
+  final void _appendColumns(final int count, final long[][] longs,
+      final double[][] doubles) {
+    final _GenericFactory layout;
+    final long[][] useLongs;
+    final double[][] useDoubles;
+    final int n;
+    long[] longColumn;
+    long raw;
+    int i, j;
+
+    layout = this.m_layout;
+    n = this.m_columns.length;
+    useLongs = ((longs != null) ? longs : new long[n][]);
+    useDoubles = ((doubles != null) ? doubles : new double[n][]);
+    for (j = n; (--j) >= 0;) {
+      if ((useLongs[j] == null) == (useDoubles[j] == null)) {
+        throw new IllegalArgumentException(//
+            "Exactly one column must be provided for dimension " + j); //$NON-NLS-1$
+      }
+      if (((useLongs[j] != null) ? useLongs[j].length
+          : useDoubles[j].length) < count) {
+        throw new IllegalArgumentException("Column " + j + //$NON-NLS-1$
+            " must contain at least " + count + " values."); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+    }
+
+    if ((this.m_size + count) > this.m_capacity) {
+      this.__grow(this.m_size + count);
+    }
+
+    for (i = 0; i < count; i++) {
+      // the values are validated in the same order as by parseNumbers
+      for (j = 0; j < n; j++) {
+        longColumn = useLongs[j];
+        raw = ((longColumn != null) ? layout._rawOf(j, longColumn[i])
+            : layout._rawOf(j, useDoubles[j][i]));
+        layout._validate(j, raw);
+        this.m_next[j] = raw;
+      }
+      this.__appendNext();
+    }
+  }
+
+  /**
+   * Create the data point for a given row
+   *
+   * @param row
+   *          the row
+   * @return the data point
+   */
+  private final _GenericDataPoint __createDataPoint(final int row) {
+    final long[] values;
+    int j;
+
+    values = new long[this.m_columns.length];
+    for (j = values.length; (--j) >= 0;) {
+      values[j] = this.m_layout._get(j, this.m_columns[j], row);
+    }
+    return new _GenericDataPoint(this.m_layout, values);
+  }
+
+  /**
+   * Check whether some data points may lie outside of the bounds of an
+   * instance. This is done with the same comparisons as in
+   * {@link Instance#validateDataPoint(DataPoint)}, but on the smallest and
+   * largest values of the columns.
+   *
+   * @param instance
+   *          the instance
+   * @return {@code true} if some data points may lie outside of the
+   *         bounds, {@code false} if all are inside
+   */
+  private final boolean __mayViolateBounds(final Instance instance) {
+    Number l, u;
+    int j;
+
+    for (j = this.m_columns.length; (--j) >= 0;) {
+      l = instance.getLowerBound(this.m_layout.m_dims[j]);
+      u = instance.getUpperBound(this.m_layout.m_dims[j]);
+      if ((((l instanceof Double) || (l instanceof Float)) ? //
+      (l.doubleValue() > this.m_minDouble[j])//
+          : (l.longValue() > this.m_minLong[j])) || //
+          (((u instanceof Double) || (u instanceof Float)) ? //
+          (u.doubleValue() < this.m_maxDouble[j])//
+              : (u.longValue() < this.m_maxLong[j]))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create the run. The builder must not be used anymore afterwards.
+   *
+   * @param instance
+   *          the benchmark instance to which the run belongs
+   * @param factory
+   *          the data factory which creates the run if it is kept on the
+   *          heap
+   * @return the run
+   */
+  final Run _createRun(final Instance instance, final DataFactory factory) {
+    final _GenericFactory layout;
+    final Buffer[] columns;
+    final Object[] arrays;
+    final int size, error;
+    Buffer column;
+    int i, j;
+
+    size = this.m_size;
+    error = this.m_orderError;
+    if (this.__mayViolateBounds(instance)) {
+      for (i = 0; i < ((error >= 0) ? (error + 1) : size); i++) {
+        instance.validateDataPoint(this.__createDataPoint(i));
+      }
+    }
+    if (error > 0) {
+      this.__createDataPoint(error).validateAfter(
+          this.__createDataPoint(error - 1));
+    }
+
+    layout = this.m_layout;
+    columns = this.m_columns;
+    for (j = columns.length; (--j) >= 0;) {
+      column = columns[j];
+      if (this.m_stored) {
+        column.limit(size);
+      } else {
+        if ((this.m_store != null) || (column == null)
+            || (column.capacity() != size)) {
+          columns[j] = ((this.m_store != null) ? this.m_store._allocate(j,
+              size) : layout._allocate(j, size));
+          for (i = 0; i < size; i++) {
+            layout._put(j, columns[j], i, layout._get(j, column, i));
+          }
+        }
+      }
+    }
+    if (this.m_store != null) {
+      return new _GenericRun(layout, columns);
+    }
+
+    arrays = new Object[columns.length];
+    for (j = columns.length; (--j) >= 0;) {
+      arrays[j] = columns[j].array();
+    }
+    return factory.createRun(arrays);
+  }
+}
@@ -0,0 +1,533 @@
+package org.optimizationBenchmarking.experimentation.data.impl.ref;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
+
+/**
+ * A batched search for many values in one column of a {@link Run run}.
+ * Each value is first converted to the data type of the column, following
+ * the same casting rules as {@link Run#find(int, double)} and
+ * {@link Run#find(int, long)}. The search then determines the first data
+ * point which is not "before" the value in the order of the column,
+ * which directly yields the result of {@code find}. If the values are
+ * sorted in the order in which they occur in the run, each search
+ * continues where the previous one stopped and gallops forward, so that
+ * all values are found in a single pass with good locality.
+ * <p>
+ * For large runs, a sparse index holding every
+ * {@link #INDEX_BLOCK_SIZE}<sup>th</sup> key of the column in a primitive
+ * array is used: The search gallops over the compact index first and then
+ * only touches a single block of the column.
+ * </p>
+ */
+final class _RunSearch {
+
+  /** the number of data points per block of the sparse index */
+  static final int INDEX_BLOCK_SIZE = 64;
+
+  /** the minimum number of data points for building a sparse index */
+  static final int INDEX_MIN_SIZE = (4 * _RunSearch.INDEX_BLOCK_SIZE);
+
+  /** the run */
+  private final Run m_run;
+
+  /** the column */
+  private final int m_column;
+
+  /** the data type of the column */
+  private final EPrimitiveType m_type;
+
+  /** is the column a floating point column? */
+  private final boolean m_isFloat;
+
+  /** are the values of the column increasing? */
+  private final boolean m_increasing;
+
+  /** is the column a solution quality measure? */
+  private final boolean m_quality;
+
+  /** the number of data points */
+  private final int m_m;
+
+  /** the sparse index of an integer column, or {@code null} */
+  private final long[] m_longIndex;
+
+  /** the sparse index of a floating point column, or {@code null} */
+  private final double[] m_doubleIndex;
+
+  /** the position from which the next search may start */
+  private int m_from;
+
+  /** the last integer key searched for */
+  private long m_lastLong;
+
+  /** the last floating point key searched for */
+  private double m_lastDouble;
+
+  /**
+   * create the search
+   *
+   * @param run
+   *          the run
+   * @param column
+   *          the column
+   * @param dimension
+   *          the dimension corresponding to the column
+   * @param index
+   *          the sparse index of the column, i.e., a {@code long[]} or
+   *          {@code double[]} array, or {@code null} if there is none
+   */
+  _RunSearch(final Run run, final int column, final Dimension dimension,
+      final Object index) {
+    super();
+
+    this.m_run = run;
+    this.m_column = column;
+    this.m_type = dimension.getDataType();
+    this.m_isFloat = this.m_type.isFloat();
+    this.m_increasing = dimension.getDirection().isIncreasing();
+    this.m_quality = dimension.getDimensionType()
+        .isSolutionQualityMeasure();
+    this.m_m = run.m();
+    if (this.m_isFloat) {
+      this.m_longIndex = null;
+      this.m_doubleIndex = ((double[]) index);
+    } else {
+      this.m_longIndex = ((long[]) index);
+      this.m_doubleIndex = null;
+    }
+  }
+
+  /**
+   * Build the sparse index for a column of a run
+   *
+   * @param run
+   *          the run
+   * @param column
+   *          the column
+   * @param isFloat
+   *          is the column a floating point column?
+   * @return the index, i.e., a {@code long[]} or {@code double[]} array
+   */
+  static final Object _buildIndex(final Run run, final int column,
+      final boolean isFloat) {
+    final long[] longIndex;
+    final double[] doubleIndex;
+    int i;
+
+    i = ((run.m() + (_RunSearch.INDEX_BLOCK_SIZE - 1)) / //
+    _RunSearch.INDEX_BLOCK_SIZE);
+    if (isFloat) {
+      doubleIndex = new double[i];
+      for (; (--i) >= 0;) {
+        doubleIndex[i] = run.getDouble((i * _RunSearch.INDEX_BLOCK_SIZE),
+            column);
+      }
+      return doubleIndex;
+    }
+
+    longIndex = new long[i];
+    for (; (--i) >= 0;) {
+      longIndex[i] = run.getLong((i * _RunSearch.INDEX_BLOCK_SIZE), column);
+    }
+    return longIndex;
+  }
+
+  /**
+   * Convert a {@code double} value to an integer key, following the Java
+   * casting rules for the type of the column
+   *
+   * @param value
+   *          the value
+   * @return the key
+   */
+  private final long __longKey(final double value) {
+    switch (this.m_type) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return ((long) value);
+      }
+    }
+  }
+
+  /**
+   * Convert a {@code long} value to an integer key, following the Java
+   * casting rules for the type of the column
+   *
+   * @param value
+   *          the value
+   * @return the key
+   */
+  private final long __longKey(final long value) {
+    switch (this.m_type) {
+      case BYTE: {
+        return ((byte) value);
+      }
+      case SHORT: {
+        return ((short) value);
+      }
+      case INT: {
+        return ((int) value);
+      }
+      default: {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Convert a value to a floating point key, following the Java casting
+   * rules for the type of the column
+   *
+   * @param value
+   *          the value
+   * @return the key
+   */
+  private final double __doubleKey(final double value) {
+    if (this.m_type == EPrimitiveType.FLOAT) {
+      return ((float) value);
+    }
+    return value;
+  }
+
+  /**
+   * Convert a {@code long} value to a floating point key, following the
+   * Java casting rules for the type of the column
+   *
+   * @param value
+   *          the value
+   * @return the key
+   */
+  private final double __doubleKey(final long value) {
+    if (this.m_type == EPrimitiveType.FLOAT) {
+      return ((float) value);
+    }
+    return value;
+  }
+
+  /**
+   * Is integer value {@code a} before key {@code b} in the order of the
+   * column?
+   *
+   * @param a
+   *          the value
+   * @param b
+   *          the key
+   * @return {@code true} if {@code a} comes before {@code b}
+   */
+  private final boolean __before(final long a, final long b) {
+    return (this.m_increasing ? (a < b) : (a > b));
+  }
+
+  /**
+   * Is floating point value {@code a} before key {@code b} in the order of
+   * the column?
+   *
+   * @param a
+   *          the value
+   * @param b
+   *          the key
+   * @return {@code true} if {@code a} comes before {@code b}
+   */
+  private final boolean __before(final double a, final double b) {
+    return (this.m_increasing ? (a < b) : (a > b));
+  }
+
+  /**
+   * Get the first index not smaller than {@code from} whose value is not
+   * before {@code key}, or {@code m} if there is none
+   *
+   * @param key
+   *          the key
+   * @param from
+   *          the first index to consider
+   * @return the index
+   */
+  private final int __lowerBound(final long key, final int from) {
+    final long[] index;
+    final int column;
+    final Run run;
+    int low, high, step, mid;
+
+    run = this.m_run;
+    column = this.m_column;
+    index = this.m_longIndex;
+    low = from;
+
+    if (index != null) {
+      // gallop over the sparse index, then search the block
+      mid = high = ((from + (_RunSearch.INDEX_BLOCK_SIZE - 1)) / //
+      _RunSearch.INDEX_BLOCK_SIZE);
+      for (step = 1; (high < index.length)
+          && this.__before(index[high], key); step <<= 1) {
+        mid = (high + 1);
+        high += step;
+      }
+      if (high > index.length) {
+        high = index.length;
+      }
+      while (mid < high) {
+        step = ((mid + high) >>> 1);
+        if (this.__before(index[step], key)) {
+          mid = (step + 1);
+        } else {
+          high = step;
+        }
+      }
+      if (mid > 0) {
+        low = Math.max(from,
+            (((mid - 1) * _RunSearch.INDEX_BLOCK_SIZE) + 1));
+      }
+      high = Math.min(this.m_m, (mid * _RunSearch.INDEX_BLOCK_SIZE));
+    } else {
+      // gallop over the column
+      high = from;
+      for (step = 1; (high < this.m_m)
+          && this.__before(run.getLong(high, column), key); step <<= 1) {
+        low = (high + 1);
+        high += step;
+      }
+      if (high > this.m_m) {
+        high = this.m_m;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (this.__before(run.getLong(mid, column), key)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Get the first index not smaller than {@code from} whose value is not
+   * before {@code key}, or {@code m} if there is none
+   *
+   * @param key
+   *          the key
+   * @param from
+   *          the first index to consider
+   * @return the index
+   */
+  private final int __lowerBound(final double key, final int from) {
+    final double[] index;
+    final int column;
+    final Run run;
+    int low, high, step, mid;
+
+    run = this.m_run;
+    column = this.m_column;
+    index = this.m_doubleIndex;
+    low = from;
+
+    if (index != null) {
+      // gallop over the sparse index, then search the block
+      mid = high = ((from + (_RunSearch.INDEX_BLOCK_SIZE - 1)) / //
+      _RunSearch.INDEX_BLOCK_SIZE);
+      for (step = 1; (high < index.length)
+          && this.__before(index[high], key); step <<= 1) {
+        mid = (high + 1);
+        high += step;
+      }
+      if (high > index.length) {
+        high = index.length;
+      }
+      while (mid < high) {
+        step = ((mid + high) >>> 1);
+        if (this.__before(index[step], key)) {
+          mid = (step + 1);
+        } else {
+          high = step;
+        }
+      }
+      if (mid > 0) {
+        low = Math.max(from,
+            (((mid - 1) * _RunSearch.INDEX_BLOCK_SIZE) + 1));
+      }
+      high = Math.min(this.m_m, (mid * _RunSearch.INDEX_BLOCK_SIZE));
+    } else {
+      // gallop over the column
+      high = from;
+      for (step = 1; (high < this.m_m)
+          && this.__before(run.getDouble(high, column), key); step <<= 1) {
+        low = (high + 1);
+        high += step;
+      }
+      if (high > this.m_m) {
+        high = this.m_m;
+      }
+    }
+
+    while (low < high) {
+      mid = ((low + high) >>> 1);
+      if (this.__before(run.getDouble(mid, column), key)) {
+        low = (mid + 1);
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Find the index of the data point for an integer key
+   *
+   * @param key
+   *          the key
+   * @param first
+   *          is this the first key searched for?
+   * @return the index, or {@code -1} if no data point fits
+   */
+  private final int __find(final long key, final boolean first) {
+    final int bound;
+
+    if (first || this.__before(key, this.m_lastLong)) {
+      this.m_from = 0;
+    }
+    this.m_lastLong = key;
+    this.m_from = bound = this.__lowerBound(key, this.m_from);
+
+    if (this.m_quality) {
+      return ((bound < this.m_m) ? bound : (-1));
+    }
+    return (((bound < this.m_m) && //
+    (this.m_run.getLong(bound, this.m_column) == key)) ? bound
+        : (bound - 1));
+  }
+
+  /**
+   * Find the index of the data point for a floating point key
+   *
+   * @param key
+   *          the key
+   * @param first
+   *          is this the first key searched for?
+   * @return the index, or {@code -1} if no data point fits
+   */
+  private final int __find(final double key, final boolean first) {
+    final int bound;
+
+    if (first || this.__before(key, this.m_lastDouble)) {
+      this.m_from = 0;
+    }
+    this.m_lastDouble = key;
+    this.m_from = bound = this.__lowerBound(key, this.m_from);
+
+    if (this.m_quality) {
+      return ((bound < this.m_m) ? bound : (-1));
+    }
+    return (((bound < this.m_m) && //
+    (this.m_run.getDouble(bound, this.m_column) == key)) ? bound
+        : (bound - 1));
+  }
+
+  /**
+   * Find the index of the data point for a single {@code double} value.
+   * The result is the same as the one of the binary search performed by
+   * {@link Run#find(int, double)} in the generated runs.
+   *
+   * @param value
+   *          the value
+   * @return the index, or {@code -1} if no data point fits
+   */
+  final int _findIndex(final double value) {
+    final double key;
+
+    if (this.m_isFloat) {
+      key = this.__doubleKey(value);
+      if (key != key) {
+        // NaN is not ordered: the binary search stops at its first probe
+        return ((this.m_m - 1) >>> 1);
+      }
+      return this.__find(key, true);
+    }
+    return this.__find(this.__longKey(value), true);
+  }
+
+  /**
+   * Find the index of the data point for a single {@code long} value. The
+   * result is the same as the one of the binary search performed by
+   * {@link Run#find(int, long)} in the generated runs.
+   *
+   * @param value
+   *          the value
+   * @return the index, or {@code -1} if no data point fits
+   */
+  final int _findIndex(final long value) {
+    if (this.m_isFloat) {
+      return this.__find(this.__doubleKey(value), true);
+    }
+    return this.__find(this.__longKey(value), true);
+  }
+
+  /**
+   * Find the data points for a set of {@code double} values
+   *
+   * @param values
+   *          the values
+   * @param dest
+   *          the destination array
+   */
+  final void _find(final double[] values, final IDataPoint[] dest) {
+    final Run run;
+    double key;
+    boolean first;
+    int i, index;
+
+    run = this.m_run;
+    first = true;
+    for (i = 0; i < values.length; i++) {
+      if (this.m_isFloat) {
+        key = this.__doubleKey(values[i]);
+        if (key != key) {
+          // NaN is not ordered, so we leave it to the plain search
+          dest[i] = run.find(this.m_column, values[i]);
+          continue;
+        }
+        index = this.__find(key, first);
+      } else {
+        index = this.__find(this.__longKey(values[i]), first);
+      }
+      first = false;
+      dest[i] = ((index >= 0) ? run.getDataPoint(index) : null);
+    }
+  }
+
+  /**
+   * Find the data points for a set of {@code long} values
+   *
+   * @param values
+   *          the values
+   * @param dest
+   *          the destination array
+   */
+  final void _find(final long[] values, final IDataPoint[] dest) {
+    final Run run;
+    boolean first;
+    int i, index;
+
+    run = this.m_run;
+    first = true;
+    for (i = 0; i < values.length; i++) {
+      if (this.m_isFloat) {
+        index = this.__find(this.__doubleKey(values[i]), first);
+      } else {
+        index = this.__find(this.__longKey(values[i]), first);
+      }
+      first = false;
+      dest[i] = ((index >= 0) ? run.getDataPoint(index) : null);
+    }
+  }
+}
@@ -1,8 +1,8 @@
 package org.optimizationBenchmarking.experimentation.data.impl.shadow;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
+import org.optimizationBenchmarking.experimentation.data.spec.DataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IFeature;
@@ -16,15 +16,22 @@ import org.optimizationBenchmarking.experimentation.data.spec.IParameterSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IParameterValue;
 import org.optimizationBenchmarking.experimentation.data.spec.IProperty;
 import org.optimizationBenchmarking.experimentation.data.spec.IPropertyValue;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
 import org.optimizationBenchmarking.utils.comparison.EComparison;
 
 /**
- * An object which can help to select data.
+ * An object which can help to select data. Elements are identified by
+ * their index in the data list of their owning set and selections are
+ * stored as bit sets, so a selection costs only one bit per element of the
+ * original data and can be compiled by iterating over its set bits.
  */
 public class DataSelection extends
     _MappedSelection<IExperimentSet, IExperiment, IInstanceRuns> {
 
+  /** no ids */
+  private static final int[] NO_IDS = new int[0];
+
   /** the selected features */
   private final _FeatureSelection m_features;
 
@@ -172,20 +179,33 @@ public class DataSelection extends
    *          the instance
    */
   public synchronized final void addInstance(final IInstance instance) {
+    final int[] ids;
+    _Selection<IExperiment, IInstanceRuns> set;
     boolean changed;
+    int i;
 
     if (instance == null) {
       throw new IllegalArgumentException("Cannot add a null instance."); //$NON-NLS-1$
     }
 
     changed = false;
-    outer: for (final IExperiment experiment : this.m_set.getData()) {
-      for (final IInstanceRuns runs : experiment.getData()) {
-        if (EComparison.equals(instance, runs.getInstance())) {
-          if (this._addSubElement(runs)) {
-            changed = true;
+    ids = this.__getInstanceRunsIDs(instance);
+    if (ids != null) {
+      for (i = 0; i < ids.length; i += 2) {
+        set = this._getSubSelection(ids[i]);
+        if ((set != null) && set._addID(ids[i + 1])) {
+          changed = true;
+        }
+      }
+    } else {
+      outer: for (final IExperiment experiment : this.m_set.getData()) {
+        for (final IInstanceRuns runs : experiment.getData()) {
+          if (EComparison.equals(instance, runs.getInstance())) {
+            if (this._addSubElement(runs)) {
+              changed = true;
+            }
+            continue outer;
           }
-          continue outer;
         }
       }
     }
@@ -196,6 +216,51 @@ public class DataSelection extends
     }
   }
 
+  /**
+   * Get the ids of the instance run sets belonging to a given instance
+   * from the {@link _InstanceRunsIndex index} of the experiment set.
+   *
+   * @param instance
+   *          the instance
+   * @return the pairs of experiment and instance runs ids, or {@code null}
+   *         if the index cannot be used and all instance run sets must be
+   *         checked
+   */
+  private final int[] __getInstanceRunsIDs(final IInstance instance) {
+    final ArrayListView<? extends IExperiment> experiments;
+    final int[] ids;
+    ArrayListView<? extends IInstanceRuns> runs;
+    int i, id;
+
+    if (!(this.m_set instanceof DataElement)) {
+      return null;
+    }
+
+    ids = _InstanceRunsIndex.INSTANCE.get(this.m_set).get(
+        instance.getName());
+    if (ids == null) {
+      return DataSelection.NO_IDS;
+    }
+
+    // the index may have been computed for a set shadowed by ours, so we
+    // verify that the ids point to the right instance runs
+    experiments = this.m_data;
+    for (i = 0; i < ids.length; i += 2) {
+      id = ids[i];
+      if (id >= experiments.size()) {
+        return null;
+      }
+      runs = experiments.get(id).getData();
+      id = ids[i + 1];
+      if ((id >= runs.size())
+          || (!(EComparison.equals(instance, runs.get(id).getInstance())))) {
+        return null;
+      }
+    }
+
+    return ids;
+  }
+
   /**
    * Add a given property value. This entails checking all elements which
    * specify the value and to add them.
@@ -369,10 +434,6 @@ public class DataSelection extends
     final ShadowInstanceSet instances;
     final IInstanceSet iinstances;
     Collection<IExperiment> list;
-    _Selection<IExperiment, IInstanceRuns> selection;
-    boolean oneDifferent;
-    int size;
-    IExperiment comp;
 
     if (this.m_compiled == null) {
 
@@ -415,36 +476,12 @@ public class DataSelection extends
 
       // compile the list of experiments
 
-      if ((this.m_selection == null) || //
-          ((size = this.m_selection.size()) <= 0)) {
+      list = this._compileElements();
+      if (list == null) {
         list = ((Collection) (ArraySetView.EMPTY_SET_VIEW));
       } else {
-
-        list = new ArrayList<>(size);
-        oneDifferent = false;
-        for (final Object selected : this.m_selection.values()) {
-          if (selected == null) {
-            continue;
-          }
-          if (selected instanceof IExperiment) {
-            list.add((IExperiment) selected);
-            continue;
-          }
-          selection = ((_Selection) selected);
-          comp = selection._compile();
-          if (comp != null) {
-            list.add(comp);
-            oneDifferent |= (comp != selection.m_set);
-          }
-        }
-
-        size = list.size();
-        if (size <= 0) {
-          list = ((Collection) (ArraySetView.EMPTY_SET_VIEW));
-        } else {
-          if (!(oneDifferent || (size < this.m_set.getData().size()))) {
-            list = null;
-          }
+        if (list == this.m_data) {
+          list = null;
         }
       }
 
@@ -95,7 +95,9 @@ public class ShadowExperiment extends //
         return false;
       }
 
-      if (yours.contains(delegate)) {
+      // the data lists are indexed by element id, so this is a single
+      // lookup instead of a scan of the whole list
+      if (_Selection._id(yours, delegate) >= 0) {
         continue outer;
       }
 
@@ -106,7 +108,7 @@ public class ShadowExperiment extends //
           // If the other experiment has instance runs for the same
           // instance, let's check if they are compatible.
           if (other == delegate) {
-            // would be odd, since !yours.contains(delegate)
+            // would be odd, since delegate has no id in yours
             // but let's check it anyway
             continue outer;
           }
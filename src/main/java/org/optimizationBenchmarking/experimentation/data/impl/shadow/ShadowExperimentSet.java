@@ -221,7 +221,9 @@ public class ShadowExperimentSet<OT extends IDataElement> extends //
         return false;
       }
 
-      if (yours.contains(delegate)) {
+      // the data lists are indexed by element id, so this is a single
+      // lookup instead of a scan of the whole list
+      if (_Selection._id(yours, delegate) >= 0) {
         continue outer;
       }
 
@@ -74,7 +74,9 @@ public class ShadowInstanceRuns extends //
       // unpacked versions.
       myRun = (((ShadowRun) run).m_shadowUnpacked);
 
-      if (yours.contains(myRun)) {
+      // the data lists are indexed by element id, so this is a single
+      // lookup instead of a scan of the whole list
+      if (_Selection._id(yours, myRun) >= 0) {
         continue outer;
       }
 
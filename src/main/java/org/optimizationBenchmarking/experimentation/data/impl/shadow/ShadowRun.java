@@ -115,6 +115,32 @@ public class ShadowRun extends _ShadowDataElement<IInstanceRuns, IRun>
     this.m_shadowUnpacked.aggregateColumn(column, aggregate);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    this.m_shadowUnpacked.copyColumn(column, dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    this.m_shadowUnpacked.copyColumn(column, dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long[] getLongColumnArray(final int column) {
+    return this.m_shadowUnpacked.getLongColumnArray(column);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double[] getDoubleColumnArray(final int column) {
+    return this.m_shadowUnpacked.getDoubleColumnArray(column);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void aggregateRow(final int row, final IAggregate aggregate) {
@@ -133,4 +159,18 @@ public class ShadowRun extends _ShadowDataElement<IInstanceRuns, IRun>
     return this.m_shadowUnpacked.find(column, value);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void find(final int column, final double[] values,
+      final IDataPoint[] dest) {
+    this.m_shadowUnpacked.find(column, values, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void find(final int column, final long[] values,
+      final IDataPoint[] dest) {
+    this.m_shadowUnpacked.find(column, values, dest);
+  }
+
 }
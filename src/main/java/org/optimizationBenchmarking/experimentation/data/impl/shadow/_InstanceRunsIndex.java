@@ -0,0 +1,90 @@
+package org.optimizationBenchmarking.experimentation.data.impl.shadow;
+
+import java.util.HashMap;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+
+/**
+ * An internal attribute mapping the name of each instance of an experiment
+ * set to the ids of the instance run sets for this instance. The ids are
+ * stored as pairs of the index of the experiment in the experiment set and
+ * the index of the instance runs in the experiment. This allows a
+ * {@link DataSelection} to {@link DataSelection#addInstance(
+ * org.optimizationBenchmarking.experimentation.data.spec.IInstance) add an
+ * instance} without iterating over all instance runs of all experiments.
+ * The index is keyed by instance name, since attributes of shadow
+ * experiment sets may be computed on the sets they shadow.
+ */
+final class _InstanceRunsIndex extends
+    Attribute<IExperimentSet, HashMap<String, int[]>> {
+
+  /** the globally shared instance of the index */
+  static final _InstanceRunsIndex INSTANCE = new _InstanceRunsIndex();
+
+  /** create the instance of this attribute */
+  private _InstanceRunsIndex() {
+    super(EAttributeType.TEMPORARILY_STORED);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final HashMap<String, int[]> compute(final IExperimentSet data) {
+    final ArrayListView<? extends IExperiment> experiments;
+    final HashMap<String, int[]> counts, index;
+    ArrayListView<? extends IInstanceRuns> runs;
+    String name;
+    int[] ids, count;
+    int experiment, run;
+
+    experiments = data.getData();
+
+    counts = new HashMap<>();
+    for (final IExperiment exp : experiments) {
+      for (final IInstanceRuns irs : exp.getData()) {
+        name = irs.getInstance().getName();
+        count = counts.get(name);
+        if (count == null) {
+          counts.put(name, new int[] { 1 });
+        } else {
+          count[0]++;
+        }
+      }
+    }
+
+    index = new HashMap<>(counts.size() << 1);
+    for (experiment = 0; experiment < experiments.size(); experiment++) {
+      runs = experiments.get(experiment).getData();
+      for (run = 0; run < runs.size(); run++) {
+        name = runs.get(run).getInstance().getName();
+        ids = index.get(name);
+        count = counts.get(name);
+        if (ids == null) {
+          ids = new int[count[0] << 1];
+          index.put(name, ids);
+          count[0] = 0;
+        }
+        ids[count[0]++] = experiment;
+        ids[count[0]++] = run;
+      }
+    }
+
+    return index;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final long estimateSize(final HashMap<String, int[]> value) {
+    long size;
+
+    size = 64L;
+    for (final int[] ids : value.values()) {
+      size += (80L + (ids.length << 2));
+    }
+    return size;
+  }
+}
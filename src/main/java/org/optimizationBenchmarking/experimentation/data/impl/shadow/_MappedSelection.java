@@ -1,9 +1,9 @@
 package org.optimizationBenchmarking.experimentation.data.impl.shadow;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Collection;
 
-import org.optimizationBenchmarking.experimentation.data.spec.DataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
 
@@ -20,8 +20,15 @@ import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
 abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet, SET extends IDataElement>
     extends _Selection<ST, ET> {
 
-  /** the selection */
-  HashMap<ET, Object> m_selection;
+  /**
+   * the selection: for each element id, either {@code null} if the element
+   * has not been selected, the element itself if it has been selected
+   * completely, or the {@link _Selection selection} of its sub-elements
+   */
+  Object[] m_selection;
+
+  /** the ids of the elements for which the selection is not {@code null} */
+  BitSet m_selected;
 
   /**
    * create the property selection
@@ -58,16 +65,58 @@ abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet,
     return true;
   }
 
+  /** allocate the selection */
+  private final void __allocate() {
+    final int size;
+
+    if (this.m_selection == null) {
+      size = this.m_data.size();
+      this.m_selection = new Object[size];
+      this.m_selected = new BitSet(size);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
-  final boolean _add(final ET element) {
-    if (this._checkCanAdd(element)) {
-      if (this.m_selection == null) {
-        this.m_selection = new HashMap<>();
-      }
-      return (this.m_selection.put(element, element) != element);
+  final boolean _addID(final int id) {
+    final ET element;
+
+    this.__allocate();
+    element = this.m_data.get(id);
+    if (this.m_selection[id] == element) {
+      return false;
     }
-    return false;
+    this.m_selection[id] = element;
+    this.m_selected.set(id);
+    return true;
+  }
+
+  /**
+   * Get the selection of the sub-elements of the element with the given
+   * id, creating it if necessary
+   *
+   * @param id
+   *          the id of the owner of the sub-elements
+   * @return the selection, or {@code null} if the element has already been
+   *         added completely
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  final _Selection<ET, SET> _getSubSelection(final int id) {
+    final Object current;
+    final _Selection<ET, SET> set;
+
+    this.__allocate();
+    current = this.m_selection[id];
+    if (current == null) {
+      set = this._createSelection(this.m_data.get(id));
+      this.m_selection[id] = set;
+      this.m_selected.set(id);
+      return set;
+    }
+    if (current instanceof _Selection) {
+      return ((_Selection) current);
+    }
+    return null;// we already have added the full element
   }
 
   /**
@@ -78,11 +127,10 @@ abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet,
    * @return {@code true} if something changed because of the addition,
    *         {@code false} otherwise
    */
-  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @SuppressWarnings("unchecked")
   final boolean _addSubElement(final SET element) {
     final ET owner;
-    _Selection<ET, SET> set;
-    Object current;
+    final _Selection<ET, SET> set;
 
     if (this._checkCanAddSub(element)) {
       owner = ((ET) (element.getOwner()));
@@ -96,21 +144,10 @@ abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet,
             "Element does not belong to the right set."); //$NON-NLS-1$
       }
 
-      if (this.m_selection == null) {
-        set = null;
-        this.m_selection = new HashMap<>();
-      } else {
-        current = this.m_selection.get(owner);
-        if (current instanceof DataElement) {
-          return false;// we already have added the full element
-        }
-        set = ((_Selection) current);
+      set = this._getSubSelection(this._id(owner));
+      if (set != null) {
+        return set._add(element);
       }
-      if (set == null) {
-        set = this._createSelection(owner);
-        this.m_selection.put(owner, set);
-      }
-      return set._add(element);
     }
 
     return false;
@@ -132,36 +169,43 @@ abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet,
     }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * Compile the selected elements.
+   *
+   * @return {@code null} if no element is selected,
+   *         {@link #m_data the data of the original set} if all elements
+   *         are selected completely, or the list of the selected (and
+   *         possibly shadowed) elements otherwise
+   */
   @SuppressWarnings({ "unchecked", "rawtypes" })
-  @Override
-  final ST _compile() {
+  final Collection<ET> _compileElements() {
     final ArrayList<ET> list;
-    _Selection<ET, SET> selection;
+    final Object[] selection;
+    _Selection<ET, SET> sub;
+    Object selected;
     boolean oneDifferent;
-    int size;
-    ET comp;
+    int size, id;
 
-    if ((this.m_selection == null) || //
-        ((size = this.m_selection.size()) <= 0)) {
+    if ((this.m_selected == null) || //
+        ((size = this.m_selected.cardinality()) <= 0)) {
       return null;
     }
 
+    selection = this.m_selection;
     list = new ArrayList<>(size);
     oneDifferent = false;
-    for (final Object selected : this.m_selection.values()) {
-      if (selected == null) {
-        continue;
-      }
+    for (id = this.m_selected.nextSetBit(0); id >= 0; //
+    id = this.m_selected.nextSetBit(id + 1)) {
+      selected = selection[id];
       if (selected instanceof IDataElement) {
         list.add((ET) selected);
         continue;
       }
-      selection = ((_Selection) selected);
-      comp = selection._compile();
-      if (comp != null) {
-        list.add(comp);
-        oneDifferent |= (comp != selection.m_set);
+      sub = ((_Selection) selected);
+      selected = sub._compile();
+      if (selected != null) {
+        list.add((ET) selected);
+        oneDifferent |= (selected != sub.m_set);
       }
     }
 
@@ -170,11 +214,26 @@ abstract class _MappedSelection<ST extends IElementSet, ET extends IElementSet,
       return null;
     }
 
-    if (oneDifferent || (size < this.m_set.getData().size())) {
-      return this._shadow(this.m_set, list);
+    if (oneDifferent || (size < this.m_data.size())) {
+      return list;
     }
 
-    return this.m_set;
+    return ((Collection) (this.m_data));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final ST _compile() {
+    final Collection<ET> list;
+
+    list = this._compileElements();
+    if (list == null) {
+      return null;
+    }
+    if (list == this.m_data) {
+      return this.m_set;
+    }
+    return this._shadow(this.m_set, list);
   }
 
 }
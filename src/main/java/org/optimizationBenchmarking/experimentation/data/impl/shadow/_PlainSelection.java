@@ -1,6 +1,6 @@
 package org.optimizationBenchmarking.experimentation.data.impl.shadow;
 
-import java.util.HashSet;
+import java.util.BitSet;
 
 import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
@@ -16,8 +16,8 @@ import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
 abstract class _PlainSelection<ST extends IElementSet, ET extends IDataElement>
     extends _Selection<ST, ET> {
 
-  /** the selection */
-  HashSet<ET> m_selection;
+  /** the ids of the selected elements */
+  BitSet m_selection;
 
   /**
    * create the selection
@@ -31,14 +31,16 @@ abstract class _PlainSelection<ST extends IElementSet, ET extends IDataElement>
 
   /** {@inheritDoc} */
   @Override
-  final boolean _add(final ET value) {
-    if (this._checkCanAdd(value)) {
-      if (this.m_selection == null) {
-        this.m_selection = new HashSet<>();
+  final boolean _addID(final int id) {
+    if (this.m_selection == null) {
+      this.m_selection = new BitSet(this.m_data.size());
+    } else {
+      if (this.m_selection.get(id)) {
+        return false;
       }
-      return this.m_selection.add(value);
     }
-    return false;
+    this.m_selection.set(id);
+    return true;
   }
 
   /** {@inheritDoc} */
@@ -47,14 +49,15 @@ abstract class _PlainSelection<ST extends IElementSet, ET extends IDataElement>
     final int size;
 
     if ((this.m_selection == null)
-        || ((size = this.m_selection.size()) <= 0)) {
+        || ((size = this.m_selection.cardinality()) <= 0)) {
       return null;
     }
 
-    if (this.m_set.getData().size() <= size) {
+    if (this.m_data.size() <= size) {
       return this.m_set;
     }
 
-    return this._shadow(this.m_set, this.m_selection);
+    return this._shadow(this.m_set,
+        _Selection.<ET> _materialize(this.m_data, this.m_selection, size));
   }
 }
@@ -1,12 +1,20 @@
 package org.optimizationBenchmarking.experimentation.data.impl.shadow;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 
 /**
- * a selection of elements
+ * a selection of elements: Each element of the {@link #m_set set} is
+ * identified by a dense integer id, namely its index in the
+ * {@link org.optimizationBenchmarking.experimentation.data.spec.IElementSet#getData()
+ * data list} of the set, so selections can be stored as bit sets.
  *
  * @param <ST>
  *          the set type
@@ -18,12 +26,16 @@ abstract class _Selection<ST extends IElementSet, ET extends IDataElement> {
   /** the set */
   final ST m_set;
 
+  /** the elements of the set */
+  final ArrayListView<? extends ET> m_data;
+
   /**
    * create the selection
    *
    * @param set
    *          the set to select from
    */
+  @SuppressWarnings("unchecked")
   _Selection(final ST set) {
     super();
 
@@ -32,6 +44,96 @@ abstract class _Selection<ST extends IElementSet, ET extends IDataElement> {
           "Set to select from must not be null."); //$NON-NLS-1$
     }
     this.m_set = set;
+    this.m_data = ((ArrayListView<? extends ET>) (set.getData()));
+  }
+
+  /**
+   * Get the id of an element, i.e., its index in a data list. The elements
+   * of the reference implementation use their index as hash code, the
+   * lists of shadow elements are sorted. Both properties are checked
+   * before being relied upon, so an element which cannot be found this way
+   * is looked up with a linear search.
+   *
+   * @param data
+   *          the data list
+   * @param element
+   *          the element
+   * @return the id of the element, or {@code -1} if the element is not
+   *         contained in the list
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static final int _id(final List<?> data, final Object element) {
+    final int size;
+    int id;
+
+    size = data.size();
+    id = element.hashCode();
+    if ((id >= 0) && (id < size) && (data.get(id) == element)) {
+      return id;
+    }
+
+    if (element instanceof Comparable) {
+      try {
+        id = Collections.binarySearch(((List) data), element);
+        if ((id >= 0) && (data.get(id) == element)) {
+          return id;
+        }
+      } catch (final ClassCastException ignore) {
+        // ignore
+      }
+    }
+
+    for (id = size; (--id) >= 0;) {
+      if (data.get(id) == element) {
+        return id;
+      }
+    }
+    return (-1);
+  }
+
+  /**
+   * Get the id of an element of this selection's set
+   *
+   * @param value
+   *          the element
+   * @return the id
+   */
+  final int _id(final ET value) {
+    final int id;
+
+    id = _Selection._id(this.m_data, value);
+    if (id < 0) {
+      throw new IllegalArgumentException(//
+          "Element is not contained in the set to select from."); //$NON-NLS-1$
+    }
+    return id;
+  }
+
+  /**
+   * Get the elements whose ids are set in a bit set, in the order of their
+   * ids
+   *
+   * @param data
+   *          the data list
+   * @param ids
+   *          the ids
+   * @param size
+   *          the number of set bits
+   * @return the elements
+   * @param <T>
+   *          the element type
+   */
+  static final <T> ArrayList<T> _materialize(
+      final ArrayListView<? extends T> data, final BitSet ids,
+      final int size) {
+    final ArrayList<T> list;
+    int id;
+
+    list = new ArrayList<>(size);
+    for (id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      list.add(data.get(id));
+    }
+    return list;
   }
 
   /**
@@ -69,7 +171,21 @@ abstract class _Selection<ST extends IElementSet, ET extends IDataElement> {
    *          the value to add
    * @return {@code true} if something changed because of the addition
    */
-  abstract boolean _add(final ET value);
+  final boolean _add(final ET value) {
+    if (this._checkCanAdd(value)) {
+      return this._addID(this._id(value));
+    }
+    return false;
+  }
+
+  /**
+   * add the element with the given id
+   *
+   * @param id
+   *          the id of the element to add
+   * @return {@code true} if something changed because of the addition
+   */
+  abstract boolean _addID(final int id);
 
   /**
    * add a list of elements
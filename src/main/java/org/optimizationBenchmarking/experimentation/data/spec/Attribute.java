@@ -17,6 +17,14 @@ import org.optimizationBenchmarking.utils.text.TextUtils;
  * internally. In this case, the attribute instance also serves as key to a
  * {@link java.util.HashMap hash map}-based cache.
  * </p>
+ * <p>
+ * If parameter {@link #PARAM_ATTRIBUTE_CACHE_DIR} is set, the values of
+ * stored attributes can additionally be kept in files in the specified
+ * directory, so that they survive the end of the program and do not need
+ * to be computed again if the same data is evaluated later. An attribute
+ * takes part in this persistent cache only if it implements
+ * {@link IPersistentAttribute}.
+ * </p>
  *
  * @param <ST>
  *          the source object type which is attributed
@@ -26,6 +34,21 @@ import org.optimizationBenchmarking.utils.text.TextUtils;
 public abstract class Attribute<ST extends IDataElement, RT> extends
     HashObject {
 
+  /**
+   * the parameter for the directory in which the values of attributes are
+   * stored persistently: if it is not set, attribute values are only
+   * cached in memory
+   */
+  public static final String PARAM_ATTRIBUTE_CACHE_DIR = "attributeCacheDir"; //$NON-NLS-1$
+
+  /**
+   * the parameter for the budget of the {@link AttributeCache in-memory
+   * cache} for {@link EAttributeType#TEMPORARILY_STORED temporarily
+   * stored} attribute values, in bytes: by default, a quarter of the
+   * maximum heap size is used
+   */
+  public static final String PARAM_ATTRIBUTE_CACHE_SIZE = "attributeCacheSize"; //$NON-NLS-1$
+
   /** the attribute type */
   final EAttributeType m_type;
 
@@ -53,6 +76,28 @@ public abstract class Attribute<ST extends IDataElement, RT> extends
    */
   protected abstract RT compute(final ST data);
 
+  /**
+   * Estimate the memory consumption of a value of this attribute in
+   * bytes. This estimate is used by the {@link AttributeCache attribute
+   * cache} to keep the memory used by
+   * {@link EAttributeType#TEMPORARILY_STORED temporarily stored} values
+   * within its budget. It only needs to consider the memory which belongs
+   * to the value itself, not the data elements it refers to. By default,
+   * {@code -1} is returned, meaning that the size is unknown: Such values
+   * are not counted against the budget, but are only referenced
+   * {@link java.lang.ref.SoftReference softly}, so that they are purged
+   * when memory runs low. Attributes with large values, such as matrices,
+   * should override this method.
+   *
+   * @param value
+   *          the value
+   * @return the estimated size of the value in bytes, or a negative
+   *         number if the size is unknown
+   */
+  protected long estimateSize(final RT value) {
+    return (-1L);
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean equals(final Object o) {
@@ -0,0 +1,473 @@
+package org.optimizationBenchmarking.experimentation.data.spec;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+
+/**
+ * <p>
+ * The global in-memory cache for the values of
+ * {@link EAttributeType#TEMPORARILY_STORED temporarily stored}
+ * attributes. The values are kept in the data elements they belong to,
+ * but the cache keeps track of their {@link Attribute#estimateSize(Object)
+ * estimated sizes}. If the total size of all cached values exceeds the
+ * budget given by parameter {@link Attribute#PARAM_ATTRIBUTE_CACHE_SIZE},
+ * values which have not been used recently are purged and will be
+ * re-computed when they are needed again. Values larger than the whole
+ * budget are not cached at all. The least-recently used values are
+ * approximated with the &quot;clock&quot; algorithm: Each access to a
+ * value just marks it as used, without any locking, and values marked as
+ * used get a second chance before being purged.
+ * </p>
+ * <p>
+ * Different from caching values via {@link java.lang.ref.SoftReference
+ * soft references}, the memory consumption of the cache is predictable
+ * and values are purged one by one instead of all at once when the heap
+ * is nearly exhausted. Values of elements which are no longer used are
+ * still garbage collected normally. For each attribute class, the cache
+ * counts how often values were found (hits), computed (misses), purged
+ * (evictions), and computed again after having been purged
+ * (re-computations). These numbers are available via
+ * {@link #getStatistics()}.
+ * </p>
+ * <p>
+ * Values whose attribute does not {@link Attribute#estimateSize(Object)
+ * estimate} their size are not counted against the budget, since holding
+ * them strongly could exhaust the heap. They are only referenced softly
+ * and are thus purged by the garbage collector when memory runs low. Such
+ * purges are not counted as evictions, but the re-computations they cause
+ * are.
+ * </p>
+ */
+public final class AttributeCache {
+
+  /** the counters per attribute class */
+  private static final ConcurrentHashMap<Class<?>, __Counters> COUNTERS = new ConcurrentHashMap<>();
+
+  /** the lock for the clock and the size */
+  private static final Object LOCK = new Object();
+
+  /** the cached values, in the order of the clock */
+  private static final ArrayDeque<__Slot> CLOCK = new ArrayDeque<>();
+
+  /** the queue of values which have been garbage collected */
+  private static final ReferenceQueue<_Entry> COLLECTED = new ReferenceQueue<>();
+
+  /** the estimated size of all cached values */
+  private static long s_size;
+
+  /** the forbidden constructor */
+  private AttributeCache() {
+    ErrorUtils.doNotCall();
+  }
+
+  /**
+   * Get the directory of the persistent attribute cache, in which the
+   * values of {@link IPersistentAttribute persistent attributes} are
+   * stored. By default, this is the directory specified by parameter
+   * {@link Attribute#PARAM_ATTRIBUTE_CACHE_DIR}.
+   *
+   * @return the directory, or {@code null} if attribute values are only
+   *         cached in memory
+   */
+  public static final Path getDirectory() {
+    return _AttributeStore._getDirectory();
+  }
+
+  /**
+   * Set the directory of the persistent attribute cache, overriding
+   * parameter {@link Attribute#PARAM_ATTRIBUTE_CACHE_DIR}. The directory
+   * is created if it does not exist yet.
+   *
+   * @param dir
+   *          the directory, or {@code null} if attribute values should
+   *          only be cached in memory
+   * @throws IOException
+   *           if the directory cannot be created
+   */
+  public static final void setDirectory(final Path dir) throws IOException {
+    _AttributeStore._setDirectory(dir);
+  }
+
+  /**
+   * Get the budget of the cache, i.e., the maximum estimated size of all
+   * cached values in bytes
+   *
+   * @return the budget of the cache
+   */
+  public static final long getBudget() {
+    return __BudgetLoader.BUDGET;
+  }
+
+  /**
+   * Get the estimated size of all values which are currently cached
+   *
+   * @return the estimated size of all values which are currently cached,
+   *         in bytes
+   */
+  public static final long getSize() {
+    synchronized (AttributeCache.LOCK) {
+      AttributeCache.__purgeCollected();
+      return AttributeCache.s_size;
+    }
+  }
+
+  /**
+   * Get the statistics of the cache, one record for each attribute class
+   * whose values have been accessed so far, sorted by class name
+   *
+   * @return the statistics of the cache
+   */
+  public static final ArrayListView<AttributeCacheStatistics> getStatistics() {
+    final AttributeCacheStatistics[] statistics;
+    int i;
+
+    i = 0;
+    statistics = new AttributeCacheStatistics[AttributeCache.COUNTERS
+        .size()];
+    for (final __Counters counters : AttributeCache.COUNTERS.values()) {
+      if (i >= statistics.length) {
+        break;
+      }
+      statistics[i++] = new AttributeCacheStatistics(counters.m_class,//
+          counters.m_hits.get(), counters.m_misses.get(),//
+          counters.m_evictions.get(), counters.m_recomputations.get());
+    }
+
+    Arrays.sort(statistics, 0, i, __ByClassName.INSTANCE);
+    return new ArrayListView<>(
+        (i < statistics.length) ? Arrays.copyOf(statistics, i)
+            : statistics);
+  }
+
+  /**
+   * Get the counters for a given attribute
+   *
+   * @param attribute
+   *          the attribute
+   * @return the counters
+   */
+  private static final __Counters __counters(final Attribute<?, ?> attribute) {
+    final Class<?> clazz;
+    __Counters counters, old;
+
+    clazz = attribute.getClass();
+    counters = AttributeCache.COUNTERS.get(clazz);
+    if (counters == null) {
+      counters = new __Counters(clazz);
+      old = AttributeCache.COUNTERS.putIfAbsent(clazz, counters);
+      if (old != null) {
+        return old;
+      }
+    }
+    return counters;
+  }
+
+  /**
+   * Count that the value of an attribute was found in the cache
+   *
+   * @param attribute
+   *          the attribute
+   */
+  static final void _hit(final Attribute<?, ?> attribute) {
+    AttributeCache.__counters(attribute).m_hits.incrementAndGet();
+  }
+
+  /**
+   * Count that the value of an attribute needs to be computed
+   *
+   * @param attribute
+   *          the attribute
+   * @param purged
+   *          has the value been computed before, but was purged since
+   *          then?
+   */
+  static final void _miss(final Attribute<?, ?> attribute,
+      final boolean purged) {
+    final __Counters counters;
+
+    counters = AttributeCache.__counters(attribute);
+    counters.m_misses.incrementAndGet();
+    if (purged) {
+      counters.m_recomputations.incrementAndGet();
+    }
+  }
+
+  /**
+   * Put a value into the cache
+   *
+   * @param attribute
+   *          the attribute
+   * @param value
+   *          the value
+   * @return the cache entry holding the value
+   * @param <RT>
+   *          the value type
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static final <RT> _Entry _put(final Attribute<?, RT> attribute,
+      final RT value) {
+    final __Counters counters;
+    final _Entry entry;
+    final long estimate, size, budget;
+
+    counters = AttributeCache.__counters(attribute);
+    estimate = ((Attribute) attribute).estimateSize(value);
+    if (estimate < 0L) {
+      // the size is unknown: leave the value to the garbage collector
+      return new _Entry(value, true);
+    }
+    size = Math.max(1L, estimate);
+    budget = AttributeCache.getBudget();
+    if (size > budget) {
+      counters.m_evictions.incrementAndGet();
+      return new _Entry(null, false);
+    }
+
+    entry = new _Entry(value, false);
+    synchronized (AttributeCache.LOCK) {
+      AttributeCache.__purgeCollected();
+      AttributeCache.CLOCK.addLast(new __Slot(entry, size, counters));
+      AttributeCache.s_size += size;
+      AttributeCache.__evict(budget);
+    }
+    return entry;
+  }
+
+  /**
+   * Remove the slots of all values which have been garbage collected
+   * together with their data elements from the size. Must only be called
+   * while holding the {@link #LOCK}.
+   */
+  private static final void __purgeCollected() {
+    __Slot slot;
+
+    while ((slot = ((__Slot) (AttributeCache.COLLECTED.poll()))) != null) {
+      AttributeCache.__remove(slot);
+    }
+  }
+
+  /**
+   * Remove a slot from the size. Must only be called while holding the
+   * {@link #LOCK}.
+   *
+   * @param slot
+   *          the slot
+   */
+  private static final void __remove(final __Slot slot) {
+    if (!(slot.m_removed)) {
+      slot.m_removed = true;
+      AttributeCache.s_size -= slot.m_size;
+    }
+  }
+
+  /**
+   * Purge values until the size fits into the budget. Must only be called
+   * while holding the {@link #LOCK}.
+   *
+   * @param budget
+   *          the budget
+   */
+  private static final void __evict(final long budget) {
+    __Slot slot;
+    _Entry entry;
+
+    while (AttributeCache.s_size > budget) {
+      slot = AttributeCache.CLOCK.pollFirst();
+      if (slot == null) {
+        return;
+      }
+      if (slot.m_removed) {
+        continue;
+      }
+      entry = slot.get();
+      if (entry == null) {
+        AttributeCache.__remove(slot);
+        continue;
+      }
+      if (entry.m_used) {
+        entry.m_used = false;
+        AttributeCache.CLOCK.addLast(slot);
+        continue;
+      }
+      entry.m_value = null;
+      slot.m_counters.m_evictions.incrementAndGet();
+      AttributeCache.__remove(slot);
+    }
+  }
+
+  /**
+   * A cached value, which is stored in the attribute map of its data
+   * element. Once the value has been purged, it cannot be restored.
+   */
+  static final class _Entry {
+
+    /**
+     * the value, or {@code null} if it has been purged or is referenced
+     * softly
+     */
+    volatile Object m_value;
+
+    /**
+     * the soft reference to a value of unknown size, or {@code null} if
+     * the value is counted against the budget
+     */
+    private final SoftReference<Object> m_soft;
+
+    /** has the value been used since the clock passed it last time? */
+    volatile boolean m_used;
+
+    /**
+     * create the entry
+     *
+     * @param value
+     *          the value
+     * @param soft
+     *          should the value only be referenced softly?
+     */
+    _Entry(final Object value, final boolean soft) {
+      super();
+      if (soft) {
+        this.m_soft = new SoftReference<>(value);
+      } else {
+        this.m_soft = null;
+        this.m_value = value;
+      }
+    }
+
+    /**
+     * Get the value and mark it as used
+     *
+     * @return the value, or {@code null} if it has been purged
+     */
+    final Object _get() {
+      final Object value;
+
+      if (this.m_soft != null) {
+        return this.m_soft.get();
+      }
+      value = this.m_value;
+      if ((value != null) && (!(this.m_used))) {
+        this.m_used = true;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * The slot of a value in the clock. It references the value only
+   * weakly, so that the values of data elements which are no longer used
+   * can be garbage collected.
+   */
+  private static final class __Slot extends WeakReference<_Entry> {
+
+    /** the estimated size of the value */
+    final long m_size;
+
+    /** the counters of the attribute */
+    final __Counters m_counters;
+
+    /** has the size of the slot been removed from the total size? */
+    boolean m_removed;
+
+    /**
+     * create the slot
+     *
+     * @param entry
+     *          the entry
+     * @param size
+     *          the size
+     * @param counters
+     *          the counters
+     */
+    __Slot(final _Entry entry, final long size, final __Counters counters) {
+      super(entry, AttributeCache.COLLECTED);
+      this.m_size = size;
+      this.m_counters = counters;
+    }
+  }
+
+  /** the counters of an attribute class */
+  private static final class __Counters {
+
+    /** the attribute class */
+    final Class<?> m_class;
+
+    /** the number of hits */
+    final AtomicLong m_hits;
+
+    /** the number of misses */
+    final AtomicLong m_misses;
+
+    /** the number of evictions */
+    final AtomicLong m_evictions;
+
+    /** the number of re-computations */
+    final AtomicLong m_recomputations;
+
+    /**
+     * create the counters
+     *
+     * @param clazz
+     *          the attribute class
+     */
+    __Counters(final Class<?> clazz) {
+      super();
+      this.m_class = clazz;
+      this.m_hits = new AtomicLong();
+      this.m_misses = new AtomicLong();
+      this.m_evictions = new AtomicLong();
+      this.m_recomputations = new AtomicLong();
+    }
+  }
+
+  /** sort the statistics by class name */
+  private static final class __ByClassName implements
+      Comparator<AttributeCacheStatistics> {
+
+    /** the shared instance */
+    static final __ByClassName INSTANCE = new __ByClassName();
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compare(final AttributeCacheStatistics a,
+        final AttributeCacheStatistics b) {
+      return a.getAttributeClass().getName()
+          .compareTo(b.getAttributeClass().getName());
+    }
+  }
+
+  /** the loader for the budget */
+  private static final class __BudgetLoader {
+
+    /** the budget */
+    static final long BUDGET;
+
+    static {
+      long budget, max;
+
+      max = Runtime.getRuntime().maxMemory();
+      budget = (((max > 0L) && (max < Long.MAX_VALUE)) ? (max >>> 2)
+          : (256L << 20L));
+      try {
+        budget = Configuration.getRoot().getLong(
+            Attribute.PARAM_ATTRIBUTE_CACHE_SIZE, 0L, Long.MAX_VALUE,
+            budget);
+      } catch (final Throwable t) {
+        // use the default budget
+      }
+      BUDGET = budget;
+    }
+  }
+}
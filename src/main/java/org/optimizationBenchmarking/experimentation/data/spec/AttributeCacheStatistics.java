@@ -0,0 +1,107 @@
+package org.optimizationBenchmarking.experimentation.data.spec;
+
+import org.optimizationBenchmarking.utils.text.TextUtils;
+
+/**
+ * A snapshot of the statistics of the {@link AttributeCache attribute
+ * cache} for one attribute class.
+ */
+public final class AttributeCacheStatistics {
+
+  /** the attribute class */
+  private final Class<?> m_class;
+
+  /** the number of hits */
+  private final long m_hits;
+
+  /** the number of misses */
+  private final long m_misses;
+
+  /** the number of evictions */
+  private final long m_evictions;
+
+  /** the number of re-computations */
+  private final long m_recomputations;
+
+  /**
+   * create the statistics record
+   *
+   * @param clazz
+   *          the attribute class
+   * @param hits
+   *          the number of hits
+   * @param misses
+   *          the number of misses
+   * @param evictions
+   *          the number of evictions
+   * @param recomputations
+   *          the number of re-computations
+   */
+  AttributeCacheStatistics(final Class<?> clazz, final long hits,
+      final long misses, final long evictions, final long recomputations) {
+    super();
+    this.m_class = clazz;
+    this.m_hits = hits;
+    this.m_misses = misses;
+    this.m_evictions = evictions;
+    this.m_recomputations = recomputations;
+  }
+
+  /**
+   * Get the attribute class
+   *
+   * @return the attribute class
+   */
+  public final Class<?> getAttributeClass() {
+    return this.m_class;
+  }
+
+  /**
+   * Get the number of times a value of the attribute class was found in
+   * the cache
+   *
+   * @return the number of hits
+   */
+  public final long getHits() {
+    return this.m_hits;
+  }
+
+  /**
+   * Get the number of times a value of the attribute class needed to be
+   * computed
+   *
+   * @return the number of misses
+   */
+  public final long getMisses() {
+    return this.m_misses;
+  }
+
+  /**
+   * Get the number of values of the attribute class which have been
+   * purged from the cache or were too large to be cached
+   *
+   * @return the number of evictions
+   */
+  public final long getEvictions() {
+    return this.m_evictions;
+  }
+
+  /**
+   * Get the number of times a value of the attribute class needed to be
+   * computed again after having been purged from the cache
+   *
+   * @return the number of re-computations
+   */
+  public final long getRecomputations() {
+    return this.m_recomputations;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((((((TextUtils.className(this.m_class) + ": hits=") + //$NON-NLS-1$
+        this.m_hits) + ", misses=") + this.m_misses) + //$NON-NLS-1$
+        ", evictions=") + this.m_evictions) + ", recomputations=") + //$NON-NLS-1$//$NON-NLS-2$
+    this.m_recomputations);
+  }
+}
@@ -1,23 +1,127 @@
 package org.optimizationBenchmarking.experimentation.data.spec;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A data element: the base-class for all elements of the experimental API.
  */
 public abstract class DataElement implements IDataElement {
 
-  /** the attribute map */
-  private HashMap<Attribute<?, ?>, Object> m_attributes;
+  /**
+   * the attribute map: it maps attributes either to their packed values or
+   * to the computations of the values which are currently in progress
+   */
+  private volatile ConcurrentHashMap<Attribute<?, ?>, Object> m_attributes;
 
   /** create */
   protected DataElement() {
     super();
   }
 
+  /**
+   * Get the attribute map, create it if necessary
+   *
+   * @return the attribute map
+   */
+  private final ConcurrentHashMap<Attribute<?, ?>, Object> __getAttributes() {
+    ConcurrentHashMap<Attribute<?, ?>, Object> attributes;
+
+    attributes = this.m_attributes;
+    if (attributes == null) {
+      synchronized (this) {
+        attributes = this.m_attributes;
+        if (attributes == null) {
+          this.m_attributes = attributes = new ConcurrentHashMap<>(4);
+        }
+      }
+    }
+    return attributes;
+  }
+
+  /**
+   * Compute the value of an attribute for this element
+   *
+   * @param attribute
+   *          the attribute
+   * @return the value
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  @SuppressWarnings("unchecked")
+  private final <XDT extends IDataElement, RT> RT __compute(
+      final Attribute<XDT, RT> attribute) {
+    final RT computed;
+
+    computed = attribute.compute((XDT) this);
+    if (computed == null) {
+      throw new IllegalStateException(//
+          "Computed attribute value must not be null."); //$NON-NLS-1$
+    }
+    return computed;
+  }
+
+  /**
+   * Obtain the value of an attribute for this element from the
+   * persistent attribute cache, or compute it and store it there
+   *
+   * @param attribute
+   *          the attribute
+   * @return the value
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  @SuppressWarnings("unchecked")
+  private final <XDT extends IDataElement, RT> RT __loadOrCompute(
+      final Attribute<XDT, RT> attribute) {
+    final IPersistentAttribute<XDT, RT> persistent;
+    final String key;
+    RT ret;
+
+    if ((!(attribute instanceof IPersistentAttribute))
+        || (_AttributeStore._getDirectory() == null)) {
+      return this.__compute(attribute);
+    }
+
+    persistent = ((IPersistentAttribute<XDT, RT>) attribute);
+    key = persistent.getPersistentKey((XDT) this);
+    if (key == null) {
+      return this.__compute(attribute);
+    }
+
+    ret = _AttributeStore._load(persistent, ((XDT) this), key);
+    if (ret == null) {
+      ret = this.__compute(attribute);
+      _AttributeStore._store(persistent, key, ret);
+    }
+    return ret;
+  }
+
   /**
    * Get the value of a given attribute. This is an internal method you
    * should better leave your fingers away from...
+   * <p>
+   * Values of attributes which can be stored are looked up without any
+   * locking. If a value needs to be computed, only the first thread
+   * asking for it performs the computation. Other threads asking for the
+   * same attribute of the same element in the meantime wait for the
+   * result instead of computing it again. If they are workers of a
+   * {@link java.util.concurrent.ForkJoinPool}, the pool may activate
+   * other workers while they are waiting. A thread which would wait for a
+   * computation that, directly or via other waiting threads, waits for
+   * the thread itself, e.g., because two attributes of different elements
+   * need each other, computes the value itself instead of waiting forever.
+   * Different attributes are still computed in parallel. Before an
+   * attribute value is computed, it is looked up in the persistent
+   * attribute cache, if {@link Attribute#PARAM_ATTRIBUTE_CACHE_DIR one is
+   * used}. Accesses to stored attributes are counted in the
+   * {@link AttributeCache#getStatistics() statistics} of the attribute
+   * cache.
+   * </p>
    *
    * @param attribute
    *          the attribute
@@ -31,69 +135,74 @@ public abstract class DataElement implements IDataElement {
   protected <XDT extends IDataElement, RT> RT getAttribute(
       final Attribute<XDT, RT> attribute) {
     final EAttributeType type;
-    RT computed, ret;
-    Object old;
+    final ConcurrentHashMap<Attribute<?, ?>, Object> attributes;
+    __Computation computation;
+    Object old, value;
+    RT ret;
 
     type = attribute.m_type;
+    if (!(type.m_store)) {
+      // The attribute is never stored and needs to be computed every time.
+      return this.__compute(attribute);
+    }
 
-    if (type.m_store) {
-      // If the attribute can be stored, we first need to check if it has
-      // already been computed and stored. We do this in a synchronized
-      // way. We synchronize here just to check if the value is already
-      // cached. If yes, we return it. If not, we compute it in an
-      // unsynchronized fashion. Then we synchronize again and check
-      // whether the attribute has been computed in the meantime. If so, we
-      // discard our newly computed value and use the existing one.
-      // Otherwise, we cache the new value. We synchronize two times
-      // because the actual computation may cost a lot of time and we do
-      // not want to block other, unrelated attributes to be computed.
-      synchronized (this) {
-        if (this.m_attributes != null) {
-          old = this.m_attributes.get(attribute);
-          if (old != null) {
-            ret = type.unpack(old);
-            if (ret != null) {
-              return ret;
-            }
-            // Although ret may be a softref that points nowhere, we don't
-            // need to delete it, since it will be overwritten soon.
-          }
+    attributes = this.__getAttributes();
+    computation = null;
+    for (;;) {
+      old = attributes.get(attribute);
+      if (old instanceof __Computation) {
+        // Someone else is computing the attribute right now: wait for the
+        // result. If that computation failed, we try again ourselves.
+        value = ((__Computation) old)._await();
+        if (value == __Computation.CYCLE) {
+          // The attribute is needed during its own computation, either
+          // directly or by a computation we are waiting for, so we
+          // cannot wait for the result.
+          return this.__compute(attribute);
+        }
+        ret = ((RT) value);
+        if (ret != null) {
+          AttributeCache._hit(attribute);
+          return ret;
         }
+        if (Thread.currentThread().isInterrupted()) {
+          return this.__compute(attribute);
+        }
+        continue;
       }
-    }
 
-    // OK, the attribute either never is stored and needs to be computed
-    // every time or has been purged from the cache before.
-    computed = attribute.compute((XDT) this);
-    if (computed == null) {
-      throw new IllegalStateException(//
-          "Computed attribute value must not be null."); //$NON-NLS-1$
-    }
-
-    if (type.m_store) {
-      // Synchronized again: check if attribute has been stored in the mean
-      // time, if not, set it and return it.
-      synchronized (this) {
-        if (this.m_attributes != null) {
-          old = this.m_attributes.get(attribute);
-          if (old != null) {
-            ret = type.unpack(old);
-            if (ret != null) {
-              // While we were computing, someone else put a value for the
-              // property into the map.
-              return ret;
-            }
-            // Although ret is a softref that points nowhere, we don't need
-            // to delete it, since it will be overwritten soon.
-          }
-        } else {
-          this.m_attributes = new HashMap<>();
+      if (old != null) {
+        ret = type.unpack(old);
+        if (ret != null) {
+          AttributeCache._hit(attribute);
+          return ret;
         }
-        this.m_attributes.put(attribute, type.pack(computed));
+        // The attribute has been purged from the cache before.
+      }
+
+      if (computation == null) {
+        computation = new __Computation();
+      }
+      if ((old == null) ? //
+      (attributes.putIfAbsent(attribute, computation) == null)//
+          : attributes.replace(attribute, old, computation)) {
+        break;
       }
     }
 
-    return computed;
+    // We are the first thread to compute the attribute.
+    AttributeCache._miss(attribute, (old != null));
+    try {
+      ret = this.__loadOrCompute(attribute);
+    } catch (final Throwable error) {
+      attributes.remove(attribute, computation);
+      computation._complete(null);
+      throw error;
+    }
+
+    attributes.replace(attribute, computation, type.pack(attribute, ret));
+    computation._complete(ret);
+    return ret;
   }
 
   /**
@@ -114,4 +223,131 @@ public abstract class DataElement implements IDataElement {
       final XDT to, final Attribute<XDT, RT> attribute) {
     return ((DataElement) to).getAttribute(attribute);
   }
+
+  /**
+   * The computation of an attribute value which is in progress. Threads
+   * waiting for the value block via
+   * {@link java.util.concurrent.ForkJoinPool#managedBlock(java.util.concurrent.ForkJoinPool.ManagedBlocker)}
+   * so that fork-join pools can compensate for them. Each waiting thread
+   * is registered with the computation it waits for, so that cycles of
+   * threads waiting for each other can be detected before they block.
+   */
+  private static final class __Computation implements
+      ForkJoinPool.ManagedBlocker {
+
+    /** the result of {@link #_await()} if waiting would never end */
+    static final Object CYCLE = new Object();
+
+    /** the computations the threads are currently waiting for */
+    private static final ConcurrentHashMap<Thread, __Computation> WAITING = new ConcurrentHashMap<>();
+
+    /** the thread performing the computation */
+    final Thread m_owner;
+
+    /** the computed value, or {@code null} if the computation failed */
+    private Object m_value;
+
+    /** is the computation finished? */
+    private volatile boolean m_done;
+
+    /** create the computation */
+    __Computation() {
+      super();
+      this.m_owner = Thread.currentThread();
+    }
+
+    /**
+     * Finish the computation
+     *
+     * @param value
+     *          the computed value, or {@code null} if the computation
+     *          failed
+     */
+    synchronized final void _complete(final Object value) {
+      this.m_value = value;
+      this.m_done = true;
+      this.notifyAll();
+    }
+
+    /**
+     * Check whether the given thread would wait for itself if it waited
+     * for this computation, i.e., whether following the threads which
+     * perform the computations and the computations they are waiting for
+     * leads back to the thread.
+     *
+     * @param thread
+     *          the thread which wants to wait
+     * @return {@code true} if waiting would close a cycle, {@code false}
+     *         otherwise
+     */
+    private final boolean __closesCycle(final Thread thread) {
+      __Computation computation;
+      Thread owner;
+      int steps;
+
+      owner = this.m_owner;
+      // a cycle not involving the thread itself is detected by the threads
+      // in it, so the search can stop after visiting every waiting thread
+      for (steps = __Computation.WAITING.size(); steps >= 0; steps--) {
+        if (owner == thread) {
+          return true;
+        }
+        computation = __Computation.WAITING.get(owner);
+        if (computation == null) {
+          return false;
+        }
+        owner = computation.m_owner;
+      }
+      return false;
+    }
+
+    /**
+     * Wait for the computation to finish
+     *
+     * @return the computed value, {@code null} if the computation failed
+     *         or the waiting thread was interrupted, or {@link #CYCLE} if
+     *         the computation cannot finish before the waiting thread
+     *         continues
+     */
+    final Object _await() {
+      final Thread current;
+
+      if (this.m_done) {
+        return this.m_value;
+      }
+
+      current = Thread.currentThread();
+      // We register as waiting before looking for a cycle: Of two threads
+      // about to wait for each other, at least the second one to register
+      // will thus see the cycle.
+      __Computation.WAITING.put(current, this);
+      try {
+        if (this.__closesCycle(current)) {
+          return __Computation.CYCLE;
+        }
+        ForkJoinPool.managedBlock(this);
+      } catch (final InterruptedException interrupted) {
+        current.interrupt();
+        return null;
+      } finally {
+        __Computation.WAITING.remove(current);
+      }
+      return this.m_value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isReleasable() {
+      return this.m_done;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final synchronized boolean block() throws InterruptedException {
+      while (!(this.m_done)) {
+        this.wait();
+      }
+      return true;
+    }
+  }
 }
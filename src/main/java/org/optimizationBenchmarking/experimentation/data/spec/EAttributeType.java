@@ -1,7 +1,5 @@
 package org.optimizationBenchmarking.experimentation.data.spec;
 
-import java.lang.ref.SoftReference;
-
 /**
  * The storage type of
  * {@link org.optimizationBenchmarking.experimentation.data.spec.Attribute
@@ -23,9 +21,10 @@ public enum EAttributeType {
   /**
    * Attributes of this type my be stored in the data sets but may also be
    * purged in low-memory situations. Once purged, they will simply be
-   * re-computed. This is realized by internally referencing them with
-   * {@link java.lang.ref.SoftReference soft references} which will be
-   * garbage collected when the memory situation warrants it.
+   * re-computed. This is realized by the {@link AttributeCache attribute
+   * cache}, which keeps the {@link Attribute#estimateSize(Object)
+   * estimated} total size of all such values within a configurable budget
+   * and purges the values which have not been used recently.
    */
   TEMPORARILY_STORED(true) {
 
@@ -33,13 +32,14 @@ public enum EAttributeType {
     @Override
     @SuppressWarnings("unchecked")
     final <T> T unpack(final Object o) {
-      return ((o != null) ? (((SoftReference<T>) (o)).get()) : null);
+      return ((o != null) ? ((T) (((AttributeCache._Entry) (o))._get()))
+          : null);
     }
 
     /** {@inheritDoc} */
     @Override
-    final Object pack(final Object o) {
-      return new SoftReference<>(o);
+    final <T> Object pack(final Attribute<?, T> attribute, final T o) {
+      return AttributeCache._put(attribute, o);
     }
 
   },
@@ -89,11 +89,15 @@ public enum EAttributeType {
    * {@link org.optimizationBenchmarking.experimentation.data.impl.ref.ElementSet
    * data object}.
    *
+   * @param attribute
+   *          the attribute
    * @param o
    *          the unpacked object
    * @return the packed object
+   * @param <T>
+   *          the goal type
    */
-  Object pack(final Object o) {
+  <T> Object pack(final Attribute<?, T> attribute, final T o) {
     return o;
   }
 }
@@ -0,0 +1,62 @@
+package org.optimizationBenchmarking.experimentation.data.spec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * An {@link Attribute attribute} whose values can be kept in the
+ * persistent attribute cache, i.e., in files in the directory specified
+ * by parameter {@link Attribute#PARAM_ATTRIBUTE_CACHE_DIR}. Only
+ * subclasses of {@link Attribute} should implement this interface.
+ *
+ * @param <ST>
+ *          the source object type which is attributed
+ * @param <RT>
+ *          the result type of the attribute
+ */
+public interface IPersistentAttribute<ST extends IDataElement, RT> {
+
+  /**
+   * Get the key under which the value of this attribute for a given
+   * element is stored in the persistent attribute cache. The key must be
+   * the same for equal attributes and elements with the same content,
+   * also in different runs of the program, and it must be different
+   * otherwise, e.g., by including a content fingerprint of the element.
+   *
+   * @param data
+   *          the data element
+   * @return the key, or {@code null} if the value should not be stored
+   *         persistently
+   */
+  public abstract String getPersistentKey(final ST data);
+
+  /**
+   * Write a value of this attribute to the persistent attribute cache.
+   *
+   * @param value
+   *          the value
+   * @param out
+   *          the output to write to
+   * @throws IOException
+   *           if i/o fails
+   */
+  public abstract void storeValue(final RT value, final DataOutput out)
+      throws IOException;
+
+  /**
+   * Read a value of this attribute written by
+   * {@link #storeValue(Object, DataOutput)} from the persistent attribute
+   * cache.
+   *
+   * @param data
+   *          the data element the value belongs to
+   * @param in
+   *          the input to read from
+   * @return the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  public abstract RT loadValue(final ST data, final DataInput in)
+      throws IOException;
+}
@@ -83,4 +83,43 @@ public interface IRun extends IElementSet, IMatrix {
    */
   public abstract IDataPoint find(final int column, final long value);
 
+  /**
+   * Find the data points for several values at once. After this method
+   * returns, {@code dest[i]} holds exactly the data point that
+   * {@link #find(int, double) find(column, values[i])} would return. If
+   * the values are sorted in the order in which they occur in the run,
+   * i.e., ascending for increasing and descending for decreasing
+   * dimensions, all of them are found in a single pass over the run,
+   * which is much faster than searching for each of them separately.
+   * Unsorted values are allowed, but less efficient.
+   *
+   * @param column
+   *          the column
+   * @param values
+   *          the values
+   * @param dest
+   *          the destination array, which must be at least as long as
+   *          {@code values}
+   */
+  public abstract void find(final int column, final double[] values,
+      final IDataPoint[] dest);
+
+  /**
+   * Find the data points for several values at once. After this method
+   * returns, {@code dest[i]} holds exactly the data point that
+   * {@link #find(int, long) find(column, values[i])} would return. If the
+   * values are sorted in the order in which they occur in the run, all of
+   * them are found in a single pass over the run. Unsorted values are
+   * allowed, but less efficient.
+   *
+   * @param column
+   *          the column
+   * @param values
+   *          the values
+   * @param dest
+   *          the destination array, which must be at least as long as
+   *          {@code values}
+   */
+  public abstract void find(final int column, final long[] values,
+      final IDataPoint[] dest);
 }
@@ -0,0 +1,235 @@
+package org.optimizationBenchmarking.experimentation.data.spec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+import org.optimizationBenchmarking.utils.hash.Hash128;
+
+/**
+ * The persistent attribute cache: Values of attributes which provide a
+ * {@link IPersistentAttribute#getPersistentKey(IDataElement) persistent
+ * key} are stored in one file per key in the directory specified by
+ * parameter {@link Attribute#PARAM_ATTRIBUTE_CACHE_DIR} or by
+ * {@link AttributeCache#setDirectory(Path)}. Each file begins with the
+ * full key, which is checked when the file is read, so that hash
+ * collisions of file names cannot lead to wrong values. Files are written
+ * to a temporary file first and then moved to their final name, so
+ * several processes may share the same cache directory. The cache is
+ * optional: If a value cannot be read or written, it is simply computed.
+ */
+final class _AttributeStore {
+
+  /** the magic number at the start of each file */
+  private static final int MAGIC = 0x4F424143;
+
+  /** the suffix of the cache files */
+  private static final String SUFFIX = ".attr"; //$NON-NLS-1$
+
+  /** the directory set via {@link #_setDirectory(Path)} */
+  private static volatile Path s_directory;
+
+  /** has the directory been set via {@link #_setDirectory(Path)}? */
+  private static volatile boolean s_directorySet;
+
+  /** the forbidden constructor */
+  private _AttributeStore() {
+    ErrorUtils.doNotCall();
+  }
+
+  /**
+   * Get the cache directory
+   *
+   * @return the cache directory, or {@code null} if no persistent cache
+   *         is used
+   */
+  static final Path _getDirectory() {
+    return (_AttributeStore.s_directorySet ? _AttributeStore.s_directory
+        : __DirLoader.DIR);
+  }
+
+  /**
+   * Set the cache directory
+   *
+   * @param dir
+   *          the cache directory, or {@code null} if no persistent cache
+   *          should be used
+   * @throws IOException
+   *           if the directory cannot be created
+   */
+  static final void _setDirectory(final Path dir) throws IOException {
+    final Path use;
+
+    if (dir != null) {
+      use = dir.toAbsolutePath().normalize();
+      Files.createDirectories(use);
+    } else {
+      use = null;
+    }
+    _AttributeStore.s_directory = use;
+    _AttributeStore.s_directorySet = true;
+  }
+
+  /**
+   * Get the file for a given key
+   *
+   * @param dir
+   *          the cache directory
+   * @param key
+   *          the key
+   * @return the file
+   */
+  private static final Path __file(final Path dir, final String key) {
+    return dir.resolve(new Hash128().append(key).toString()
+        + _AttributeStore.SUFFIX);
+  }
+
+  /**
+   * Log a problem with the persistent cache
+   *
+   * @param message
+   *          the message
+   * @param error
+   *          the error
+   */
+  private static final void __log(final String message,
+      final Throwable error) {
+    final Logger logger;
+
+    logger = Configuration.getGlobalLogger();
+    if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+      logger.log(Level.WARNING, message, error);
+    }
+  }
+
+  /**
+   * Load the value of an attribute from the persistent cache
+   *
+   * @param attribute
+   *          the attribute
+   * @param data
+   *          the data element
+   * @param key
+   *          the persistent key
+   * @return the value, or {@code null} if it is not in the cache
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  static final <XDT extends IDataElement, RT> RT _load(
+      final IPersistentAttribute<XDT, RT> attribute, final XDT data,
+      final String key) {
+    final Path dir, file;
+
+    dir = _AttributeStore._getDirectory();
+    if (dir == null) {
+      return null;
+    }
+
+    file = _AttributeStore.__file(dir, key);
+    try (final DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file)))) {
+      if ((in.readInt() != _AttributeStore.MAGIC)
+          || (!(key.equals(in.readUTF())))) {
+        return null;
+      }
+      return attribute.loadValue(data, in);
+    } catch (final NoSuchFileException notCached) {
+      return null;
+    } catch (final Throwable error) {
+      _AttributeStore.__log((("Could not load the value of attribute " + //$NON-NLS-1$
+          attribute) + " from file ") + file, error); //$NON-NLS-1$
+      return null;
+    }
+  }
+
+  /**
+   * Store the value of an attribute in the persistent cache
+   *
+   * @param attribute
+   *          the attribute
+   * @param key
+   *          the persistent key
+   * @param value
+   *          the value
+   * @param <XDT>
+   *          the data set type
+   * @param <RT>
+   *          the property type
+   */
+  static final <XDT extends IDataElement, RT> void _store(
+      final IPersistentAttribute<XDT, RT> attribute, final String key,
+      final RT value) {
+    final Path dir, file;
+    Path temp;
+
+    dir = _AttributeStore._getDirectory();
+    if (dir == null) {
+      return;
+    }
+
+    file = _AttributeStore.__file(dir, key);
+    temp = null;
+    try {
+      temp = Files.createTempFile(dir, null, _AttributeStore.SUFFIX);
+      try (final DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(_AttributeStore.MAGIC);
+        out.writeUTF(key);
+        attribute.storeValue(value, out);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException notAtomic) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      temp = null;
+    } catch (final Throwable error) {
+      _AttributeStore.__log((("Could not store the value of attribute " + //$NON-NLS-1$
+          attribute) + " in file ") + file, error); //$NON-NLS-1$
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (final IOException ignore) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /** the loader for the cache directory */
+  private static final class __DirLoader {
+
+    /** the cache directory */
+    static final Path DIR;
+
+    static {
+      Path dir;
+
+      try {
+        dir = Configuration.getRoot().getPath(
+            Attribute.PARAM_ATTRIBUTE_CACHE_DIR, null);
+        if (dir != null) {
+          Files.createDirectories(dir);
+        }
+      } catch (final Throwable t) {
+        dir = null;
+      }
+      DIR = dir;
+    }
+  }
+}
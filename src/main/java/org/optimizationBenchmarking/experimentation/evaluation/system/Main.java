@@ -5,6 +5,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.experimentation.data.spec.AttributeCache;
+import org.optimizationBenchmarking.experimentation.data.spec.AttributeCacheStatistics;
 import org.optimizationBenchmarking.experimentation.evaluation.system.impl.evaluator.Evaluator;
 import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IEvaluationBuilder;
 import org.optimizationBenchmarking.utils.MemoryUtils;
@@ -180,6 +182,13 @@ public final class Main {
                   + pool + //
                   " has terminated (seemingly without encountering an unrecoverable error)."); //$NON-NLS-1$
         }
+
+        if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+          for (final AttributeCacheStatistics statistics : AttributeCache
+              .getStatistics()) {
+            logger.fine("Attribute cache statistics of " + statistics); //$NON-NLS-1$
+          }
+        }
       }
     } catch (final Throwable error) {
       if ((logger != null) && (logger.isLoggable(Level.SEVERE))) {
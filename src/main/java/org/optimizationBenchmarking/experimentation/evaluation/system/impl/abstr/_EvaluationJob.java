@@ -3,6 +3,7 @@ package org.optimizationBenchmarking.experimentation.evaluation.system.impl.abst
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.experimentation.data.spec.IElementSet;
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
 import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IEvaluationJob;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
 import org.optimizationBenchmarking.utils.document.spec.IDocument;
@@ -162,6 +163,37 @@ public abstract class _EvaluationJob<DT extends IElementSet> implements
     this.m_state = next;
   }
 
+  /**
+   * Declare the attributes which will be needed by this job. Attributes
+   * declared here are computed in parallel, possibly while other jobs are
+   * writing their output, so that they are readily available when
+   * {@link #doMain(IElementSet, ISectionContainer, Logger)} needs them.
+   *
+   * @param data
+   *          the data to process
+   * @param prefetcher
+   *          the prefetcher to which the needed attributes should be
+   *          declared
+   * @param logger
+   *          the logger, or {@code null} if no log output should be
+   *          generated
+   */
+  protected void doPlan(final DT data,
+      final IAttributePrefetcher prefetcher, final Logger logger) {
+    //
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void plan(final IAttributePrefetcher prefetcher) {
+    final DT data;
+
+    data = this.m_data;
+    if (data != null) {
+      this.doPlan(data, prefetcher, this.m_logger);
+    }
+  }
+
   /**
    * Perform the initialization. This may involve, e.g., allocating labels.
    *
@@ -15,6 +15,15 @@ public final class AllECDF extends ExperimentSetModule {
   /** the ecdf parameter */
   public static final String PARAM_ECDF = "ecdf"; //$NON-NLS-1$
 
+  /**
+   * the parameter for the number of grid points on which the ECDF is
+   * evaluated: {@code 0} for full resolution
+   */
+  public static final String PARAM_GRID_POINTS = "ecdfGridPoints"; //$NON-NLS-1$
+
+  /** the parameter for using a logarithmically spaced grid */
+  public static final String PARAM_LOG_GRID = "ecdfLogGrid"; //$NON-NLS-1$
+
   /** create the instance information tool */
   AllECDF() {
     super();
@@ -3,6 +3,7 @@ package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.
 import java.util.logging.Logger;
 
 import org.optimizationBenchmarking.experimentation.attributes.functions.FunctionAttribute;
+import org.optimizationBenchmarking.experimentation.attributes.functions.ecdf.ECDF;
 import org.optimizationBenchmarking.experimentation.attributes.functions.ecdf.ECDFParser;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
@@ -38,8 +39,18 @@ final class _AllECDFJob extends FunctionJob {
   @Override
   protected final FunctionAttribute<? super IExperiment> configureFunction(
       final IExperimentSet data, final Configuration config) {
-    return config.get(AllECDF.PARAM_ECDF,
+    final ECDF ecdf;
+    final int points;
+
+    ecdf = config.get(AllECDF.PARAM_ECDF,
         new ECDFParser(data.getDimensions()), null);
+    points = config.getInt(AllECDF.PARAM_GRID_POINTS, 0,
+        Integer.MAX_VALUE, 0);
+    if ((ecdf == null) || (points <= 0)) {
+      return ecdf;
+    }
+    return ecdf.withGrid(points,
+        config.getBoolean(AllECDF.PARAM_LOG_GRID, false));
   }
 
   /** {@inheritDoc} */
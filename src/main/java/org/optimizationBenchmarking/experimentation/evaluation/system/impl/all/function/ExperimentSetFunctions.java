@@ -3,6 +3,8 @@ package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.
 import org.optimizationBenchmarking.experimentation.attributes.clusters.ICluster;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.math.BasicNumber;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.ScalarAggregate;
 
 /** The functions for a given experiment set */
 public final class ExperimentSetFunctions {
@@ -15,6 +17,14 @@ public final class ExperimentSetFunctions {
   private final ICluster m_cluster;
   /** the functions */
   private final ArrayListView<ExperimentFunction> m_functions;
+  /** the smallest finite {@code x} coordinate */
+  private final Number m_minX;
+  /** the largest finite {@code x} coordinate */
+  private final Number m_maxX;
+  /** the smallest finite {@code y} coordinate */
+  private final Number m_minY;
+  /** the largest finite {@code y} coordinate */
+  private final Number m_maxY;
 
   /**
    * create the experiment set functions
@@ -26,13 +36,41 @@ public final class ExperimentSetFunctions {
    *          set is not a cluster
    * @param functions
    *          the functions
+   * @param minX
+   *          the smallest finite {@code x} coordinate
+   * @param maxX
+   *          the largest finite {@code x} coordinate
+   * @param minY
+   *          the smallest finite {@code y} coordinate
+   * @param maxY
+   *          the largest finite {@code y} coordinate
    */
   ExperimentSetFunctions(final IExperimentSet set, final ICluster cluster,
-      final ExperimentFunction[] functions) {
+      final ExperimentFunction[] functions, final ScalarAggregate minX,
+      final ScalarAggregate maxX, final ScalarAggregate minY,
+      final ScalarAggregate maxY) {
     super();
     this.m_set = set;
     this.m_cluster = cluster;
     this.m_functions = new ArrayListView<>(functions);
+    this.m_minX = ExperimentSetFunctions.__value(minX);
+    this.m_maxX = ExperimentSetFunctions.__value(maxX);
+    this.m_minY = ExperimentSetFunctions.__value(minY);
+    this.m_maxY = ExperimentSetFunctions.__value(maxY);
+  }
+
+  /**
+   * Get the current value of an aggregate
+   *
+   * @param aggregate
+   *          the aggregate
+   * @return the value
+   */
+  private static final Number __value(final ScalarAggregate aggregate) {
+    if (aggregate.getState() == BasicNumber.STATE_INTEGER) {
+      return Long.valueOf(aggregate.longValue());
+    }
+    return Double.valueOf(aggregate.doubleValue());
   }
 
   /**
@@ -67,4 +105,44 @@ public final class ExperimentSetFunctions {
   public final ArrayListView<ExperimentFunction> getData() {
     return this.m_functions;
   }
+
+  /**
+   * Get the smallest finite {@code x} coordinate of any of the
+   * {@link #getData() functions}
+   *
+   * @return the smallest finite {@code x} coordinate
+   */
+  final Number _getMinimumX() {
+    return this.m_minX;
+  }
+
+  /**
+   * Get the largest finite {@code x} coordinate of any of the
+   * {@link #getData() functions}
+   *
+   * @return the largest finite {@code x} coordinate
+   */
+  final Number _getMaximumX() {
+    return this.m_maxX;
+  }
+
+  /**
+   * Get the smallest finite {@code y} coordinate of any of the
+   * {@link #getData() functions}
+   *
+   * @return the smallest finite {@code y} coordinate
+   */
+  final Number _getMinimumY() {
+    return this.m_minY;
+  }
+
+  /**
+   * Get the largest finite {@code y} coordinate of any of the
+   * {@link #getData() functions}
+   *
+   * @return the largest finite {@code y} coordinate
+   */
+  final Number _getMaximumY() {
+    return this.m_maxY;
+  }
 }
@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.function;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -14,6 +15,7 @@ import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
 import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.experimentation.evaluation.system.impl.abstr.ExperimentSetJob;
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
 import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
 import org.optimizationBenchmarking.utils.chart.spec.ELineType;
 import org.optimizationBenchmarking.utils.chart.spec.IAxis;
@@ -956,6 +958,48 @@ public abstract class FunctionJob extends ExperimentSetJob {
     //
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The function is declared for each experiment of each cluster. This
+   * requires computing the clustering, which will be needed later
+   * anyway.
+   * </p>
+   */
+  @Override
+  protected void doPlan(final IExperimentSet data,
+      final IAttributePrefetcher prefetcher, final Logger logger) {
+    final IExperimentSet selected;
+    final IClustering clustering;
+
+    selected = OnlySharedInstanceRuns.INSTANCE.get(data);
+    if (this.m_clusterer != null) {
+      clustering = this.m_clusterer.get(selected);
+      if (clustering != null) {
+        for (final ICluster cluster : clustering.getData()) {
+          this.__planFunctions(cluster, prefetcher);
+        }
+      }
+    } else {
+      this.__planFunctions(selected, prefetcher);
+    }
+  }
+
+  /**
+   * Declare the function for each experiment of an experiment set
+   *
+   * @param set
+   *          the experiment set
+   * @param prefetcher
+   *          the prefetcher
+   */
+  private final void __planFunctions(final IExperimentSet set,
+      final IAttributePrefetcher prefetcher) {
+    for (final IExperiment experiment : set.getData()) {
+      prefetcher.prefetch(this.m_function, experiment);
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   protected void doMain(final IExperimentSet data,
@@ -985,7 +1029,10 @@ public abstract class FunctionJob extends ExperimentSetJob {
   }
 
   /**
-   * Make the data for a given experiment set
+   * Make the data for a given experiment set. If called from within a
+   * {@link java.util.concurrent.ForkJoinPool}, the functions of the
+   * different clusters are computed in parallel. The clusters keep their
+   * order, regardless of whether the computation is parallel or not.
    *
    * @param logger
    *          the logger
@@ -997,15 +1044,15 @@ public abstract class FunctionJob extends ExperimentSetJob {
       final Logger logger) {
     final IExperimentSet selected;
     final IClustering clustering;
+    final ArrayListView<? extends ICluster> clusters;
+    final _ClusterFunctionsTask[] tasks;
     final int size;
-    ArrayList<ExperimentFunction> experimentSetTemp;
     ArrayList<ExperimentSetFunctions> clustersTemp;
     ExperimentSetFunctions experimentSetFunctions;
+    int i;
 
     selected = OnlySharedInstanceRuns.INSTANCE.get(set);
 
-    experimentSetTemp = new ArrayList<>();
-
     if (this.m_clusterer != null) {
 
       if ((logger != null) && (logger.isLoggable(Level.FINER))) {
@@ -1023,16 +1070,30 @@ public abstract class FunctionJob extends ExperimentSetJob {
       }
 
       clustersTemp = new ArrayList<>();
-      for (final ICluster cluster : clustering.getData()) {
-        experimentSetFunctions = this.__makeFunctions(cluster, cluster,
-            experimentSetTemp);
-        if (experimentSetFunctions != null) {
-          clustersTemp.add(experimentSetFunctions);
+      clusters = clustering.getData();
+      if ((clusters.size() > 1) && (ForkJoinTask.inForkJoinPool())) {
+        tasks = new _ClusterFunctionsTask[clusters.size()];
+        for (i = tasks.length; (--i) >= 0;) {
+          tasks[i] = new _ClusterFunctionsTask(this, clusters.get(i),
+              clusters.get(i));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        for (final _ClusterFunctionsTask task : tasks) {
+          experimentSetFunctions = task.join();
+          if (experimentSetFunctions != null) {
+            clustersTemp.add(experimentSetFunctions);
+          }
+        }
+      } else {
+        for (final ICluster cluster : clusters) {
+          experimentSetFunctions = this._makeFunctions(cluster, cluster);
+          if (experimentSetFunctions != null) {
+            clustersTemp.add(experimentSetFunctions);
+          }
         }
       }
     } else {
-      experimentSetFunctions = this.__makeFunctions(selected, null,
-          experimentSetTemp);
+      experimentSetFunctions = this._makeFunctions(selected, null);
       if (experimentSetFunctions == null) {
         return null;
       }
@@ -1050,59 +1111,102 @@ public abstract class FunctionJob extends ExperimentSetJob {
   }
 
   /**
-   * Make the functions over the experiment sets.
+   * Make the functions over the experiment sets. If called from within a
+   * {@link java.util.concurrent.ForkJoinPool}, the functions of the
+   * experiments are computed in parallel, each task finding the bounds of
+   * its own function. The bounds are then merged and the functions are
+   * collected in the order of the experiments, so the result does not
+   * depend on whether the computation is parallel or not.
    *
    * @param set
    *          the experiment set
    * @param cluster
    *          the cluster
-   * @param temp
-   *          a temporary list to store the results
    * @return the functions, or {@code null} if none were defined
    */
-  private final ExperimentSetFunctions __makeFunctions(
-      final IExperimentSet set, final ICluster cluster,
-      final ArrayList<ExperimentFunction> temp) {
+  final ExperimentSetFunctions _makeFunctions(final IExperimentSet set,
+      final ICluster cluster) {
     final FiniteMinimumAggregate minX, minY;
     final FiniteMaximumAggregate maxX, maxY;
     final IAggregate minMaxX, minMaxY;
+    final ArrayListView<? extends IExperiment> experiments;
+    final ArrayList<ExperimentFunction> temp;
+    final _ExperimentFunctionTask[] tasks;
     final int size;
-    IMatrix function;
-    ExperimentSetFunctions retVal;
+    ExperimentFunction function;
+    int i;
 
     minX = new FiniteMinimumAggregate();
     minY = new FiniteMinimumAggregate();
     maxX = new FiniteMaximumAggregate();
     maxY = new FiniteMaximumAggregate();
-    minMaxX = CompoundAggregate.combine(minX, maxX);
-    minMaxY = CompoundAggregate.combine(minY, maxY);
+    temp = new ArrayList<>();
 
-    for (final IExperiment experiment : set.getData()) {
-      function = this.m_function.get(experiment);
-      if (function == null) {
-        continue;
+    experiments = set.getData();
+    if ((experiments.size() > 1) && (ForkJoinTask.inForkJoinPool())) {
+      tasks = new _ExperimentFunctionTask[experiments.size()];
+      for (i = tasks.length; (--i) >= 0;) {
+        tasks[i] = new _ExperimentFunctionTask(this, experiments.get(i));
       }
-      if (function.m() <= 0) {
-        continue;
+      ForkJoinTask.invokeAll(tasks);
+      for (final _ExperimentFunctionTask task : tasks) {
+        function = task.join();
+        if (function != null) {
+          task._mergeBounds(minX, maxX, minY, maxY);
+          temp.add(function);
+        }
       }
-      if (function.n() < 2) {
-        continue;
+    } else {
+      minMaxX = CompoundAggregate.combine(minX, maxX);
+      minMaxY = CompoundAggregate.combine(minY, maxY);
+      for (final IExperiment experiment : experiments) {
+        function = this._makeFunction(experiment, minMaxX, minMaxY);
+        if (function != null) {
+          temp.add(function);
+        }
       }
-      function.aggregateColumn(0, minMaxX);
-      function.aggregateColumn(1, minMaxY);
-      temp.add(new ExperimentFunction(experiment, function));
     }
 
-    retVal = null;
     size = temp.size();
     if (size > 0) {
       if ((minX.compareTo(maxX) != 0) && (minY.compareTo(maxY) != 0)) {
-        retVal = new ExperimentSetFunctions(set, cluster,
-            temp.toArray(new ExperimentFunction[size]));
+        return new ExperimentSetFunctions(set, cluster,
+            temp.toArray(new ExperimentFunction[size]), minX, maxX, minY,
+            maxY);
       }
     }
-    temp.clear();
-    return retVal;
+    return null;
+  }
+
+  /**
+   * Make the function over one experiment and add its coordinates to the
+   * given aggregates.
+   *
+   * @param experiment
+   *          the experiment
+   * @param minMaxX
+   *          the aggregate for the {@code x} coordinates
+   * @param minMaxY
+   *          the aggregate for the {@code y} coordinates
+   * @return the function, or {@code null} if the function is empty
+   */
+  final ExperimentFunction _makeFunction(final IExperiment experiment,
+      final IAggregate minMaxX, final IAggregate minMaxY) {
+    final IMatrix function;
+
+    function = this.m_function.get(experiment);
+    if (function == null) {
+      return null;
+    }
+    if (function.m() <= 0) {
+      return null;
+    }
+    if (function.n() < 2) {
+      return null;
+    }
+    function.aggregateColumn(0, minMaxX);
+    function.aggregateColumn(1, minMaxY);
+    return new ExperimentFunction(experiment, function);
   }
 
 }
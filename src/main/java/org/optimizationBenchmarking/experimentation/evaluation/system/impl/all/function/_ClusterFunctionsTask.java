@@ -0,0 +1,47 @@
+package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.function;
+
+import java.util.concurrent.RecursiveTask;
+
+import org.optimizationBenchmarking.experimentation.attributes.clusters.ICluster;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+
+/** A task computing the functions of the experiments of one cluster. */
+final class _ClusterFunctionsTask extends
+    RecursiveTask<ExperimentSetFunctions> {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the owning job */
+  private final FunctionJob m_job;
+
+  /** the experiment set */
+  private final IExperimentSet m_set;
+
+  /** the cluster, or {@code null} */
+  private final ICluster m_cluster;
+
+  /**
+   * create the task
+   *
+   * @param job
+   *          the owning job
+   * @param set
+   *          the experiment set
+   * @param cluster
+   *          the cluster, or {@code null}
+   */
+  _ClusterFunctionsTask(final FunctionJob job, final IExperimentSet set,
+      final ICluster cluster) {
+    super();
+    this.m_job = job;
+    this.m_set = set;
+    this.m_cluster = cluster;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final ExperimentSetFunctions compute() {
+    return this.m_job._makeFunctions(this.m_set, this.m_cluster);
+  }
+}
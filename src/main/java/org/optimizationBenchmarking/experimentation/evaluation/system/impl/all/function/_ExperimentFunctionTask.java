@@ -0,0 +1,115 @@
+package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.function;
+
+import java.util.concurrent.RecursiveTask;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.utils.math.BasicNumber;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.CompoundAggregate;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.FiniteMaximumAggregate;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.FiniteMinimumAggregate;
+import org.optimizationBenchmarking.utils.math.statistics.aggregate.ScalarAggregate;
+
+/**
+ * A task computing the function of one experiment together with the
+ * finite bounds of its {@code x} and {@code y} coordinates.
+ */
+final class _ExperimentFunctionTask extends
+    RecursiveTask<ExperimentFunction> {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the owning job */
+  private final FunctionJob m_job;
+
+  /** the experiment */
+  private final IExperiment m_experiment;
+
+  /** the minimum of the {@code x} coordinates */
+  private final FiniteMinimumAggregate m_minX;
+
+  /** the maximum of the {@code x} coordinates */
+  private final FiniteMaximumAggregate m_maxX;
+
+  /** the minimum of the {@code y} coordinates */
+  private final FiniteMinimumAggregate m_minY;
+
+  /** the maximum of the {@code y} coordinates */
+  private final FiniteMaximumAggregate m_maxY;
+
+  /**
+   * create the task
+   *
+   * @param job
+   *          the owning job
+   * @param experiment
+   *          the experiment
+   */
+  _ExperimentFunctionTask(final FunctionJob job,
+      final IExperiment experiment) {
+    super();
+    this.m_job = job;
+    this.m_experiment = experiment;
+    this.m_minX = new FiniteMinimumAggregate();
+    this.m_maxX = new FiniteMaximumAggregate();
+    this.m_minY = new FiniteMinimumAggregate();
+    this.m_maxY = new FiniteMaximumAggregate();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final ExperimentFunction compute() {
+    return this.m_job._makeFunction(this.m_experiment,//
+        CompoundAggregate.combine(this.m_minX, this.m_maxX),//
+        CompoundAggregate.combine(this.m_minY, this.m_maxY));
+  }
+
+  /**
+   * Merge the value of one aggregate into another one
+   *
+   * @param source
+   *          the source aggregate
+   * @param dest
+   *          the destination aggregate
+   */
+  private static final void __merge(final ScalarAggregate source,
+      final ScalarAggregate dest) {
+    switch (source.getState()) {
+      case BasicNumber.STATE_INTEGER: {
+        dest.append(source.longValue());
+        return;
+      }
+      case BasicNumber.STATE_DOUBLE: {
+        dest.append(source.doubleValue());
+        return;
+      }
+      default: {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Merge the bounds of the coordinates found by this task into the given
+   * aggregates. Since minimum and maximum are associative, merging the
+   * bounds of all tasks yields exactly the bounds which a single pass over
+   * all functions would have found.
+   *
+   * @param minX
+   *          the minimum of the {@code x} coordinates
+   * @param maxX
+   *          the maximum of the {@code x} coordinates
+   * @param minY
+   *          the minimum of the {@code y} coordinates
+   * @param maxY
+   *          the maximum of the {@code y} coordinates
+   */
+  final void _mergeBounds(final ScalarAggregate minX,
+      final ScalarAggregate maxX, final ScalarAggregate minY,
+      final ScalarAggregate maxY) {
+    _ExperimentFunctionTask.__merge(this.m_minX, minX);
+    _ExperimentFunctionTask.__merge(this.m_maxX, maxX);
+    _ExperimentFunctionTask.__merge(this.m_minY, minY);
+    _ExperimentFunctionTask.__merge(this.m_maxY, maxY);
+  }
+}
@@ -10,6 +10,7 @@ import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.spec.IFeature;
 import org.optimizationBenchmarking.experimentation.data.spec.IFeatureSet;
 import org.optimizationBenchmarking.experimentation.evaluation.system.impl.abstr.DescriptionJob;
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
 import org.optimizationBenchmarking.utils.chart.spec.ELegendMode;
 import org.optimizationBenchmarking.utils.chart.spec.IDataScalar;
 import org.optimizationBenchmarking.utils.chart.spec.IPieChart;
@@ -73,6 +74,18 @@ final class _InstanceInformationJob extends DescriptionJob {
         _InstanceInformationJob.DEFAULT_FIGURE_SIZE);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  protected final void doPlan(final IExperimentSet data,
+      final IAttributePrefetcher prefetcher, final Logger logger) {
+    int index;
+
+    index = 0;
+    for (final IFeature feature : data.getFeatures().getData()) {
+      prefetcher.prefetch(this.m_groupers[index++], feature);
+    }
+  }
+
   /**
    * Make the feature figure series
    *
@@ -0,0 +1,174 @@
+package org.optimizationBenchmarking.experimentation.evaluation.system.impl.evaluator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
+
+/**
+ * The prefetcher for attributes: Each declared attribute is immediately
+ * forked as a task into the current
+ * {@link java.util.concurrent.ForkJoinPool}, so the attributes declared
+ * by all jobs are computed with maximal parallelism while the jobs are
+ * still being planned or are already writing their output. If a job
+ * needs an attribute which is currently being computed by a prefetch
+ * task, it simply waits for the result. If the evaluation does not run in
+ * a {@link java.util.concurrent.ForkJoinPool}, nothing is prefetched and
+ * all attributes are computed when they are accessed.
+ */
+final class _AttributePrefetcher implements IAttributePrefetcher {
+
+  /** the logger */
+  private final Logger m_logger;
+
+  /** the data elements for which each attribute has been declared */
+  private final HashMap<Attribute<?, ?>, Set<IDataElement>> m_declared;
+
+  /** the forked tasks */
+  private final ArrayList<__Task<?>> m_tasks;
+
+  /**
+   * create the prefetcher
+   *
+   * @param logger
+   *          the logger
+   */
+  _AttributePrefetcher(final Logger logger) {
+    super();
+    this.m_logger = logger;
+    this.m_declared = new HashMap<>();
+    this.m_tasks = new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final <DT extends IDataElement> void prefetch(
+      final Attribute<? super DT, ?> attribute, final DT element) {
+    final __Task<DT> task;
+    Set<IDataElement> elements;
+
+    if ((attribute == null) || (element == null)) {
+      throw new IllegalArgumentException(//
+          "Attribute and element to prefetch must not be null, but are " //$NON-NLS-1$
+              + attribute + " and " + element);//$NON-NLS-1$
+    }
+
+    if (!(ForkJoinTask.inForkJoinPool())) {
+      return;
+    }
+
+    synchronized (this.m_declared) {
+      elements = this.m_declared.get(attribute);
+      if (elements == null) {
+        elements = Collections
+            .newSetFromMap(new IdentityHashMap<IDataElement, Boolean>());
+        this.m_declared.put(attribute, elements);
+      }
+      if (!(elements.add(element))) {
+        return;
+      }
+      task = new __Task<>(attribute, element, this.m_logger);
+      this.m_tasks.add(task);
+    }
+
+    task.fork();
+  }
+
+  /**
+   * Wait until all prefetch tasks have finished. Errors are ignored, as
+   * they will occur again when the attributes are accessed by the jobs.
+   */
+  final void _join() {
+    final __Task<?>[] tasks;
+
+    synchronized (this.m_declared) {
+      tasks = this.m_tasks.toArray(new __Task<?>[this.m_tasks.size()]);
+      this.m_tasks.clear();
+      this.m_declared.clear();
+    }
+
+    for (final __Task<?> task : tasks) {
+      task.quietlyJoin();
+    }
+
+    if ((this.m_logger != null) && (this.m_logger.isLoggable(Level.FINE))) {
+      this.m_logger.fine("Finished " + tasks.length + //$NON-NLS-1$
+          " attribute prefetch tasks."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * The task computing one attribute for one data element
+   *
+   * @param <DT>
+   *          the data element type
+   */
+  private static final class __Task<DT extends IDataElement> extends
+      RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the attribute */
+    private final Attribute<? super DT, ?> m_attribute;
+
+    /** the data element */
+    private final DT m_element;
+
+    /** the logger */
+    private final Logger m_logger;
+
+    /**
+     * create the task
+     *
+     * @param attribute
+     *          the attribute
+     * @param element
+     *          the data element
+     * @param logger
+     *          the logger
+     */
+    __Task(final Attribute<? super DT, ?> attribute, final DT element,
+        final Logger logger) {
+      super();
+      this.m_attribute = attribute;
+      this.m_element = element;
+      this.m_logger = logger;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      try {
+        this.m_attribute.get(this.m_element);
+      } catch (final Throwable error) {
+        if ((this.m_logger != null)
+            && (this.m_logger.isLoggable(Level.FINER))) {
+          this.m_logger.log(Level.FINER, ((//
+              "Error while prefetching attribute " + this.m_attribute)//$NON-NLS-1$
+              + " for " + this.m_element), error);//$NON-NLS-1$
+        }
+      }
+    }
+
+    /**
+     * Get the string representation of the task.
+     *
+     * @return the string representation of the task
+     */
+    @Override
+    public final String toString() {
+      return ((String.valueOf(this.m_attribute) + " of ") + //$NON-NLS-1$
+      this.m_element);
+    }
+  }
+}
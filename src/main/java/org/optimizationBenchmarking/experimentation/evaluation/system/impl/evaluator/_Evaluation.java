@@ -744,12 +744,46 @@ final class _Evaluation extends _EvaluationSetup implements IEvaluation {
     }
   }
 
+  /**
+   * Let all jobs declare the attributes they will need, so that these
+   * can be computed in parallel while the document is written. Since
+   * this is merely an optimization, errors are only logged.
+   *
+   * @param root
+   *          the root job
+   * @param prefetcher
+   *          the prefetcher
+   * @param logger
+   *          the logger
+   */
+  private static final void __plan(final _MainJob root,
+      final _AttributePrefetcher prefetcher, final Logger logger) {
+    if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+      logger.fine("Now planning the attributes needed by the jobs."); //$NON-NLS-1$
+    }
+
+    try {
+      root.plan(prefetcher);
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        logger.log(Level.WARNING,//
+            "Error while planning the attributes needed by the jobs.", //$NON-NLS-1$
+            error);
+      }
+    }
+
+    if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+      logger.fine("Finished planning the attributes needed by the jobs."); //$NON-NLS-1$
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void run() {//
     final Logger logger;
     final IExperimentSet data;
     final _MainJob root;
+    final _AttributePrefetcher prefetcher;
     final BibAuthors authors;
 
     logger = this._getLogger();
@@ -765,24 +799,31 @@ final class _Evaluation extends _EvaluationSetup implements IEvaluation {
       throw new IllegalArgumentException("Root module cannot be null."); //$NON-NLS-1$
     }
 
-    authors = this.__makeAuthors();
+    prefetcher = new _AttributePrefetcher(logger);
+    try {
+      _Evaluation.__plan(root, prefetcher, logger);
 
-    MemoryUtils.quickGC();
+      authors = this.__makeAuthors();
 
-    try (final IDocument doc = this.__createDocument(logger)) {
-      root.initialize(doc);
+      MemoryUtils.quickGC();
 
-      try (final IDocumentHeader header = doc.header()) {
-        _Evaluation.__header(root, authors, data, header, logger);
-      }
+      try (final IDocument doc = this.__createDocument(logger)) {
+        root.initialize(doc);
 
-      try (final IDocumentBody body = doc.body()) {
-        root._bodyJobs(body);
-      }
+        try (final IDocumentHeader header = doc.header()) {
+          _Evaluation.__header(root, authors, data, header, logger);
+        }
 
-      try (final IDocumentBody footer = doc.footer()) {
-        root._footerJobs(footer);
+        try (final IDocumentBody body = doc.body()) {
+          root._bodyJobs(body);
+        }
+
+        try (final IDocumentBody footer = doc.footer()) {
+          root._footerJobs(footer);
+        }
       }
+    } finally {
+      prefetcher._join();
     }
   }
 
@@ -2,6 +2,7 @@ package org.optimizationBenchmarking.experimentation.evaluation.system.impl.eval
 
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
 import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IEvaluationJob;
 import org.optimizationBenchmarking.utils.document.spec.IDocument;
 import org.optimizationBenchmarking.utils.document.spec.IPlainText;
@@ -40,6 +41,13 @@ final class _JobWrapper extends _PseudoJob {
     TextUtils.className(this.m_job.getClass()));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void plan(final IAttributePrefetcher prefetcher) {
+    this.m_job.plan(prefetcher);
+    super.plan(prefetcher);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void initialize(final IDocument document) {
@@ -4,6 +4,7 @@ import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IAttributePrefetcher;
 import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IEvaluationJob;
 import org.optimizationBenchmarking.utils.document.spec.IDocument;
 import org.optimizationBenchmarking.utils.document.spec.IPlainText;
@@ -54,6 +55,21 @@ class _PseudoJob implements IEvaluationJob {
     return this.getClass().getSimpleName();
   }
 
+  /**
+   * declare the attributes needed by the sub-jobs
+   *
+   * @param prefetcher
+   *          the prefetcher
+   */
+  @Override
+  public void plan(final IAttributePrefetcher prefetcher) {
+    if (this.m_children != null) {
+      for (final IEvaluationJob module : this.m_children) {
+        module.plan(prefetcher);
+      }
+    }
+  }
+
   /**
    * do the initialization jobs
    *
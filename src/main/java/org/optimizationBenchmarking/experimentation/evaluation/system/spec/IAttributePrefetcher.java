@@ -0,0 +1,30 @@
+package org.optimizationBenchmarking.experimentation.evaluation.system.spec;
+
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
+
+/**
+ * An object which collects the attributes that
+ * {@link IEvaluationJob evaluation jobs} will need and computes them in
+ * parallel, ahead of the time the jobs actually access them, while the
+ * document output is being generated.
+ */
+public interface IAttributePrefetcher {
+
+  /**
+   * Declare that the value of the given attribute for the given data
+   * element will be needed. Declaring the same attribute for the same
+   * element several times does not cause additional work. Errors during
+   * the computation are not reported here: They will occur again when
+   * the value is actually accessed.
+   *
+   * @param attribute
+   *          the attribute
+   * @param element
+   *          the data element
+   * @param <DT>
+   *          the data element type
+   */
+  public abstract <DT extends IDataElement> void prefetch(
+      final Attribute<? super DT, ?> attribute, final DT element);
+}
@@ -9,6 +9,19 @@ import org.optimizationBenchmarking.utils.tools.spec.IToolJob;
  * A fully configured evaluation job.
  */
 public interface IEvaluationJob extends IToolJob {
+
+  /**
+   * Declare the attributes which will be needed during the execution of
+   * this job to the given prefetcher, so that they can be computed in
+   * parallel before they are actually needed. This method is called
+   * before {@link #initialize(IDocument)}. It is purely an optimization:
+   * A job declaring no attributes at all still works correctly.
+   *
+   * @param prefetcher
+   *          the prefetcher
+   */
+  public abstract void plan(final IAttributePrefetcher prefetcher);
+
   /**
    * Initialize the document before any computation is performed. In this
    * method you can, for instance, allocate labels in the document.
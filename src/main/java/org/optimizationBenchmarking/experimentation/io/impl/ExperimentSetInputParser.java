@@ -4,6 +4,7 @@ import java.util.LinkedHashSet;
 
 import org.optimizationBenchmarking.experimentation.io.impl.bbob.BBOBInput;
 import org.optimizationBenchmarking.experimentation.io.impl.csvedi.CSVEDIInput;
+import org.optimizationBenchmarking.experimentation.io.impl.ebi.EBIInput;
 import org.optimizationBenchmarking.experimentation.io.impl.edi.EDIInput;
 import org.optimizationBenchmarking.experimentation.io.impl.tspSuite.TSPSuiteInput;
 import org.optimizationBenchmarking.experimentation.io.spec.IExperimentSetInput;
@@ -41,6 +42,7 @@ public final class ExperimentSetInputParser extends
     ReflectionUtils.addPackageOfClassToPrefixList(TSPSuiteInput.class,
         paths);
     ReflectionUtils.addPackageOfClassToPrefixList(BBOBInput.class, paths);
+    ReflectionUtils.addPackageOfClassToPrefixList(EBIInput.class, paths);
     return paths.toArray(new String[paths.size()]);
   }
 
@@ -70,6 +72,10 @@ public final class ExperimentSetInputParser extends
       return BBOBInput.getInstance();
     }
 
+    if ("ebi".equalsIgnoreCase(string)) { //$NON-NLS-1$
+      return EBIInput.getInstance();
+    }
+
     return super.parseString(string);
   }
 
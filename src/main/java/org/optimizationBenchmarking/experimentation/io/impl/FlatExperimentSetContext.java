@@ -4,12 +4,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 import org.optimizationBenchmarking.experimentation.data.impl.ref.DataPoint;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DataPointBatch;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.Dimension;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionSet;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.FeatureSet;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.IRunDataLoader;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.Instance;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceRunsContext;
@@ -2032,6 +2034,78 @@ public class FlatExperimentSetContext {
     }
   }
 
+  /**
+   * Create a {@link DataPointBatch batch} for appending many data points
+   * to the current run without locking for each of them. If we currently
+   * are not in a run context, try to create one. The batch must be
+   * {@link DataPointBatch#close() closed} before the run ends.
+   *
+   * @return the batch
+   */
+  public synchronized final DataPointBatch runCreateBatch() {
+    final RunContext context;
+
+    context = this.__runEnsure(false);
+    try {
+      return context.createBatch();
+    } catch (final Throwable error) {
+      throw new IllegalStateException(this.__errorLocation(//
+          "Error while creating data point batch for run.", //$NON-NLS-1$
+          true), error);
+    }
+  }
+
+  /**
+   * Add a block of data points, given column-wise, to the current run.
+   * If we currently are not in a run context, try to create one. See
+   * {@link RunContext#addDataPoints(int, long[][], double[][])}.
+   *
+   * @param count
+   *          the number of data points to add
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   */
+  public synchronized final void runAddDataPoints(final int count,
+      final long[][] longs, final double[][] doubles) {
+    final RunContext context;
+
+    context = this.__runEnsure(false);
+    try {
+      context.addDataPoints(count, longs, doubles);
+    } catch (final Throwable error) {
+      throw new IllegalStateException(this.__errorLocation(//
+          (("Error while adding block of " + count) + //$NON-NLS-1$
+          " data points to run."), true), error);//$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Specify that the data points of the current run should be loaded
+   * lazily, when they are first accessed. If we currently are not in a run
+   * context, try to create one. See
+   * {@link RunContext#setDataLoader(int, IRunDataLoader)}.
+   *
+   * @param count
+   *          the number of data points the loader will provide
+   * @param loader
+   *          the loader
+   */
+  public synchronized final void runSetDataLoader(final int count,
+      final IRunDataLoader loader) {
+    final RunContext context;
+
+    context = this.__runEnsure(false);
+    try {
+      context.setDataLoader(count, loader);
+    } catch (final Throwable error) {
+      throw new IllegalStateException(this.__errorLocation(//
+          (("Error while setting loader for " + count) + //$NON-NLS-1$
+          " data points of run."), true), error);//$NON-NLS-1$
+    }
+  }
+
   /**
    * Add a data point to the current run. If we currently are not in a run
    * context, try to create one.
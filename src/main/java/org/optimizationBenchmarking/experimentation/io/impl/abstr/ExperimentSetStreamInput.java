@@ -0,0 +1,18 @@
+package org.optimizationBenchmarking.experimentation.io.impl.abstr;
+
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.io.spec.IExperimentSetInput;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.StreamInputTool;
+
+/**
+ * A stream-based experiment input tool.
+ */
+public class ExperimentSetStreamInput extends
+    StreamInputTool<ExperimentSetContext> implements IExperimentSetInput {
+
+  /** create */
+  protected ExperimentSetStreamInput() {
+    super();
+  }
+
+}
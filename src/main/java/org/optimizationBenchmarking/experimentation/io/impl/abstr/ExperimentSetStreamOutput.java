@@ -0,0 +1,20 @@
+package org.optimizationBenchmarking.experimentation.io.impl.abstr;
+
+import org.optimizationBenchmarking.experimentation.io.spec.IExperimentSetOutput;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.StreamOutputTool;
+
+/**
+ * A stream-based experiment output tool.
+ *
+ * @param <T>
+ *          the experiment data type supported for output
+ */
+public class ExperimentSetStreamOutput<T> extends StreamOutputTool<T>
+    implements IExperimentSetOutput<T> {
+
+  /** create */
+  protected ExperimentSetStreamOutput() {
+    super();
+  }
+
+}
@@ -209,7 +209,9 @@ final class _BBOBHandler implements Comparator<Number[]> {
     final ArrayList<ArrayList<Number[]>> list;
     ArrayList<Number[]> run;
     Number[][] nums;
-    int i, s;
+    long[] fes;
+    double[] fs;
+    int i, s, count;
     Number[] lastN;
     Integer lastI, curI;
     Double lastD, curD;
@@ -240,26 +242,34 @@ final class _BBOBHandler implements Comparator<Number[]> {
           lastD = null;
           lastI = null;
           lastN = null;
-          try (final RunContext rc = ic.createRun()) {
-
-            for (final Number[] point : nums) {
-              curI = ((Integer) (point[0]));
-              curD = ((Double) (point[1]));
-              lastN = null;
-              if (((lastI == null) || (curI.compareTo(lastI) > 0))) {
-                if (((lastD == null) || (curD.compareTo(lastD) < 0))) {
-                  rc.addDataPoint(point);
-                } else {
-                  lastN = point;
-                }
+          // the selected points are written into the columns of the run
+          fes = new long[s];
+          fs = new double[s];
+          count = 0;
+          for (final Number[] point : nums) {
+            curI = ((Integer) (point[0]));
+            curD = ((Double) (point[1]));
+            lastN = null;
+            if (((lastI == null) || (curI.compareTo(lastI) > 0))) {
+              if (((lastD == null) || (curD.compareTo(lastD) < 0))) {
+                fes[count] = curI.longValue();
+                fs[count++] = curD.doubleValue();
+              } else {
+                lastN = point;
               }
-              lastD = curD;
-              lastI = curI;
             }
+            lastD = curD;
+            lastI = curI;
+          }
 
-            if (lastN != null) {
-              rc.addDataPoint(lastN);
-            }
+          if (lastN != null) {
+            fes[count] = lastN[0].longValue();
+            fs[count++] = lastN[1].doubleValue();
+          }
+
+          try (final RunContext rc = ic.createRun()) {
+            rc.addDataPoints(count, new long[][] { fes, null },
+                new double[][] { null, fs });
           }
         }
       }
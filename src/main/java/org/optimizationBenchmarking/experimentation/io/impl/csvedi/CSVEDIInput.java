@@ -9,6 +9,7 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.LinkedHashSet;
 
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DataPointBatch;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.Instance;
 import org.optimizationBenchmarking.experimentation.io.impl.edi.EDI;
@@ -394,25 +395,27 @@ public final class CSVEDIInput extends EDIInputToolBase {
             : new BufferedReader(ir))) {
           job.runBegin(true);
 
-          while ((line = br.readLine()) != null) {
-            line = TextUtils.prepare(line);
-            if (line == null) {
-              continue;
-            }
+          try (final DataPointBatch batch = job.runCreateBatch()) {
+            while ((line = br.readLine()) != null) {
+              line = TextUtils.prepare(line);
+              if (line == null) {
+                continue;
+              }
 
-            for (final String comment : CSVEDIInput.COMMENTS) {
-              idx = line.indexOf(comment);
-              if (idx >= 0) {
-                line = line.substring(0, idx);
+              for (final String comment : CSVEDIInput.COMMENTS) {
+                idx = line.indexOf(comment);
+                if (idx >= 0) {
+                  line = line.substring(0, idx);
+                }
               }
-            }
 
-            line = TextUtils.prepare(line);
-            if (line == null) {
-              continue;
-            }
+              line = TextUtils.prepare(line);
+              if (line == null) {
+                continue;
+              }
 
-            job.runAddDataPoint(line);
+              batch.add(line);
+            }
           }
 
           job.runEnd();
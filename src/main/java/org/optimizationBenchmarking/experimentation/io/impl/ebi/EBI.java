@@ -0,0 +1,280 @@
+package org.optimizationBenchmarking.experimentation.io.impl.ebi;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.optimizationBenchmarking.utils.io.IFileType;
+
+/**
+ * An internal class with the constants of the Experiment Binary
+ * Interchange (EBI) format. An EBI file is structured as follows:
+ * <ol>
+ * <li>the {@code int} {@link #MAGIC magic number} and the {@code byte}
+ * {@link #VERSION format version},</li>
+ * <li>the number of dimensions followed by, for each dimension, its name,
+ * description, dimension type, direction, data type, and the lower and
+ * upper bound of its parser,</li>
+ * <li>the number of instances followed by, for each instance, its name,
+ * description, feature values, and the bounds it specifies for the
+ * dimensions,</li>
+ * <li>the number of experiments followed by, for each experiment, its
+ * name, description, parameter values, and its instance runs.</li>
+ * </ol>
+ * All counts and lengths are unsigned variable-length integers of up to
+ * {@code 64} bits (seven bits per byte, least significant group first).
+ * Strings are stored as their length in UTF-8 bytes plus one (with
+ * {@code 0} denoting {@code null}) followed by the bytes. Descriptions of
+ * features, parameters, and their values are only stored when they occur
+ * for the first time.
+ * <p>
+ * The data points of a run are stored as a length-prefixed block: First
+ * come the number of data points and the number of bytes of the block,
+ * then the columns of the run, one after the other. Each column begins
+ * with a {@code byte} identifying its encoding: Either it is
+ * {@link #COLUMN_RAW raw}, i.e., its values are stored as big-endian
+ * {@code long}s or {@code double}s and can be read with a single bulk
+ * operation, or it is {@link #COLUMN_DELTA delta-encoded}, i.e., the first
+ * value of an integer column is followed by the differences of
+ * consecutive values, each stored as zig-zag encoded variable-length
+ * integer. The writer picks the encoding which needs less space for each
+ * integer column, floating point columns are always raw. Since the
+ * length of a block is known in advance, it can be read with a single
+ * operation.
+ * </p>
+ */
+public enum EBI implements IFileType {
+
+  /** EBI file type */
+  EBI_BINARY;
+
+  /** the magic number identifying an EBI file */
+  static final int MAGIC = 0x4F424542;
+
+  /** the version of the format */
+  static final byte VERSION = 1;
+
+  /** a raw column */
+  static final byte COLUMN_RAW = 0;
+
+  /** a delta-encoded column */
+  static final byte COLUMN_DELTA = 1;
+
+  /** the instance bounds specify a lower bound */
+  static final int BOUNDS_LOWER = 1;
+
+  /** the instance bounds specify an upper bound */
+  static final int BOUNDS_UPPER = 2;
+
+  /** the default suffix */
+  private static final String SUFFIX = "ebi";//$NON-NLS-1$
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getDefaultSuffix() {
+    return EBI.SUFFIX;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getMIMEType() {
+    return "application/octet-stream";//$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String getName() {
+    return "Experiment Binary Interchange File";//$NON-NLS-1$
+  }
+
+  /**
+   * Write an unsigned variable-length integer
+   *
+   * @param out
+   *          the destination
+   * @param value
+   *          the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeVarLong(final DataOutput out, final long value)
+      throws IOException {
+    long v;
+
+    v = value;
+    while ((v & (~0x7fL)) != 0L) {
+      out.writeByte((int) ((v & 0x7fL) | 0x80L));
+      v >>>= 7;
+    }
+    out.writeByte((int) v);
+  }
+
+  /**
+   * Read an unsigned variable-length integer
+   *
+   * @param in
+   *          the source
+   * @return the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final long _readVarLong(final DataInput in) throws IOException {
+    long result;
+    int shift, b;
+
+    result = 0L;
+    for (shift = 0; shift < 64; shift += 7) {
+      b = in.readUnsignedByte();
+      result |= (((long) (b & 0x7f)) << shift);
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer."); //$NON-NLS-1$
+  }
+
+  /**
+   * Read a non-negative variable-length integer which must fit into an
+   * {@code int}, such as a count or length
+   *
+   * @param in
+   *          the source
+   * @return the value
+   * @throws IOException
+   *           if i/o fails or the value is out of range
+   */
+  static final int _readCount(final DataInput in) throws IOException {
+    final long value;
+
+    value = EBI._readVarLong(in);
+    if ((value < 0L) || (value > Integer.MAX_VALUE)) {
+      throw new IOException("Invalid count or length: " + value); //$NON-NLS-1$
+    }
+    return ((int) value);
+  }
+
+  /**
+   * Write a string, which may be {@code null}
+   *
+   * @param out
+   *          the destination
+   * @param string
+   *          the string
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeString(final DataOutput out, final String string)
+      throws IOException {
+    final byte[] data;
+
+    if (string == null) {
+      out.writeByte(0);
+      return;
+    }
+    data = string.getBytes(StandardCharsets.UTF_8);
+    EBI._writeVarLong(out, (data.length + 1L));
+    out.write(data);
+  }
+
+  /**
+   * Read a string, which may be {@code null}
+   *
+   * @param in
+   *          the source
+   * @return the string
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final String _readString(final DataInput in) throws IOException {
+    final byte[] data;
+    final int length;
+
+    length = EBI._readCount(in);
+    if (length <= 0) {
+      return null;
+    }
+    data = new byte[length - 1];
+    in.readFully(data);
+    return new String(data, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Get the number of bytes a variable-length integer occupies
+   *
+   * @param value
+   *          the value
+   * @return the number of bytes
+   */
+  static final int _varLongSize(final long value) {
+    return ((value == 0L) ? 1
+        : (((64 - Long.numberOfLeadingZeros(value)) + 6) / 7));
+  }
+
+  /**
+   * Put an unsigned variable-length integer into a buffer
+   *
+   * @param out
+   *          the destination
+   * @param value
+   *          the value
+   */
+  static final void _putVarLong(final ByteBuffer out, final long value) {
+    long v;
+
+    v = value;
+    while ((v & (~0x7fL)) != 0L) {
+      out.put((byte) ((v & 0x7fL) | 0x80L));
+      v >>>= 7;
+    }
+    out.put((byte) v);
+  }
+
+  /**
+   * Get an unsigned variable-length integer from a buffer
+   *
+   * @param in
+   *          the source
+   * @return the value
+   * @throws IOException
+   *           if the integer is malformed
+   */
+  static final long _getVarLong(final ByteBuffer in) throws IOException {
+    long result;
+    int shift, b;
+
+    result = 0L;
+    for (shift = 0; shift < 64; shift += 7) {
+      b = in.get();
+      result |= (((long) (b & 0x7f)) << shift);
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer."); //$NON-NLS-1$
+  }
+
+  /**
+   * Zig-zag encode a signed value, so that values of small magnitude
+   * become small unsigned values
+   *
+   * @param value
+   *          the signed value
+   * @return the encoded value
+   */
+  static final long _zigZag(final long value) {
+    return ((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Decode a zig-zag encoded value
+   *
+   * @param value
+   *          the encoded value
+   * @return the signed value
+   */
+  static final long _unZigZag(final long value) {
+    return ((value >>> 1) ^ (-(value & 1L)));
+  }
+}
@@ -0,0 +1,741 @@
+package org.optimizationBenchmarking.experimentation.io.impl.ebi;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionType;
+import org.optimizationBenchmarking.experimentation.io.impl.FlatExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.io.impl.abstr.ExperimentSetStreamInput;
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.io.encoding.StreamEncoding;
+import org.optimizationBenchmarking.utils.io.paths.PathUtils;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.IOJob;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.IOTool;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
+
+/**
+ * A driver for Experiment Binary Interchange (EBI) input. EBI is a
+ * compact binary format for
+ * {@link org.optimizationBenchmarking.experimentation.data experiment data
+ * structures}, which can be created with the {@link EBIOutput}. The data
+ * of each run is read with a single bulk operation and decoded directly
+ * from the buffer, no text needs to be parsed.
+ * <p>
+ * If EBI data is loaded from an uncompressed file, the input can work
+ * {@link #isLazy() lazily}: Then, only the skeleton of the experiment set,
+ * i.e., its dimensions, instances, experiments, and the number of data
+ * points of each run, is read and the blocks with the data points are
+ * skipped. The structure of each block is checked while skipping it, so
+ * malformed files are rejected right away, but only the positions of the
+ * blocks in the file are remembered and the data of a run is loaded when
+ * it is accessed for the first time. This makes reports which only need
+ * the meta-data of an experiment set start much faster. The file must not
+ * be changed or deleted while the experiment set is in use. Files which
+ * have been extracted from an archive into a temporary folder are deleted
+ * right after reading and are therefore always loaded completely. Lazy
+ * loading is enabled for the
+ * {@link #getInstance() default instance} via parameter
+ * {@link #PARAM_LAZY_RUNS} and always enabled for the
+ * {@link #getLazyInstance() lazy instance}.
+ * </p>
+ */
+public final class EBIInput extends ExperimentSetStreamInput {
+
+  /**
+   * the parameter specifying whether the default EBI input should load the
+   * data of runs lazily
+   */
+  public static final String PARAM_LAZY_RUNS = "ebiLazyRuns"; //$NON-NLS-1$
+
+  /** should the data of runs from files be loaded lazily? */
+  private final boolean m_lazy;
+
+  /**
+   * create
+   *
+   * @param lazy
+   *          should the data of runs from files be loaded lazily?
+   */
+  EBIInput(final boolean lazy) {
+    super();
+    this.m_lazy = lazy;
+  }
+
+  /**
+   * get the instance of the {@link EBIInput}, which loads run data lazily
+   * only if {@link #PARAM_LAZY_RUNS} is set
+   *
+   * @return the instance of the {@link EBIInput}
+   */
+  public static final EBIInput getInstance() {
+    return __EBIInputLoader.INSTANCE;
+  }
+
+  /**
+   * get the instance of the {@link EBIInput} which always loads the data
+   * of runs from files lazily
+   *
+   * @return the lazy instance of the {@link EBIInput}
+   */
+  public static final EBIInput getLazyInstance() {
+    return __EBILazyInputLoader.INSTANCE;
+  }
+
+  /**
+   * Does this input load the data of runs from uncompressed files lazily?
+   *
+   * @return {@code true} if the data of runs from uncompressed files is
+   *         only loaded when it is accessed, {@code false} if it is read
+   *         right away
+   */
+  public final boolean isLazy() {
+    return this.m_lazy;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final FlatExperimentSetContext createToken(final IOJob job,
+      final ExperimentSetContext data) throws Throwable {
+    return new FlatExperimentSetContext(data);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void after(final IOJob job,
+      final ExperimentSetContext data) throws Throwable {
+    ((FlatExperimentSetContext) (job.getToken())).flush();
+    super.after(job, data);
+  }
+
+  /**
+   * Check whether a regular file may be an EBI file: Files are considered
+   * to be EBI files if their suffix is {@code ebi}.
+   *
+   * @param job
+   *          the IO job
+   * @param data
+   *          the data
+   * @param path
+   *          the path
+   * @param attributes
+   *          the file attributes
+   * @return {@code true} if the file is an EBI file
+   * @throws Throwable
+   *           if something goes wrong
+   */
+  @Override
+  protected final boolean isFileInDirectoryLoadable(final IOJob job,
+      final ExperimentSetContext data, final Path path,
+      final BasicFileAttributes attributes) throws Throwable {
+    final String n, suffix;
+    final int len;
+
+    if (super.isFileInDirectoryLoadable(job, data, path, attributes)) {
+      n = path.toString();
+      suffix = EBI.EBI_BINARY.getDefaultSuffix();
+      len = (n.length() - suffix.length());
+      return ((len > 1) && (n.charAt(len - 1) == '.') && //
+      n.regionMatches(true, len, suffix, 0, suffix.length()));
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void file(final IOJob job,
+      final ExperimentSetContext data, final Path path,
+      final BasicFileAttributes attributes,
+      final StreamEncoding<?, ?> encoding) throws Throwable {
+    final __PositionInputStream position;
+
+    if (this.m_lazy && (!(job.isInTemporaryFolder()))
+        && ((encoding == null) || (encoding == StreamEncoding.UNKNOWN) || //
+        (encoding == StreamEncoding.BINARY))) {
+      try (final InputStream input = PathUtils.openInputStream(path)) {
+        position = new __PositionInputStream(new BufferedInputStream(
+            input));
+        EBIInput.__read(job, new DataInputStream(position), path,
+            position);
+      }
+    } else {
+      super.file(job, data, path, attributes, encoding);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void stream(final IOJob job,
+      final ExperimentSetContext data, final InputStream stream,
+      final StreamEncoding<?, ?> encoding) throws Throwable {
+    EBIInput.__read(job, new DataInputStream(new BufferedInputStream(
+        stream)), null, null);
+  }
+
+  /**
+   * Read EBI data
+   *
+   * @param job
+   *          the job
+   * @param in
+   *          the source
+   * @param file
+   *          the file the data comes from if the data of the runs should
+   *          be loaded lazily, {@code null} otherwise
+   * @param position
+   *          the stream providing the position in {@code file}, or
+   *          {@code null} if the data of the runs is read right away
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __read(final IOJob job,
+      final DataInputStream in, final Path file,
+      final __PositionInputStream position) throws IOException {
+    final FlatExperimentSetContext context;
+    final String[] dimensions;
+    final boolean[] isInteger;
+    final Logger logger;
+    final int version;
+
+    if (in.readInt() != EBI.MAGIC) {
+      throw new IOException(//
+          "Stream does not contain EBI data: invalid magic number."); //$NON-NLS-1$
+    }
+    version = in.readUnsignedByte();
+    if (version != EBI.VERSION) {
+      throw new IOException("Unsupported EBI format version " + version//$NON-NLS-1$
+          + ", only version " + EBI.VERSION + //$NON-NLS-1$
+          " is supported."); //$NON-NLS-1$
+    }
+
+    logger = job.getLogger();
+    if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+      logger.log(IOTool.FINE_LOG_LEVEL,//
+          ((file != null) ? ("Beginning to read EBI skeleton from file '" + //$NON-NLS-1$
+              file + "', run data will be loaded lazily.") : //$NON-NLS-1$
+              "Beginning to read EBI data.")); //$NON-NLS-1$
+    }
+
+    context = ((FlatExperimentSetContext) (job.getToken()));
+    dimensions = new String[EBI._readCount(in)];
+    isInteger = new boolean[dimensions.length];
+    EBIInput.__readDimensions(in, context, dimensions, isInteger);
+    EBIInput.__readInstances(in, context, dimensions, isInteger);
+    EBIInput.__readExperiments(in, context, isInteger, job, file,
+        position);
+
+    if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+      logger.log(IOTool.FINE_LOG_LEVEL,//
+          "Finished reading EBI data."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Read the dimensions
+   *
+   * @param in
+   *          the source
+   * @param context
+   *          the context
+   * @param dimensions
+   *          the array to receive the dimension names
+   * @param isInteger
+   *          the array to receive which dimensions are integer-valued
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __readDimensions(final DataInputStream in,
+      final FlatExperimentSetContext context, final String[] dimensions,
+      final boolean[] isInteger) throws IOException {
+    EPrimitiveType type;
+    String string;
+    Number lower, upper;
+    int i;
+
+    for (i = 0; i < dimensions.length; i++) {
+      context.dimensionBegin(true);
+      context.dimensionSetName(dimensions[i] = EBI._readString(in));
+      string = EBI._readString(in);
+      if (string != null) {
+        context.dimensionSetDescription(string);
+      }
+      context.dimensionSetType(EDimensionType.valueOf(//
+          EBI._readString(in)));
+      context.dimensionSetDirection(EDimensionDirection.valueOf(//
+          EBI._readString(in)));
+      type = EPrimitiveType.valueOf(EBI._readString(in));
+      if (isInteger[i] = type.isInteger()) {
+        lower = Long.valueOf(in.readLong());
+        upper = Long.valueOf(in.readLong());
+      } else {
+        lower = Double.valueOf(in.readDouble());
+        upper = Double.valueOf(in.readDouble());
+      }
+      context.dimensionSetParser(NumberParser.createNumberParser(type,
+          lower, upper));
+      context.dimensionEnd();
+    }
+  }
+
+  /**
+   * Read the instances
+   *
+   * @param in
+   *          the source
+   * @param context
+   *          the context
+   * @param dimensions
+   *          the dimension names
+   * @param isInteger
+   *          which dimensions are integer-valued
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __readInstances(final DataInputStream in,
+      final FlatExperimentSetContext context, final String[] dimensions,
+      final boolean[] isInteger) throws IOException {
+    String string;
+    int i, j, flags;
+
+    for (i = EBI._readCount(in); (--i) >= 0;) {
+      context.instanceBegin(true);
+      context.instanceSetName(EBI._readString(in));
+      string = EBI._readString(in);
+      if (string != null) {
+        context.instanceSetDescription(string);
+      }
+
+      for (j = EBI._readCount(in); (--j) >= 0;) {
+        context.instanceSetFeatureValue(EBI._readString(in),
+            EBI._readString(in), EBI._readString(in), EBI._readString(in));
+      }
+
+      for (j = 0; j < isInteger.length; j++) {
+        flags = in.readUnsignedByte();
+        if ((flags & EBI.BOUNDS_LOWER) != 0) {
+          context.instanceSetLowerBound(dimensions[j],
+              (isInteger[j] ? ((Number) (Long.valueOf(in.readLong())))
+                  : ((Number) (Double.valueOf(in.readDouble())))));
+        }
+        if ((flags & EBI.BOUNDS_UPPER) != 0) {
+          context.instanceSetUpperBound(dimensions[j],
+              (isInteger[j] ? ((Number) (Long.valueOf(in.readLong())))
+                  : ((Number) (Double.valueOf(in.readDouble())))));
+        }
+      }
+      context.instanceEnd();
+    }
+  }
+
+  /**
+   * Read the experiments
+   *
+   * @param in
+   *          the source
+   * @param context
+   *          the context
+   * @param isInteger
+   *          which dimensions are integer-valued
+   * @param job
+   *          the job
+   * @param file
+   *          the file the data comes from if the data of the runs should
+   *          be loaded lazily, {@code null} otherwise
+   * @param position
+   *          the stream providing the position in {@code file}, or
+   *          {@code null} if the data of the runs is read right away
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __readExperiments(final DataInputStream in,
+      final FlatExperimentSetContext context, final boolean[] isInteger,
+      final IOJob job, final Path file,
+      final __PositionInputStream position) throws IOException {
+    final long[][] longs;
+    final double[][] doubles;
+    final Logger logger;
+    String string;
+    byte[] buffer;
+    int i, j, k;
+
+    longs = new long[isInteger.length][];
+    doubles = new double[isInteger.length][];
+    logger = job.getLogger();
+    buffer = null;
+
+    for (i = EBI._readCount(in); (--i) >= 0;) {
+      context.experimentBegin(true);
+      string = EBI._readString(in);
+      context.experimentSetName(string);
+
+      if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+        logger.log(IOTool.FINE_LOG_LEVEL,
+            ("Begin of experiment '" + string + '\'')); //$NON-NLS-1$
+      }
+
+      string = EBI._readString(in);
+      if (string != null) {
+        context.experimentSetDescription(string);
+      }
+
+      for (j = EBI._readCount(in); (--j) >= 0;) {
+        context.parameterSetValue(EBI._readString(in),
+            EBI._readString(in), EBI._readString(in), EBI._readString(in));
+      }
+
+      for (j = EBI._readCount(in); (--j) >= 0;) {
+        context.runsBegin(true);
+        context.runsSetInstance(EBI._readString(in));
+        for (k = EBI._readCount(in); (--k) >= 0;) {
+          context.runBegin(true);
+          if (file != null) {
+            EBIInput.__skipRun(in, context, isInteger, file, position);
+          } else {
+            buffer = EBIInput.__readRun(in, context, isInteger, longs,
+                doubles, buffer);
+          }
+          context.runEnd();
+        }
+        context.runsEnd();
+      }
+      context.experimentEnd();
+    }
+  }
+
+  /**
+   * Skip the length-prefixed block with the data points of a run and let
+   * the current run load it lazily from the file. While skipping, the
+   * structure of the block is checked in the same way as by
+   * {@link #_decodeRun(ByteBuffer, int, boolean[], long[][], double[][])}:
+   * The encoding of each column must be valid, delta-encoded columns must
+   * consist of exactly {@code m} well-formed variable-length integers, and
+   * the columns must fill the block exactly. Raw columns are skipped
+   * without being read.
+   *
+   * @param in
+   *          the source
+   * @param context
+   *          the context
+   * @param isInteger
+   *          which dimensions are integer-valued
+   * @param file
+   *          the file
+   * @param position
+   *          the stream providing the position in {@code file}
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __skipRun(final DataInputStream in,
+      final FlatExperimentSetContext context, final boolean[] isInteger,
+      final Path file, final __PositionInputStream position)
+      throws IOException {
+    final long offset;
+    final int m, size;
+    long remaining;
+    int i, j, k;
+
+    m = EBI._readCount(in);
+    size = EBI._readCount(in);
+    offset = position.m_position;
+
+    remaining = size;
+    for (j = 0; j < isInteger.length; j++) {
+      if ((--remaining) < 0L) {
+        throw new IOException("EBI run block of " + size + //$NON-NLS-1$
+            " bytes ends before the encoding of column " + j + '.'); //$NON-NLS-1$
+      }
+      switch (in.readByte()) {
+        case EBI.COLUMN_RAW: {
+          remaining -= (((long) m) << 3);
+          if (remaining < 0L) {
+            throw new IOException("EBI run block of " + size + //$NON-NLS-1$
+                " bytes ends inside raw column " + j + '.'); //$NON-NLS-1$
+          }
+          EBIInput.__skipBytes(in, (m << 3));
+          break;
+        }
+        case EBI.COLUMN_DELTA: {
+          if (!(isInteger[j])) {
+            throw new IOException(//
+                "Floating point column " + j + //$NON-NLS-1$
+                    " cannot be delta-encoded."); //$NON-NLS-1$
+          }
+          for (i = m; (--i) >= 0;) {
+            for (k = 0;; k++) {
+              if ((--remaining) < 0L) {
+                throw new IOException("EBI run block of " + size + //$NON-NLS-1$
+                    " bytes ends inside delta-encoded column " + j + '.'); //$NON-NLS-1$
+              }
+              if ((in.readByte() & 0x80) == 0) {
+                break;
+              }
+              if (k >= 9) {
+                throw new IOException(//
+                    "Malformed variable-length integer."); //$NON-NLS-1$
+              }
+            }
+          }
+          break;
+        }
+        default: {
+          throw new IOException("Invalid encoding of column " + j + //$NON-NLS-1$
+              " in EBI run block."); //$NON-NLS-1$
+        }
+      }
+    }
+
+    if (remaining > 0L) {
+      throw new IOException(remaining + //
+          " unexpected bytes at the end of EBI run block."); //$NON-NLS-1$
+    }
+
+    context.runSetDataLoader(m, new _RunBlock(file, offset, size, m,
+        isInteger));
+  }
+
+  /**
+   * Skip a given number of bytes
+   *
+   * @param in
+   *          the source
+   * @param count
+   *          the number of bytes to skip
+   * @throws IOException
+   *           if i/o fails or the end of the stream is reached
+   */
+  private static final void __skipBytes(final DataInputStream in,
+      final int count) throws IOException {
+    int remaining, skipped;
+
+    for (remaining = count; remaining > 0; remaining -= skipped) {
+      skipped = in.skipBytes(remaining);
+      if (skipped <= 0) {
+        in.readByte(); // throws EOFException at the end of the file
+        skipped = 1;
+      }
+    }
+  }
+
+  /**
+   * Read the length-prefixed block with the data points of a run and add
+   * them to the current run.
+   *
+   * @param in
+   *          the source
+   * @param context
+   *          the context
+   * @param isInteger
+   *          which dimensions are integer-valued
+   * @param longs
+   *          the integer columns
+   * @param doubles
+   *          the floating point columns
+   * @param buffer
+   *          the buffer to use, or {@code null} if none has been
+   *          allocated yet
+   * @return the buffer, which may be re-used for the next run
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final byte[] __readRun(final DataInputStream in,
+      final FlatExperimentSetContext context, final boolean[] isInteger,
+      final long[][] longs, final double[][] doubles, final byte[] buffer)
+      throws IOException {
+    final byte[] data;
+    final int m, size;
+
+    m = EBI._readCount(in);
+    size = EBI._readCount(in);
+    if ((buffer == null) || (buffer.length < size)) {
+      data = new byte[Math.max(size, 4096)];
+    } else {
+      data = buffer;
+    }
+    in.readFully(data, 0, size);
+    EBIInput._decodeRun(ByteBuffer.wrap(data, 0, size), m, isInteger,
+        longs, doubles);
+
+    context.runAddDataPoints(m, longs, doubles);
+
+    return data;
+  }
+
+  /**
+   * Decode a block with the data points of a run.
+   *
+   * @param block
+   *          the block
+   * @param m
+   *          the number of data points
+   * @param isInteger
+   *          which dimensions are integer-valued
+   * @param longs
+   *          the integer columns, which are allocated or enlarged as
+   *          needed
+   * @param doubles
+   *          the floating point columns, which are allocated or enlarged
+   *          as needed
+   * @throws IOException
+   *           if the block is malformed
+   */
+  static final void _decodeRun(final ByteBuffer block, final int m,
+      final boolean[] isInteger, final long[][] longs,
+      final double[][] doubles) throws IOException {
+    long[] longColumn;
+    double[] doubleColumn;
+    long last;
+    int i, j;
+
+    for (j = 0; j < isInteger.length; j++) {
+      switch (block.get()) {
+        case EBI.COLUMN_RAW: {
+          if (isInteger[j]) {
+            longColumn = longs[j];
+            if ((longColumn == null) || (longColumn.length < m)) {
+              longs[j] = longColumn = new long[m];
+            }
+            block.asLongBuffer().get(longColumn, 0, m);
+          } else {
+            doubleColumn = doubles[j];
+            if ((doubleColumn == null) || (doubleColumn.length < m)) {
+              doubles[j] = doubleColumn = new double[m];
+            }
+            block.asDoubleBuffer().get(doubleColumn, 0, m);
+          }
+          block.position(block.position() + (m << 3));
+          break;
+        }
+        case EBI.COLUMN_DELTA: {
+          if (!(isInteger[j])) {
+            throw new IOException(//
+                "Floating point column " + j + //$NON-NLS-1$
+                    " cannot be delta-encoded."); //$NON-NLS-1$
+          }
+          longColumn = longs[j];
+          if ((longColumn == null) || (longColumn.length < m)) {
+            longs[j] = longColumn = new long[m];
+          }
+          last = 0L;
+          for (i = 0; i < m; i++) {
+            longColumn[i] = last = (last + //
+                EBI._unZigZag(EBI._getVarLong(block)));
+          }
+          break;
+        }
+        default: {
+          throw new IOException("Invalid encoding of column " + j + //$NON-NLS-1$
+              " in EBI run block."); //$NON-NLS-1$
+        }
+      }
+    }
+
+    if (block.hasRemaining()) {
+      throw new IOException(block.remaining() + //
+          " unexpected bytes at the end of EBI run block."); //$NON-NLS-1$
+    }
+
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return "EBI Experiment Data Input"; //$NON-NLS-1$
+  }
+
+  /** the loader */
+  private static final class __EBIInputLoader {
+    /** create */
+    static final EBIInput INSTANCE;
+
+    static {
+      boolean lazy;
+
+      try {
+        lazy = Configuration.getRoot().getBoolean(EBIInput.PARAM_LAZY_RUNS,
+            false);
+      } catch (final Throwable t) {
+        lazy = false;
+      }
+      INSTANCE = new EBIInput(lazy);
+    }
+  }
+
+  /** the loader for the lazy instance */
+  private static final class __EBILazyInputLoader {
+    /** create */
+    static final EBIInput INSTANCE = new EBIInput(true);
+  }
+
+  /**
+   * An input stream which keeps track of the number of bytes read from
+   * it, i.e., of the current position in the underlying file.
+   */
+  private static final class __PositionInputStream extends
+      FilterInputStream {
+
+    /** the current position */
+    long m_position;
+
+    /**
+     * create
+     *
+     * @param in
+     *          the wrapped stream
+     */
+    __PositionInputStream(final InputStream in) {
+      super(in);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int read() throws IOException {
+      final int result;
+
+      result = this.in.read();
+      if (result >= 0) {
+        this.m_position++;
+      }
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int read(final byte[] b, final int off, final int len)
+        throws IOException {
+      final int result;
+
+      result = this.in.read(b, off, len);
+      if (result > 0) {
+        this.m_position += result;
+      }
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long skip(final long n) throws IOException {
+      final long result;
+
+      result = this.in.skip(n);
+      if (result > 0L) {
+        this.m_position += result;
+      }
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean markSupported() {
+      return false;
+    }
+  }
+}
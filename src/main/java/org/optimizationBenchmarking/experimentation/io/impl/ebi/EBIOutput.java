@@ -0,0 +1,388 @@
+package org.optimizationBenchmarking.experimentation.io.impl.ebi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.logging.Logger;
+
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IFeatureValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstance;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.experimentation.data.spec.IParameterValue;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.experimentation.io.impl.abstr.ExperimentSetStreamOutput;
+import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.io.encoding.StreamEncoding;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.IOJob;
+import org.optimizationBenchmarking.utils.io.structured.impl.abstr.IOTool;
+import org.optimizationBenchmarking.utils.parsers.NumberParser;
+
+/**
+ * A driver for Experiment Binary Interchange (EBI) output. EBI is a
+ * compact binary format for
+ * {@link org.optimizationBenchmarking.experimentation.data experiment data
+ * structures} which can be loaded much faster than text-based formats.
+ */
+public final class EBIOutput extends
+    ExperimentSetStreamOutput<IExperimentSet> {
+
+  /** create */
+  EBIOutput() {
+    super();
+  }
+
+  /**
+   * Get the instance of the {@link EBIOutput}
+   *
+   * @return the instance of the {@link EBIOutput}
+   */
+  public static final EBIOutput getInstance() {
+    return __EBIOutputLoader.INSTANCE;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final String getDefaultPlainOutputFileName() {
+    return ("experiments." + //$NON-NLS-1$
+    EBI.EBI_BINARY.getDefaultSuffix());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void file(final IOJob job, final IExperimentSet data,
+      final Path file, final StreamEncoding<?, ?> encoding)
+      throws Throwable {
+    super.file(job, data, file, encoding);
+    if (Files.exists(file)) {
+      this.addFile(job, file, EBI.EBI_BINARY);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void stream(final IOJob job, final IExperimentSet data,
+      final OutputStream stream, final StreamEncoding<?, ?> encoding)
+      throws Throwable {
+    final DataOutputStream out;
+    final Logger logger;
+
+    if (data == null) {
+      throw new IllegalArgumentException(//
+          "Experiment set to store to EBI stream must not be null."); //$NON-NLS-1$
+    }
+
+    logger = job.getLogger();
+    if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+      logger.log(IOTool.FINE_LOG_LEVEL,//
+          ("Beginning to write experiment set " + data)); //$NON-NLS-1$
+    }
+
+    out = new DataOutputStream(new BufferedOutputStream(stream));
+    out.writeInt(EBI.MAGIC);
+    out.writeByte(EBI.VERSION);
+    EBIOutput.__writeDimensions(data.getDimensions().getData(), out);
+    EBIOutput.__writeInstances(data, out);
+    EBIOutput.__writeExperiments(data, out, job);
+    out.flush();
+
+    if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+      logger.log(IOTool.FINE_LOG_LEVEL,//
+          ("Finished writing experiment set " + data)); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Write the dimensions
+   *
+   * @param dimensions
+   *          the dimensions
+   * @param out
+   *          the destination
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeDimensions(
+      final ArrayListView<? extends IDimension> dimensions,
+      final DataOutputStream out) throws IOException {
+    NumberParser<?> parser;
+
+    EBI._writeVarLong(out, dimensions.size());
+    for (final IDimension dimension : dimensions) {
+      EBI._writeString(out, dimension.getName());
+      EBI._writeString(out, dimension.getDescription());
+      EBI._writeString(out, dimension.getDimensionType().name());
+      EBI._writeString(out, dimension.getDirection().name());
+      EBI._writeString(out, dimension.getDataType().name());
+      parser = dimension.getParser();
+      if (dimension.getDataType().isInteger()) {
+        out.writeLong(parser.getLowerBoundLong());
+        out.writeLong(parser.getUpperBoundLong());
+      } else {
+        out.writeDouble(parser.getLowerBoundDouble());
+        out.writeDouble(parser.getUpperBoundDouble());
+      }
+    }
+  }
+
+  /**
+   * Write the instances
+   *
+   * @param data
+   *          the experiment set
+   * @param out
+   *          the destination
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeInstances(final IExperimentSet data,
+      final DataOutputStream out) throws IOException {
+    final ArrayListView<? extends IDimension> dimensions;
+    final ArrayListView<? extends IInstance> instances;
+    final ArrayList<IFeatureValue> features;
+    final HashSet<Object> described;
+    NumberParser<?> parser;
+    Number lower, upper;
+    int flags;
+
+    dimensions = data.getDimensions().getData();
+    instances = data.getInstances().getData();
+    features = new ArrayList<>();
+    described = new HashSet<>();
+
+    EBI._writeVarLong(out, instances.size());
+    for (final IInstance instance : instances) {
+      EBI._writeString(out, instance.getName());
+      EBI._writeString(out, instance.getDescription());
+
+      features.clear();
+      for (final IFeatureValue value : instance.getFeatureSetting()) {
+        features.add(value);
+      }
+      EBI._writeVarLong(out, features.size());
+      for (final IFeatureValue value : features) {
+        EBI._writeString(out, value.getOwner().getName());
+        EBI._writeString(out, (described.add(value.getOwner()) ? value
+            .getOwner().getDescription() : null));
+        EBI._writeString(out, value.getName());
+        EBI._writeString(out, (described.add(value) ? value
+            .getDescription() : null));
+      }
+
+      for (final IDimension dimension : dimensions) {
+        lower = instance.getLowerBound(dimension);
+        upper = instance.getUpperBound(dimension);
+        parser = dimension.getParser();
+        flags = 0;
+        if (dimension.getDataType().isInteger()) {
+          if (lower.longValue() > parser.getLowerBoundLong()) {
+            flags |= EBI.BOUNDS_LOWER;
+          }
+          if (upper.longValue() < parser.getUpperBoundLong()) {
+            flags |= EBI.BOUNDS_UPPER;
+          }
+          out.writeByte(flags);
+          if ((flags & EBI.BOUNDS_LOWER) != 0) {
+            out.writeLong(lower.longValue());
+          }
+          if ((flags & EBI.BOUNDS_UPPER) != 0) {
+            out.writeLong(upper.longValue());
+          }
+        } else {
+          if (lower.doubleValue() > parser.getLowerBoundDouble()) {
+            flags |= EBI.BOUNDS_LOWER;
+          }
+          if (upper.doubleValue() < parser.getUpperBoundDouble()) {
+            flags |= EBI.BOUNDS_UPPER;
+          }
+          out.writeByte(flags);
+          if ((flags & EBI.BOUNDS_LOWER) != 0) {
+            out.writeDouble(lower.doubleValue());
+          }
+          if ((flags & EBI.BOUNDS_UPPER) != 0) {
+            out.writeDouble(upper.doubleValue());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the experiments
+   *
+   * @param data
+   *          the experiment set
+   * @param out
+   *          the destination
+   * @param job
+   *          the job
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeExperiments(final IExperimentSet data,
+      final DataOutputStream out, final IOJob job) throws IOException {
+    final ArrayListView<? extends IExperiment> experiments;
+    final ArrayList<IParameterValue> parameters;
+    final HashSet<Object> described;
+    final boolean[] isInteger;
+    final Logger logger;
+    ByteBuffer buffer;
+    int i;
+
+    experiments = data.getData();
+    isInteger = new boolean[data.getDimensions().getData().size()];
+    for (i = isInteger.length; (--i) >= 0;) {
+      isInteger[i] = data.getDimensions().getData().get(i).getDataType()
+          .isInteger();
+    }
+    parameters = new ArrayList<>();
+    described = new HashSet<>();
+    logger = job.getLogger();
+    buffer = null;
+
+    EBI._writeVarLong(out, experiments.size());
+    for (final IExperiment experiment : experiments) {
+      if ((logger != null) && (logger.isLoggable(IOTool.FINE_LOG_LEVEL))) {
+        logger.log(IOTool.FINE_LOG_LEVEL,//
+            ("Beginning to write experiment " + experiment)); //$NON-NLS-1$
+      }
+
+      EBI._writeString(out, experiment.getName());
+      EBI._writeString(out, experiment.getDescription());
+
+      parameters.clear();
+      for (final IParameterValue value : experiment.getParameterSetting()) {
+        if (!(value.isUnspecified())) {
+          parameters.add(value);
+        }
+      }
+      EBI._writeVarLong(out, parameters.size());
+      for (final IParameterValue value : parameters) {
+        EBI._writeString(out, value.getOwner().getName());
+        EBI._writeString(out, (described.add(value.getOwner()) ? value
+            .getOwner().getDescription() : null));
+        EBI._writeString(out, value.getName());
+        EBI._writeString(out, (described.add(value) ? value
+            .getDescription() : null));
+      }
+
+      EBI._writeVarLong(out, experiment.getData().size());
+      for (final IInstanceRuns runs : experiment.getData()) {
+        EBI._writeString(out, runs.getInstance().getName());
+        EBI._writeVarLong(out, runs.getData().size());
+        for (final IRun run : runs.getData()) {
+          buffer = EBIOutput.__writeRun(run, isInteger, out, buffer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the data points of a run as length-prefixed block of columns.
+   *
+   * @param run
+   *          the run
+   * @param isInteger
+   *          which columns are integer-valued
+   * @param out
+   *          the destination
+   * @param buffer
+   *          the buffer to use, or {@code null} if none has been
+   *          allocated yet
+   * @return the buffer, which may be re-used for the next run
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final ByteBuffer __writeRun(final IRun run,
+      final boolean[] isInteger, final DataOutputStream out,
+      final ByteBuffer buffer) throws IOException {
+    final boolean[] delta;
+    final int m;
+    ByteBuffer dest;
+    long size, deltaSize, last, current;
+    int i, j;
+
+    m = run.m();
+    delta = new boolean[isInteger.length];
+    size = 0L;
+
+    // choose the encoding of each column
+    for (j = 0; j < isInteger.length; j++) {
+      if (isInteger[j]) {
+        last = 0L;
+        deltaSize = 0L;
+        for (i = 0; i < m; i++) {
+          current = run.getLong(i, j);
+          deltaSize += EBI._varLongSize(EBI._zigZag(current - last));
+          last = current;
+        }
+        if (deltaSize < (((long) m) << 3)) {
+          delta[j] = true;
+          size += (deltaSize + 1L);
+          continue;
+        }
+      }
+      size += ((((long) m) << 3) + 1L);
+    }
+
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Run " + run + //$NON-NLS-1$
+          " is too large to be stored in EBI format."); //$NON-NLS-1$
+    }
+
+    if ((buffer == null) || (buffer.capacity() < size)) {
+      dest = ByteBuffer.allocate(Math.max(((int) size), 4096));
+    } else {
+      dest = buffer;
+      dest.clear();
+    }
+
+    for (j = 0; j < isInteger.length; j++) {
+      if (delta[j]) {
+        dest.put(EBI.COLUMN_DELTA);
+        last = 0L;
+        for (i = 0; i < m; i++) {
+          current = run.getLong(i, j);
+          EBI._putVarLong(dest, EBI._zigZag(current - last));
+          last = current;
+        }
+      } else {
+        dest.put(EBI.COLUMN_RAW);
+        if (isInteger[j]) {
+          for (i = 0; i < m; i++) {
+            dest.putLong(run.getLong(i, j));
+          }
+        } else {
+          for (i = 0; i < m; i++) {
+            dest.putDouble(run.getDouble(i, j));
+          }
+        }
+      }
+    }
+
+    EBI._writeVarLong(out, m);
+    EBI._writeVarLong(out, size);
+    out.write(dest.array(), 0, ((int) size));
+    return dest;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return "EBI Experiment Data Output"; //$NON-NLS-1$
+  }
+
+  /** the loader */
+  private static final class __EBIOutputLoader {
+    /** create */
+    static final EBIOutput INSTANCE = new EBIOutput();
+  }
+}
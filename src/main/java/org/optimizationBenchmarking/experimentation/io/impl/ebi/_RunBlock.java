@@ -0,0 +1,84 @@
+package org.optimizationBenchmarking.experimentation.io.impl.ebi;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.optimizationBenchmarking.experimentation.data.impl.ref.IRunDataLoader;
+
+/**
+ * The position of the block with the data points of a run inside an EBI
+ * file, from which the data is loaded lazily.
+ */
+final class _RunBlock implements IRunDataLoader {
+
+  /** the file */
+  private final Path m_file;
+
+  /** the offset of the block in the file */
+  private final long m_offset;
+
+  /** the size of the block in bytes */
+  private final int m_size;
+
+  /** the number of data points */
+  private final int m_m;
+
+  /** which dimensions are integer-valued */
+  private final boolean[] m_isInteger;
+
+  /**
+   * create the run block
+   *
+   * @param file
+   *          the file
+   * @param offset
+   *          the offset of the block in the file
+   * @param size
+   *          the size of the block in bytes
+   * @param m
+   *          the number of data points
+   * @param isInteger
+   *          which dimensions are integer-valued
+   */
+  _RunBlock(final Path file, final long offset, final int size,
+      final int m, final boolean[] isInteger) {
+    super();
+    this.m_file = file;
+    this.m_offset = offset;
+    this.m_size = size;
+    this.m_m = m;
+    this.m_isInteger = isInteger;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void load(final long[][] longs, final double[][] doubles)
+      throws IOException {
+    final ByteBuffer block;
+
+    block = ByteBuffer.allocate(this.m_size);
+    try (final FileChannel channel = FileChannel.open(this.m_file,
+        StandardOpenOption.READ)) {
+      while (block.hasRemaining()) {
+        if (channel.read(block, (this.m_offset + block.position())) < 0) {
+          throw new EOFException(//
+              "Unexpected end of file when loading " + this); //$NON-NLS-1$
+        }
+      }
+    }
+    block.flip();
+    EBIInput._decodeRun(block, this.m_m, this.m_isInteger, longs, doubles);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return ((((("EBI run block of " + this.m_size) + //$NON-NLS-1$
+        " bytes at offset ") + this.m_offset) + //$NON-NLS-1$
+        " of file '") + this.m_file) + '\''; //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,8 @@
+/**
+ * Experiment Binary Interchange (EBI) is a compact binary format for
+ * storing {@link org.optimizationBenchmarking.experimentation.data
+ * experiment data structures}, which can be loaded much faster than
+ * text-based formats such as
+ * {@link org.optimizationBenchmarking.experimentation.io.impl.edi EDI}.
+ */
+package org.optimizationBenchmarking.experimentation.io.impl.ebi;
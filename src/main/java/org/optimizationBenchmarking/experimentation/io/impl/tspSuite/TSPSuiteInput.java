@@ -1,6 +1,7 @@
 package org.optimizationBenchmarking.experimentation.io.impl.tspSuite;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.nio.file.Files;
@@ -9,6 +10,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.logging.Logger;
 
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DataPointBatch;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
@@ -1637,6 +1639,36 @@ public class TSPSuiteInput extends ExperimentSetFileInput {
     return TextUtils.prepare(t.substring(0, i));
   }
 
+  /**
+   * Load the data points of a log section of a file. The data points are
+   * collected in a {@link DataPointBatch batch}, which writes them
+   * column-wise into the run.
+   *
+   * @param reader
+   *          the reader, positioned after the beginning of the log section
+   * @param run
+   *          the run
+   * @throws IOException
+   *           if reading fails
+   */
+  private static final void __logData(final BufferedReader reader,
+      final RunContext run) throws IOException {
+    String s;
+
+    try (final DataPointBatch batch = run.createBatch()) {
+      while ((s = reader.readLine()) != null) {
+        s = TSPSuiteInput.__prepare(s);
+        if (s == null) {
+          continue;
+        }
+        if (TSPSuiteInput.SECTION_END.equalsIgnoreCase(s)) {
+          return;
+        }
+        batch.add(s);
+      }
+    }
+  }
+
   /**
    * load the file data
    *
@@ -1672,15 +1704,15 @@ public class TSPSuiteInput extends ExperimentSetFileInput {
 
       if (state == 0) {
         if (TSPSuiteInput.LOG_DATA_SECTION.equalsIgnoreCase(s)) {
-          state = 1;
           if (run == null) {
             run = token._beginRun(file);
           }
+          TSPSuiteInput.__logData(reader, run);
         } else {
           if (TSPSuiteInput.ALGORITHM_DATA_SECTION.equalsIgnoreCase(s) || //
               TSPSuiteInput.DETERMINISTIC_INITIALIZATION_SECTION
                   .equalsIgnoreCase(s)) {
-            state = 2;
+            state = 1;
             if (run == null) {
               run = token._beginRun(file);
             }
@@ -1691,20 +1723,12 @@ public class TSPSuiteInput extends ExperimentSetFileInput {
         if (TSPSuiteInput.SECTION_END.equalsIgnoreCase(s)) {
           state = 0;
         } else {
-          if (state == 1) {
-            run.addDataPoint(s);
-          } else {
-            if (state == 2) {
-              idx = s.indexOf(':');
-              if (idx <= 0) {
-                continue;
-              }
-              run.setParameterValue(
-                  TextUtils.prepare(s.substring(0, idx)),
-                  TextUtils.prepare(s.substring(idx + 1)));
-            }
+          idx = s.indexOf(':');
+          if (idx <= 0) {
+            continue;
           }
-
+          run.setParameterValue(TextUtils.prepare(s.substring(0, idx)),
+              TextUtils.prepare(s.substring(idx + 1)));
         }
       }
     }
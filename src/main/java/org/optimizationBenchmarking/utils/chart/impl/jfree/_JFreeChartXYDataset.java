@@ -62,18 +62,28 @@ final class _JFreeChartXYDataset extends
   public final DomainOrder getDomainOrder() {
     int order, i, cmp;
     double old, cur;
+    double[] buffer, column;
 
     if (this.m_order != null) {
       return this.m_order;
     }
     order = 0;
+    buffer = null;
     for (final IMatrix mat : this.m_matrices) {
       i = mat.m();
-      cur = mat.getDouble(--i, 0);
+      column = mat.getDoubleColumnArray(0);
+      if (column == null) {
+        if ((buffer == null) || (buffer.length < i)) {
+          buffer = new double[i];
+        }
+        mat.copyColumn(0, buffer, 0, i);
+        column = buffer;
+      }
+      cur = column[--i];
 
       for (; (--i) >= 0;) {
         old = cur;
-        cur = mat.getDouble(i, 0);
+        cur = column[i];
         cmp = Double.compare(cur, old);
         if (cmp < 0) {
           if (order > 0) {
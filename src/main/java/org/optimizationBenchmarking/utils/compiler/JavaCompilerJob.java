@@ -1,5 +1,7 @@
 package org.optimizationBenchmarking.utils.compiler;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
@@ -24,6 +26,15 @@ public final class JavaCompilerJob extends ToolJob implements
   /** the sources */
   private final ArrayListView<JavaFileObject> m_sources;
 
+  /** the class cache directory, or {@code null} if no cache is used */
+  private final Path m_cacheDir;
+
+  /**
+   * the cache file, computed from the digest of the sources when it is
+   * first needed
+   */
+  private volatile Path m_cacheFile;
+
   /**
    * create the compiler job
    *
@@ -31,9 +42,12 @@ public final class JavaCompilerJob extends ToolJob implements
    *          the logger, or {@code null} if no log is used
    * @param sources
    *          the sources
+   * @param cacheDir
+   *          the class cache directory, or {@code null} if no cache is
+   *          used
    */
   JavaCompilerJob(final Logger logger,
-      final Collection<JavaFileObject> sources) {
+      final Collection<JavaFileObject> sources, final Path cacheDir) {
     super(logger);
 
     if ((sources == null) || (sources.isEmpty())) {
@@ -45,6 +59,44 @@ public final class JavaCompilerJob extends ToolJob implements
       throw new IllegalStateException(//
           "Sources have concurrently been emptied."); //$NON-NLS-1$
     }
+    this.m_cacheDir = cacheDir;
+  }
+
+  /**
+   * Check whether the classes of this job are available in the class
+   * cache, i.e., whether {@link #call()} can succeed without a compiler.
+   *
+   * @return {@code true} if the classes can be loaded from the cache,
+   *         {@code false} otherwise
+   */
+  public final boolean isCached() {
+    if (this.m_cacheDir == null) {
+      return false;
+    }
+    try {
+      return Files.isRegularFile(this.__getCacheFile());
+    } catch (final Throwable error) {
+      return false;
+    }
+  }
+
+  /**
+   * Get the cache file of this job. The digest over the sources is only
+   * computed once.
+   *
+   * @return the cache file
+   * @throws Exception
+   *           if the digest cannot be computed
+   */
+  private final Path __getCacheFile() throws Exception {
+    Path file;
+
+    file = this.m_cacheFile;
+    if (file == null) {
+      this.m_cacheFile = file = _ClassCache._getFile(this.m_cacheDir,
+          this.m_sources);
+    }
+    return file;
   }
 
   /** {@inheritDoc} */
@@ -53,8 +105,9 @@ public final class JavaCompilerJob extends ToolJob implements
     final JavaCompilerTool tool;
     final JavaCompiler compiler;
     final _ClassFileManager fileManager;
-    final ClassLoader result;
     final Logger logger;
+    ClassLoader result;
+    Path cacheFile;
     MemoryTextOutput memory;
     int i;
 
@@ -62,6 +115,16 @@ public final class JavaCompilerJob extends ToolJob implements
     try {
       tool = JavaCompilerTool.getInstance();
 
+      if (this.m_cacheDir != null) {
+        cacheFile = this.__getCacheFile();
+        result = _ClassCache._load(cacheFile, logger);
+        if (result != null) {
+          return result;
+        }
+      } else {
+        cacheFile = null;
+      }
+
       compiler = tool.m_compiler;
       if (compiler == null) {
         throw new IllegalStateException(//
@@ -117,6 +180,10 @@ public final class JavaCompilerJob extends ToolJob implements
 
         result = fileManager.loadClasses();
 
+        if (cacheFile != null) {
+          _ClassCache._store(cacheFile, fileManager._getClasses(), logger);
+        }
+
         if ((logger != null) && (logger.isLoggable(Level.FINER))) {
           synchronized (logger) {
             logger.finer(//
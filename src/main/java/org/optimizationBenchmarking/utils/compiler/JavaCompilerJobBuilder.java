@@ -1,5 +1,6 @@
 package org.optimizationBenchmarking.utils.compiler;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 
 import javax.tools.JavaFileObject;
@@ -16,12 +17,40 @@ public final class JavaCompilerJobBuilder extends
   /** the files to compile */
   private final HashMap<String, JavaFileObject> m_files;
 
+  /** the class cache directory, or {@code null} if no cache is used */
+  private Path m_cacheDir;
+
   /** create */
   JavaCompilerJobBuilder() {
     super();
     this.m_files = new HashMap<>();
   }
 
+  /**
+   * Set the directory of the on-disk class cache. If a cache directory is
+   * set, the job will first try to load the compiled classes from there
+   * and only compile them if they are not found. Freshly compiled classes
+   * will then be stored in the cache.
+   *
+   * @param dir
+   *          the cache directory, or {@code null} to not use any cache
+   * @return this builder
+   */
+  public final JavaCompilerJobBuilder setCacheDirectory(final Path dir) {
+    this.m_cacheDir = dir;
+    return this;
+  }
+
+  /**
+   * Get the directory of the on-disk class cache
+   *
+   * @return the directory of the on-disk class cache, or {@code null} if
+   *         no cache is used
+   */
+  public final Path getCacheDirectory() {
+    return this.m_cacheDir;
+  }
+
   /**
    * Add a class to this java compiler job
    *
@@ -75,7 +104,8 @@ public final class JavaCompilerJobBuilder extends
   public final JavaCompilerJob create() {
     this.validate();
     synchronized (this.m_files) {
-      return new JavaCompilerJob(this.getLogger(), this.m_files.values());
+      return new JavaCompilerJob(this.getLogger(), this.m_files.values(),
+          this.m_cacheDir);
     }
   }
 }
@@ -1,5 +1,6 @@
 package org.optimizationBenchmarking.utils.compiler;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -7,6 +8,8 @@ import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
 
 import org.optimizationBenchmarking.utils.collections.lists.ArraySetView;
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.io.paths.PathUtils;
 import org.optimizationBenchmarking.utils.tools.impl.abstr.Tool;
 
 /**
@@ -16,6 +19,15 @@ import org.optimizationBenchmarking.utils.tools.impl.abstr.Tool;
  */
 public class JavaCompilerTool extends Tool {
 
+  /**
+   * the parameter denoting the directory of the on-disk cache for
+   * compiled classes: The cache is only used if this parameter is set.
+   * Since classes loaded from the cache are executed with the rights of
+   * the current process, the directory should only be writable by the
+   * current user.
+   */
+  public static final String PARAM_CLASS_CACHE_DIR = "javaClassCacheDir"; //$NON-NLS-1$
+
   /** the java compiler */
   final JavaCompiler m_compiler;
 
@@ -109,6 +121,41 @@ public class JavaCompilerTool extends Tool {
     return new JavaCompilerJobBuilder();
   }
 
+  /**
+   * Create a job builder whose jobs first try to load the compiled
+   * classes from the {@link #getCacheDirectory() on-disk class cache}.
+   * Different from {@link #use()}, this method does not require a
+   * compiler: as long as the classes are found in the cache, they can be
+   * loaded without one. Only if they need to be compiled, the job will
+   * fail if {@link #canUse()} is {@code false}. If no cache directory has
+   * been configured, this method is the same as {@link #use()}.
+   *
+   * @return the job builder
+   */
+  public final JavaCompilerJobBuilder useCache() {
+    final Path dir;
+
+    dir = this.getCacheDirectory();
+    if (dir == null) {
+      return this.use();
+    }
+    return new JavaCompilerJobBuilder().setCacheDirectory(dir);
+  }
+
+  /**
+   * Get the directory of the on-disk cache for compiled classes. The
+   * cache is opt-in: This directory must be set via the parameter
+   * {@link #PARAM_CLASS_CACHE_DIR}, there is no default location. A
+   * shared default, e.g., in the temp directory, would allow other users
+   * to plant class files which we would then load.
+   *
+   * @return the directory of the on-disk cache for compiled classes, or
+   *         {@code null} if none has been configured
+   */
+  public final Path getCacheDirectory() {
+    return __CacheDirLoader.DIR;
+  }
+
   /** {@inheritDoc} */
   @Override
   public final String toString() {
@@ -131,4 +178,25 @@ public class JavaCompilerTool extends Tool {
     static final JavaCompilerTool INSTANCE = new JavaCompilerTool();
   }
 
+  /** the internal loader class for the class cache directory */
+  private static final class __CacheDirLoader {
+
+    /** the class cache directory */
+    static final Path DIR;
+
+    static {
+      Path dir;
+
+      dir = null;
+      try {
+        dir = Configuration.getRoot().getPath(
+            JavaCompilerTool.PARAM_CLASS_CACHE_DIR, null);
+      } catch (final Throwable t) {
+        dir = null;
+      }
+
+      DIR = ((dir != null) ? PathUtils.normalize(dir) : null);
+    }
+  }
+
 }
@@ -0,0 +1,396 @@
+package org.optimizationBenchmarking.utils.compiler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.tools.JavaFileObject;
+
+import org.optimizationBenchmarking.utils.collections.maps.StringMap;
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+
+/**
+ * An on-disk cache for compiled classes. Each entry is a single file
+ * holding the byte code of all classes produced by one compiler job. The
+ * file name is derived from a digest over the names and sources of the
+ * classes, the version of this library, and the version of the Java
+ * runtime, so neither a changed source nor an update of the library or
+ * the JVM will ever hit an outdated entry. The compiler options are
+ * deliberately not part of the digest: they do not change the behavior
+ * of the classes, and entries must also be found when no compiler (and
+ * hence no options) are available.
+ * <p>
+ * The cache holds at most {@link #MAX_ENTRIES} entries. Whenever a new
+ * entry is stored, the least recently used entries exceeding this limit
+ * are deleted.
+ * </p>
+ */
+final class _ClassCache {
+
+  /** the magic number identifying a cache file */
+  private static final int MAGIC = 0x4F42434C;
+
+  /** the suffix of the cache files */
+  private static final String SUFFIX = ".classes"; //$NON-NLS-1$
+
+  /** the maximum number of entries in a cache directory */
+  static final int MAX_ENTRIES = 256;
+
+  /** the hexadecimal digits */
+  private static final char[] HEX = { '0', '1', '2', '3', '4', '5', '6',
+      '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+  /** the forbidden constructor */
+  private _ClassCache() {
+    ErrorUtils.doNotCall();
+  }
+
+  /**
+   * Get the cache file for a given set of sources.
+   *
+   * @param dir
+   *          the cache directory
+   * @param sources
+   *          the sources
+   * @return the path to the cache file
+   * @throws Exception
+   *           if the digest cannot be computed
+   */
+  static final Path _getFile(final Path dir,
+      final Collection<JavaFileObject> sources) throws Exception {
+    final MessageDigest digest;
+    final String[] texts;
+    final byte[] hash;
+    final char[] chars;
+    int i;
+
+    texts = new String[sources.size()];
+    i = 0;
+    for (final JavaFileObject source : sources) {
+      texts[i++] = (source.toUri().toString() + '\n' + //
+      source.getCharContent(true));
+    }
+    // the order of the sources does not matter, but the digest must not
+    // depend on it
+    Arrays.sort(texts, 0, i);
+
+    digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+    digest.update(__VersionLoader.VERSION);
+    for (final String text : texts) {
+      digest.update(text.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+
+    hash = digest.digest();
+    chars = new char[hash.length << 1];
+    i = 0;
+    for (final byte b : hash) {
+      chars[i++] = _ClassCache.HEX[(b >>> 4) & 0xf];
+      chars[i++] = _ClassCache.HEX[b & 0xf];
+    }
+
+    return dir.resolve(String.valueOf(chars) + _ClassCache.SUFFIX);
+  }
+
+  /**
+   * Try to load the classes stored in a cache file.
+   *
+   * @param file
+   *          the cache file
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   * @return the class loader holding the classes, or {@code null} if the
+   *         file does not exist or cannot be read
+   */
+  static final ClassLoader _load(final Path file, final Logger logger) {
+    final _InternalClassLoader loader;
+    final String[] names;
+    byte[] data;
+    int i;
+
+    if (!(Files.isRegularFile(file))) {
+      if ((logger != null) && (logger.isLoggable(Level.INFO))) {
+        synchronized (logger) {
+          logger.info("Class cache miss: '" + file + //$NON-NLS-1$
+              "' does not exist, classes need to be compiled."); //$NON-NLS-1$
+        }
+      }
+      return null;
+    }
+
+    try (final DataInputStream dis = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file)))) {
+      if (dis.readInt() != _ClassCache.MAGIC) {
+        throw new IOException("Invalid magic number."); //$NON-NLS-1$
+      }
+
+      i = dis.readInt();
+      if (i <= 0) {
+        throw new IOException("Invalid number of classes: " + i); //$NON-NLS-1$
+      }
+      names = new String[i];
+      loader = new _InternalClassLoader();
+      for (i = 0; i < names.length; i++) {
+        names[i] = dis.readUTF();
+        data = new byte[dis.readInt()];
+        dis.readFully(data);
+        loader._add(names[i], data);
+      }
+      if (dis.read() >= 0) {
+        throw new IOException("Unexpected data at end of file."); //$NON-NLS-1$
+      }
+
+      for (final String name : names) {
+        loader._load(name);
+      }
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        synchronized (logger) {
+          logger.log(Level.WARNING,
+              "Class cache file '" + file + //$NON-NLS-1$
+                  "' cannot be used, classes need to be compiled.", //$NON-NLS-1$
+              error);
+        }
+      }
+      return null;
+    }
+
+    try {
+      // mark the entry as recently used, so that it is pruned last
+      Files.setLastModifiedTime(file,
+          FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (final Throwable ignore) {
+      // ignore
+    }
+
+    if ((logger != null) && (logger.isLoggable(Level.INFO))) {
+      synchronized (logger) {
+        logger.info(((("Class cache hit: loaded " + names.length) + //$NON-NLS-1$
+            " classes from '") + file) + '\'' + '.');//$NON-NLS-1$
+      }
+    }
+    return loader;
+  }
+
+  /**
+   * Store compiled classes in a cache file. The data is first written to
+   * a temporary file which is then moved to the destination, so that
+   * concurrent processes never see partially written entries. Afterwards,
+   * the directory is {@link #__prune(Path, Logger) pruned}. Failing to
+   * store the classes is logged but otherwise ignored.
+   *
+   * @param file
+   *          the cache file
+   * @param classes
+   *          the classes
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   */
+  static final void _store(final Path file,
+      final StringMap<_ByteArrayJavaFileObject> classes,
+      final Logger logger) {
+    final Path dir;
+    Path temp;
+    byte[] data;
+
+    temp = null;
+    try {
+      dir = file.getParent();
+      Files.createDirectories(dir);
+      temp = Files.createTempFile(dir, null, _ClassCache.SUFFIX);
+
+      try (final DataOutputStream dos = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        dos.writeInt(_ClassCache.MAGIC);
+        dos.writeInt(classes.size());
+        for (final Map.Entry<String, _ByteArrayJavaFileObject> e : classes) {
+          data = e.getValue().getBytes();
+          dos.writeUTF(e.getKey());
+          dos.writeInt(data.length);
+          dos.write(data);
+        }
+      }
+
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException amnse) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      temp = null;
+
+      if ((logger != null) && (logger.isLoggable(Level.FINE))) {
+        synchronized (logger) {
+          logger.fine("Compiled classes stored in class cache file '" + //$NON-NLS-1$
+              file + '\'' + '.');
+        }
+      }
+
+      _ClassCache.__prune(dir, logger);
+    } catch (final Throwable error) {
+      if ((logger != null) && (logger.isLoggable(Level.WARNING))) {
+        synchronized (logger) {
+          logger.log(Level.WARNING,
+              "Compiled classes cannot be stored in class cache file '" + //$NON-NLS-1$
+                  file + '\'' + '.', error);
+        }
+      }
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (final Throwable ignore) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /**
+   * Delete the least recently used entries of a cache directory if it
+   * holds more than {@link #MAX_ENTRIES} entries. Entries which cannot be
+   * deleted, e.g., because another process already did so, are ignored.
+   *
+   * @param dir
+   *          the cache directory
+   * @param logger
+   *          the logger, or {@code null} if none is used
+   * @throws IOException
+   *           if the directory cannot be listed
+   */
+  private static final void __prune(final Path dir, final Logger logger)
+      throws IOException {
+    final ArrayList<__Entry> entries;
+    int i, deleted;
+
+    entries = new ArrayList<>();
+    try (final DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+        '*' + _ClassCache.SUFFIX)) {
+      for (final Path file : files) {
+        try {
+          entries.add(new __Entry(file, //
+              Files.getLastModifiedTime(file).toMillis()));
+        } catch (final IOException ignore) {
+          // the file has been deleted concurrently
+        }
+      }
+    }
+
+    i = (entries.size() - _ClassCache.MAX_ENTRIES);
+    if (i <= 0) {
+      return;
+    }
+
+    Collections.sort(entries);
+    deleted = 0;
+    for (final __Entry entry : entries) {
+      if ((--i) < 0) {
+        break;
+      }
+      try {
+        if (Files.deleteIfExists(entry.m_file)) {
+          deleted++;
+        }
+      } catch (final Throwable ignore) {
+        // ignore
+      }
+    }
+
+    if ((deleted > 0) && (logger != null)
+        && (logger.isLoggable(Level.FINE))) {
+      synchronized (logger) {
+        logger.fine(((("Deleted " + deleted) + //$NON-NLS-1$
+            " least recently used entries from class cache '") + //$NON-NLS-1$
+            dir) + '\'' + '.');
+      }
+    }
+  }
+
+  /** an entry of the cache directory */
+  private static final class __Entry implements Comparable<__Entry> {
+
+    /** the file */
+    final Path m_file;
+
+    /** the time of the last use */
+    final long m_time;
+
+    /**
+     * create the entry
+     *
+     * @param file
+     *          the file
+     * @param time
+     *          the time of the last use
+     */
+    __Entry(final Path file, final long time) {
+      super();
+      this.m_file = file;
+      this.m_time = time;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compareTo(final __Entry o) {
+      return Long.compare(this.m_time, o.m_time);
+    }
+  }
+
+  /** the internal loader class for the version part of the cache key */
+  private static final class __VersionLoader {
+
+    /**
+     * the version of this library and of the Java runtime, as bytes to
+     * be fed into the digest
+     */
+    static final byte[] VERSION;
+
+    static {
+      final Properties properties;
+      final Package pack;
+      String version;
+
+      version = null;
+      properties = new Properties();
+      try (final InputStream input = _ClassCache.class
+          .getResourceAsStream("_ClassCache.properties")) { //$NON-NLS-1$
+        if (input != null) {
+          properties.load(input);
+          version = properties.getProperty("project.version"); //$NON-NLS-1$
+        }
+      } catch (final Throwable error) {
+        version = null;
+      }
+
+      // an unfiltered resource means we run from an IDE or build folder
+      if ((version == null) || (version.indexOf('$') >= 0)) {
+        pack = _ClassCache.class.getPackage();
+        version = ((pack != null) ? pack.getImplementationVersion()
+            : null);
+      }
+
+      VERSION = ((String.valueOf(version) + '\n' + //
+      System.getProperty("java.version") + '\n' //$NON-NLS-1$
+      + System.getProperty("java.vm.version") + '\n')//$NON-NLS-1$
+          .getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -54,6 +54,15 @@ class _ClassFileManager extends
     return l;
   }
 
+  /**
+   * get the compiled classes
+   *
+   * @return the map of class names to compiled classes
+   */
+  final StringMap<_ByteArrayJavaFileObject> _getClasses() {
+    return this.m_classes;
+  }
+
   /**
    * Gives the compiler an instance of the JavaClassObject so that the
    * compiler can write the byte code into it.
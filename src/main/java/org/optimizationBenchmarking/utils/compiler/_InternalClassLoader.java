@@ -19,8 +19,18 @@ final class _InternalClassLoader extends SecureClassLoader {
    *          the file object
    */
   final void _add(final String name, final _ByteArrayJavaFileObject bajfo) {
-    final byte[] b;
-    b = bajfo.getBytes();
+    this._add(name, bajfo.getBytes());
+  }
+
+  /**
+   * add a class from its byte code
+   *
+   * @param name
+   *          the class name
+   * @param b
+   *          the byte code
+   */
+  final void _add(final String name, final byte[] b) {
     this.defineClass(name, b, 0, b.length);
   }
 
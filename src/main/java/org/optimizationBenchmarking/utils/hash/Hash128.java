@@ -0,0 +1,269 @@
+package org.optimizationBenchmarking.utils.hash;
+
+/**
+ * A builder for 128 bit hash values. Primitive values and strings are
+ * appended one by one and mixed into the hash state following the
+ * structure of the 128 bit MurmurHash3 algorithm, where each block
+ * consists of two {@code long} values. The resulting hashes are not
+ * cryptographically secure, but they are fast to compute and well suited
+ * for fingerprinting data. Reading the hash via {@link #getHigh()},
+ * {@link #getLow()}, or {@link #toString()} does not change the state of
+ * the builder, i.e., more values can be appended afterwards.
+ */
+public final class Hash128 {
+
+  /** the first multiplier */
+  private static final long C1 = 0x87c37b91114253d5L;
+  /** the second multiplier */
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  /** the hexadecimal digits */
+  private static final char[] HEX = { '0', '1', '2', '3', '4', '5', '6',
+      '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+  /** the first half of the state */
+  private long m_h1;
+  /** the second half of the state */
+  private long m_h2;
+  /** the value waiting for its partner to form a block */
+  private long m_pending;
+  /** the number of appended {@code long} values */
+  private long m_count;
+
+  /** create the hash builder */
+  public Hash128() {
+    this(0L);
+  }
+
+  /**
+   * create the hash builder
+   *
+   * @param seed
+   *          the seed
+   */
+  public Hash128(final long seed) {
+    super();
+    this.m_h1 = seed;
+    this.m_h2 = seed;
+  }
+
+  /**
+   * Finalize a half of the state
+   *
+   * @param k
+   *          the value
+   * @return the mixed value
+   */
+  private static final long __fmix(final long k) {
+    long x;
+
+    x = k;
+    x ^= (x >>> 33);
+    x *= 0xff51afd7ed558ccdL;
+    x ^= (x >>> 33);
+    x *= 0xc4ceb9fe1a85ec53L;
+    x ^= (x >>> 33);
+    return x;
+  }
+
+  /**
+   * Append a {@code long} value
+   *
+   * @param value
+   *          the value
+   * @return this builder
+   */
+  public final Hash128 append(final long value) {
+    long k1, k2, h1, h2;
+
+    if ((this.m_count & 1L) == 0L) {
+      this.m_pending = value;
+    } else {
+      k1 = this.m_pending;
+      k2 = value;
+      h1 = this.m_h1;
+      h2 = this.m_h2;
+
+      k1 *= Hash128.C1;
+      k1 = Long.rotateLeft(k1, 31);
+      k1 *= Hash128.C2;
+      h1 ^= k1;
+
+      h1 = Long.rotateLeft(h1, 27);
+      h1 += h2;
+      h1 = ((h1 * 5L) + 0x52dce729L);
+
+      k2 *= Hash128.C2;
+      k2 = Long.rotateLeft(k2, 33);
+      k2 *= Hash128.C1;
+      h2 ^= k2;
+
+      h2 = Long.rotateLeft(h2, 31);
+      h2 += h1;
+      h2 = ((h2 * 5L) + 0x38495ab5L);
+
+      this.m_h1 = h1;
+      this.m_h2 = h2;
+    }
+    this.m_count++;
+    return this;
+  }
+
+  /**
+   * Append an {@code int} value
+   *
+   * @param value
+   *          the value
+   * @return this builder
+   */
+  public final Hash128 append(final int value) {
+    return this.append((long) value);
+  }
+
+  /**
+   * Append a {@code boolean} value
+   *
+   * @param value
+   *          the value
+   * @return this builder
+   */
+  public final Hash128 append(final boolean value) {
+    return this.append(value ? 1L : 0L);
+  }
+
+  /**
+   * Append a {@code double} value. All {@code NaN} values are treated as
+   * the same value.
+   *
+   * @param value
+   *          the value
+   * @return this builder
+   */
+  public final Hash128 append(final double value) {
+    return this.append(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Append a string, which may be {@code null}
+   *
+   * @param value
+   *          the string
+   * @return this builder
+   */
+  public final Hash128 append(final String value) {
+    final int length;
+    long block;
+    int i;
+
+    if (value == null) {
+      return this.append(-1L);
+    }
+
+    length = value.length();
+    this.append(length);
+    block = 0L;
+    for (i = 0; i < length; i++) {
+      block = ((block << 16) | value.charAt(i));
+      if ((i & 3) == 3) {
+        this.append(block);
+        block = 0L;
+      }
+    }
+    if ((length & 3) != 0) {
+      this.append(block);
+    }
+    return this;
+  }
+
+  /**
+   * Append the current value of another hash builder
+   *
+   * @param hash
+   *          the other hash builder
+   * @return this builder
+   */
+  public final Hash128 append(final Hash128 hash) {
+    final long[] other;
+
+    other = hash.__finish();
+    return this.append(other[0]).append(other[1]);
+  }
+
+  /**
+   * Compute the hash value from the current state
+   *
+   * @return the two halves of the hash value
+   */
+  private final long[] __finish() {
+    long h1, h2, k1, length;
+
+    h1 = this.m_h1;
+    h2 = this.m_h2;
+
+    if ((this.m_count & 1L) != 0L) {
+      k1 = this.m_pending;
+      k1 *= Hash128.C1;
+      k1 = Long.rotateLeft(k1, 31);
+      k1 *= Hash128.C2;
+      h1 ^= k1;
+    }
+
+    length = (this.m_count << 3);
+    h1 ^= length;
+    h2 ^= length;
+
+    h1 += h2;
+    h2 += h1;
+
+    h1 = Hash128.__fmix(h1);
+    h2 = Hash128.__fmix(h2);
+
+    h1 += h2;
+    h2 += h1;
+
+    return new long[] { h1, h2 };
+  }
+
+  /**
+   * Get the upper 64 bits of the hash value
+   *
+   * @return the upper 64 bits of the hash value
+   */
+  public final long getHigh() {
+    return this.__finish()[0];
+  }
+
+  /**
+   * Get the lower 64 bits of the hash value
+   *
+   * @return the lower 64 bits of the hash value
+   */
+  public final long getLow() {
+    return this.__finish()[1];
+  }
+
+  /**
+   * Get the hash value as string of 32 hexadecimal digits
+   *
+   * @return the hash value as string
+   */
+  @Override
+  public final String toString() {
+    final char[] chars;
+    final long[] hash;
+    long value;
+    int i, j;
+
+    hash = this.__finish();
+    chars = new char[32];
+    j = 32;
+    for (i = 2; (--i) >= 0;) {
+      value = hash[i];
+      do {
+        chars[--j] = Hash128.HEX[((int) (value & 15L))];
+        value >>>= 4;
+      } while ((j & 15) != 0);
+    }
+    return String.valueOf(chars);
+  }
+}
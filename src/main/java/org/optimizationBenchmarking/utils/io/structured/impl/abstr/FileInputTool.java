@@ -301,9 +301,14 @@ public class FileInputTool<S> extends IOTool<S> implements
             ((("Finished decompressing to temporary folder '" //$NON-NLS-1$
             + path) + '\'') + '.'));
       }
-      this._path(job, data, path,
-          Files.readAttributes(path, BasicFileAttributes.class), encoding,
-          null);
+      job.m_temporary++;
+      try {
+        this._path(job, data, path,
+            Files.readAttributes(path, BasicFileAttributes.class),
+            encoding, null);
+      } finally {
+        job.m_temporary--;
+      }
     }
   }
 
@@ -29,6 +29,12 @@ public class IOJob extends ToolJob {
   /** the current location */
   Object m_current;
 
+  /**
+   * the number of nested temporary folders, e.g., into which archives
+   * have been extracted, the current location is in
+   */
+  int m_temporary;
+
   /**
    * create the _IOJob
    *
@@ -130,6 +136,19 @@ public class IOJob extends ToolJob {
     return this.m_id;
   }
 
+  /**
+   * Is the job currently reading from a temporary folder, e.g., into which
+   * an archive has been extracted? Such a folder is deleted right after
+   * its contents have been read, so no reference to any file inside of it
+   * may be kept.
+   *
+   * @return {@code true} if the current location is inside a temporary
+   *         folder, {@code false} otherwise
+   */
+  public final boolean isInTemporaryFolder() {
+    return (this.m_temporary > 0);
+  }
+
   /**
    * Get the token returned by
    * {@link org.optimizationBenchmarking.utils.io.structured.impl.abstr.IOTool#before(IOJob, Object)}
@@ -250,6 +250,55 @@ public class UnaryFunction extends MathematicalFunction {
     return this.computeAsDouble((long) x0);
   }
 
+  /**
+   * Compute the function value in the {@code double} domain for all
+   * elements of an array range, replacing each element with its result.
+   * The result is exactly the same as calling
+   * {@link #computeAsDouble(double)} on each element, but sub-classes
+   * composed of other functions may override this method to process the
+   * whole range with each of their parts in turn, which avoids the
+   * dispatch through the composition for every single element.
+   *
+   * @param data
+   *          the array with the arguments, which will receive the results
+   * @param start
+   *          the first index to process
+   * @param end
+   *          the exclusive end index
+   */
+  public void computeAllAsDouble(final double[] data, final int start,
+      final int end) {
+    int i;
+
+    for (i = start; i < end; i++) {
+      data[i] = this.computeAsDouble(data[i]);
+    }
+  }
+
+  /**
+   * Compute the function result as {@code double} for all {@code long}
+   * elements of an array range. The result is exactly the same as calling
+   * {@link #computeAsDouble(long)} on each element.
+   *
+   * @param source
+   *          the array with the arguments
+   * @param dest
+   *          the destination array
+   * @param start
+   *          the first index to process, in both arrays
+   * @param end
+   *          the exclusive end index
+   * @see #computeAllAsDouble(double[], int, int)
+   */
+  public void computeAllAsDouble(final long[] source, final double[] dest,
+      final int start, final int end) {
+    int i;
+
+    for (i = start; i < end; i++) {
+      dest[i] = this.computeAsDouble(source[i]);
+    }
+  }
+
   /**
    * Delegate the function call with open parameter count to the
    * corresponding function with exactly 1 parameter.
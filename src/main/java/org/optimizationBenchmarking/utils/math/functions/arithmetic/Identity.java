@@ -54,6 +54,13 @@ public final class Identity extends UnaryFunction {
     return x0;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void computeAllAsDouble(final double[] data,
+      final int start, final int end) {
+    //
+  }
+
   /** {@inheritDoc} */
   @Override
   public final Identity invertFor(final int index) {
@@ -52,6 +52,29 @@ public class ChainedUnary extends UnaryFunction {
     return this.m_outer.computeAsDouble(this.m_inner.computeAsDouble(x0));
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The inner function is applied to the whole range first, then the
+   * outer function, so each part of a chain of functions processes the
+   * whole range in one tight loop.
+   * </p>
+   */
+  @Override
+  public final void computeAllAsDouble(final double[] data,
+      final int start, final int end) {
+    this.m_inner.computeAllAsDouble(data, start, end);
+    this.m_outer.computeAllAsDouble(data, start, end);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void computeAllAsDouble(final long[] source,
+      final double[] dest, final int start, final int end) {
+    this.m_inner.computeAllAsDouble(source, dest, start, end);
+    this.m_outer.computeAllAsDouble(dest, start, end);
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -53,6 +53,32 @@ public class FixedScale extends UnaryFunction {
     return (this.m_scale * this.m_f.computeAsDouble(x0));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void computeAllAsDouble(final double[] data,
+      final int start, final int end) {
+    final double scale;
+    int i;
+
+    this.m_f.computeAllAsDouble(data, start, end);
+    scale = this.m_scale;
+    for (i = start; i < end; i++) {
+      data[i] = (scale * data[i]);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void computeAllAsDouble(final long[] source,
+      final double[] dest, final int start, final int end) {
+    int i;
+
+    for (i = start; i < end; i++) {
+      dest[i] = source[i];
+    }
+    this.computeAllAsDouble(dest, start, end);
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -20,6 +20,9 @@ import org.optimizationBenchmarking.utils.text.textOutput.MemoryTextOutput;
 /** The base class for matrix implementations. */
 public class AbstractMatrix implements IMatrix, ITextable {
 
+  /** the number of rows copied at once when a column is aggregated */
+  private static final int AGGREGATE_BLOCK = 1024;
+
   /** create */
   protected AbstractMatrix() {
     super();
@@ -433,11 +436,21 @@ public class AbstractMatrix implements IMatrix, ITextable {
     return new DoubleMatrix1D(ddata, m, n);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The values of the column are read from the array backing the column,
+   * if any, or {@link #copyColumn(int, long[], int, int) copied in bulk}
+   * in blocks of {@value #AGGREGATE_BLOCK} rows. They are appended to the
+   * aggregate from the last row to the first one.
+   * </p>
+   */
   @Override
   public void aggregateColumn(final int column, final IAggregate aggregate) {
     final int n, m;
-    int i;
+    long[] longs;
+    double[] doubles;
+    int i, start, end;
 
     m = this.m();
     if (m > 0) {
@@ -449,12 +462,36 @@ public class AbstractMatrix implements IMatrix, ITextable {
 
       if (this.isIntegerMatrix()
           || (((n > 1) && (this.selectColumns(column).isIntegerMatrix())))) {
-        for (i = m; (--i) >= 0;) {
-          aggregate.append(this.getLong(i, column));
+        longs = this.getLongColumnArray(column);
+        if (longs != null) {
+          for (i = m; (--i) >= 0;) {
+            aggregate.append(longs[i]);
+          }
+          return;
+        }
+        longs = new long[Math.min(m, AbstractMatrix.AGGREGATE_BLOCK)];
+        for (end = m; end > 0; end = start) {
+          start = Math.max(0, (end - longs.length));
+          this.copyColumn(column, longs, start, end);
+          for (i = (end - start); (--i) >= 0;) {
+            aggregate.append(longs[i]);
+          }
         }
       } else {
-        for (i = m; (--i) >= 0;) {
-          aggregate.append(this.getDouble(i, column));
+        doubles = this.getDoubleColumnArray(column);
+        if (doubles != null) {
+          for (i = m; (--i) >= 0;) {
+            aggregate.append(doubles[i]);
+          }
+          return;
+        }
+        doubles = new double[Math.min(m, AbstractMatrix.AGGREGATE_BLOCK)];
+        for (end = m; end > 0; end = start) {
+          start = Math.max(0, (end - doubles.length));
+          this.copyColumn(column, doubles, start, end);
+          for (i = (end - start); (--i) >= 0;) {
+            aggregate.append(doubles[i]);
+          }
         }
       }
     }
@@ -487,4 +524,70 @@ public class AbstractMatrix implements IMatrix, ITextable {
     }
   }
 
+  /**
+   * Check the parameters of a {@code copyColumn} call
+   *
+   * @param matrix
+   *          the matrix
+   * @param column
+   *          the column index
+   * @param destLength
+   *          the length of the destination array
+   * @param from
+   *          the first row to copy
+   * @param to
+   *          the exclusive end row
+   */
+  public static final void checkCopyColumn(final IMatrix matrix,
+      final int column, final int destLength, final int from, final int to) {
+    final int m, n;
+
+    m = matrix.m();
+    n = matrix.n();
+    if ((column < 0) || (column >= n) || (from < 0) || (from > to)
+        || (to > m) || ((to - from) > destLength)) {
+      throw new IndexOutOfBoundsException(//
+          "Cannot copy rows " + from + ".." + to + //$NON-NLS-1$ //$NON-NLS-2$
+              " of column " + column + //$NON-NLS-1$
+              " to an array of length " + destLength + //$NON-NLS-1$
+              ", the valid index range is (0.." + m + //$NON-NLS-1$
+              ", 0.." + (n - 1) + ")."); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    for (i = from, j = 0; i < to; i++, j++) {
+      dest[j] = this.getLong(i, column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    int i, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    for (i = from, j = 0; i < to; i++, j++) {
+      dest[j] = this.getDouble(i, column);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long[] getLongColumnArray(final int column) {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double[] getDoubleColumnArray(final int column) {
+    return null;
+  }
 }
@@ -150,4 +150,72 @@ public interface IMatrix {
    */
   public abstract void aggregateRow(final int row,
       final IAggregate aggregate);
+
+  /**
+   * Copy the {@code long} values of the rows {@code from} (inclusive) to
+   * {@code to} (exclusive) of a given column into {@code dest}, starting
+   * at index {@code 0}. This is equivalent to setting
+   * {@code dest[i-from]=}{@link #getLong(int, int) getLong(i, column)}
+   * for all {@code i} in {@code from..to-1}, but implementations can do
+   * this in bulk, without a virtual method call per value.
+   *
+   * @param column
+   *          the column index
+   * @param dest
+   *          the destination array
+   * @param from
+   *          the first row to copy
+   * @param to
+   *          the exclusive end row
+   */
+  public abstract void copyColumn(final int column, final long[] dest,
+      final int from, final int to);
+
+  /**
+   * Copy the {@code double} values of the rows {@code from} (inclusive)
+   * to {@code to} (exclusive) of a given column into {@code dest},
+   * starting at index {@code 0}. This is equivalent to setting
+   * {@code dest[i-from]=}{@link #getDouble(int, int) getDouble(i, column)}
+   * for all {@code i} in {@code from..to-1}, but implementations can do
+   * this in bulk, without a virtual method call per value.
+   *
+   * @param column
+   *          the column index
+   * @param dest
+   *          the destination array
+   * @param from
+   *          the first row to copy
+   * @param to
+   *          the exclusive end row
+   */
+  public abstract void copyColumn(final int column, final double[] dest,
+      final int from, final int to);
+
+  /**
+   * Get the array backing a given column, if the values of the column are
+   * stored as one {@code long[]} array whose elements are exactly the
+   * values {@link #getLong(int, int) getLong(i, column)}. The array is not
+   * copied and must therefore never be modified. Only its first
+   * {@link #m()} elements belong to the column.
+   *
+   * @param column
+   *          the column index
+   * @return the backing array, or {@code null} if the column is not
+   *         backed by such an array
+   */
+  public abstract long[] getLongColumnArray(final int column);
+
+  /**
+   * Get the array backing a given column, if the values of the column are
+   * stored as one {@code double[]} array whose elements are exactly the
+   * values {@link #getDouble(int, int) getDouble(i, column)}. The array is
+   * not copied and must therefore never be modified. Only its first
+   * {@link #m()} elements belong to the column.
+   *
+   * @param column
+   *          the column index
+   * @return the backing array, or {@code null} if the column is not
+   *         backed by such an array
+   */
+  public abstract double[] getDoubleColumnArray(final int column);
 }
@@ -51,6 +51,32 @@ public class MatrixColumns<OT extends IMatrix> extends AbstractMatrix {
     return this.m_owner.getLong(row, this.m_cols[column]);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    this.m_owner.copyColumn(this.m_cols[column], dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    this.m_owner.copyColumn(this.m_cols[column], dest, from, to);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long[] getLongColumnArray(final int column) {
+    return this.m_owner.getLongColumnArray(this.m_cols[column]);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double[] getDoubleColumnArray(final int column) {
+    return this.m_owner.getDoubleColumnArray(this.m_cols[column]);
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean isIntegerMatrix() {
@@ -80,6 +80,40 @@ public class IntMatrix1D extends AbstractMatrix {
     return super.getLong(row, column);// throw IndexOutOfBoundsException
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    final int[] data;
+    final int n;
+    int index, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    data = this.m_data;
+    n = this.m_n;
+    index = ((from * n) + column);
+    for (j = 0; j < (to - from); j++, index += n) {
+      dest[j] = data[index];
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    final int[] data;
+    final int n;
+    int index, j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    data = this.m_data;
+    n = this.m_n;
+    index = ((from * n) + column);
+    for (j = 0; j < (to - from); j++, index += n) {
+      dest[j] = data[index];
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public final boolean isIntegerMatrix() {
@@ -0,0 +1,116 @@
+package org.optimizationBenchmarking.utils.math.matrix.impl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.optimizationBenchmarking.utils.error.ErrorUtils;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * Write matrices to and read them from binary streams. A matrix is stored
+ * as a compact block of primitive values: a flag indicating whether it is
+ * an {@link IMatrix#isIntegerMatrix() integer matrix}, its dimensions, and
+ * then its values column by column, either as {@code long} or as
+ * {@code double} values. The matrices read back are
+ * {@link LongMatrix1D} or {@link DoubleMatrix1D} instances with the same
+ * values.
+ */
+public final class MatrixIO {
+
+  /** the forbidden constructor */
+  private MatrixIO() {
+    ErrorUtils.doNotCall();
+  }
+
+  /**
+   * Write a matrix to a binary output
+   *
+   * @param matrix
+   *          the matrix
+   * @param out
+   *          the output
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final void write(final IMatrix matrix, final DataOutput out)
+      throws IOException {
+    final boolean isInteger;
+    final int m, n;
+    long[] longs;
+    double[] doubles;
+    int column, row;
+
+    isInteger = matrix.isIntegerMatrix();
+    m = matrix.m();
+    n = matrix.n();
+    out.writeBoolean(isInteger);
+    out.writeInt(m);
+    out.writeInt(n);
+
+    longs = null;
+    doubles = null;
+    for (column = 0; column < n; column++) {
+      if (isInteger) {
+        if (longs == null) {
+          longs = new long[m];
+        }
+        matrix.copyColumn(column, longs, 0, m);
+        for (row = 0; row < m; row++) {
+          out.writeLong(longs[row]);
+        }
+      } else {
+        if (doubles == null) {
+          doubles = new double[m];
+        }
+        matrix.copyColumn(column, doubles, 0, m);
+        for (row = 0; row < m; row++) {
+          out.writeDouble(doubles[row]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Read a matrix written by {@link #write(IMatrix, DataOutput)}
+   *
+   * @param in
+   *          the input
+   * @return the matrix
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final IMatrix read(final DataInput in) throws IOException {
+    final boolean isInteger;
+    final int m, n;
+    final long[] longs;
+    final double[] doubles;
+    int column, row;
+
+    isInteger = in.readBoolean();
+    m = in.readInt();
+    n = in.readInt();
+    if ((m <= 0) || (n <= 0)) {
+      throw new IOException(((("Invalid matrix dimensions " + m) + '*') //$NON-NLS-1$
+          + n) + '.');
+    }
+
+    if (isInteger) {
+      longs = new long[m * n];
+      for (column = 0; column < n; column++) {
+        for (row = 0; row < m; row++) {
+          longs[(row * n) + column] = in.readLong();
+        }
+      }
+      return new LongMatrix1D(longs, m, n);
+    }
+
+    doubles = new double[m * n];
+    for (column = 0; column < n; column++) {
+      for (row = 0; row < m; row++) {
+        doubles[(row * n) + column] = in.readDouble();
+      }
+    }
+    return new DoubleMatrix1D(doubles, m, n);
+  }
+}
@@ -1,15 +1,28 @@
 package org.optimizationBenchmarking.utils.math.matrix.processing;
 
+import java.util.concurrent.ForkJoinTask;
+
 import org.optimizationBenchmarking.utils.math.functions.UnaryFunction;
 import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.LongMatrix1D;
 
 /**
  * A matrix which is based on applying a unary function to the columns of
- * another matrix.
+ * another matrix. The functions are applied lazily whenever an element is
+ * accessed. If the elements will be read many times, the matrix can be
+ * {@link #materialize() materialized} into a plain matrix, which applies
+ * the functions to all elements exactly once.
  */
 public class ColumnTransformedMatrix extends AbstractMatrix {
 
+  /**
+   * the number of rows above which materialization is split into parallel
+   * chunks inside a {@link java.util.concurrent.ForkJoinPool}
+   */
+  static final int _CHUNK = 4096;
+
   /** the functions used for transformation */
   private final UnaryFunction[] m_functions;
 
@@ -119,6 +132,233 @@ public class ColumnTransformedMatrix extends AbstractMatrix {
     return super.getLong(row, column);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Columns whose values are computed as {@code double}s are copied from
+   * the source matrix in bulk and then transformed in one pass with
+   * {@link UnaryFunction#computeAllAsDouble(double[], int, int)} or
+   * {@link UnaryFunction#computeAllAsDouble(long[], double[], int, int)}.
+   * </p>
+   */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    final long[] temp;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    switch (this.m_intCol[column]) {
+      case 0: {
+        this.m_source.copyColumn(column, dest, from, to);
+        this.m_functions[column].computeAllAsDouble(dest, 0, (to - from));
+        return;
+      }
+      case 1: {
+        temp = new long[to - from];
+        this.m_source.copyColumn(column, temp, from, to);
+        this.m_functions[column].computeAllAsDouble(temp, dest, 0,
+            temp.length);
+        return;
+      }
+      default: {
+        super.copyColumn(column, dest, from, to);
+      }
+    }
+  }
+
+  /**
+   * Materialize a range of rows, either into a row-major destination
+   * array or into one destination array per column. For each column, the
+   * values of the rows are copied from the source matrix in bulk,
+   * transformed in one pass, and then written into the destination.
+   *
+   * @param doubles
+   *          the row-major {@code double} destination array if no column
+   *          is an integer column, or {@code null}
+   * @param longs
+   *          the row-major {@code long} destination array if all columns
+   *          are computed as {@code long}s, or {@code null}
+   * @param doubleColumns
+   *          the {@code double} destination arrays of the columns, only
+   *          used if {@code doubles} and {@code longs} are {@code null}
+   * @param longColumns
+   *          the {@code long} destination arrays of the columns, only used
+   *          if {@code doubles} and {@code longs} are {@code null}: For
+   *          integer columns whose function is not accurate in the
+   *          {@code long} arithmetic, the original values are stored
+   * @param from
+   *          the first row
+   * @param to
+   *          the exclusive end row
+   */
+  final void _materialize(final double[] doubles, final long[] longs,
+      final double[][] doubleColumns, final long[][] longColumns,
+      final int from, final int to) {
+    final int n, length;
+    double[] doubleTemp;
+    long[] longTemp;
+    UnaryFunction function;
+    int column, index, j;
+
+    n = this.m_functions.length;
+    length = (to - from);
+    doubleTemp = null;
+    longTemp = null;
+
+    for (column = 0; column < n; column++) {
+      function = this.m_functions[column];
+      switch (this.m_intCol[column]) {
+        case 0: {
+          if (doubleTemp == null) {
+            doubleTemp = new double[length];
+          }
+          this.m_source.copyColumn(column, doubleTemp, from, to);
+          function.computeAllAsDouble(doubleTemp, 0, length);
+          break;
+        }
+        case 1: {
+          if (doubleTemp == null) {
+            doubleTemp = new double[length];
+          }
+          if (longTemp == null) {
+            longTemp = new long[length];
+          }
+          this.m_source.copyColumn(column, longTemp, from, to);
+          function.computeAllAsDouble(longTemp, doubleTemp, 0, length);
+          break;
+        }
+        default: {
+          if (longTemp == null) {
+            longTemp = new long[length];
+          }
+          this.m_source.copyColumn(column, longTemp, from, to);
+          for (j = 0; j < length; j++) {
+            longTemp[j] = function.computeAsLong(longTemp[j]);
+          }
+        }
+      }
+
+      if (doubles != null) {
+        index = ((from * n) + column);
+        for (j = 0; j < length; j++, index += n) {
+          doubles[index] = doubleTemp[j];
+        }
+      } else {
+        if (longs != null) {
+          index = ((from * n) + column);
+          for (j = 0; j < length; j++, index += n) {
+            longs[index] = longTemp[j];
+          }
+        } else {
+          if (doubleColumns[column] != null) {
+            System.arraycopy(doubleTemp, 0, doubleColumns[column], from,
+                length);
+          }
+          if (longColumns[column] != null) {
+            System.arraycopy(longTemp, 0, longColumns[column], from,
+                length);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Materialize this matrix: Apply the transformation functions to all
+   * elements once and store the results in a compact matrix backed by a
+   * single primitive array. Reading the elements of the returned matrix
+   * does not invoke the functions anymore, which pays off if the elements
+   * are read many times, e.g., when painting charts or computing several
+   * aggregates. The transformation is done column by column in bulk. If
+   * called from within a {@link java.util.concurrent.ForkJoinPool}, large
+   * matrices are split into chunks of rows which are transformed in
+   * parallel.
+   * <p>
+   * If all columns are integer columns whose functions are
+   * {@link UnaryFunction#isLongArithmeticAccurate() accurate in the long
+   * arithmetic}, the result is a {@link LongMatrix1D}. If no column is an
+   * integer column, the result is a {@link DoubleMatrix1D}. Otherwise,
+   * each column is stored in its own array of its own type, so that the
+   * columns of the result have the same
+   * {@link IMatrix#isIntegerMatrix() integer property} and the same
+   * {@code long} and {@code double} values as those of this matrix.
+   * </p>
+   *
+   * @return the materialized matrix, or this matrix if it is empty
+   */
+  public final IMatrix materialize() {
+    final int m, n;
+    UnaryFunction[] functions;
+    double[] doubles;
+    long[] longs;
+    double[][] doubleColumns;
+    long[][] longColumns;
+    boolean hasDouble, hasLong;
+    int column;
+
+    m = this.m();
+    n = this.n();
+    if ((m <= 0) || (n <= 0)) {
+      return this;
+    }
+
+    hasDouble = hasLong = false;
+    for (final int intCol : this.m_intCol) {
+      // integer columns whose function is not accurate in the long
+      // arithmetic have long values which differ from their double values
+      if (intCol > 0) {
+        hasLong = true;
+      }
+      if (intCol < 2) {
+        hasDouble = true;
+      }
+    }
+
+    doubles = null;
+    longs = null;
+    doubleColumns = null;
+    longColumns = null;
+    functions = null;
+    if (!hasDouble) {
+      longs = new long[m * n];
+    } else {
+      if (!hasLong) {
+        doubles = new double[m * n];
+      } else {
+        doubleColumns = new double[n][];
+        longColumns = new long[n][];
+        functions = new UnaryFunction[n];
+        for (column = n; (--column) >= 0;) {
+          if (this.m_intCol[column] < 2) {
+            doubleColumns[column] = new double[m];
+          }
+          if (this.m_intCol[column] > 0) {
+            longColumns[column] = new long[m];
+          }
+          if (this.m_intCol[column] == 1) {
+            functions[column] = this.m_functions[column];
+          }
+        }
+      }
+    }
+
+    if ((m > ColumnTransformedMatrix._CHUNK)
+        && (ForkJoinTask.inForkJoinPool())) {
+      new _MaterializeTask(this, doubles, longs, doubleColumns,
+          longColumns, 0, m).invoke();
+    } else {
+      this._materialize(doubles, longs, doubleColumns, longColumns, 0, m);
+    }
+
+    if (longs != null) {
+      return new LongMatrix1D(longs, m, n);
+    }
+    if (doubles != null) {
+      return new DoubleMatrix1D(doubles, m, n);
+    }
+    return new _MixedMatrix(doubleColumns, longColumns, functions, m);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final boolean isIntegerMatrix() {
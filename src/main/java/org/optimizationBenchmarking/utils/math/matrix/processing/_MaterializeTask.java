@@ -0,0 +1,88 @@
+package org.optimizationBenchmarking.utils.math.matrix.processing;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A task materializing a range of rows of a column-transformed matrix.
+ * Ranges larger than {@link ColumnTransformedMatrix#_CHUNK} rows are split
+ * in half and both halves are processed in parallel.
+ */
+final class _MaterializeTask extends RecursiveAction {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the matrix */
+  private final ColumnTransformedMatrix m_matrix;
+
+  /** the {@code double} destination array, or {@code null} */
+  private final double[] m_doubles;
+
+  /** the {@code long} destination array, or {@code null} */
+  private final long[] m_longs;
+
+  /** the {@code double} destination columns, or {@code null} */
+  private final double[][] m_doubleColumns;
+
+  /** the {@code long} destination columns, or {@code null} */
+  private final long[][] m_longColumns;
+
+  /** the first row */
+  private final int m_from;
+
+  /** the exclusive end row */
+  private final int m_to;
+
+  /**
+   * create the task
+   *
+   * @param matrix
+   *          the matrix
+   * @param doubles
+   *          the {@code double} destination array, or {@code null}
+   * @param longs
+   *          the {@code long} destination array, or {@code null}
+   * @param doubleColumns
+   *          the {@code double} destination columns, or {@code null}
+   * @param longColumns
+   *          the {@code long} destination columns, or {@code null}
+   * @param from
+   *          the first row
+   * @param to
+   *          the exclusive end row
+   */
+  _MaterializeTask(final ColumnTransformedMatrix matrix,
+      final double[] doubles, final long[] longs,
+      final double[][] doubleColumns, final long[][] longColumns,
+      final int from, final int to) {
+    super();
+    this.m_matrix = matrix;
+    this.m_doubles = doubles;
+    this.m_longs = longs;
+    this.m_doubleColumns = doubleColumns;
+    this.m_longColumns = longColumns;
+    this.m_from = from;
+    this.m_to = to;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void compute() {
+    final int middle;
+
+    if ((this.m_to - this.m_from) <= ColumnTransformedMatrix._CHUNK) {
+      this.m_matrix._materialize(this.m_doubles, this.m_longs,
+          this.m_doubleColumns, this.m_longColumns, this.m_from,
+          this.m_to);
+      return;
+    }
+
+    middle = ((this.m_from + this.m_to) >>> 1);
+    RecursiveAction.invokeAll(//
+        new _MaterializeTask(this.m_matrix, this.m_doubles, this.m_longs,
+            this.m_doubleColumns, this.m_longColumns, this.m_from,
+            middle),//
+        new _MaterializeTask(this.m_matrix, this.m_doubles, this.m_longs,
+            this.m_doubleColumns, this.m_longColumns, middle, this.m_to));
+  }
+}
@@ -0,0 +1,229 @@
+package org.optimizationBenchmarking.utils.math.matrix.processing;
+
+import org.optimizationBenchmarking.utils.math.functions.UnaryFunction;
+import org.optimizationBenchmarking.utils.math.matrix.AbstractMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+
+/**
+ * A materialized column-transformed matrix whose columns have different
+ * types. Each column is stored in its own primitive array, so every
+ * column keeps the {@link IMatrix#isIntegerMatrix() integer property} and
+ * the {@code long} values it had in the column-transformed matrix:
+ * <ul>
+ * <li>Columns computed as {@code long}s only have a {@code long[]}
+ * array.</li>
+ * <li>Columns computed as {@code double}s only have a {@code double[]}
+ * array.</li>
+ * <li>Integer columns whose function is not
+ * {@link UnaryFunction#isLongArithmeticAccurate() accurate in the long
+ * arithmetic} have a {@code double[]} array with the transformed values
+ * and a {@code long[]} array with the original values, from which the
+ * {@code long} values are computed on demand, exactly as in the
+ * column-transformed matrix.</li>
+ * </ul>
+ */
+final class _MixedMatrix extends AbstractMatrix {
+
+  /** the number of rows */
+  private final int m_m;
+
+  /** the {@code double} columns, or {@code null} elements */
+  private final double[][] m_doubles;
+
+  /** the {@code long} columns, or {@code null} elements */
+  private final long[][] m_longs;
+
+  /**
+   * the functions to compute the {@code long} values of a column from the
+   * values in {@link #m_longs}, or {@code null} elements if these are the
+   * values
+   */
+  private final UnaryFunction[] m_functions;
+
+  /**
+   * create the matrix
+   *
+   * @param doubles
+   *          the {@code double} columns, or {@code null} elements
+   * @param longs
+   *          the {@code long} columns, or {@code null} elements
+   * @param functions
+   *          the functions to compute the {@code long} values of a
+   *          column, or {@code null} elements
+   * @param m
+   *          the number of rows
+   */
+  _MixedMatrix(final double[][] doubles, final long[][] longs,
+      final UnaryFunction[] functions, final int m) {
+    super();
+    this.m_doubles = doubles;
+    this.m_longs = longs;
+    this.m_functions = functions;
+    this.m_m = m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int m() {
+    return this.m_m;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int n() {
+    return this.m_longs.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double getDouble(final int row, final int column) {
+    final double[] doubles;
+
+    if ((row >= 0) && (row < this.m_m) && (column >= 0)
+        && (column < this.m_longs.length)) {
+      doubles = this.m_doubles[column];
+      if (doubles != null) {
+        return doubles[row];
+      }
+      return this.m_longs[column][row];
+    }
+    return super.getDouble(row, column);// throw IndexOutOfBoundsException
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long getLong(final int row, final int column) {
+    final long[] longs;
+    final UnaryFunction function;
+
+    if ((row >= 0) && (row < this.m_m) && (column >= 0)
+        && (column < this.m_longs.length)) {
+      longs = this.m_longs[column];
+      if (longs == null) {
+        return ((long) (this.m_doubles[column][row]));
+      }
+      function = this.m_functions[column];
+      if (function != null) {
+        return function.computeAsLong(longs[row]);
+      }
+      return longs[row];
+    }
+    return super.getLong(row, column);// throw IndexOutOfBoundsException
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final long[] dest,
+      final int from, final int to) {
+    final long[] longs;
+    final double[] doubles;
+    final UnaryFunction function;
+    int j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    longs = this.m_longs[column];
+    if (longs == null) {
+      doubles = this.m_doubles[column];
+      for (j = from; j < to; j++) {
+        dest[j - from] = ((long) (doubles[j]));
+      }
+      return;
+    }
+    function = this.m_functions[column];
+    if (function == null) {
+      System.arraycopy(longs, from, dest, 0, (to - from));
+      return;
+    }
+    for (j = from; j < to; j++) {
+      dest[j - from] = function.computeAsLong(longs[j]);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void copyColumn(final int column, final double[] dest,
+      final int from, final int to) {
+    final long[] longs;
+    final double[] doubles;
+    int j;
+
+    AbstractMatrix.checkCopyColumn(this, column, dest.length, from, to);
+    doubles = this.m_doubles[column];
+    if (doubles != null) {
+      System.arraycopy(doubles, from, dest, 0, (to - from));
+      return;
+    }
+    longs = this.m_longs[column];
+    for (j = from; j < to; j++) {
+      dest[j - from] = longs[j];
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final long[] getLongColumnArray(final int column) {
+    if ((column >= 0) && (column < this.m_longs.length)
+        && (this.m_functions[column] == null)) {
+      return this.m_longs[column];
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final double[] getDoubleColumnArray(final int column) {
+    if ((column >= 0) && (column < this.m_doubles.length)) {
+      return this.m_doubles[column];
+    }
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isIntegerMatrix() {
+    for (final double[] doubles : this.m_doubles) {
+      if (doubles != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix selectColumns(final int... cols) {
+    final double[][] doubles;
+    final long[][] longs;
+    final UnaryFunction[] functions;
+    int i;
+
+    checker: {
+      i = 0;
+      for (final int j : cols) {
+        if (j != (i++)) {
+          break checker;
+        }
+      }
+      if (i == this.m_longs.length) {
+        return this;
+      }
+    }
+
+    i = cols.length;
+    doubles = new double[i][];
+    longs = new long[i][];
+    functions = new UnaryFunction[i];
+    for (; (--i) >= 0;) {
+      doubles[i] = this.m_doubles[cols[i]];
+      longs[i] = this.m_longs[cols[i]];
+      functions[i] = this.m_functions[cols[i]];
+    }
+    return new _MixedMatrix(doubles, longs, functions, this.m_m);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final IMatrix copy() {
+    return this;
+  }
+}
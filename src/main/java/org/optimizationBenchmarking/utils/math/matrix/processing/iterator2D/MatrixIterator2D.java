@@ -220,6 +220,17 @@ import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
  * <li>{@code x=16}, row matrix = {@code (71, 80, 92)}</li>
  * <li>{@code x=20}, row matrix = {@code (71,, 80, 92)}</li>
  * </ol>
+ * <p>
+ * The columns of the row matrix are ordered by decreasing matrix index.
+ * The iterator keeps the next relevant {@code x} value of each matrix in a
+ * min-heap, so it only needs to look at the matrices whose {@code y}
+ * value actually changes in an iteration step. Each step therefore takes
+ * {@code O(log k)} time per changed matrix instead of a scan over all
+ * {@code k} matrices. The {@code x} and {@code y} columns of each matrix
+ * are obtained once as primitive arrays, either the arrays backing them
+ * or {@link IMatrix#copyColumn(int, long[], int, int) bulk copies},
+ * instead of reading them value by value.
+ * </p>
  */
 public abstract class MatrixIterator2D extends AbstractMatrix implements
     Iterator<Number> {
@@ -236,6 +247,12 @@ public abstract class MatrixIterator2D extends AbstractMatrix implements
   /** the current m-indexes */
   final int[] m_indexes;
 
+  /** have the matrices already started, i.e., do they provide a value? */
+  final boolean[] m_started;
+
+  /** the indexes of the started matrices, in the order of the columns */
+  final int[] m_order;
+
   /** the number for the {@code x}-coordinates */
   _Number m_x;
 
@@ -263,6 +280,26 @@ public abstract class MatrixIterator2D extends AbstractMatrix implements
     this.m_matrices = matrices;
 
     this.m_indexes = new int[matrices.length];
+    this.m_started = new boolean[matrices.length];
+    this.m_order = new int[matrices.length];
+  }
+
+  /**
+   * Update the {@link #m_order order} of the columns and their number
+   * after some matrices have started.
+   */
+  final void _updateOrder() {
+    final boolean[] started;
+    int have, index;
+
+    started = this.m_started;
+    have = 0;
+    for (index = started.length; (--index) >= 0;) {
+      if (started[index]) {
+        this.m_order[have++] = index;
+      }
+    }
+    this.m_currentN = have;
   }
 
   /**
@@ -279,6 +316,48 @@ public abstract class MatrixIterator2D extends AbstractMatrix implements
     return d;
   }
 
+  /**
+   * Get all {@code long} values of a column of a matrix in one array,
+   * either the array backing the column or a bulk copy of the column
+   *
+   * @param matrix
+   *          the matrix
+   * @param column
+   *          the column
+   * @return the array, which must not be modified
+   */
+  static final long[] _longs(final IMatrix matrix, final int column) {
+    long[] values;
+
+    values = matrix.getLongColumnArray(column);
+    if (values == null) {
+      values = new long[matrix.m()];
+      matrix.copyColumn(column, values, 0, values.length);
+    }
+    return values;
+  }
+
+  /**
+   * Get all {@code double} values of a column of a matrix in one array,
+   * either the array backing the column or a bulk copy of the column
+   *
+   * @param matrix
+   *          the matrix
+   * @param column
+   *          the column
+   * @return the array, which must not be modified
+   */
+  static final double[] _doubles(final IMatrix matrix, final int column) {
+    double[] values;
+
+    values = matrix.getDoubleColumnArray(column);
+    if (values == null) {
+      values = new double[matrix.m()];
+      matrix.copyColumn(column, values, 0, values.length);
+    }
+    return values;
+  }
+
   /**
    * Create the iterator to iterate over a set of matrices.
    *
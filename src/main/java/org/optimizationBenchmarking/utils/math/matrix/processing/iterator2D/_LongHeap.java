@@ -0,0 +1,121 @@
+package org.optimizationBenchmarking.utils.math.matrix.processing.iterator2D;
+
+/**
+ * A binary min-heap of {@code long} keys, each associated with the index
+ * of a matrix. It is used by the {@link MatrixIterator2D matrix iterators}
+ * to find the matrix with the next {@code x} coordinate in
+ * {@code O(log k)} steps, where {@code k} is the number of matrices.
+ */
+final class _LongHeap {
+
+  /** the keys */
+  private final long[] m_keys;
+
+  /** the matrix indexes */
+  private final int[] m_indexes;
+
+  /** the number of elements in the heap */
+  private int m_size;
+
+  /**
+   * create the heap
+   *
+   * @param capacity
+   *          the maximum number of elements
+   */
+  _LongHeap(final int capacity) {
+    super();
+    this.m_keys = new long[capacity];
+    this.m_indexes = new int[capacity];
+  }
+
+  /**
+   * Is the heap empty?
+   *
+   * @return {@code true} if the heap is empty, {@code false} otherwise
+   */
+  final boolean _isEmpty() {
+    return (this.m_size <= 0);
+  }
+
+  /**
+   * Get the smallest key in the heap, which must not be empty
+   *
+   * @return the smallest key
+   */
+  final long _minKey() {
+    return this.m_keys[0];
+  }
+
+  /**
+   * Get the matrix index associated with the smallest key in the heap,
+   * which must not be empty
+   *
+   * @return the matrix index associated with the smallest key
+   */
+  final int _minIndex() {
+    return this.m_indexes[0];
+  }
+
+  /**
+   * Add an element to the heap
+   *
+   * @param key
+   *          the key
+   * @param index
+   *          the matrix index
+   */
+  final void _add(final long key, final int index) {
+    final long[] keys;
+    final int[] indexes;
+    int position, parent;
+
+    keys = this.m_keys;
+    indexes = this.m_indexes;
+    position = this.m_size++;
+    while (position > 0) {
+      parent = ((position - 1) >>> 1);
+      if (keys[parent] <= key) {
+        break;
+      }
+      keys[position] = keys[parent];
+      indexes[position] = indexes[parent];
+      position = parent;
+    }
+    keys[position] = key;
+    indexes[position] = index;
+  }
+
+  /** Remove the element with the smallest key from the heap */
+  final void _removeMin() {
+    final long[] keys;
+    final int[] indexes;
+    final long key;
+    final int index, size;
+    int position, child;
+
+    keys = this.m_keys;
+    indexes = this.m_indexes;
+    size = (--this.m_size);
+    if (size <= 0) {
+      return;
+    }
+    key = keys[size];
+    index = indexes[size];
+
+    position = 0;
+    while ((child = ((position << 1) + 1)) < size) {
+      if (((child + 1) < size) && (keys[child + 1] < keys[child])) {
+        child++;
+      }
+      if (key <= keys[child]) {
+        break;
+      }
+      keys[position] = keys[child];
+      indexes[position] = indexes[child];
+      position = child;
+    }
+    keys[position] = key;
+    indexes[position] = index;
+  }
+}
@@ -9,9 +9,21 @@ import org.optimizationBenchmarking.utils.text.textOutput.ITextOutput;
  */
 final class _MatrixIterator2DXDoubleYLong extends MatrixIterator2D {
 
-  /** the {@code y}-values */
+  /** the current {@code y}-values of the matrices */
   private final long[] m_y;
 
+  /** the {@code x}-values of all rows of the matrices */
+  private final double[][] m_xs;
+
+  /** the {@code y}-values of all rows of the matrices */
+  private final long[][] m_ys;
+
+  /** the heap with the next relevant {@code x}-values of the matrices */
+  private final _DoubleHeap m_heap;
+
+  /** the largest {@code x}-value of all matrices */
+  private final double m_last;
+
   /**
    * Create a new 2d matrix iterator
    *
@@ -26,159 +38,130 @@ final class _MatrixIterator2DXDoubleYLong extends MatrixIterator2D {
       final IMatrix[] matrices) {
     super(xDim, yDim, matrices);
 
-    double minVal, curVal;
+    IMatrix matrix;
+    double last, value;
+    int index, m;
 
     this.m_x = new _Double();
     this.m_y = new long[matrices.length];
-
-    // find the first, smallest x value
-    minVal = Double.POSITIVE_INFINITY;
-    for (final IMatrix matrix : matrices) {
-      if (matrix.m() > 0) {
-        curVal = MatrixIterator2D._d(matrix.getDouble(0, this.m_xDim));
-        if (EComparison.compareDoubles(curVal, minVal) < 0) {
-          minVal = curVal;
+    this.m_heap = new _DoubleHeap(matrices.length);
+    this.m_xs = new double[matrices.length][];
+    this.m_ys = new long[matrices.length][];
+
+    // Each matrix starts at its first x value. We also need the largest x
+    // value of all matrices.
+    last = Double.NEGATIVE_INFINITY;
+    for (index = 0; index < matrices.length; index++) {
+      matrix = matrices[index];
+      m = matrix.m();
+      if (m > 0) {
+        this.m_xs[index] = MatrixIterator2D._doubles(matrix, this.m_xDim);
+        this.m_ys[index] = MatrixIterator2D._longs(matrix, this.m_yDim);
+        this.m_heap._add(MatrixIterator2D._d(this.m_xs[index][0]), index);
+        value = MatrixIterator2D._d(this.m_xs[index][m - 1]);
+        if (EComparison.compareDoubles(value, last) > 0) {
+          last = value;
         }
       }
     }
+    this.m_last = last;
 
-    this.__setX(minVal);
+    if (this.m_heap._isEmpty()) {
+      this.__end();
+    } else {
+      this.__setX(this.m_heap._minKey());
+    }
   }
 
   /**
-   * set the x-coordinate
+   * Set the x-coordinate: All matrices whose next relevant {@code x}-value
+   * is {@code x} are moved to their last row whose {@code x}-value is not
+   * larger than {@code x}. They are then put back into the heap with the
+   * {@code x}-value of the next row where their {@code y}-value changes,
+   * if any. The positions and {@code y}-values of all other matrices stay
+   * the same.
    *
    * @param x
    *          the x-coordinate
    */
   private final void __setX(final double x) {
-    IMatrix matrix;
-    int have, index, position, max;
+    final _DoubleHeap heap;
+    double[] xs;
+    long[] ys;
+    double value;
+    long y;
+    int index, position, max;
+    boolean started;
+
+    heap = this.m_heap;
+    started = false;
+
+    while ((!(heap._isEmpty()))
+        && (EComparison.compareDoubles(heap._minKey(), x) == 0)) {
+      index = heap._minIndex();
+      heap._removeMin();
+      max = this.m_matrices[index].m();
+      xs = this.m_xs[index];
+      ys = this.m_ys[index];
 
-    have = 0;
-    outer: for (index = this.m_indexes.length; (--index) >= 0;) {
       position = this.m_indexes[index];
-      matrix = this.m_matrices[index];
-      max = matrix.m();
+      while (((position + 1) < max)
+          && (EComparison.compareDoubles(MatrixIterator2D._d(//
+              xs[position + 1]), x) <= 0)) {
+        position++;
+      }
+      this.m_indexes[index] = position;
 
-      if (position >= max) {
-        continue;
+      y = ys[position];
+      this.m_y[index] = y;
+      if (!(this.m_started[index])) {
+        this.m_started[index] = started = true;
       }
 
-      looper: for (; position < max; position++) {
-        if (EComparison.compareDoubles(
-            //
-            MatrixIterator2D._d(matrix.getDouble(position, this.m_xDim)),
-            x) > 0) {
-          break looper;
+      // Find the next row with a larger x-coordinate and a different
+      // y-coordinate: Rows with the same y-coordinate can simply be
+      // omitted.
+      while ((++position) < max) {
+        if (ys[position] != y) {
+          value = MatrixIterator2D._d(xs[position]);
+          if (EComparison.compareDoubles(value, x) > 0) {
+            heap._add(value, index);
+            break;
+          }
         }
       }
-      if ((--position) < 0) {
-        continue outer;
-      }
-      this.m_indexes[index] = position;
-      this.m_y[have++] = matrix.getLong(position, this.m_yDim);
     }
 
-    this.m_currentN = have;
-    if (have > 0) {
-      this.m_hasNext = true;
-      this.m_x._setDoubleValue(x);
-    } else {
-      this.m_hasNext = false;
-      this.m_x._setDoubleValue(Double.POSITIVE_INFINITY);
+    if (started) {
+      this._updateOrder();
     }
+    this.m_hasNext = true;
+    this.m_x._setDoubleValue(x);
+  }
+
+  /** Mark the end of the iteration */
+  private final void __end() {
+    this.m_hasNext = false;
+    this.m_currentN = 0;
+    this.m_x._setDoubleValue(Double.POSITIVE_INFINITY);
   }
 
   /** {@inheritDoc} */
   @Override
   final void _findNext() {
-    final double oldX;
-    final int xDim, yDim;
-    IMatrix matrix;
-    double smallestLarger, xAtPosition;
-    long yAtPosition, yAtOldPosition;
-    int index, position, max, oldPosition;
-    boolean noSmallestLarger;
-
-    oldX = MatrixIterator2D._d(this.m_x.doubleValue());
-    xDim = this.m_xDim;
-    yDim = this.m_yDim;
-    smallestLarger = Double.POSITIVE_INFINITY;
-    noSmallestLarger = true;
-
-    // Find the smallest x-coordinate which is larger than the previous
-    // x-coordinate. If we are not at the beginning of a matrix, then we
-    // look for such an x-coordinate which also has a different
-    // y-coordinate.
-    for (index = this.m_indexes.length; (--index) >= 0;) {
-      matrix = this.m_matrices[index];
-      max = matrix.m();
-
-      oldPosition = this.m_indexes[index];
-      if (oldPosition >= max) {
-        continue; // This matrix has already reached its end.
-      }
-
-      // Obtain the x and y value of the previous position.
-      xAtPosition = MatrixIterator2D._d(matrix
-          .getDouble(oldPosition, xDim));
-      yAtPosition = yAtOldPosition = matrix.getLong(oldPosition, yDim);
-      position = oldPosition;
-
-      // Try to increase the position in order to find the next coordinate.
-      inner: for (;;) {
-        if ((EComparison.compareDoubles(xAtPosition, oldX) > 0) && //
-            (noSmallestLarger || //
-            (EComparison.compareDoubles(xAtPosition, smallestLarger) < 0))) {
-          // The new x-coordinate must be larger than the old one but
-          // smaller than the smallest such increase we found before
-          // (unless we did not discover a next point yet).
-          if ((position <= 0) || (yAtPosition != yAtOldPosition)) {
-            // The y-must be different, because otherwise we can simply
-            // omit the point.
-            smallestLarger = xAtPosition;
-            noSmallestLarger = false;
-            break inner;
-          }
-        }
-
-        // If we get here, the current position does not belong to such a
-        // required next step, so we try to increase it.
-        if ((++position) >= max) {
-          break inner;
-        }
-        xAtPosition = MatrixIterator2D
-            ._d(matrix.getDouble(position, xDim));
-        yAtPosition = matrix.getLong(position, yDim);
-      }
-    }
-
-    if (noSmallestLarger) {
-      // We did not find a next x-coordinate which satisfies our request.
-      // Thus, let's see if we can pick the largest possible coordinate.
-      // This coordinate will denote the end of the iteration.
-      smallestLarger = oldX;
-      for (final IMatrix matrixx : this.m_matrices) {
-        position = matrixx.m();
-        if (position > 0) {
-          xAtPosition = MatrixIterator2D._d(matrixx.getDouble(
-              (position - 1), xDim));
-          if (EComparison.compareDoubles(xAtPosition, smallestLarger) > 0) {
-            smallestLarger = xAtPosition;
-            noSmallestLarger = false;
-          }
-        }
-      }
+    if (!(this.m_heap._isEmpty())) {
+      this.__setX(this.m_heap._minKey());
+      return;
     }
 
-    if (noSmallestLarger || //
-        (EComparison.compareDoubles(smallestLarger, oldX) < 0)) {
-      this.m_hasNext = false;
-      this.m_currentN = 0;
-      this.m_x._setDoubleValue(Double.POSITIVE_INFINITY);
+    // No matrix changes its y-coordinate anymore. The largest x-coordinate
+    // of all matrices denotes the end of the iteration.
+    if (EComparison.compareDoubles(this.m_last,
+        this.m_x.doubleValue()) > 0) {
+      this.m_hasNext = true;
+      this.m_x._setDoubleValue(this.m_last);
     } else {
-      this.__setX(smallestLarger);
+      this.__end();
     }
   }
 
@@ -186,7 +169,7 @@ final class _MatrixIterator2DXDoubleYLong extends MatrixIterator2D {
   @Override
   public final double getDouble(final int row, final int column) {
     if ((row == 0) && (column >= 0) && (column < this.m_currentN)) {
-      return this.m_y[column];
+      return this.m_y[this.m_order[column]];
     }
     return super.getDouble(row, column);
   }
@@ -195,7 +178,7 @@ final class _MatrixIterator2DXDoubleYLong extends MatrixIterator2D {
   @Override
   public final long getLong(final int row, final int column) {
     if ((row == 0) && (column >= 0) && (column < this.m_currentN)) {
-      return this.m_y[column];
+      return this.m_y[this.m_order[column]];
     }
     return super.getLong(row, column);
   }
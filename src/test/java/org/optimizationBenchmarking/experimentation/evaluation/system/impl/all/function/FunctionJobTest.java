@@ -0,0 +1,222 @@
+package org.optimizationBenchmarking.experimentation.evaluation.system.impl.all.function;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.attributes.clusters.byInstance.ByInstanceGrouping;
+import org.optimizationBenchmarking.experimentation.attributes.functions.FunctionAttribute;
+import org.optimizationBenchmarking.experimentation.attributes.functions.ecdf.ECDF;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.config.Configuration;
+import org.optimizationBenchmarking.utils.config.ConfigurationBuilder;
+import org.optimizationBenchmarking.utils.document.spec.ISectionContainer;
+
+import test.junit.TestBase;
+import examples.org.optimizationBenchmarking.experimentation.dataAndIO.Example2Random;
+
+/**
+ * Test that a function job computes exactly the same functions, in the
+ * same order and with the same bounds, inside a
+ * {@link java.util.concurrent.ForkJoinPool} as outside of it. The test
+ * is placed in the package of {@link FunctionJob} because the bounds of
+ * the functions are not part of the public API.
+ */
+public class FunctionJobTest {
+
+  /** create */
+  public FunctionJobTest() {
+    super();
+  }
+
+  /**
+   * Make the function data inside a fork-join pool
+   *
+   * @param job
+   *          the job
+   * @return the function data
+   */
+  private static final FunctionData __parallel(final __Job job) {
+    final ForkJoinPool pool;
+
+    pool = new ForkJoinPool(4);
+    try {
+      return pool.invoke(new RecursiveTask<FunctionData>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected final FunctionData compute() {
+          return job._make();
+        }
+      });
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Make the function data inside a fork-join pool first, so that the
+   * functions are computed in parallel, and then outside of it, and check
+   * that both are the same
+   *
+   * @param byInstance
+   *          should the experiments be clustered by instance?
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  private static final void __check(final boolean byInstance)
+      throws Exception {
+    final Configuration config;
+    IExperimentSet es;
+    __Job job;
+    FunctionData parallel, sequential;
+    ExperimentSetFunctions expected, actual;
+    ExperimentFunction expectedFunction, actualFunction;
+    int i, j;
+
+    try (final ConfigurationBuilder builder = new ConfigurationBuilder()) {
+      builder.put(Configuration.PARAM_LOGGER, TestBase.getNullLogger());
+      builder.put(ByInstanceGrouping.PARAM_BY_INSTANCE,
+          Boolean.valueOf(byInstance));
+      config = builder.getResult();
+    }
+
+    for (;;) {
+      // functions are only computed in parallel for several experiments
+      do {
+        es = new Example2Random(TestBase.getNullLogger())
+            .getExperimentSet();
+      } while (es.getData().size() < 2);
+      job = new __Job(es, config);
+
+      parallel = FunctionJobTest.__parallel(job);
+      sequential = job._make();
+      if (sequential != null) {
+        break;
+      }
+      // none of the functions is useful for the random data: try again
+      Assert.assertNull(parallel);
+    }
+
+    Assert.assertNotNull(parallel);
+    Assert.assertEquals(sequential.getData().size(), parallel.getData()
+        .size());
+    for (i = 0; i < sequential.getData().size(); i++) {
+      expected = sequential.getData().get(i);
+      actual = parallel.getData().get(i);
+      Assert.assertSame(expected.getExperimentSet(),
+          actual.getExperimentSet());
+      Assert.assertSame(expected.getCluster(), actual.getCluster());
+      Assert.assertEquals(expected._getMinimumX(), actual._getMinimumX());
+      Assert.assertEquals(expected._getMaximumX(), actual._getMaximumX());
+      Assert.assertEquals(expected._getMinimumY(), actual._getMinimumY());
+      Assert.assertEquals(expected._getMaximumY(), actual._getMaximumY());
+      Assert.assertEquals(expected.getData().size(), actual.getData()
+          .size());
+      for (j = 0; j < expected.getData().size(); j++) {
+        expectedFunction = expected.getData().get(j);
+        actualFunction = actual.getData().get(j);
+        Assert.assertSame(expectedFunction.getExperiment(),
+            actualFunction.getExperiment());
+        // the parallel computation has cached the function
+        Assert.assertSame(expectedFunction.getFunction(),
+            actualFunction.getFunction());
+      }
+    }
+  }
+
+  /**
+   * Test the functions over all experiments
+   *
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testFunctionsInForkJoinPool() throws Exception {
+    FunctionJobTest.__check(false);
+  }
+
+  /**
+   * Test the functions over the experiments clustered by instance, where
+   * the clusters are computed in parallel as well
+   *
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testClusteredFunctionsInForkJoinPool() throws Exception {
+    FunctionJobTest.__check(true);
+  }
+
+  /** a function job which keeps the function data */
+  private static final class __Job extends FunctionJob {
+
+    /** the experiment set */
+    private final IExperimentSet m_set;
+
+    /** the function data */
+    private FunctionData m_functionData;
+
+    /**
+     * create
+     *
+     * @param data
+     *          the data
+     * @param config
+     *          the configuration
+     */
+    __Job(final IExperimentSet data, final Configuration config) {
+      super(data, config, TestBase.getNullLogger());
+      this.m_set = data;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final FunctionAttribute<? super IExperiment> configureFunction(
+        final IExperimentSet data, final Configuration config) {
+      IDimension time, goal;
+      IRun run;
+
+      time = goal = null;
+      for (final IDimension dimension : data.getDimensions().getData()) {
+        if (dimension.getDimensionType().isSolutionQualityMeasure()) {
+          if (goal == null) {
+            goal = dimension;
+          }
+        } else {
+          if (time == null) {
+            time = dimension;
+          }
+        }
+      }
+
+      // the goal is the final quality of the first run, which is
+      // thus reached by at least one run
+      run = data.getData().get(0).getData().get(0).getData().get(0);
+      return new ECDF(time, null, goal, run.getData().get(run.m() - 1)
+          .get(goal.getIndex()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void process(final FunctionData data,
+        final ISectionContainer sectionContainer, final Logger logger) {
+      this.m_functionData = data;
+    }
+
+    /**
+     * Make the function data
+     *
+     * @return the function data
+     */
+    final FunctionData _make() {
+      this.doMain(this.m_set, null, null);
+      return this.m_functionData;
+    }
+  }
+}
@@ -0,0 +1,617 @@
+package test.junit.org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.attributes.ContentFingerprint;
+import org.optimizationBenchmarking.experimentation.attributes.functions.ecdf.ECDF;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.experimentation.data.spec.AttributeCache;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperiment;
+import org.optimizationBenchmarking.experimentation.data.spec.IInstanceRuns;
+import org.optimizationBenchmarking.utils.io.paths.TempDir;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.parsers.BoundedDoubleParser;
+import org.optimizationBenchmarking.utils.parsers.BoundedLongParser;
+import org.optimizationBenchmarking.utils.parsers.DoubleParser;
+import org.optimizationBenchmarking.utils.parsers.LongParser;
+
+/**
+ * Tests of the {@link ECDF} attribute on experiment sets with known
+ * structure.
+ */
+public class ECDFTest {
+
+  /**
+   * the number of instances: large enough so that the ECDF of an
+   * experiment is joined as a tree of partial sums
+   */
+  private static final int INSTANCES = 300;
+
+  /** the number of runs per instance */
+  private static final int RUNS = 3;
+
+  /** the goal value */
+  private static final Double GOAL = Double.valueOf(0.25d);
+
+  /** create */
+  public ECDFTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with one experiment. Its runs have a time
+   * dimension {@code fes} and a goal dimension {@code f}, which decreases
+   * from {@code 1} towards {@code 0}.
+   *
+   * @param seed
+   *          the seed of the random number generator, equal seeds yield
+   *          equal experiment sets
+   * @param instances
+   *          the number of instances
+   * @return the experiment set
+   */
+  static final ExperimentSet _create(final long seed, final int instances) {
+    final Random random;
+    long fes;
+    double f;
+    int i, j;
+
+    random = new Random(seed);
+    try (final ExperimentSetContext context = new ExperimentSetContext()) {
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("fes"); //$NON-NLS-1$
+        dc.setParser(LongParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("f"); //$NON-NLS-1$
+        dc.setParser(DoubleParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING);
+      }
+      for (i = 0; i < instances; i++) {
+        try (final InstanceContext ic = context.createInstance()) {
+          ic.setName("instance" + i); //$NON-NLS-1$
+          ic.setFeatureValue("index", Integer.valueOf(i)); //$NON-NLS-1$
+        }
+      }
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        ec.setParameterValue("seed", Long.valueOf(seed)); //$NON-NLS-1$
+        for (i = 0; i < instances; i++) {
+          try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+            irc.setInstance("instance" + i); //$NON-NLS-1$
+            for (j = 0; j < ECDFTest.RUNS; j++) {
+              try (final RunContext rc = irc.createRun()) {
+                fes = 0L;
+                f = 1d;
+                do {
+                  fes += (1L + random.nextInt(100));
+                  f *= (0.5d + (0.5d * random.nextDouble()));
+                  rc.addDataPoint(Long.valueOf(fes), Double.valueOf(f));
+                } while ((f > 0.1d) && (fes < 10000L));
+              }
+            }
+          }
+        }
+      }
+      return context.create();
+    }
+  }
+
+  /**
+   * Create the ECDF attribute for an experiment set created by
+   * {@link #_create(long, int)}
+   *
+   * @param set
+   *          the experiment set
+   * @return the ECDF attribute
+   */
+  static final ECDF _ecdf(final ExperimentSet set) {
+    final IDimension fes, f;
+
+    fes = set.getDimensions().find("fes"); //$NON-NLS-1$
+    f = set.getDimensions().find("f"); //$NON-NLS-1$
+    return new ECDF(fes, null, f, ECDFTest.GOAL);
+  }
+
+  /**
+   * Get the value of a step function given as matrix at a time
+   *
+   * @param matrix
+   *          the matrix, with time values in column {@code 0} and values
+   *          in column {@code 1}
+   * @param time
+   *          the time
+   * @return the value of the last row whose time is less than or equal to
+   *         {@code time}, or {@code 0} if there is none
+   */
+  static final double _valueAt(final IMatrix matrix, final double time) {
+    double value;
+    int i;
+
+    value = 0d;
+    for (i = 0; i < matrix.m(); i++) {
+      if (matrix.getDouble(i, 0) > time) {
+        break;
+      }
+      value = matrix.getDouble(i, 1);
+    }
+    return value;
+  }
+
+  /**
+   * Test that the ECDF of an experiment with more instance runs than are
+   * joined directly, i.e., which is computed as a tree of partial sums,
+   * differs from the exact average of the ECDFs of its instance runs by
+   * at most one ulp per level of the tree plus the final rounding.
+   */
+  @Test(timeout = 3600000)
+  public void testTreeJoinCloseToFlatJoin() {
+    final ExperimentSet set;
+    final ECDF ecdf;
+    final IExperiment experiment;
+    final IMatrix joined;
+    final IMatrix[] children;
+    final int levels;
+    BigDecimal sum;
+    double time, exact, bound;
+    int i, j, size;
+
+    set = ECDFTest._create(42L, ECDFTest.INSTANCES);
+    ecdf = ECDFTest._ecdf(set);
+    experiment = set.getData().get(0);
+
+    children = new IMatrix[experiment.getData().size()];
+    Assert.assertEquals(ECDFTest.INSTANCES, children.length);
+    i = 0;
+    for (final IInstanceRuns runs : experiment.getData()) {
+      children[i++] = ecdf.get(runs);
+    }
+
+    // the number of levels of partial sums above the groups of 32
+    levels = (32 - Integer.numberOfLeadingZeros((children.length - 1) >>> 5));
+    Assert.assertTrue(levels > 0);
+
+    joined = ecdf.get(experiment);
+    Assert.assertTrue(joined.m() > 0);
+    for (i = joined.m(); (--i) >= 0;) {
+      time = joined.getDouble(i, 0);
+      sum = BigDecimal.ZERO;
+      for (j = children.length; (--j) >= 0;) {
+        sum = sum.add(new BigDecimal(ECDFTest._valueAt(children[j], time)));
+      }
+      exact = sum.divide(BigDecimal.valueOf(children.length),
+          MathContext.DECIMAL128).doubleValue();
+      bound = ((levels + 1) * Math.ulp(exact));
+      Assert.assertEquals(exact, joined.getDouble(i, 1), bound);
+    }
+
+    // the times of the joined matrix are the union of all times
+    size = 0;
+    for (final IMatrix child : children) {
+      size = Math.max(size, child.m());
+    }
+    Assert.assertTrue(joined.m() >= size);
+  }
+
+  /**
+   * Test that the ECDF of an experiment is exactly the same when it is
+   * computed inside a {@link ForkJoinPool}, where large sets of instance
+   * runs are processed in parallel, and when it is computed sequentially.
+   */
+  @Test(timeout = 3600000)
+  public void testJoinIndependentOfParallelism() {
+    final ExperimentSet sequentialSet, parallelSet;
+    final IMatrix sequential, parallel;
+    int i;
+
+    sequentialSet = ECDFTest._create(7L, ECDFTest.INSTANCES);
+    parallelSet = ECDFTest._create(7L, ECDFTest.INSTANCES);
+
+    sequential = ECDFTest._ecdf(sequentialSet).get(
+        sequentialSet.getData().get(0));
+    parallel = new ForkJoinPool(4).invoke(new RecursiveTask<IMatrix>() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected final IMatrix compute() {
+        return ECDFTest._ecdf(parallelSet).get(
+            parallelSet.getData().get(0));
+      }
+    });
+
+    Assert.assertEquals(sequential.m(), parallel.m());
+    Assert.assertEquals(sequential.n(), parallel.n());
+    for (i = sequential.m(); (--i) >= 0;) {
+      Assert.assertEquals(sequential.getLong(i, 0), parallel.getLong(i, 0));
+      Assert.assertEquals(
+          Double.doubleToLongBits(sequential.getDouble(i, 1)),
+          Double.doubleToLongBits(parallel.getDouble(i, 1)));
+    }
+  }
+
+  /**
+   * Create an experiment set with one experiment and one instance, where
+   * each run reaches the goal at a given time. Since the ECDF starts at
+   * the lower bound of the time dimension, the time range of the ECDF is
+   * {@code lower} to the largest hitting time.
+   *
+   * @param integer
+   *          should the time dimension be an integer dimension?
+   * @param lower
+   *          the lower bound of the time dimension
+   * @param hits
+   *          the times at which the runs reach the goal
+   * @param feature
+   *          the value of the feature of the instance
+   * @return the experiment set
+   */
+  private static final ExperimentSet __createHits(final boolean integer,
+      final long lower, final double[] hits, final int feature) {
+    try (final ExperimentSetContext context = new ExperimentSetContext()) {
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("fes"); //$NON-NLS-1$
+        if (integer) {
+          dc.setParser(new BoundedLongParser(lower, Long.MAX_VALUE));
+          dc.setType(EDimensionType.ITERATION_FE);
+        } else {
+          dc.setParser(new BoundedDoubleParser(lower, 1e12d));
+          dc.setType(EDimensionType.RUNTIME_CPU);
+        }
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("f"); //$NON-NLS-1$
+        dc.setParser(DoubleParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING);
+      }
+      try (final InstanceContext ic = context.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("index", Integer.valueOf(feature)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        ec.setParameterValue("runs", Integer.valueOf(hits.length)); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          for (final double hit : hits) {
+            try (final RunContext rc = irc.createRun()) {
+              rc.addDataPoint((integer ? ((Number) (Long
+                  .valueOf((long) hit))) : ((Number) (Double.valueOf(hit)))),
+                  Double.valueOf(0.1d));
+            }
+          }
+        }
+      }
+      return context.create();
+    }
+  }
+
+  /**
+   * Compute the ECDF of an element on a grid and check that it spans the
+   * same time range as the full-resolution ECDF, that its time values are
+   * strictly increasing, and that its value at each grid point is exactly
+   * the value of the full-resolution ECDF at that time
+   *
+   * @param set
+   *          the experiment set
+   * @param useExperiment
+   *          should the ECDF be computed for the experiment ({@code true})
+   *          or for its first instance runs ({@code false})?
+   * @param points
+   *          the number of grid points
+   * @param logarithmic
+   *          should the grid be logarithmic?
+   * @return the gridded ECDF matrix
+   */
+  private static final IMatrix __checkGrid(final ExperimentSet set,
+      final boolean useExperiment, final int points,
+      final boolean logarithmic) {
+    final ECDF ecdf;
+    final IMatrix full, grid;
+    final IExperiment experiment;
+    double x;
+    int i;
+
+    ecdf = ECDFTest._ecdf(set);
+    experiment = set.getData().get(0);
+    if (useExperiment) {
+      full = ecdf.get(experiment);
+      grid = ecdf.withGrid(points, logarithmic).get(experiment);
+    } else {
+      full = ecdf.get(experiment.getData().get(0));
+      grid = ecdf.withGrid(points, logarithmic).get(
+          experiment.getData().get(0));
+    }
+
+    Assert.assertTrue(grid.m() >= 2);
+    Assert.assertTrue(grid.m() <= points);
+    Assert.assertEquals(2, grid.n());
+    Assert.assertEquals(full.getDouble(0, 0), grid.getDouble(0, 0), 0d);
+    Assert.assertEquals(full.getDouble((full.m() - 1), 0),
+        grid.getDouble((grid.m() - 1), 0), 0d);
+    for (i = grid.m(); (--i) >= 0;) {
+      x = grid.getDouble(i, 0);
+      if (i > 0) {
+        Assert.assertTrue(x > grid.getDouble((i - 1), 0));
+      }
+      Assert.assertEquals(
+          Double.doubleToLongBits(ECDFTest._valueAt(full, x)),
+          Double.doubleToLongBits(grid.getDouble(i, 1)));
+    }
+    return grid;
+  }
+
+  /**
+   * Assert that the time values of a gridded ECDF are the expected ones
+   *
+   * @param expected
+   *          the expected time values
+   * @param grid
+   *          the gridded ECDF
+   * @param relativeError
+   *          the allowed relative error
+   */
+  private static final void __assertTimes(final double[] expected,
+      final IMatrix grid, final double relativeError) {
+    int i;
+
+    Assert.assertEquals(expected.length, grid.m());
+    for (i = expected.length; (--i) >= 0;) {
+      Assert.assertEquals(expected[i], grid.getDouble(i, 0),
+          (relativeError * Math.abs(expected[i])));
+    }
+  }
+
+  /** Test that a linear grid is spaced evenly */
+  @Test(timeout = 3600000)
+  public void testGridLinear() {
+    final IMatrix grid;
+
+    grid = ECDFTest.__checkGrid(ECDFTest.__createHits(false, 0L,
+        new double[] { 10d, 30d, 60d, 100d }, 0), false, 5, false);
+    ECDFTest.__assertTimes(new double[] { 0d, 25d, 50d, 75d, 100d }, grid,
+        0d);
+    Assert.assertEquals(0d, grid.getDouble(0, 1), 0d);
+    Assert.assertEquals(0.25d, grid.getDouble(1, 1), 0d);
+    Assert.assertEquals(0.5d, grid.getDouble(2, 1), 0d);
+    Assert.assertEquals(0.75d, grid.getDouble(3, 1), 0d);
+    Assert.assertEquals(1d, grid.getDouble(4, 1), 0d);
+  }
+
+  /** Test that a logarithmic grid is spaced evenly on a log scale */
+  @Test(timeout = 3600000)
+  public void testGridLogarithmic() {
+    ECDFTest.__assertTimes(new double[] { 1d, 10d, 100d, 1000d, 10000d },
+        ECDFTest.__checkGrid(ECDFTest.__createHits(false, 1L,
+            new double[] { 10d, 100d, 1000d, 10000d }, 0), false, 5, true),
+        1e-12d);
+  }
+
+  /**
+   * Test that a logarithmic grid whose time range starts at a value which
+   * is not positive includes the minimum and continues logarithmically
+   * from the smallest positive time value
+   */
+  @Test(timeout = 3600000)
+  public void testGridLogarithmicNonPositiveStart() {
+    final IMatrix grid;
+
+    grid = ECDFTest.__checkGrid(ECDFTest.__createHits(false, 0L,
+        new double[] { 1d, 10d, 100d, 1000d }, 0), false, 5, true);
+    ECDFTest.__assertTimes(new double[] { 0d, 1d, 10d, 100d, 1000d },
+        grid, 1e-12d);
+    Assert.assertEquals(0d, grid.getDouble(0, 0), 0d);
+    Assert.assertEquals(1d, grid.getDouble(1, 0), 0d);
+  }
+
+  /**
+   * Test that the grid points of an integer time dimension are rounded to
+   * integers and that duplicate grid points are removed
+   */
+  @Test(timeout = 3600000)
+  public void testGridIntegerRoundingAndDuplicates() {
+    IMatrix grid;
+    int i;
+
+    grid = ECDFTest.__checkGrid(ECDFTest.__createHits(true, 0L,
+        new double[] { 1d, 2d, 3d }, 0), false, 10, false);
+    ECDFTest.__assertTimes(new double[] { 0d, 1d, 2d, 3d }, grid, 0d);
+
+    grid = ECDFTest.__checkGrid(ECDFTest.__createHits(true, 0L,
+        new double[] { 1d, 2d, 3d, 5d, 8d, 1000d }, 0), false, 20, true);
+    for (i = grid.m(); (--i) >= 0;) {
+      Assert.assertEquals(Math.rint(grid.getDouble(i, 0)),
+          grid.getDouble(i, 0), 0d);
+      Assert.assertEquals(grid.getLong(i, 0), grid.getDouble(i, 0), 0d);
+    }
+  }
+
+  /**
+   * Test that the ECDF of an experiment which is joined as a tree of
+   * partial sums has exactly the values of the full-resolution ECDF at
+   * the points of linear and logarithmic grids
+   */
+  @Test(timeout = 3600000)
+  public void testGridOnExperiment() {
+    ECDFTest.__checkGrid(ECDFTest._create(3L, 40), true, 50, false);
+    ECDFTest.__checkGrid(ECDFTest._create(4L, 40), true, 50, true);
+  }
+
+  /**
+   * Find the files of the persistent attribute cache
+   *
+   * @param dir
+   *          the directory of the persistent attribute cache
+   * @return the files
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final ArrayList<Path> __cacheFiles(final Path dir)
+      throws IOException {
+    final ArrayList<Path> files;
+
+    files = new ArrayList<>();
+    try (final DirectoryStream<Path> stream = Files.newDirectoryStream(
+        dir, "*.attr")) { //$NON-NLS-1$
+      for (final Path file : stream) {
+        files.add(file);
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Get the ECDF of the first instance runs of the first experiment of an
+   * experiment set
+   *
+   * @param set
+   *          the experiment set
+   * @return the ECDF
+   */
+  private static final IMatrix __firstRunsECDF(final ExperimentSet set) {
+    return ECDFTest._ecdf(set).get(
+        set.getData().get(0).getData().get(0));
+  }
+
+  /**
+   * Assert that two matrices have the same dimensions and values
+   *
+   * @param expected
+   *          the expected matrix
+   * @param actual
+   *          the actual matrix
+   */
+  private static final void __assertSameValues(final IMatrix expected,
+      final IMatrix actual) {
+    int i, j;
+
+    Assert.assertEquals(expected.m(), actual.m());
+    Assert.assertEquals(expected.n(), actual.n());
+    for (i = expected.m(); (--i) >= 0;) {
+      for (j = expected.n(); (--j) >= 0;) {
+        Assert.assertEquals(
+            Double.doubleToLongBits(expected.getDouble(i, j)),
+            Double.doubleToLongBits(actual.getDouble(i, j)));
+      }
+    }
+  }
+
+  /**
+   * Test that the ECDF of a set of instance runs is stored in the
+   * persistent attribute cache, that it is loaded from there for a set of
+   * instance runs with the same content, and that a damaged cache file is
+   * ignored
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testPersistentCacheRoundTrip() throws IOException {
+    final Path old;
+    final IMatrix expected, tampered;
+    ArrayList<Path> files;
+    byte[] bytes;
+
+    old = AttributeCache.getDirectory();
+    try (final TempDir temp = new TempDir()) {
+      AttributeCache.setDirectory(temp.getPath());
+      try {
+        expected = ECDFTest.__firstRunsECDF(ECDFTest._create(5L, 2));
+        files = ECDFTest.__cacheFiles(temp.getPath());
+        Assert.assertEquals(1, files.size());
+
+        ECDFTest.__assertSameValues(expected,
+            ECDFTest.__firstRunsECDF(ECDFTest._create(5L, 2)));
+        Assert.assertEquals(files, ECDFTest.__cacheFiles(temp.getPath()));
+
+        // change the last value of the stored matrix to see that the
+        // value is really loaded from the file
+        bytes = Files.readAllBytes(files.get(0));
+        ByteBuffer.wrap(bytes).putDouble((bytes.length - 8), 0.125d);
+        Files.write(files.get(0), bytes);
+        tampered = ECDFTest.__firstRunsECDF(ECDFTest._create(5L, 2));
+        Assert.assertEquals(expected.m(), tampered.m());
+        Assert.assertEquals(0.125d,
+            tampered.getDouble((tampered.m() - 1), 1), 0d);
+
+        // a truncated file is ignored and replaced
+        Files.write(files.get(0),
+            Arrays.copyOf(bytes, (bytes.length >>> 1)));
+        ECDFTest.__assertSameValues(expected,
+            ECDFTest.__firstRunsECDF(ECDFTest._create(5L, 2)));
+        Assert.assertEquals(bytes.length, Files.size(files.get(0)));
+      } finally {
+        AttributeCache.setDirectory(old);
+      }
+    }
+  }
+
+  /**
+   * Test that instance runs with the same data points but different
+   * instance features have different fingerprints and are therefore
+   * stored separately in the persistent attribute cache
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testPersistentCacheSeparatesInstanceFeatures()
+      throws IOException {
+    final Path old;
+    final double[] hits;
+    final ExperimentSet a, b, c;
+
+    hits = new double[] { 10d, 20d, 30d };
+    a = ECDFTest.__createHits(true, 0L, hits, 0);
+    b = ECDFTest.__createHits(true, 0L, hits, 0);
+    c = ECDFTest.__createHits(true, 0L, hits, 1);
+    Assert.assertEquals(ContentFingerprint.INSTANCE.get(a.getData().get(0)
+        .getData().get(0)), ContentFingerprint.INSTANCE.get(b.getData()
+        .get(0).getData().get(0)));
+    Assert.assertNotEquals(ContentFingerprint.INSTANCE.get(a.getData()
+        .get(0).getData().get(0)), ContentFingerprint.INSTANCE.get(c
+        .getData().get(0).getData().get(0)));
+
+    old = AttributeCache.getDirectory();
+    try (final TempDir temp = new TempDir()) {
+      AttributeCache.setDirectory(temp.getPath());
+      try {
+        ECDFTest.__firstRunsECDF(a);
+        ECDFTest.__firstRunsECDF(b);
+        Assert.assertEquals(1, ECDFTest.__cacheFiles(temp.getPath())
+            .size());
+        ECDFTest.__firstRunsECDF(c);
+        Assert.assertEquals(2, ECDFTest.__cacheFiles(temp.getPath())
+            .size());
+      } finally {
+        AttributeCache.setDirectory(old);
+      }
+    }
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Tests of the
+ * {@link org.optimizationBenchmarking.experimentation.attributes.functions.ecdf
+ * ECDF} attributes.
+ */
+package test.junit.org.optimizationBenchmarking.experimentation.attributes.functions.ecdf;
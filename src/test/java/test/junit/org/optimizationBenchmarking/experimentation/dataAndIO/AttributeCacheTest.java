@@ -0,0 +1,219 @@
+package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.AttributeCache;
+import org.optimizationBenchmarking.experimentation.data.spec.AttributeCacheStatistics;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IExperimentSet;
+
+import test.junit.TestBase;
+import examples.org.optimizationBenchmarking.experimentation.dataAndIO.Example1;
+
+/**
+ * Test the attribute cache. The cache and its statistics are global, so
+ * each test uses a fresh experiment set and its own attribute class,
+ * whose statistics are not touched by any other test.
+ */
+public class AttributeCacheTest {
+
+  /** create */
+  public AttributeCacheTest() {
+    super();
+  }
+
+  /**
+   * Create a fresh experiment set, whose elements do not hold any cached
+   * values yet
+   *
+   * @return the experiment set
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  private static final IExperimentSet __create() throws Exception {
+    return new Example1(TestBase.getNullLogger()).getExperimentSet();
+  }
+
+  /**
+   * Get the statistics of the attribute cache for a given attribute class
+   *
+   * @param clazz
+   *          the attribute class
+   * @return the hits, misses, evictions, and re-computations
+   */
+  private static final long[] __statistics(final Class<?> clazz) {
+    for (final AttributeCacheStatistics statistics : AttributeCache
+        .getStatistics()) {
+      if (statistics.getAttributeClass() == clazz) {
+        return new long[] { statistics.getHits(), statistics.getMisses(),
+            statistics.getEvictions(), statistics.getRecomputations() };
+      }
+    }
+    return new long[4];
+  }
+
+  /**
+   * Test whether the attribute cache keeps small temporarily stored
+   * values and counts hits and misses correctly
+   *
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testAttributeCacheStatistics() throws Exception {
+    final IExperimentSet es;
+    final __SmallAttribute small;
+    final long[] before, after;
+    final Object value;
+
+    es = AttributeCacheTest.__create();
+    small = new __SmallAttribute();
+    before = AttributeCacheTest.__statistics(__SmallAttribute.class);
+    value = small.get(es);
+    Assert.assertSame(value, small.get(es));
+    Assert.assertEquals(1, small.m_count.get());
+    after = AttributeCacheTest.__statistics(__SmallAttribute.class);
+    Assert.assertEquals(before[0] + 1L, after[0]);
+    Assert.assertEquals(before[1] + 1L, after[1]);
+    Assert.assertEquals(before[2], after[2]);
+    Assert.assertEquals(before[3], after[3]);
+
+    Assert.assertTrue(AttributeCache.getSize() <= AttributeCache
+        .getBudget());
+  }
+
+  /**
+   * Test whether the attribute cache does not keep values larger than its
+   * budget and counts evictions and re-computations correctly
+   *
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testAttributeCacheRejectsHugeValues() throws Exception {
+    final IExperimentSet es;
+    final __HugeAttribute huge;
+    final long[] before, after;
+    final Object value;
+
+    es = AttributeCacheTest.__create();
+    huge = new __HugeAttribute();
+    before = AttributeCacheTest.__statistics(__HugeAttribute.class);
+    value = huge.get(es);
+    Assert.assertNotSame(value, huge.get(es));
+    Assert.assertEquals(2, huge.m_count.get());
+    after = AttributeCacheTest.__statistics(__HugeAttribute.class);
+    Assert.assertEquals(before[0], after[0]);
+    Assert.assertEquals(before[1] + 2L, after[1]);
+    Assert.assertEquals(before[2] + 2L, after[2]);
+    Assert.assertEquals(before[3] + 1L, after[3]);
+
+    Assert.assertTrue(AttributeCache.getSize() <= AttributeCache
+        .getBudget());
+  }
+
+  /**
+   * Test whether values whose size is not estimated are cached without
+   * being counted against the budget of the attribute cache
+   *
+   * @throws Exception
+   *           if the experiment set cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testAttributeCacheKeepsUnsizedValuesSoftly()
+      throws Exception {
+    final IExperimentSet es;
+    final __UnsizedAttribute unsized;
+    final long[] before, after;
+    final Object value;
+
+    es = AttributeCacheTest.__create();
+    unsized = new __UnsizedAttribute();
+    before = AttributeCacheTest.__statistics(__UnsizedAttribute.class);
+    value = unsized.get(es);
+    // the value is strongly referenced here, so it cannot be collected
+    Assert.assertSame(value, unsized.get(es));
+    Assert.assertEquals(1, unsized.m_count.get());
+    after = AttributeCacheTest.__statistics(__UnsizedAttribute.class);
+    Assert.assertEquals(before[0] + 1L, after[0]);
+    Assert.assertEquals(before[1] + 1L, after[1]);
+    Assert.assertEquals(before[2], after[2]);
+    Assert.assertEquals(before[3], after[3]);
+  }
+
+  /** a temporarily stored attribute counting its computations */
+  private static abstract class __CountingAttribute extends
+      Attribute<IExperimentSet, Object> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** create */
+    __CountingAttribute() {
+      super(EAttributeType.TEMPORARILY_STORED);
+      this.m_count = new AtomicInteger();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Object compute(final IExperimentSet data) {
+      this.m_count.incrementAndGet();
+      return new Object();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final int calcHashCode() {
+      return System.identityHashCode(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean equals(final Object o) {
+      return (o == this);
+    }
+  }
+
+  /** an attribute with small values */
+  private static final class __SmallAttribute extends __CountingAttribute {
+
+    /** create */
+    __SmallAttribute() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final long estimateSize(final Object value) {
+      return 16L;
+    }
+  }
+
+  /** an attribute with values larger than the budget of the cache */
+  private static final class __HugeAttribute extends __CountingAttribute {
+
+    /** create */
+    __HugeAttribute() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final long estimateSize(final Object value) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /** an attribute which does not estimate the size of its values */
+  private static final class __UnsizedAttribute extends
+      __CountingAttribute {
+
+    /** create */
+    __UnsizedAttribute() {
+      super();
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionType;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.experimentation.io.impl.ebi.EBIInput;
+import org.optimizationBenchmarking.experimentation.io.impl.ebi.EBIOutput;
+import org.optimizationBenchmarking.utils.io.EArchiveType;
+import org.optimizationBenchmarking.utils.io.paths.TempDir;
+import org.optimizationBenchmarking.utils.parsers.DoubleParser;
+import org.optimizationBenchmarking.utils.parsers.LongParser;
+
+/**
+ * Test that EBI data which cannot be loaded lazily is loaded completely
+ * and that malformed EBI files are rejected while they are read, not only
+ * when the data of a run is accessed.
+ */
+public class EBIInputTest {
+
+  /** the number of data points of the run */
+  private static final int M = 100;
+
+  /** create */
+  public EBIInputTest() {
+    super();
+  }
+
+  /**
+   * Create an experiment set with a single run whose last dimension is a
+   * floating point dimension, i.e., whose data block ends with a raw
+   * column of {@link #M} {@code double}s
+   *
+   * @return the experiment set
+   */
+  private static final ExperimentSet __create() {
+    int i;
+
+    try (final ExperimentSetContext context = new ExperimentSetContext()) {
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("fes"); //$NON-NLS-1$
+        dc.setParser(LongParser.INSTANCE);
+        dc.setType(EDimensionType.ITERATION_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("f"); //$NON-NLS-1$
+        dc.setParser(DoubleParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING);
+      }
+      try (final InstanceContext ic = context.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("scale", Long.valueOf(EBIInputTest.M)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        ec.setParameterValue("size", Long.valueOf(EBIInputTest.M)); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            for (i = 0; i < EBIInputTest.M; i++) {
+              rc.addDataPoint(Long.valueOf(1L + (i * i)),
+                  Double.valueOf(EBIInputTest.M - (0.25d * i)));
+            }
+          }
+        }
+      }
+      return context.create();
+    }
+  }
+
+  /**
+   * Get the only run of an experiment set
+   *
+   * @param set
+   *          the experiment set
+   * @return the run
+   */
+  private static final IRun __run(final ExperimentSet set) {
+    return set.getData().get(0).getData().get(0).getData().get(0);
+  }
+
+  /**
+   * Assert that the data of two runs is equal
+   *
+   * @param expected
+   *          the expected run
+   * @param actual
+   *          the actual run
+   */
+  private static final void __assertEquals(final IRun expected,
+      final IRun actual) {
+    int i;
+
+    Assert.assertEquals(expected.m(), actual.m());
+    for (i = expected.m(); (--i) >= 0;) {
+      Assert.assertEquals(expected.getLong(i, 0), actual.getLong(i, 0));
+      Assert.assertEquals(
+          Double.doubleToLongBits(expected.getDouble(i, 1)),
+          Double.doubleToLongBits(actual.getDouble(i, 1)));
+    }
+  }
+
+  /**
+   * Test that an EBI file inside an archive is loaded completely by the
+   * lazy input: The archive is extracted to a temporary folder which is
+   * deleted right after reading, so the data must be accessible after
+   * the input job has finished.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testLazyLoadingFromArchive() throws IOException {
+    final ExperimentSet original, loaded;
+    final byte[] archive;
+    final Path dir;
+
+    original = EBIInputTest.__create();
+    try (final TempDir temp = new TempDir()) {
+      dir = temp.getPath().resolve("data"); //$NON-NLS-1$
+      Files.createDirectories(dir);
+      EBIOutput.getInstance().use().setPath(dir.resolve("data.ebi")) //$NON-NLS-1$
+          .setSource(original).create().call();
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        EArchiveType.ZIP.compressPathToStream(dir, bos);
+        archive = bos.toByteArray();
+      }
+    }
+
+    try (final ByteArrayInputStream bis = new ByteArrayInputStream(
+        archive)) {
+      try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+        EBIInput.getLazyInstance().use()
+            .addArchiveStream(bis, EArchiveType.ZIP).setDestination(esc)
+            .create().call();
+        loaded = esc.create();
+      }
+    }
+
+    EBIInputTest.__assertEquals(EBIInputTest.__run(original),
+        EBIInputTest.__run(loaded));
+  }
+
+  /**
+   * Write the EBI file of the test experiment set, replace the encoding
+   * of the last column of its only run, and load it lazily
+   *
+   * @param encoding
+   *          the new encoding of the last column
+   * @return the error which occurred while loading, or {@code null} if
+   *         the file was loaded
+   * @throws IOException
+   *           if the file cannot be created
+   */
+  private static final Throwable __loadCorrupted(final byte encoding)
+      throws IOException {
+    final Path file;
+    final byte[] data;
+
+    try (final TempDir temp = new TempDir()) {
+      file = temp.getPath().resolve("data.ebi"); //$NON-NLS-1$
+      EBIOutput.getInstance().use().setPath(file)
+          .setSource(EBIInputTest.__create()).create().call();
+
+      // the block of the only run is at the end of the file and ends with
+      // the raw values of the floating point dimension
+      data = Files.readAllBytes(file);
+      data[data.length - (EBIInputTest.M << 3) - 1] = encoding;
+      try (final OutputStream os = Files.newOutputStream(file)) {
+        os.write(data);
+      }
+
+      try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+        EBIInput.getLazyInstance().use().addPath(file)
+            .setDestination(esc).create().call();
+        esc.create();
+      } catch (final Throwable error) {
+        return error;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Test that a lazily loaded EBI file with a valid block structure is
+   * accepted
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testWellFormedBlockAccepted() throws IOException {
+    Assert.assertNull(EBIInputTest.__loadCorrupted((byte) 0));
+  }
+
+  /**
+   * Test that an invalid column encoding is detected while an EBI file is
+   * read lazily
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testInvalidEncodingRejected() throws IOException {
+    Assert.assertNotNull(EBIInputTest.__loadCorrupted((byte) 7));
+  }
+
+  /**
+   * Test that a delta-encoded floating point column is detected while an
+   * EBI file is read lazily
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testDeltaEncodedFloatRejected() throws IOException {
+    Assert.assertNotNull(EBIInputTest.__loadCorrupted((byte) 1));
+  }
+}
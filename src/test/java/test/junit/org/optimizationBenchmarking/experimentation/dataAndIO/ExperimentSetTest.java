@@ -1,17 +1,49 @@
 package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.attributes.ContentFingerprint;
+import org.optimizationBenchmarking.experimentation.attributes.HittingTimeIndex;
+import org.optimizationBenchmarking.experimentation.attributes.HittingTimes;
+import org.optimizationBenchmarking.experimentation.attributes.InstanceOccupancy;
+import org.optimizationBenchmarking.experimentation.attributes.InstanceOccupancyMatrix;
+import org.optimizationBenchmarking.experimentation.attributes.OnlySharedInstanceRuns;
+import org.optimizationBenchmarking.experimentation.attributes.functions.ecdf.ECDF;
+import org.optimizationBenchmarking.experimentation.attributes.functions.ert.ERT;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DataPoint;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.Dimension;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSet;
 import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.IRunDataLoader;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.Instance;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.experimentation.data.impl.shadow.DataSelection;
+import org.optimizationBenchmarking.experimentation.data.impl.shadow.ShadowExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.spec.Attribute;
+import org.optimizationBenchmarking.experimentation.data.spec.EAttributeType;
+import org.optimizationBenchmarking.experimentation.data.spec.IDataElement;
 import org.optimizationBenchmarking.experimentation.data.spec.IDataPoint;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimension;
 import org.optimizationBenchmarking.experimentation.data.spec.IDimensionSet;
@@ -26,9 +58,14 @@ import org.optimizationBenchmarking.experimentation.data.spec.IParameterValue;
 import org.optimizationBenchmarking.experimentation.data.spec.IProperty;
 import org.optimizationBenchmarking.experimentation.data.spec.IRun;
 import org.optimizationBenchmarking.experimentation.evaluation.system.spec.IEvaluationInput;
+import org.optimizationBenchmarking.experimentation.io.impl.ebi.EBIInput;
+import org.optimizationBenchmarking.experimentation.io.impl.ebi.EBIOutput;
 import org.optimizationBenchmarking.experimentation.io.impl.edi.EDIInput;
 import org.optimizationBenchmarking.experimentation.io.impl.edi.EDIOutput;
 import org.optimizationBenchmarking.utils.collections.lists.ArrayListView;
+import org.optimizationBenchmarking.utils.io.paths.TempDir;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.reflection.EPrimitiveType;
 
 import test.junit.InstanceTest;
 import test.junit.org.optimizationBenchmarking.utils.collections.lists.ArrayListViewTestBase;
@@ -234,6 +271,908 @@ public class ExperimentSetTest extends InstanceTest<IExperimentSet> {
     return a;
   }
 
+  /** test selecting data by instance and by experiment */
+  @Test(timeout = 3600000)
+  public final void testDataSelection() {
+    final IExperimentSet es;
+    DataSelection selection;
+    IExperimentSet shadow;
+    int count, found, i;
+
+    es = this.getInstance();
+    for (final IInstance instance : es.getInstances().getData()) {
+      count = 0;
+      for (final IExperiment e : es.getData()) {
+        for (final IInstanceRuns ir : e.getData()) {
+          if (ir.getInstance() == instance) {
+            count++;
+          }
+        }
+      }
+
+      selection = new DataSelection(es);
+      selection.addInstance(instance);
+      shadow = new ShadowExperimentSet<>(null, selection);
+
+      found = 0;
+      for (final IExperiment e : shadow.getData()) {
+        for (final IInstanceRuns ir : e.getData()) {
+          Assert.assertEquals(instance.getName(), ir.getInstance()
+              .getName());
+          found++;
+        }
+      }
+      Assert.assertEquals(count, found);
+      Assert.assertEquals(((count > 0) ? 1 : 0), shadow.getInstances()
+          .getData().size());
+    }
+
+    selection = new DataSelection(es);
+    selection.addExperiments(es.getData());
+    shadow = new ShadowExperimentSet<>(null, selection);
+    Assert.assertEquals(es.getData().size(), shadow.getData().size());
+    for (i = es.getData().size(); (--i) >= 0;) {
+      Assert.assertEquals(es.getData().get(i).getName(), shadow.getData()
+          .get(i).getName());
+      Assert.assertEquals(es.getData().get(i).getData().size(), shadow
+          .getData().get(i).getData().size());
+    }
+  }
+
+  /** test the instance occupancy matrix */
+  @Test(timeout = 3600000)
+  public final void testInstanceOccupancy() {
+    final IExperimentSet es;
+    final InstanceOccupancyMatrix occupancy;
+    final ArrayListView<? extends IInstance> instances;
+    final BitSet shared;
+    IExperiment experiment;
+    boolean has;
+    int e, i, coverage;
+
+    es = this.getInstance();
+    occupancy = InstanceOccupancy.INSTANCE.get(es);
+    instances = occupancy.getInstances();
+    Assert.assertEquals(es.getData().size(), occupancy.getExperiments()
+        .size());
+    Assert.assertEquals(es.getInstances().getData().size(),
+        instances.size());
+
+    for (i = instances.size(); (--i) >= 0;) {
+      coverage = 0;
+      for (e = occupancy.getExperiments().size(); (--e) >= 0;) {
+        experiment = occupancy.getExperiments().get(e);
+        has = false;
+        for (final IInstanceRuns ir : experiment.getData()) {
+          if (ir.getInstance().getName()
+              .equals(instances.get(i).getName())) {
+            has = true;
+          }
+        }
+        Assert.assertEquals(has, occupancy.hasRuns(e, i));
+        Assert.assertEquals(has, occupancy.getInstancesOf(e).get(i));
+        if (has) {
+          coverage++;
+        }
+      }
+      Assert.assertEquals(coverage, occupancy.getCoverage(i));
+      Assert.assertEquals((coverage >= 1), occupancy
+          .getInstancesCoveredBy(1).get(i));
+    }
+
+    shared = occupancy.getSharedInstances();
+    Assert.assertEquals(
+        occupancy.getInstancesCoveredBy(es.getData().size()), shared);
+    Assert.assertEquals(shared.cardinality(), OnlySharedInstanceRuns.INSTANCE
+        .get(es).getInstances().getData().size());
+  }
+
+  /**
+   * Assert that two runs contain the same data
+   *
+   * @param expected
+   *          the expected run
+   * @param actual
+   *          the actual run
+   */
+  private static final void __assertSameRun(final IRun expected,
+      final IRun actual) {
+    int i, j;
+
+    Assert.assertEquals(expected.m(), actual.m());
+    Assert.assertEquals(expected.n(), actual.n());
+    for (i = expected.m(); (--i) >= 0;) {
+      for (j = expected.n(); (--j) >= 0;) {
+        Assert.assertEquals(expected.getLong(i, j), actual.getLong(i, j));
+        Assert.assertEquals(
+            Double.doubleToLongBits(expected.getDouble(i, j)),
+            Double.doubleToLongBits(actual.getDouble(i, j)));
+      }
+    }
+  }
+
+  /**
+   * Create a private copy of an experiment set by writing it to and
+   * reading it from the EDI format
+   *
+   * @param source
+   *          the experiment set
+   * @return the copy
+   */
+  private static final ExperimentSet __ediCopy(final IExperimentSet source) {
+    final String text;
+
+    try {
+      try (final StringWriter w = new StringWriter()) {
+        EDIOutput.getInstance().use().setWriter(w).setSource(source)
+            .create().call();
+        text = w.toString();
+      }
+      try (final StringReader r = new StringReader(text)) {
+        try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+          EDIInput.getInstance().use().addReader(r).setDestination(esc)
+              .create().call();
+          return esc.create();
+        }
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Find the instance runs for the instance of a given name in an
+   * experiment
+   *
+   * @param experiment
+   *          the experiment
+   * @param instance
+   *          the instance name
+   * @return the instance runs, or {@code null} if none exist
+   */
+  private static final IInstanceRuns __findRuns(
+      final IExperiment experiment, final String instance) {
+    for (final IInstanceRuns runs : experiment.getData()) {
+      if (runs.getInstance().getName().equals(instance)) {
+        return runs;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Test whether opening an experiment set for appending and adding a run
+   * to an existing experiment yields a set with the same data plus the
+   * new run, in which the unchanged experiments, instance runs, and runs
+   * of the set which was appended to are re-used
+   */
+  @Test(timeout = 3600000)
+  public final void testAppend() {
+    final IExperimentSet es;
+    final ExperimentSet base, copy, appended;
+    final IExperiment experiment;
+    final IInstanceRuns runs;
+    final IRun run;
+    final int size;
+    final Number[] numbers;
+    final ArrayListView<? extends IDimension> dims;
+    IExperiment other;
+    IInstanceRuns otherRuns;
+    int i;
+
+    es = this.getInstance();
+    if (!(es instanceof ExperimentSet)) {
+      return;
+    }
+    // the experiment set is taken over, so we append to a private copy
+    base = ((ExperimentSet) es);
+    copy = ExperimentSetTest.__ediCopy(base);
+    experiment = copy.getData().get(0);
+    runs = experiment.getData().get(0);
+    run = runs.getData().get(0);
+    size = runs.getData().size();
+    dims = copy.getDimensions().getData();
+    numbers = new Number[dims.size()];
+
+    try (final ExperimentSetContext context = new ExperimentSetContext(
+        null, copy)) {
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName(experiment.getName());
+        for (final IParameterValue value : experiment.getParameterSetting()) {
+          if (experiment.getParameterSetting().specifies(value.getOwner())) {
+            ec.setParameterValue(value.getOwner().getName(),
+                value.getValue());
+          }
+        }
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance(runs.getInstance().getName());
+          try (final RunContext rc = irc.createRun()) {
+            for (final IDataPoint point : run.getData()) {
+              for (i = numbers.length; (--i) >= 0;) {
+                numbers[i] = (dims.get(i).getDataType().isInteger()//
+                ? ((Number) (Long.valueOf(point.getLong(i))))//
+                    : ((Number) (Double.valueOf(point.getDouble(i)))));
+              }
+              rc.addDataPoint(numbers);
+            }
+          }
+        }
+      }
+      appended = context.create();
+    }
+
+    Assert.assertNotSame(copy, appended);
+    Assert.assertEquals(base.getData().size(), appended.getData().size());
+    Assert.assertEquals(base.getInstances().getData().size(), appended
+        .getInstances().getData().size());
+
+    for (final IExperiment e : base.getData()) {
+      other = appended.find(e.getName());
+      Assert.assertNotNull(other);
+      Assert.assertSame(appended, other.getOwner());
+      Assert.assertEquals(e.getData().size(), other.getData().size());
+      for (final IInstanceRuns ir : e.getData()) {
+        otherRuns = ExperimentSetTest.__findRuns(other, ir.getInstance()
+            .getName());
+        Assert.assertNotNull(otherRuns);
+        Assert.assertSame(other, otherRuns.getOwner());
+        Assert.assertSame(appended.getInstances().find(
+            ir.getInstance().getName()), otherRuns.getInstance());
+        if (e.getName().equals(experiment.getName())
+            && ir.getInstance().getName()
+                .equals(runs.getInstance().getName())) {
+          Assert.assertEquals(size + 1, otherRuns.getData().size());
+          Assert.assertSame(run, otherRuns.getData().get(0));
+          ExperimentSetTest.__assertSameRun(run,
+              otherRuns.getData().get(size));
+        } else {
+          Assert.assertEquals(ir.getData().size(), otherRuns.getData()
+              .size());
+        }
+        for (i = ir.getData().size(); (--i) >= 0;) {
+          ExperimentSetTest.__assertSameRun(ir.getData().get(i),
+              otherRuns.getData().get(i));
+          Assert.assertSame(otherRuns, otherRuns.getData().get(i)
+              .getOwner());
+        }
+      }
+    }
+
+    // unchanged experiments and instance runs have been re-used
+    for (final IExperiment e : copy.getData()) {
+      other = appended.find(e.getName());
+      if (e == experiment) {
+        for (final IInstanceRuns ir : e.getData()) {
+          if (ir != runs) {
+            Assert.assertSame(ir, ExperimentSetTest.__findRuns(other, ir
+                .getInstance().getName()));
+          }
+        }
+      } else {
+        Assert.assertSame(e, other);
+      }
+    }
+  }
+
+  /**
+   * Test whether the generic data implementation, which is used if no
+   * classes can be generated, behaves exactly like the implementation
+   * used for this experiment set: the first experiment is re-built in
+   * contexts which are forced to use the generic implementation, once
+   * with the runs on the heap, once with lazily loaded runs, and once with
+   * the runs in memory-mapped files, and all data, searches, and
+   * validation results are compared. If the JVM can define classes at
+   * runtime, the runs on the heap are instances of classes emitted as
+   * byte code, whereas the memory-mapped runs are not, so both are
+   * compared.
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public final void testGenericDataParity() throws IOException {
+    final IExperimentSet es;
+    final ExperimentSet base;
+    final IExperiment experiment, heap;
+    IExperiment mapped;
+    boolean canDefine;
+
+    es = this.getInstance();
+    if (!(es instanceof ExperimentSet)) {
+      return;
+    }
+    base = ((ExperimentSet) es);
+    experiment = base.getData().get(0);
+
+    heap = ExperimentSetTest.__genericCopy(base, experiment, null, false);
+    ExperimentSetTest.__assertGenericParity(experiment, heap);
+    ExperimentSetTest.__assertGenericParity(experiment,
+        ExperimentSetTest.__genericCopy(base, experiment, null, true));
+    try (final TempDir temp = new TempDir()) {
+      mapped = ExperimentSetTest.__genericCopy(base, experiment,
+          temp.getPath(), false);
+      ExperimentSetTest.__assertGenericParity(experiment, mapped);
+
+      try {
+        MethodHandles.Lookup.class.getMethod("defineClass", byte[].class); //$NON-NLS-1$
+        canDefine = true;
+      } catch (final NoSuchMethodException noSuchMethod) {
+        canDefine = false;
+      }
+      if (canDefine) {
+        Assert.assertNotSame(heap.getData().get(0).getData().get(0)
+            .getClass(), mapped.getData().get(0).getData().get(0)
+            .getClass());
+      }
+    }
+  }
+
+  /**
+   * Copy an experiment into a new experiment set which uses the generic
+   * data implementation
+   *
+   * @param base
+   *          the experiment set
+   * @param experiment
+   *          the experiment to copy
+   * @param runStoreDir
+   *          the directory for the run store, or {@code null} to keep the
+   *          runs on the heap
+   * @param lazy
+   *          should the runs be loaded lazily?
+   * @return the copied experiment
+   */
+  private static final IExperiment __genericCopy(final ExperimentSet base,
+      final IExperiment experiment, final Path runStoreDir,
+      final boolean lazy) {
+    final ArrayListView<Dimension> dims;
+    final ArrayListView<Dimension> newDims;
+    final Number[] numbers;
+    Instance instance;
+    Number bound;
+    int i;
+
+    dims = base.getDimensions().getData();
+    numbers = new Number[dims.size()];
+    try (final ExperimentSetContext context = new ExperimentSetContext(
+        null, runStoreDir, false)) {
+      for (final Dimension dim : dims) {
+        try (final DimensionContext dc = context.createDimension()) {
+          dc.setName(dim.getName());
+          dc.setParser(dim.getParser());
+          dc.setType(dim.getDimensionType());
+          dc.setDirection(dim.getDirection());
+        }
+      }
+      newDims = context.getDimensionSet().getData();
+
+      for (final IInstanceRuns runs : experiment.getData()) {
+        instance = ((Instance) (runs.getInstance()));
+        try (final InstanceContext ic = context.createInstance()) {
+          ic.setName(instance.getName());
+          for (final IFeatureValue value : instance.getFeatureSetting()) {
+            ic.setFeatureValue(value.getOwner().getName(), value.getValue());
+          }
+          for (i = newDims.size(); (--i) >= 0;) {
+            bound = instance.getLowerBound(dims.get(i));
+            if (bound != null) {
+              ic.setLowerBound(newDims.get(i), bound);
+            }
+            bound = instance.getUpperBound(dims.get(i));
+            if (bound != null) {
+              ic.setUpperBound(newDims.get(i), bound);
+            }
+          }
+        }
+      }
+
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName(experiment.getName());
+        for (final IParameterValue value : experiment.getParameterSetting()) {
+          if (experiment.getParameterSetting().specifies(value.getOwner())) {
+            ec.setParameterValue(value.getOwner().getName(),
+                value.getValue());
+          }
+        }
+        for (final IInstanceRuns runs : experiment.getData()) {
+          try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+            irc.setInstance(runs.getInstance().getName());
+            for (final IRun run : runs.getData()) {
+              try (final RunContext rc = irc.createRun()) {
+                if (lazy) {
+                  rc.setDataLoader(run.m(), new __RunCopier(run, dims));
+                } else {
+                  for (final IDataPoint point : run.getData()) {
+                    for (i = numbers.length; (--i) >= 0;) {
+                      numbers[i] = (dims.get(i).getDataType().isInteger()//
+                      ? ((Number) (Long.valueOf(point.getLong(i))))//
+                          : ((Number) (Double.valueOf(point.getDouble(i)))));
+                    }
+                    rc.addDataPoint(numbers);
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+      return context.create().getData().get(0);
+    }
+  }
+
+  /**
+   * Assert that the runs of an experiment and its generic copy behave the
+   * same
+   *
+   * @param expected
+   *          the experiment
+   * @param actual
+   *          the generic copy
+   */
+  private static final void __assertGenericParity(
+      final IExperiment expected, final IExperiment actual) {
+    final ArrayListView<? extends IInstanceRuns> a, b;
+    ArrayListView<? extends IRun> c, d;
+    int i, j;
+
+    a = expected.getData();
+    b = actual.getData();
+    Assert.assertEquals(a.size(), b.size());
+    for (i = a.size(); (--i) >= 0;) {
+      Assert.assertEquals(a.get(i).getInstance().getName(), b.get(i)
+          .getInstance().getName());
+      c = a.get(i).getData();
+      d = b.get(i).getData();
+      Assert.assertEquals(c.size(), d.size());
+      for (j = c.size(); (--j) >= 0;) {
+        ExperimentSetTest.__assertGenericRunParity(c.get(j), d.get(j));
+      }
+    }
+  }
+
+  /**
+   * Assert that a run and its generic copy behave the same
+   *
+   * @param expected
+   *          the run
+   * @param actual
+   *          the generic copy
+   */
+  private static final void __assertGenericRunParity(final IRun expected,
+      final IRun actual) {
+    final ArrayListView<? extends IDataPoint> a, b;
+    final int m, n;
+    final long[] expectedLongs, actualLongs, longProbes;
+    final double[] expectedDoubles, actualDoubles, doubleProbes;
+    final IDataPoint[] expectedFound, actualFound;
+    int i, j, k;
+
+    m = expected.m();
+    n = expected.n();
+    Assert.assertEquals(m, actual.m());
+    Assert.assertEquals(n, actual.n());
+    Assert.assertEquals(expected.isIntegerMatrix(),
+        actual.isIntegerMatrix());
+
+    a = expected.getData();
+    b = actual.getData();
+    for (i = 0; i < m; i++) {
+      Assert.assertEquals(a.get(i).toString(), b.get(i).toString());
+      for (j = 0; j < n; j++) {
+        Assert.assertEquals(expected.getLong(i, j), actual.getLong(i, j));
+        Assert.assertEquals(
+            Double.doubleToLongBits(expected.getDouble(i, j)),
+            Double.doubleToLongBits(actual.getDouble(i, j)));
+      }
+      for (j = Math.max(0, (i - 1)); j < Math.min(m, (i + 2)); j++) {
+        Assert.assertEquals(Integer.signum(a.get(i).compareTo(a.get(j))),
+            Integer.signum(b.get(i).compareTo(b.get(j))));
+        Assert.assertEquals(
+            ExperimentSetTest.__validationError(a.get(i), a.get(j)),
+            ExperimentSetTest.__validationError(b.get(i), b.get(j)));
+      }
+    }
+
+    expectedLongs = new long[m];
+    actualLongs = new long[m];
+    expectedDoubles = new double[m];
+    actualDoubles = new double[m];
+    longProbes = new long[(3 * m) + 2];
+    doubleProbes = new double[(2 * m) + 2];
+    expectedFound = new IDataPoint[longProbes.length];
+    actualFound = new IDataPoint[longProbes.length];
+    for (j = 0; j < n; j++) {
+      expected.copyColumn(j, expectedLongs, 0, m);
+      actual.copyColumn(j, actualLongs, 0, m);
+      Assert.assertArrayEquals(expectedLongs, actualLongs);
+      expected.copyColumn(j, expectedDoubles, 0, m);
+      actual.copyColumn(j, actualDoubles, 0, m);
+      Assert.assertArrayEquals(expectedDoubles, actualDoubles, 0d);
+
+      // exact values, values between them, and values outside the range
+      k = 0;
+      for (i = 0; i < m; i++) {
+        longProbes[k++] = expectedLongs[i];
+        longProbes[k++] = (expectedLongs[i] - 1L);
+        longProbes[k++] = (expectedLongs[i] + 1L);
+      }
+      longProbes[k++] = Long.MIN_VALUE;
+      longProbes[k++] = Long.MAX_VALUE;
+      k = 0;
+      for (i = 0; i < m; i++) {
+        doubleProbes[k++] = expectedDoubles[i];
+        doubleProbes[k++] = ((i > 0) ? (0.5d * (expectedDoubles[i - 1] + //
+            expectedDoubles[i])) : (expectedDoubles[i] - 1d));
+      }
+      doubleProbes[k++] = (expectedDoubles[m - 1] + 1d);
+      doubleProbes[k++] = Double.NaN;
+
+      for (final long value : longProbes) {
+        ExperimentSetTest.__assertSameFound(expected.find(j, value),
+            actual.find(j, value));
+      }
+      for (final double value : doubleProbes) {
+        ExperimentSetTest.__assertSameFound(expected.find(j, value),
+            actual.find(j, value));
+      }
+
+      expected.find(j, longProbes, expectedFound);
+      actual.find(j, longProbes, actualFound);
+      for (i = longProbes.length; (--i) >= 0;) {
+        ExperimentSetTest.__assertSameFound(expectedFound[i],
+            actualFound[i]);
+      }
+      expected.find(j, doubleProbes, expectedFound);
+      actual.find(j, doubleProbes, actualFound);
+      for (i = doubleProbes.length; (--i) >= 0;) {
+        ExperimentSetTest.__assertSameFound(expectedFound[i],
+            actualFound[i]);
+      }
+    }
+  }
+
+  /**
+   * Get the message of the error thrown when validating that one data
+   * point may follow another one
+   *
+   * @param after
+   *          the data point which should follow
+   * @param before
+   *          the data point which should come first
+   * @return the error message, or {@code null} if the validation succeeds
+   */
+  private static final String __validationError(final IDataPoint after,
+      final IDataPoint before) {
+    try {
+      ((DataPoint) after).validateAfter((DataPoint) before);
+    } catch (final IllegalStateException ise) {
+      return ise.getMessage();
+    }
+    return null;
+  }
+
+  /**
+   * Assert that two searches found equivalent data points
+   *
+   * @param expected
+   *          the data point found in the run
+   * @param actual
+   *          the data point found in the generic copy
+   */
+  private static final void __assertSameFound(final IDataPoint expected,
+      final IDataPoint actual) {
+    if (expected == null) {
+      Assert.assertNull(actual);
+    } else {
+      Assert.assertNotNull(actual);
+      Assert.assertEquals(expected.toString(), actual.toString());
+    }
+  }
+
+  /** a loader copying the data of a run */
+  private static final class __RunCopier implements IRunDataLoader {
+
+    /** the run */
+    private final IRun m_run;
+
+    /** the dimensions */
+    private final ArrayListView<Dimension> m_dims;
+
+    /**
+     * create
+     *
+     * @param run
+     *          the run
+     * @param dims
+     *          the dimensions
+     */
+    __RunCopier(final IRun run, final ArrayListView<Dimension> dims) {
+      super();
+      this.m_run = run;
+      this.m_dims = dims;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void load(final long[][] longs, final double[][] doubles) {
+      final int m;
+      int j;
+
+      m = this.m_run.m();
+      for (j = this.m_dims.size(); (--j) >= 0;) {
+        if (this.m_dims.get(j).getDataType().isInteger()) {
+          this.m_run.copyColumn(j, (longs[j] = new long[m]), 0, m);
+        } else {
+          this.m_run.copyColumn(j, (doubles[j] = new double[m]), 0, m);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test whether an attribute which is requested by several threads at
+   * the same time is computed only once
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public final void testAttributeComputedOnce() throws Exception {
+    final IExperimentSet es;
+    final __CountingAttribute attribute;
+    final Thread[] threads;
+    final Object[] results;
+    final CountDownLatch start;
+    int i;
+
+    es = this.getInstance();
+    attribute = new __CountingAttribute();
+    threads = new Thread[8];
+    results = new Object[threads.length];
+    start = new CountDownLatch(1);
+
+    for (i = threads.length; (--i) >= 0;) {
+      final int index = i;
+      threads[i] = new Thread() {
+        @Override
+        public final void run() {
+          try {
+            start.await();
+          } catch (final InterruptedException error) {
+            return;
+          }
+          results[index] = attribute.get(es);
+        }
+      };
+      threads[i].start();
+    }
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(1, attribute.m_count.get());
+    for (final Object result : results) {
+      Assert.assertSame(results[0], result);
+    }
+    Assert.assertSame(results[0], attribute.get(es));
+    Assert.assertEquals(1, attribute.m_count.get());
+  }
+
+  /**
+   * Test whether two attributes of different elements, whose computations
+   * need each other's values, do not wait for each other forever when
+   * they are computed by two threads at the same time
+   *
+   * @throws Exception
+   *           if something goes wrong
+   */
+  @Test(timeout = 3600000)
+  public final void testAttributesWaitingForEachOther() throws Exception {
+    final IExperimentSet es;
+    final IDataElement[] elements;
+    final __CrossAttribute[] attributes;
+    final Thread[] threads;
+    final Object[] results;
+    final CountDownLatch started;
+    int i;
+
+    es = this.getInstance();
+    if (es.getData().isEmpty()) {
+      return;
+    }
+    elements = new IDataElement[] { es, es.getData().get(0) };
+    started = new CountDownLatch(2);
+    attributes = new __CrossAttribute[] { new __CrossAttribute(started),
+        new __CrossAttribute(started) };
+    attributes[0].m_other = attributes[1];
+    attributes[0].m_otherElement = elements[1];
+    attributes[1].m_other = attributes[0];
+    attributes[1].m_otherElement = elements[0];
+
+    threads = new Thread[2];
+    results = new Object[threads.length];
+    for (i = threads.length; (--i) >= 0;) {
+      final int index = i;
+      threads[i] = new Thread() {
+        @Override
+        public final void run() {
+          results[index] = attributes[index].get(elements[index]);
+        }
+      };
+      threads[i].setDaemon(true);
+      threads[i].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join(60000L);
+      Assert.assertFalse(thread.isAlive());
+    }
+
+    // one of the two threads computes the other attribute itself
+    Assert.assertEquals(3, (attributes[0].m_count.get() + //
+        attributes[1].m_count.get()));
+    for (i = threads.length; (--i) >= 0;) {
+      Assert.assertNotNull(results[i]);
+      Assert.assertSame(results[i], attributes[i].get(elements[i]));
+    }
+  }
+
+  /**
+   * An attribute whose first computation waits until the computation of
+   * the other attribute has started and then needs its value. All later
+   * computations do not need any other value.
+   */
+  private static final class __CrossAttribute extends
+      Attribute<IDataElement, Object> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** counted down when a first computation has started */
+    private final CountDownLatch m_started;
+
+    /** the other attribute */
+    __CrossAttribute m_other;
+
+    /** the element to compute the other attribute for */
+    IDataElement m_otherElement;
+
+    /**
+     * create
+     *
+     * @param started
+     *          counted down when a first computation has started
+     */
+    __CrossAttribute(final CountDownLatch started) {
+      super(EAttributeType.PERMANENTLY_STORED);
+      this.m_count = new AtomicInteger();
+      this.m_started = started;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Object compute(final IDataElement data) {
+      if (this.m_count.incrementAndGet() > 1) {
+        return new Object();
+      }
+      this.m_started.countDown();
+      try {
+        this.m_started.await();
+      } catch (final InterruptedException error) {
+        // ignore
+      }
+      return new Object[] { this.m_other.get(this.m_otherElement) };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final int calcHashCode() {
+      return System.identityHashCode(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean equals(final Object o) {
+      return (o == this);
+    }
+  }
+
+  /** an attribute counting how often it is computed */
+  private static final class __CountingAttribute extends
+      Attribute<IExperimentSet, Object> {
+
+    /** the number of computations */
+    final AtomicInteger m_count;
+
+    /** create */
+    __CountingAttribute() {
+      super(EAttributeType.PERMANENTLY_STORED);
+      this.m_count = new AtomicInteger();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final Object compute(final IExperimentSet data) {
+      this.m_count.incrementAndGet();
+      try {
+        Thread.sleep(100L);
+      } catch (final InterruptedException error) {
+        // ignore
+      }
+      return new Object();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final int calcHashCode() {
+      return System.identityHashCode(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean equals(final Object o) {
+      return (o == this);
+    }
+  }
+
+  /**
+   * Test whether the batched find functions return exactly the same data
+   * points as the single-value find functions, both for values sorted in
+   * the order of the run and for values in reverse order
+   */
+  @Test(timeout = 3600000)
+  public final void testExperimentRunsFindBatch() {
+    IDataPoint[] dest;
+    double[] doubles;
+    long[] longs;
+    double x;
+    long y;
+    int i, j, k, m, index;
+
+    for (final IExperiment e : this.getInstance().getData()) {
+      for (final IInstanceRuns ir : e.getData()) {
+        for (final IRun run : ir.getData()) {
+          m = run.m();
+          for (index = run.n(); (--index) >= 0;) {
+            doubles = new double[(3 * m) + 2];
+            longs = new long[doubles.length];
+            k = 0;
+            doubles[k] = Double.NEGATIVE_INFINITY;
+            longs[k++] = Long.MIN_VALUE;
+            for (i = 0; i < m; i++) {
+              for (j = (-1); j <= 1; j++) {
+                doubles[k] = (run.getDouble(i, index) + (0.5d * j));
+                longs[k++] = (run.getLong(i, index) + j);
+              }
+            }
+            doubles[k] = Double.POSITIVE_INFINITY;
+            longs[k] = Long.MAX_VALUE;
+
+            for (j = 0; j < 2; j++) {
+              dest = new IDataPoint[doubles.length];
+              run.find(index, doubles, dest);
+              for (i = 0; i < doubles.length; i++) {
+                Assert.assertEquals(run.find(index, doubles[i]), dest[i]);
+              }
+              run.find(index, longs, dest);
+              for (i = 0; i < longs.length; i++) {
+                Assert.assertEquals(run.find(index, longs[i]), dest[i]);
+              }
+              for (i = 0, k = (doubles.length - 1); i < k; i++, k--) {
+                x = doubles[i];
+                doubles[i] = doubles[k];
+                doubles[k] = x;
+                y = longs[i];
+                longs[i] = longs[k];
+                longs[k] = y;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Test the run find function for simple, existing values
    */
@@ -524,6 +1463,440 @@ public class ExperimentSetTest extends InstanceTest<IExperimentSet> {
 
   }
 
+  /**
+   * Test whether the experiment set has a canonical representation under
+   * the EBI serialization: An experiment set stored to EBI and loaded
+   * again must be equal to the original set, and storing the loaded set
+   * again must produce exactly the same bytes.
+   */
+  @Test(timeout = 3600000)
+  public void testEBISerializationCanonical() {
+    final IExperimentSet inst, es1;
+    final EBIOutput output;
+    final EBIInput input;
+    byte[] b1, b2;
+
+    output = EBIOutput.getInstance();
+    Assert.assertNotNull(output);
+    Assert.assertTrue(output.canUse());
+    input = EBIInput.getInstance();
+    Assert.assertNotNull(input);
+    Assert.assertTrue(input.canUse());
+
+    inst = this.getInstance();
+    try {
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        output.use().setStream(bos).setSource(inst).create().call();
+        b1 = bos.toByteArray();
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+
+    try {
+      try (final ByteArrayInputStream bis = new ByteArrayInputStream(b1)) {
+        try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+          input.use().addStream(bis).setDestination(esc).create().call();
+          es1 = esc.create();
+        }
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+    ExperimentSetTest._assertEquals(inst, es1);
+
+    try {
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        output.use().setStream(bos).setSource(es1).create().call();
+        b2 = bos.toByteArray();
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+    Assert.assertArrayEquals(b1, b2);
+  }
+
+  /**
+   * Test that the content fingerprints of an experiment set and of all of
+   * its children are equal to those of a copy of the set loaded from an
+   * EBI file, computed in parallel in a {@link ForkJoinPool}, and that
+   * different experiments have different fingerprints.
+   */
+  @Test(timeout = 3600000)
+  public void testContentFingerprint() {
+    final IExperimentSet inst, es1;
+    final ForkJoinPool pool;
+    final HashSet<String> experiments;
+    final String fingerprint;
+    byte[] bytes;
+    int i, j, k;
+
+    inst = this.getInstance();
+    try {
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        EBIOutput.getInstance().use().setStream(bos).setSource(inst)
+            .create().call();
+        bytes = bos.toByteArray();
+      }
+      try (final ByteArrayInputStream bis = new ByteArrayInputStream(bytes)) {
+        try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+          EBIInput.getInstance().use().addStream(bis).setDestination(esc)
+              .create().call();
+          es1 = esc.create();
+        }
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+
+    pool = new ForkJoinPool(4);
+    try {
+      fingerprint = pool.invoke(new RecursiveTask<String>() {
+        /** the serial version uid */
+        private static final long serialVersionUID = 1L;
+
+        /** {@inheritDoc} */
+        @Override
+        protected final String compute() {
+          return ContentFingerprint.INSTANCE.get(es1);
+        }
+      });
+    } finally {
+      pool.shutdown();
+    }
+
+    Assert.assertEquals(32, fingerprint.length());
+    Assert.assertEquals(ContentFingerprint.INSTANCE.get(inst), fingerprint);
+    Assert.assertEquals(fingerprint, ContentFingerprint.INSTANCE.get(es1));
+
+    experiments = new HashSet<>();
+    for (i = inst.getData().size(); (--i) >= 0;) {
+      Assert.assertTrue(experiments.add(ContentFingerprint.INSTANCE
+          .get(inst.getData().get(i))));
+      Assert.assertEquals(
+          ContentFingerprint.INSTANCE.get(inst.getData().get(i)),
+          ContentFingerprint.INSTANCE.get(es1.getData().get(i)));
+      for (j = inst.getData().get(i).getData().size(); (--j) >= 0;) {
+        Assert.assertEquals(ContentFingerprint.INSTANCE.get(inst.getData()
+            .get(i).getData().get(j)), ContentFingerprint.INSTANCE.get(es1
+            .getData().get(i).getData().get(j)));
+        for (k = inst.getData().get(i).getData().get(j).getData().size(); (--k) >= 0;) {
+          Assert.assertEquals(ContentFingerprint.INSTANCE.get(inst
+              .getData().get(i).getData().get(j).getData().get(k)),
+              ContentFingerprint.INSTANCE.get(es1.getData().get(i)
+                  .getData().get(j).getData().get(k)));
+        }
+      }
+    }
+    Assert.assertFalse(experiments.contains(fingerprint));
+  }
+
+  /**
+   * Test whether the first-hitting-time index of a run finds the same
+   * data points as {@link IRun#find(int, double)}, both for single and for
+   * batched queries, and whether the expected running time computed from
+   * the indexes is the same as the one computed directly from the runs.
+   */
+  @Test(timeout = 3600000)
+  public void testHittingTimesAndERT() {
+    final IExperimentSet inst;
+    final Random random;
+    final double[] goals;
+    final long[] longGoals;
+    final int[] found;
+    HittingTimes hittingTimes;
+    HittingTimeIndex index;
+    IMatrix ert;
+    IDataPoint point;
+    boolean isLong;
+    double sum, scale, time;
+    int i, row, successes;
+
+    inst = this.getInstance();
+    random = new Random();
+    goals = new double[16];
+    longGoals = new long[goals.length];
+    found = new int[goals.length];
+
+    for (final IDimension timeDim : inst.getDimensions().getData()) {
+      if (!(timeDim.getDimensionType().isTimeMeasure())) {
+        continue;
+      }
+      for (final IDimension goalDim : inst.getDimensions().getData()) {
+        if (!(goalDim.getDimensionType().isSolutionQualityMeasure())) {
+          continue;
+        }
+        hittingTimes = new HittingTimes(timeDim, goalDim);
+        isLong = goalDim.getDataType().isInteger();
+
+        for (final IExperiment experiment : inst.getData()) {
+          for (final IInstanceRuns runs : experiment.getData()) {
+            for (final IRun run : runs.getData()) {
+              index = hittingTimes.get(run);
+              Assert.assertEquals(
+                  run.getDouble((run.m() - 1), timeDim.getIndex()),
+                  index.getEndTimeDouble(), 0d);
+
+              for (i = goals.length; (--i) >= 0;) {
+                row = random.nextInt(run.m());
+                longGoals[i] = run.getLong(row, goalDim.getIndex());
+                goals[i] = run.getDouble(row, goalDim.getIndex());
+                if ((goalDim.getDataType() == EPrimitiveType.DOUBLE)
+                    && random.nextBoolean()) {
+                  goals[i] += (random.nextDouble() - 0.5d);
+                }
+              }
+              if (isLong) {
+                index.find(longGoals, found);
+              } else {
+                index.find(goals, found);
+              }
+
+              for (i = goals.length; (--i) >= 0;) {
+                if (isLong) {
+                  point = run.find(goalDim.getIndex(), longGoals[i]);
+                  Assert.assertEquals(index.find(longGoals[i]), found[i]);
+                } else {
+                  point = run.find(goalDim.getIndex(), goals[i]);
+                  Assert.assertEquals(index.find(goals[i]), found[i]);
+                }
+                if (point == null) {
+                  Assert.assertEquals(-1, found[i]);
+                } else {
+                  Assert.assertTrue(found[i] >= 0);
+                  Assert.assertEquals(point.getDouble(timeDim.getIndex()),
+                      index.getTimeDouble(found[i]), 0d);
+                }
+              }
+            }
+
+            // the precision of the ERT depends on the magnitude of all times
+            scale = 0d;
+            for (final IRun run : runs.getData()) {
+              for (i = run.m(); (--i) >= 0;) {
+                scale += Math.abs(run.getDouble(i, timeDim.getIndex()));
+              }
+            }
+
+            ert = new ERT(timeDim, goalDim).get(runs);
+            for (row = ert.m(); (--row) >= 0;) {
+              if (isLong
+                  && (Math.abs(ert.getDouble(row, 0)) > 9.007199254740992E15)) {
+                // such goal values may not be stored exactly in the matrix
+                continue;
+              }
+              sum = 0d;
+              successes = 0;
+              for (final IRun run : runs.getData()) {
+                point = (isLong ? run.find(goalDim.getIndex(),
+                    ert.getLong(row, 0)) : run.find(goalDim.getIndex(),
+                    ert.getDouble(row, 0)));
+                if (point != null) {
+                  successes++;
+                  time = point.getDouble(timeDim.getIndex());
+                } else {
+                  time = run.getDouble((run.m() - 1), timeDim.getIndex());
+                }
+                sum += time;
+              }
+              Assert.assertTrue(successes > 0);
+              Assert.assertEquals((sum / successes), ert.getDouble(row, 1),
+                  (1e-9d * Math.max(1d, (scale / successes))));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Copy an experiment set by storing it to EBI and loading it again. The
+   * copy has the same data, but its own attribute caches, so values
+   * computed for the copy cannot be taken from the caches of the
+   * original.
+   *
+   * @param original
+   *          the original experiment set
+   * @return the copy
+   */
+  private static final IExperimentSet __ebiCopy(
+      final IExperimentSet original) {
+    final byte[] data;
+
+    try {
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        EBIOutput.getInstance().use().setStream(bos).setSource(original)
+            .create().call();
+        data = bos.toByteArray();
+      }
+      try (final ByteArrayInputStream bis = new ByteArrayInputStream(data)) {
+        try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+          EBIInput.getInstance().use().addStream(bis).setDestination(esc)
+              .create().call();
+          return esc.create();
+        }
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Assert that two matrices contain exactly the same values
+   *
+   * @param expected
+   *          the expected matrix
+   * @param actual
+   *          the actual matrix
+   */
+  private static final void __assertSameMatrix(final IMatrix expected,
+      final IMatrix actual) {
+    int i, j;
+
+    Assert.assertEquals(expected.m(), actual.m());
+    Assert.assertEquals(expected.n(), actual.n());
+    for (i = expected.m(); (--i) >= 0;) {
+      for (j = expected.n(); (--j) >= 0;) {
+        Assert.assertEquals(
+            Double.doubleToLongBits(expected.getDouble(i, j)),
+            Double.doubleToLongBits(actual.getDouble(i, j)));
+      }
+    }
+  }
+
+  /**
+   * Choose goal values for ECDF tests: values which occur in the runs,
+   * values between them, and values which are never reached
+   *
+   * @param set
+   *          the experiment set
+   * @param goalDim
+   *          the goal dimension
+   * @param random
+   *          the random number generator
+   * @return the goal values
+   */
+  private static final Number[] __goalValues(final IExperimentSet set,
+      final IDimension goalDim, final Random random) {
+    final Number[] goals;
+    IExperiment experiment;
+    IInstanceRuns runs;
+    IRun run;
+    int i, row;
+
+    goals = new Number[12];
+    for (i = goals.length; (--i) >= 0;) {
+      experiment = set.getData().get(random.nextInt(set.getData().size()));
+      runs = experiment.getData().get(
+          random.nextInt(experiment.getData().size()));
+      run = runs.getData().get(random.nextInt(runs.getData().size()));
+      row = random.nextInt(run.m());
+      if (goalDim.getDataType().isInteger()) {
+        goals[i] = Long.valueOf(run.getLong(row, goalDim.getIndex())
+            + ((i < 2) ? ((i == 0) ? -1000000L : 1000000L) : 0L));
+      } else {
+        goals[i] = Double.valueOf(run.getDouble(row, goalDim.getIndex())
+            + ((i < 2) ? ((i == 0) ? -1e9d : 1e9d)
+                : ((random.nextBoolean() ? (random.nextDouble() - 0.5d)
+                    : 0d))));
+      }
+    }
+    return goals;
+  }
+
+  /**
+   * Test that the ECDFs of a {@link ECDF#createLadder ladder} are exactly
+   * equal to the ECDFs computed individually for the same goal values,
+   * for instance runs, experiments, and the experiment set. The
+   * individual ECDFs are computed for a copy of the experiment set, since
+   * equal attributes would otherwise share their cached values.
+   */
+  @Test(timeout = 3600000)
+  public void testECDFLadderEqualsIndividualECDFs() {
+    final IExperimentSet inst, copy;
+    final Random random;
+    ArrayListView<ECDF> ladder;
+    Number[] goals;
+    ECDF single;
+    IExperiment experiment;
+    int i, e, r;
+
+    inst = this.getInstance();
+    copy = ExperimentSetTest.__ebiCopy(inst);
+    random = new Random();
+
+    for (final IDimension timeDim : inst.getDimensions().getData()) {
+      if (!(timeDim.getDimensionType().isTimeMeasure())) {
+        continue;
+      }
+      for (final IDimension goalDim : inst.getDimensions().getData()) {
+        if (!(goalDim.getDimensionType().isSolutionQualityMeasure())) {
+          continue;
+        }
+        goals = ExperimentSetTest.__goalValues(inst, goalDim, random);
+        ladder = ECDF.createLadder(timeDim, null, goalDim, goals);
+        Assert.assertEquals(goals.length, ladder.size());
+
+        for (i = goals.length; (--i) >= 0;) {
+          single = new ECDF(copy.getDimensions().getData()
+              .get(timeDim.getIndex()), null, copy.getDimensions()
+              .getData().get(goalDim.getIndex()), goals[i]);
+          Assert.assertEquals(single, ladder.get(i));
+
+          for (e = inst.getData().size(); (--e) >= 0;) {
+            experiment = inst.getData().get(e);
+            for (r = experiment.getData().size(); (--r) >= 0;) {
+              ExperimentSetTest.__assertSameMatrix(
+                  single.get(copy.getData().get(e).getData().get(r)),
+                  ladder.get(i).get(experiment.getData().get(r)));
+            }
+            ExperimentSetTest.__assertSameMatrix(
+                single.get(copy.getData().get(e)),
+                ladder.get(i).get(experiment));
+          }
+          ExperimentSetTest.__assertSameMatrix(single.get(copy), ladder
+              .get(i).get(inst));
+        }
+      }
+    }
+  }
+
+  /**
+   * Test whether an experiment set stored to an EBI file and loaded again
+   * lazily, i.e., with run data being loaded only when accessed, is equal
+   * to the original set.
+   */
+  @Test(timeout = 3600000)
+  public void testEBILazyLoading() {
+    final IExperimentSet inst;
+    final EBIOutput output;
+    final EBIInput input;
+    final Path file;
+    final IExperimentSet es1;
+
+    output = EBIOutput.getInstance();
+    Assert.assertNotNull(output);
+    Assert.assertTrue(output.canUse());
+    input = EBIInput.getLazyInstance();
+    Assert.assertNotNull(input);
+    Assert.assertTrue(input.canUse());
+    Assert.assertTrue(input.isLazy());
+
+    inst = this.getInstance();
+    try (final TempDir temp = new TempDir()) {
+      file = temp.getPath().resolve("data.ebi"); //$NON-NLS-1$
+      output.use().setPath(file).setSource(inst).create().call();
+
+      try (final ExperimentSetContext esc = new ExperimentSetContext()) {
+        input.use().addPath(file).setDestination(esc).create().call();
+        es1 = esc.create();
+      }
+      ExperimentSetTest._assertEquals(inst, es1);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * assert that two experiment sets are equal
    *
@@ -0,0 +1,13 @@
+package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import test.junit.TestBase;
+import examples.org.optimizationBenchmarking.experimentation.dataAndIO.RandomGenericExample;
+
+/** Test random data using the generic data implementation. */
+public class RandomGenericTest extends ExperimentSetTest {
+
+  /** create */
+  public RandomGenericTest() {
+    super(new RandomGenericExample(TestBase.getNullLogger()));
+  }
+}
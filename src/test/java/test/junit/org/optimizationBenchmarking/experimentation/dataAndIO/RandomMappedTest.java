@@ -0,0 +1,13 @@
+package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import test.junit.TestBase;
+import examples.org.optimizationBenchmarking.experimentation.dataAndIO.RandomMappedExample;
+
+/** Test random data stored in memory-mapped files. */
+public class RandomMappedTest extends ExperimentSetTest {
+
+  /** create */
+  public RandomMappedTest() {
+    super(new RandomMappedExample(TestBase.getNullLogger()));
+  }
+}
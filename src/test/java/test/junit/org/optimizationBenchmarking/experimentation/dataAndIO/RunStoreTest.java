@@ -0,0 +1,297 @@
+package test.junit.org.optimizationBenchmarking.experimentation.dataAndIO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.DimensionContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSet;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.ExperimentSetContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.InstanceRunsContext;
+import org.optimizationBenchmarking.experimentation.data.impl.ref.RunContext;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionDirection;
+import org.optimizationBenchmarking.experimentation.data.spec.EDimensionType;
+import org.optimizationBenchmarking.experimentation.data.spec.IRun;
+import org.optimizationBenchmarking.utils.io.paths.TempDir;
+import org.optimizationBenchmarking.utils.parsers.BoundedLongParser;
+import org.optimizationBenchmarking.utils.parsers.DoubleParser;
+
+/**
+ * Test that runs which are collected in a memory-mapped run store or are
+ * added column-wise contain the same data and fail with the same errors as
+ * runs kept on the heap which are added point by point.
+ */
+public class RunStoreTest {
+
+  /** the number of data points added column-wise at once */
+  private static final int BLOCK = 1000;
+
+  /** create */
+  public RunStoreTest() {
+    super();
+  }
+
+  /**
+   * Build an experiment set with a single run
+   *
+   * @param runStoreDir
+   *          the directory for the run store, or {@code null} to keep the
+   *          run on the heap
+   * @param generateClasses
+   *          should classes be generated for the data?
+   * @param columns
+   *          should the data points be added column-wise?
+   * @param m
+   *          the number of data points
+   * @param upperBound
+   *          the upper bound for the first dimension
+   * @param parserMax
+   *          the largest value the parser of the first dimension accepts
+   * @param orderError
+   *          the index of the data point which does not follow its
+   *          predecessor, or {@code -1} if all points are in order
+   * @return the experiment set, or the message of the error which
+   *         occurred
+   */
+  private static final Object __build(final Path runStoreDir,
+      final boolean generateClasses, final boolean columns, final int m,
+      final long upperBound, final long parserMax, final int orderError) {
+    final long[][] longs;
+    final double[][] doubles;
+    long fes;
+    int i, k;
+
+    try (final ExperimentSetContext context = new ExperimentSetContext(
+        null, runStoreDir, generateClasses)) {
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("fes"); //$NON-NLS-1$
+        dc.setParser(new BoundedLongParser(1L, parserMax));
+        dc.setType(EDimensionType.ITERATION_FE);
+        dc.setDirection(EDimensionDirection.INCREASING_STRICTLY);
+      }
+      try (final DimensionContext dc = context.createDimension()) {
+        dc.setName("f"); //$NON-NLS-1$
+        dc.setParser(DoubleParser.INSTANCE);
+        dc.setType(EDimensionType.QUALITY_PROBLEM_DEPENDENT);
+        dc.setDirection(EDimensionDirection.DECREASING);
+      }
+      try (final InstanceContext ic = context.createInstance()) {
+        ic.setName("instance"); //$NON-NLS-1$
+        ic.setFeatureValue("scale", Long.valueOf(m)); //$NON-NLS-1$
+        ic.setUpperBound("fes", Long.valueOf(upperBound)); //$NON-NLS-1$
+      }
+      try (final ExperimentContext ec = context.createExperiment()) {
+        ec.setName("experiment"); //$NON-NLS-1$
+        ec.setParameterValue("size", Long.valueOf(m)); //$NON-NLS-1$
+        try (final InstanceRunsContext irc = ec.createInstanceRuns()) {
+          irc.setInstance("instance"); //$NON-NLS-1$
+          try (final RunContext rc = irc.createRun()) {
+            longs = new long[2][];
+            doubles = new double[2][];
+            longs[0] = new long[RunStoreTest.BLOCK];
+            doubles[1] = new double[RunStoreTest.BLOCK];
+            fes = 0L;
+            k = 0;
+            for (i = 0; i < m; i++) {
+              if (i != orderError) {
+                fes++;
+              }
+              // the first point is always added as object to check that
+              // both ways can be mixed
+              if (columns && (i > 0)) {
+                longs[0][k] = fes;
+                doubles[1][k] = (m - (0.5d * i));
+                if ((++k) >= RunStoreTest.BLOCK) {
+                  rc.addDataPoints(k, longs, doubles);
+                  k = 0;
+                }
+              } else {
+                rc.addDataPoint(Long.valueOf(fes),
+                    Double.valueOf(m - (0.5d * i)));
+              }
+            }
+            if (k > 0) {
+              rc.addDataPoints(k, longs, doubles);
+            }
+          }
+        }
+      }
+      return context.create();
+    } catch (final RuntimeException error) {
+      return RunStoreTest.__describe(error);
+    }
+  }
+
+  /**
+   * Describe the original error wrapped by the context hierarchy
+   *
+   * @param error
+   *          the error
+   * @return the description
+   */
+  private static final String __describe(final Throwable error) {
+    if (error.getCause() != null) {
+      return RunStoreTest.__describe(error.getCause());
+    }
+    return (error.getClass().getName() + ':' + error.getMessage());
+  }
+
+  /**
+   * Compare a run with the run built on the heap from data point objects
+   *
+   * @param heap
+   *          the experiment set built on the heap
+   * @param other
+   *          the other experiment set, or the message of its error
+   * @param m
+   *          the number of data points
+   */
+  private static final void __compare(final Object heap,
+      final Object other, final int m) {
+    final IRun expected, actual;
+    int i, j;
+
+    if (heap instanceof String) {
+      Assert.assertEquals(heap, other);
+      return;
+    }
+
+    Assert.assertTrue(other instanceof ExperimentSet);
+    expected = ((ExperimentSet) heap).getData().get(0).getData().get(0)
+        .getData().get(0);
+    actual = ((ExperimentSet) other).getData().get(0).getData().get(0)
+        .getData().get(0);
+    Assert.assertEquals(m, expected.m());
+    Assert.assertEquals(m, actual.m());
+    for (i = 0; i < m; i++) {
+      for (j = 0; j < 2; j++) {
+        Assert.assertEquals(expected.getLong(i, j), actual.getLong(i, j));
+        Assert.assertEquals(
+            Double.doubleToLongBits(expected.getDouble(i, j)),
+            Double.doubleToLongBits(actual.getDouble(i, j)));
+      }
+    }
+  }
+
+  /**
+   * Check that a run is built in the same way on the heap and in the run
+   * store, from data point objects and column-wise, and with generated as
+   * well as generic classes
+   *
+   * @param m
+   *          the number of data points
+   * @param upperBound
+   *          the upper bound for the first dimension
+   * @param parserMax
+   *          the largest value the parser of the first dimension accepts
+   * @param orderError
+   *          the index of the data point which does not follow its
+   *          predecessor, or {@code -1} if all points are in order
+   * @return the message of the error, or {@code null} if no error occurred
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  private static final String __check(final int m, final long upperBound,
+      final long parserMax, final int orderError) throws IOException {
+    final Object heap;
+
+    heap = RunStoreTest.__build(null, true, false, m, upperBound,
+        parserMax, orderError);
+    RunStoreTest.__compare(heap, RunStoreTest.__build(null, true, true, m,
+        upperBound, parserMax, orderError), m);
+    RunStoreTest.__compare(heap, RunStoreTest.__build(null, false, false,
+        m, upperBound, parserMax, orderError), m);
+    RunStoreTest.__compare(heap, RunStoreTest.__build(null, false, true,
+        m, upperBound, parserMax, orderError), m);
+    try (final TempDir temp = new TempDir()) {
+      RunStoreTest.__compare(heap, RunStoreTest.__build(temp.getPath(),
+          true, false, m, upperBound, parserMax, orderError), m);
+    }
+    try (final TempDir temp = new TempDir()) {
+      RunStoreTest.__compare(heap, RunStoreTest.__build(temp.getPath(),
+          true, true, m, upperBound, parserMax, orderError), m);
+    }
+    return ((heap instanceof String) ? ((String) heap) : null);
+  }
+
+  /**
+   * Test a small run, which is copied from the heap to the run store when
+   * it is complete
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testSmallRun() throws IOException {
+    Assert.assertNull(RunStoreTest.__check(10, Long.MAX_VALUE,
+        Long.MAX_VALUE, -1));
+  }
+
+  /**
+   * Test a large run, which is moved to the run store while it is
+   * collected
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testLargeRun() throws IOException {
+    Assert.assertNull(RunStoreTest.__check(100000, Long.MAX_VALUE,
+        Long.MAX_VALUE, -1));
+  }
+
+  /**
+   * Test that a data point violating the order of a large run is reported
+   * in the same way
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testOrderError() throws IOException {
+    Assert.assertNotNull(RunStoreTest.__check(100000, Long.MAX_VALUE,
+        Long.MAX_VALUE, 70000));
+  }
+
+  /**
+   * Test that a data point outside of the bounds of the instance is
+   * reported in the same way
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testBoundsError() throws IOException {
+    Assert.assertNotNull(RunStoreTest.__check(100000, 50000L,
+        Long.MAX_VALUE, -1));
+  }
+
+  /**
+   * Test that the first of several errors is reported in the same way
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testFirstErrorReported() throws IOException {
+    Assert.assertNotEquals(RunStoreTest.__check(100000, 50000L,
+        Long.MAX_VALUE, 70000), RunStoreTest.__check(100000, 90000L,
+        Long.MAX_VALUE, 70000));
+  }
+
+  /**
+   * Test that a value rejected by the parser of a dimension is reported in
+   * the same way
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Test(timeout = 3600000)
+  public void testParserError() throws IOException {
+    Assert.assertNotNull(RunStoreTest.__check(100000, Long.MAX_VALUE,
+        60000L, -1));
+  }
+}
@@ -1,10 +1,21 @@
 package test.junit.org.optimizationBenchmarking.utils.compiler;
 
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerJob;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerJobBuilder;
 import org.optimizationBenchmarking.utils.compiler.JavaCompilerTool;
+import org.optimizationBenchmarking.utils.io.paths.TempDir;
 
 import test.junit.org.optimizationBenchmarking.utils.tools.ToolTest;
 
@@ -109,4 +120,171 @@ public class JavaCompilerToolTest extends ToolTest<JavaCompilerTool> {
       throw new RuntimeException(error);
     }
   }
+
+  /**
+   * Create a job compiling a single class with the class cache in a
+   * given directory
+   *
+   * @param dir
+   *          the cache directory
+   * @param messages
+   *          the list receiving the messages logged by the job
+   * @return the job
+   */
+  private final JavaCompilerJob __createCachedJob(final Path dir,
+      final ArrayList<String> messages) {
+    final Logger logger;
+
+    logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.setLevel(Level.ALL);
+    logger.addHandler(new Handler() {
+      @Override
+      public final void publish(final LogRecord record) {
+        synchronized (messages) {
+          messages.add(record.getMessage());
+        }
+      }
+
+      @Override
+      public final void flush() {
+        // nothing
+      }
+
+      @Override
+      public final void close() {
+        // nothing
+      }
+    });
+
+    return this.getInstance().use().setCacheDirectory(dir)
+        .setLogger(logger)
+        .addClass("CachedClass", //$NON-NLS-1$
+            "public final class CachedClass {public int yy;}") //$NON-NLS-1$
+        .create();
+  }
+
+  /**
+   * Check whether one of the messages starts with a given prefix
+   *
+   * @param messages
+   *          the messages
+   * @param prefix
+   *          the prefix
+   * @return {@code true} if a message starts with {@code prefix}
+   */
+  private static final boolean __logged(final ArrayList<String> messages,
+      final String prefix) {
+    for (final String message : messages) {
+      if ((message != null) && message.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Count the entries of a cache directory
+   *
+   * @param dir
+   *          the directory
+   * @return the number of entries
+   * @throws Exception
+   *           if the directory cannot be listed
+   */
+  private static final int __countEntries(final Path dir)
+      throws Exception {
+    int count;
+
+    count = 0;
+    try (final DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+      for (final Path file : files) {
+        Assert.assertTrue(Files.size(file) > 0L);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * test whether classes compiled with a cache directory are stored in
+   * the cache and loaded from there the second time, without invoking
+   * the compiler
+   */
+  @Test(timeout = 3600000)
+  public void testCompileWithCache() {
+    final ArrayList<String> messages;
+    JavaCompilerJob job;
+    ClassLoader loader1, loader2;
+    Path dir;
+
+    messages = new ArrayList<>();
+    try (final TempDir temp = new TempDir()) {
+      dir = temp.getPath();
+
+      job = this.__createCachedJob(dir, messages);
+      Assert.assertFalse(job.isCached());
+      loader1 = job.call();
+      Assert.assertNotNull(loader1);
+      Assert.assertNotNull(loader1.loadClass("CachedClass")//$NON-NLS-1$
+          .getField("yy"));//$NON-NLS-1$
+      Assert.assertTrue(JavaCompilerToolTest.__logged(messages,
+          "Now compiling")); //$NON-NLS-1$
+      Assert.assertEquals(1, JavaCompilerToolTest.__countEntries(dir));
+
+      messages.clear();
+      job = this.__createCachedJob(dir, messages);
+      Assert.assertTrue(job.isCached());
+      loader2 = job.call();
+      Assert.assertNotNull(loader2);
+      Assert.assertNotSame(loader1, loader2);
+      Assert.assertNotNull(loader2.loadClass("CachedClass")//$NON-NLS-1$
+          .getField("yy"));//$NON-NLS-1$
+      Assert.assertTrue(JavaCompilerToolTest.__logged(messages,
+          "Class cache hit")); //$NON-NLS-1$
+      Assert.assertFalse(JavaCompilerToolTest.__logged(messages,
+          "Now compiling")); //$NON-NLS-1$
+    } catch (final Throwable error) {
+      throw new RuntimeException(error);
+    }
+  }
+
+  /**
+   * test whether the least recently used entries are deleted from a full
+   * class cache, while the newly stored entry is kept
+   */
+  @Test(timeout = 3600000)
+  public void testCacheIsPruned() {
+    final ArrayList<String> messages;
+    JavaCompilerJob job;
+    Path dir, file;
+    int i;
+
+    messages = new ArrayList<>();
+    try (final TempDir temp = new TempDir()) {
+      dir = temp.getPath();
+
+      for (i = 300; (--i) >= 0;) {
+        file = dir.resolve("old" + i + ".classes"); //$NON-NLS-1$//$NON-NLS-2$
+        Files.write(file, new byte[] { 1 });
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000L * i));
+      }
+
+      job = this.__createCachedJob(dir, messages);
+      Assert.assertFalse(job.isCached());
+      Assert.assertNotNull(job.call());
+      Assert.assertEquals(256, JavaCompilerToolTest.__countEntries(dir));
+
+      messages.clear();
+      job = this.__createCachedJob(dir, messages);
+      Assert.assertTrue(job.isCached());
+      Assert.assertNotNull(job.call());
+      Assert.assertFalse(JavaCompilerToolTest.__logged(messages,
+          "Now compiling")); //$NON-NLS-1$
+      Assert.assertFalse(Files.exists(dir.resolve("old0.classes"))); //$NON-NLS-1$
+      Assert.assertTrue(Files.exists(dir.resolve("old299.classes"))); //$NON-NLS-1$
+    } catch (final Throwable error) {
+      throw new RuntimeException(error);
+    }
+  }
 }
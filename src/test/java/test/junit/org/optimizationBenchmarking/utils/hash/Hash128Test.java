@@ -0,0 +1,98 @@
+package test.junit.org.optimizationBenchmarking.utils.hash;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.hash.Hash128;
+
+/** the test for the 128 bit hash builder */
+public class Hash128Test {
+
+  /** test that equal inputs lead to equal hashes */
+  @Test(timeout = 3600000)
+  public void testDeterministic() {
+    final Random r;
+    final Hash128 a, b;
+    long seed;
+    int i;
+
+    r = new Random();
+    seed = r.nextLong();
+    a = new Hash128(seed);
+    b = new Hash128(seed);
+    for (i = 1000; (--i) >= 0;) {
+      seed = r.nextLong();
+      a.append(seed);
+      b.append(seed);
+      Assert.assertEquals(a.getHigh(), b.getHigh());
+      Assert.assertEquals(a.getLow(), b.getLow());
+      Assert.assertEquals(a.toString(), b.toString());
+    }
+
+    Assert.assertEquals(new Hash128().append("abcde").append(1.5d)//$NON-NLS-1$
+        .append(true).toString(), new Hash128().append("abcde")//$NON-NLS-1$
+        .append(1.5d).append(true).toString());
+  }
+
+  /** test that reading the hash does not change it */
+  @Test(timeout = 3600000)
+  public void testReadDoesNotChange() {
+    final Hash128 a, b;
+    final String first;
+
+    a = new Hash128().append(1L);
+    first = a.toString();
+    Assert.assertEquals(first, a.toString());
+    a.append(2L);
+    Assert.assertNotEquals(first, a.toString());
+
+    b = new Hash128().append(1L).append(2L);
+    Assert.assertEquals(a.toString(), b.toString());
+  }
+
+  /** test that small changes of the input change the hash */
+  @Test(timeout = 3600000)
+  public void testSensitive() {
+    final HashSet<String> hashes;
+    int i;
+
+    hashes = new HashSet<>();
+    for (i = 0; i < 1000; i++) {
+      Assert.assertTrue(hashes.add(new Hash128().append(i).toString()));
+    }
+    for (i = 0; i < 1000; i++) {
+      Assert.assertTrue(hashes.add(new Hash128().append(i).append(i)
+          .toString()));
+    }
+
+    Assert.assertNotEquals(new Hash128().append("ab").append("c")//$NON-NLS-1$//$NON-NLS-2$
+        .toString(), new Hash128().append("a").append("bc").toString());//$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertNotEquals(new Hash128().append((String) null).toString(),
+        new Hash128().append("").toString());//$NON-NLS-1$
+    Assert.assertNotEquals(new Hash128(1L).toString(),
+        new Hash128(2L).toString());
+  }
+
+  /** test the string representation */
+  @Test(timeout = 3600000)
+  public void testToString() {
+    final Random r;
+    String hash;
+    int i, j;
+    char ch;
+
+    r = new Random();
+    for (i = 100; (--i) >= 0;) {
+      hash = new Hash128().append(r.nextLong()).append(r.nextDouble())
+          .toString();
+      Assert.assertEquals(32, hash.length());
+      for (j = hash.length(); (--j) >= 0;) {
+        ch = hash.charAt(j);
+        Assert.assertTrue(((ch >= '0') && (ch <= '9'))
+            || ((ch >= 'a') && (ch <= 'f')));
+      }
+    }
+  }
+}
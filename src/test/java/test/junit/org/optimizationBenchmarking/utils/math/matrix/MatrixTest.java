@@ -1,5 +1,10 @@
 package test.junit.org.optimizationBenchmarking.utils.math.matrix;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.Random;
 
@@ -7,6 +12,7 @@ import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.MatrixIO;
 
 import test.junit.InstanceTest;
 
@@ -236,6 +242,57 @@ public class MatrixTest<MT extends IMatrix> extends InstanceTest<MT> {
     }
   }
 
+  /**
+   * test that a matrix written with {@link MatrixIO} is read back with
+   * the same values
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testMatrixIO() throws IOException {
+    IMatrix old, cur, read;
+    byte[] bytes;
+    int z, i, j;
+
+    old = null;
+    for (z = 10; (--z) >= 0;) {
+      cur = this.getInstance();
+      Assert.assertNotNull(cur);
+      if (cur == old) {
+        return;
+      }
+      old = cur;
+
+      try (final ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
+        try (final DataOutputStream out = new DataOutputStream(bos)) {
+          MatrixIO.write(cur, out);
+        }
+        bytes = bos.toByteArray();
+      }
+      try (final DataInputStream in = new DataInputStream(
+          new ByteArrayInputStream(bytes))) {
+        read = MatrixIO.read(in);
+        Assert.assertEquals(-1, in.read());
+      }
+
+      Assert.assertEquals(cur.m(), read.m());
+      Assert.assertEquals(cur.n(), read.n());
+      Assert.assertEquals(cur.isIntegerMatrix(), read.isIntegerMatrix());
+      for (i = cur.m(); (--i) >= 0;) {
+        for (j = cur.n(); (--j) >= 0;) {
+          if (cur.isIntegerMatrix()) {
+            Assert.assertEquals(cur.getLong(i, j), read.getLong(i, j));
+          } else {
+            Assert.assertEquals(
+                Double.doubleToLongBits(cur.getDouble(i, j)),
+                Double.doubleToLongBits(read.getDouble(i, j)));
+          }
+        }
+      }
+    }
+  }
+
   /** test the copied matrix */
   @Test(timeout = 3600000)
   public void testMatrixCopy() {
@@ -325,6 +382,77 @@ public class MatrixTest<MT extends IMatrix> extends InstanceTest<MT> {
     }
   }
 
+  /** test the bulk column extraction */
+  @Test(timeout = 3600000)
+  public void testMatrixCopyColumn() {
+    final IMatrix mat;
+    final Random rand;
+    final long[] longs;
+    final double[] doubles;
+    long[] longArray;
+    double[] doubleArray;
+    int m, n, i, j, z, from, to;
+
+    mat = this.getInstance();
+    Assert.assertNotNull(mat);
+
+    m = mat.m();
+    n = mat.n();
+    rand = new Random();
+    longs = new long[m];
+    doubles = new double[m];
+
+    for (j = 0; j < n; j++) {
+      mat.copyColumn(j, longs, 0, m);
+      mat.copyColumn(j, doubles, 0, m);
+      for (i = 0; i < m; i++) {
+        Assert.assertEquals(mat.getLong(i, j), longs[i]);
+        Assert.assertEquals(mat.getDouble(i, j), doubles[i], 0d);
+      }
+
+      for (z = 10; (--z) >= 0;) {
+        from = rand.nextInt(m + 1);
+        to = (from + rand.nextInt((m - from) + 1));
+        mat.copyColumn(j, longs, from, to);
+        mat.copyColumn(j, doubles, from, to);
+        for (i = from; i < to; i++) {
+          Assert.assertEquals(mat.getLong(i, j), longs[i - from]);
+          Assert.assertEquals(mat.getDouble(i, j), doubles[i - from], 0d);
+        }
+      }
+
+      longArray = mat.getLongColumnArray(j);
+      if (longArray != null) {
+        Assert.assertTrue(longArray.length >= m);
+        for (i = 0; i < m; i++) {
+          Assert.assertEquals(mat.getLong(i, j), longArray[i]);
+        }
+      }
+
+      doubleArray = mat.getDoubleColumnArray(j);
+      if (doubleArray != null) {
+        Assert.assertTrue(doubleArray.length >= m);
+        for (i = 0; i < m; i++) {
+          Assert.assertEquals(mat.getDouble(i, j), doubleArray[i], 0d);
+        }
+      }
+    }
+
+    try {
+      mat.copyColumn(n, longs, 0, m);
+      Assert.fail("Illegal column copy: n"); //$NON-NLS-1$
+    } catch (final IndexOutOfBoundsException t) {
+      //
+    }
+
+    try {
+      mat.copyColumn(0, doubles, 0, (m + 1));
+      Assert.fail("Illegal column copy: 0..m+1"); //$NON-NLS-1$
+    } catch (final IndexOutOfBoundsException t) {
+      //
+    }
+  }
+
   /** test the column-based aggregation */
   @Test(timeout = 3600000)
   public void testMatrixAggregateColumn() {
@@ -555,9 +683,15 @@ public class MatrixTest<MT extends IMatrix> extends InstanceTest<MT> {
     this.testMatrixDimensionsAndGetters();
     this.testMatrixAggregateColumn();
     this.testMatrixAggregateRow();
+    this.testMatrixCopyColumn();
     this.testMatrixTransposed();
     this.testMatrixSelectionAndTranspose();
     this.testMatrixIterate();
     this.testMatrixCopy();
+    try {
+      this.testMatrixIO();
+    } catch (final IOException ioe) {
+      throw new AssertionError(ioe);
+    }
   }
 }
@@ -0,0 +1,305 @@
+package test.junit.org.optimizationBenchmarking.utils.math.matrix.processing;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.optimizationBenchmarking.utils.math.functions.UnaryFunction;
+import org.optimizationBenchmarking.utils.math.functions.arithmetic.Absolute;
+import org.optimizationBenchmarking.utils.math.functions.arithmetic.Identity;
+import org.optimizationBenchmarking.utils.math.functions.arithmetic.Negate;
+import org.optimizationBenchmarking.utils.math.functions.compound.ChainedUnary;
+import org.optimizationBenchmarking.utils.math.functions.compound.FixedScale;
+import org.optimizationBenchmarking.utils.math.functions.power.Lg;
+import org.optimizationBenchmarking.utils.math.functions.power.Ln;
+import org.optimizationBenchmarking.utils.math.matrix.IMatrix;
+import org.optimizationBenchmarking.utils.math.matrix.impl.DoubleMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.impl.LongMatrix1D;
+import org.optimizationBenchmarking.utils.math.matrix.processing.ColumnTransformedMatrix;
+
+import test.junit.org.optimizationBenchmarking.utils.math.matrix.MatrixTest;
+
+/** test the column-transformed matrix */
+public class ColumnTransformedMatrixTest extends
+    MatrixTest<ColumnTransformedMatrix> {
+
+  /** the constructor */
+  public ColumnTransformedMatrixTest() {
+    super();
+  }
+
+  /**
+   * Create a random transformation function which is not accurate in the
+   * {@code long} arithmetic
+   *
+   * @param r
+   *          the random number generator
+   * @return the function
+   */
+  private static final UnaryFunction __function(final Random r) {
+    switch (r.nextInt(5)) {
+      case 0: {
+        return Negate.INSTANCE;
+      }
+      case 1: {
+        return ChainedUnary.chain(Absolute.INSTANCE, Lg.INSTANCE);
+      }
+      case 2: {
+        return FixedScale.scale(
+            ChainedUnary.chain(Absolute.INSTANCE, Ln.INSTANCE), 0.5d);
+      }
+      case 3: {
+        return ChainedUnary.chain(Absolute.INSTANCE,
+            FixedScale.scale(Lg.INSTANCE, (1d + r.nextInt(10))));
+      }
+      default: {
+        return ChainedUnary.chain(
+            FixedScale.scale(Absolute.INSTANCE, 3d),
+            ChainedUnary.chain(Ln.INSTANCE, Negate.INSTANCE));
+      }
+    }
+  }
+
+  /**
+   * Create a random column-transformed matrix. Either all columns use the
+   * identity or each column uses a random function.
+   *
+   * @param r
+   *          the random number generator
+   * @param m
+   *          the number of rows
+   * @param n
+   *          the number of columns
+   * @return the matrix
+   */
+  private static final ColumnTransformedMatrix __create(final Random r,
+      final int m, final int n) {
+    final UnaryFunction[] functions;
+    final long[] longs;
+    final double[] doubles;
+    final IMatrix source;
+    int i;
+
+    if (r.nextBoolean()) {
+      longs = new long[m * n];
+      for (i = longs.length; (--i) >= 0;) {
+        longs[i] = (r.nextInt() >> r.nextInt(31));
+      }
+      source = new LongMatrix1D(longs, m, n);
+    } else {
+      doubles = new double[m * n];
+      for (i = doubles.length; (--i) >= 0;) {
+        doubles[i] = ((r.nextBoolean() ? r.nextGaussian() : r.nextInt())//
+        * (1 << r.nextInt(20)));
+      }
+      source = new DoubleMatrix1D(doubles, m, n);
+    }
+
+    functions = new UnaryFunction[n];
+    if (r.nextInt(6) <= 0) {
+      Arrays.fill(functions, Identity.INSTANCE);
+    } else {
+      for (i = n; (--i) >= 0;) {
+        functions[i] = ColumnTransformedMatrixTest.__function(r);
+      }
+    }
+    return new ColumnTransformedMatrix(source, functions);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected ColumnTransformedMatrix getInstance() {
+    final Random r;
+
+    r = new Random();
+    return ColumnTransformedMatrixTest.__create(r, (1 + r.nextInt(100)),
+        (1 + r.nextInt(5)));
+  }
+
+  /**
+   * Check that a materialized matrix has exactly the same values as the
+   * column-transformed matrix it was created from
+   *
+   * @param matrix
+   *          the column-transformed matrix
+   * @param materialized
+   *          the materialized matrix
+   */
+  private static final void __checkMaterialized(
+      final ColumnTransformedMatrix matrix, final IMatrix materialized) {
+    int i, j;
+
+    Assert.assertEquals(matrix.m(), materialized.m());
+    Assert.assertEquals(matrix.n(), materialized.n());
+    Assert.assertEquals(matrix.isIntegerMatrix(),
+        materialized.isIntegerMatrix());
+    for (j = matrix.n(); (--j) >= 0;) {
+      Assert.assertEquals(matrix.selectColumns(j).isIntegerMatrix(),
+          materialized.selectColumns(j).isIntegerMatrix());
+    }
+    for (i = matrix.m(); (--i) >= 0;) {
+      for (j = matrix.n(); (--j) >= 0;) {
+        Assert.assertEquals(Double.doubleToLongBits(matrix.getDouble(i, j)),
+            Double.doubleToLongBits(materialized.getDouble(i, j)));
+        Assert.assertEquals(matrix.getLong(i, j),
+            materialized.getLong(i, j));
+      }
+    }
+  }
+
+  /**
+   * Create a random column-transformed matrix whose columns mix all
+   * kinds of columns: integer columns computed as {@code long}s, integer
+   * columns whose function is not accurate in the {@code long}
+   * arithmetic, and columns computed as {@code double}s. The matrix
+   * transforms another column-transformed matrix, whose integer columns
+   * become columns computed as {@code double}s if they are transformed
+   * with such a function.
+   *
+   * @param r
+   *          the random number generator
+   * @param m
+   *          the number of rows
+   * @return the matrix
+   */
+  private static final ColumnTransformedMatrix __createMixed(
+      final Random r, final int m) {
+    final UnaryFunction[] inner, outer;
+    final long[] longs;
+    final int n;
+    int i;
+
+    n = (3 + r.nextInt(4));
+    longs = new long[m * n];
+    for (i = longs.length; (--i) >= 0;) {
+      longs[i] = (r.nextInt() >> r.nextInt(31));
+    }
+
+    inner = new UnaryFunction[n];
+    outer = new UnaryFunction[n];
+    // one column of each kind, the other columns are random
+    inner[0] = outer[0] = Identity.INSTANCE;
+    inner[1] = Identity.INSTANCE;
+    outer[1] = ChainedUnary.chain(Absolute.INSTANCE, Lg.INSTANCE);
+    inner[2] = ChainedUnary.chain(Absolute.INSTANCE, Ln.INSTANCE);
+    outer[2] = Identity.INSTANCE;
+    for (i = 3; i < n; i++) {
+      inner[i] = (r.nextBoolean() ? Identity.INSTANCE
+          : ColumnTransformedMatrixTest.__function(r));
+      outer[i] = (r.nextBoolean() ? Identity.INSTANCE
+          : ColumnTransformedMatrixTest.__function(r));
+    }
+
+    return new ColumnTransformedMatrix(new ColumnTransformedMatrix(
+        new LongMatrix1D(longs, m, n), inner), outer);
+  }
+
+  /**
+   * test that materializing a matrix with columns of different types
+   * keeps the integer property and the {@code long} values of each
+   * column
+   */
+  @Test(timeout = 3600000)
+  public void testMaterializeMixedColumns() {
+    final Random r;
+    ColumnTransformedMatrix matrix;
+    int z;
+
+    r = new Random();
+    for (z = 30; (--z) >= 0;) {
+      matrix = ColumnTransformedMatrixTest.__createMixed(r,
+          (1 + r.nextInt(100)));
+      Assert.assertTrue(matrix.selectColumns(0).isIntegerMatrix());
+      Assert.assertFalse(matrix.selectColumns(1).isIntegerMatrix());
+      Assert.assertFalse(matrix.selectColumns(2).isIntegerMatrix());
+      ColumnTransformedMatrixTest.__checkMaterialized(matrix,
+          matrix.materialize());
+    }
+  }
+
+  /** test that materialization does not change the values */
+  @Test(timeout = 3600000)
+  public void testMaterialize() {
+    final Random r;
+    ColumnTransformedMatrix matrix;
+    int z;
+
+    r = new Random();
+    for (z = 30; (--z) >= 0;) {
+      matrix = this.getInstance();
+      ColumnTransformedMatrixTest.__checkMaterialized(matrix,
+          matrix.materialize());
+    }
+
+    matrix = ColumnTransformedMatrixTest.__create(r,
+        (10000 + r.nextInt(10000)), (1 + r.nextInt(3)));
+    ColumnTransformedMatrixTest.__checkMaterialized(matrix,
+        matrix.materialize());
+  }
+
+  /** test that parallel materialization does not change the values */
+  @Test(timeout = 3600000)
+  public void testMaterializeParallel() {
+    final ColumnTransformedMatrix matrix;
+    final IMatrix[] result;
+    final ForkJoinPool pool;
+    final Random r;
+
+    r = new Random();
+    matrix = ColumnTransformedMatrixTest.__create(r,
+        (20000 + r.nextInt(20000)), (1 + r.nextInt(3)));
+    result = new IMatrix[1];
+    pool = new ForkJoinPool(4);
+    try {
+      pool.invoke(new RecursiveAction() {
+        /** the serial version uid */
+        private static final long serialVersionUID = 1L;
+
+        /** {@inheritDoc} */
+        @Override
+        protected final void compute() {
+          result[0] = matrix.materialize();
+        }
+      });
+    } finally {
+      pool.shutdown();
+    }
+    ColumnTransformedMatrixTest.__checkMaterialized(matrix, result[0]);
+  }
+
+  /**
+   * test that materializing a large matrix with columns of different
+   * types inside a fork-join pool keeps the type of each column
+   */
+  @Test(timeout = 3600000)
+  public void testMaterializeMixedColumnsParallel() {
+    final ColumnTransformedMatrix matrix;
+    final IMatrix[] result;
+    final ForkJoinPool pool;
+    final Random r;
+
+    r = new Random();
+    matrix = ColumnTransformedMatrixTest.__createMixed(r,
+        (20000 + r.nextInt(20000)));
+    result = new IMatrix[1];
+    pool = new ForkJoinPool(4);
+    try {
+      pool.invoke(new RecursiveAction() {
+        /** the serial version uid */
+        private static final long serialVersionUID = 1L;
+
+        /** {@inheritDoc} */
+        @Override
+        protected final void compute() {
+          result[0] = matrix.materialize();
+        }
+      });
+    } finally {
+      pool.shutdown();
+    }
+    ColumnTransformedMatrixTest.__checkMaterialized(matrix, result[0]);
+  }
+}
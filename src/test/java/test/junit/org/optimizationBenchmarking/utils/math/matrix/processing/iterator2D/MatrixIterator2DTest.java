@@ -1,6 +1,7 @@
 package test.junit.org.optimizationBenchmarking.utils.math.matrix.processing.iterator2D;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -98,6 +99,85 @@ public class MatrixIterator2DTest extends TestBase {
     }
   }
 
+  /**
+   * test whether the iteration over many random matrices provides, in each
+   * step, the {@code y} value of the last row with an {@code x} value not
+   * larger than the current {@code x} value of each started matrix, in the
+   * order of decreasing matrix index
+   */
+  @Test(timeout = 3600000)
+  public void testManyRandomMatrices() {
+    final Random random;
+    final long[][] data;
+    final IMatrix[] longs, doubles;
+    long x;
+    int i, j, m;
+
+    random = new Random();
+    i = (100 + random.nextInt(200));
+    data = new long[i][];
+    longs = new IMatrix[i];
+    doubles = new IMatrix[i];
+    for (; (--i) >= 0;) {
+      m = (1 + random.nextInt(50));
+      data[i] = new long[m << 1];
+      x = random.nextInt(100);
+      for (j = 0; j < data[i].length; j += 2) {
+        x += random.nextInt(10);
+        data[i][j] = x;
+        data[i][j + 1] = random.nextInt(5);
+      }
+      longs[i] = new LongMatrix1D(data[i], m, 2);
+      doubles[i] = new DoubleMatrix1D(ArrayUtils.longsToDoubles(data[i]),
+          m, 2);
+    }
+
+    MatrixIterator2DTest.__testRandom(data, longs);
+    MatrixIterator2DTest.__testRandom(data, doubles);
+  }
+
+  /**
+   * check the iteration over a set of matrices
+   *
+   * @param data
+   *          the data of the matrices
+   * @param matrices
+   *          the matrices
+   */
+  private static final void __testRandom(final long[][] data,
+      final IMatrix[] matrices) {
+    final MatrixIterator2D iterator;
+    long x, lastX, maxX;
+    int i, j, column;
+
+    maxX = Long.MIN_VALUE;
+    for (final long[] matrix : data) {
+      maxX = Math.max(maxX, matrix[matrix.length - 2]);
+    }
+
+    iterator = MatrixIterator2D.iterate(0, 1, matrices);
+    lastX = Long.MIN_VALUE;
+    while (iterator.hasNext()) {
+      x = iterator.next().longValue();
+      Assert.assertTrue(x > lastX);
+      lastX = x;
+
+      column = 0;
+      for (i = data.length; (--i) >= 0;) {
+        if (data[i][0] > x) {
+          continue;
+        }
+        for (j = 2; (j < data[i].length) && (data[i][j] <= x); j += 2) {
+          //
+        }
+        Assert.assertEquals(data[i][j - 1], iterator.getLong(0, column++));
+      }
+      Assert.assertEquals(column, iterator.n());
+    }
+
+    Assert.assertEquals(maxX, lastX);
+  }
+
   /**
    * test a permutation of a given data array where all coordinates are
    * longs